@@ -0,0 +1,85 @@
+// Server Tuning Load Test - Throughput of the WebFlux server with and without the humanresources.server tuning.
+//
+// Run it once against each profile and compare http_reqs (requests per second), http_req_duration and data_received:
+//   ./gradlew bootRun --args='--spring.profiles.active=baseline'   then   k6 run k6/server-tuning.js
+//   ./gradlew bootRun                                              then   k6 run k6/server-tuning.js
+//
+// Environment: BASE_URL (http://localhost:8080), VUS (100), DURATION (60s), EMPLOYEES (2000)
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const EMPLOYEES = parseInt(__ENV.EMPLOYEES || '2000', 10);
+const DEPARTMENTS = 10;
+const DEPARTMENT_PREFIX = 'k6-department-';
+const BATCH_SIZE = 500;
+const HEADERS = { 'Content-Type': 'application/json', 'Accept': 'application/json', 'Accept-Encoding': 'gzip' };
+
+export const options = {
+    scenarios: {
+        mixed: {
+            executor: 'constant-vus',
+            vus: parseInt(__ENV.VUS || '100', 10),
+            duration: __ENV.DURATION || '60s',
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(90)', 'p(99)', 'max'],
+};
+
+function employee(index) {
+    return {
+        firstName: `First${index}`,
+        lastName: `Last${index}`,
+        email: `k6.employee${index}@example.com`,
+        phoneNumber: '555-0100',
+        salary: 3000 + (index % 50) * 100,
+        commission: 0.1,
+        hireDate: '2020-01-01T09:00:00',
+        departmentId: DEPARTMENT_PREFIX + (index % DEPARTMENTS),
+        jobId: `k6-job-${index % 7}`,
+    };
+}
+
+export function setup() {
+    const ids = [];
+    for (let start = 0; start < EMPLOYEES; start += BATCH_SIZE) {
+        const batch = [];
+        for (let index = start; index < Math.min(start + BATCH_SIZE, EMPLOYEES); index++) {
+            batch.push(employee(index));
+        }
+        const response = http.post(`${BASE_URL}/handler/employees/batch`, JSON.stringify(batch), { headers: HEADERS });
+        check(response, { 'batch saved': (r) => r.status === 200 });
+        response.json().forEach((result) => ids.push(result.id));
+    }
+    return { ids };
+}
+
+export default function (data) {
+    const draw = Math.random();
+    if (draw < 0.6) {
+        // Large JSON arrays, where compression and the event loops matter most
+        const department = DEPARTMENT_PREFIX + Math.floor(Math.random() * DEPARTMENTS);
+        const response = http.get(`${BASE_URL}/handler/employees/departments/${department}`,
+            { headers: HEADERS, tags: { name: 'findByDepartmentId' } });
+        check(response, { 'department read': (r) => r.status === 200 });
+    } else if (draw < 0.9) {
+        // Small documents, below the compression threshold
+        const id = data.ids[Math.floor(Math.random() * data.ids.length)];
+        const response = http.get(`${BASE_URL}/handler/employees/${id}`, { headers: HEADERS, tags: { name: 'findById' } });
+        check(response, { 'employee read': (r) => r.status === 200 });
+    } else {
+        // Request bodies decoded by bodyToMono(EmployeeDTO.class), under the max-in-memory-size cap
+        const response = http.post(`${BASE_URL}/handler/employees`, JSON.stringify(employee(EMPLOYEES + __VU * 100000 + __ITER)),
+            { headers: HEADERS, tags: { name: 'create' } });
+        check(response, { 'employee created': (r) => r.status === 201 });
+    }
+}
+
+export function teardown() {
+    for (let department = 0; department < DEPARTMENTS; department++) {
+        http.del(`${BASE_URL}/handler/employees?departmentId=${DEPARTMENT_PREFIX}${department}`, null, { headers: HEADERS });
+    }
+}
@@ -0,0 +1,68 @@
+package com.rct.humanresources.benchmark;
+
+import com.rct.humanresources.infra.persistence.model.Employee;
+import com.rct.humanresources.infra.persistence.model.JobHistory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmark Data - Deterministic Entities shared by the Benchmarks
+ */
+public final class BenchmarkData {
+    public static final int DEPARTMENTS = 10;
+    public static final String DEPARTMENT_ID = "department-0";
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2020, 1, 1, 9, 0);
+
+    /**
+     * Build Employees spread over the Departments
+     * @param size Number of Employees
+     * @return List Employee
+     */
+    public static List<Employee> employees(int size) {
+        return IntStream.range(0, size)
+                .mapToObj(BenchmarkData::employee)
+                .toList();
+    }
+
+    /**
+     * Build Job Histories spread over the Departments
+     * @param size Number of Job Histories
+     * @return List JobHistory
+     */
+    public static List<JobHistory> jobHistories(int size) {
+        return IntStream.range(0, size)
+                .mapToObj(BenchmarkData::jobHistory)
+                .toList();
+    }
+
+    /**
+     * Build the Employee of the given Index
+     * @param index int
+     * @return Employee
+     */
+    public static Employee employee(int index) {
+        return new Employee("employee-" + index, "department-" + index % DEPARTMENTS, "employee-0", "job-" + index % 7,
+                "First" + index, "Last" + index, "employee" + index + "@rct.com", "+55 11 9000-" + index,
+                5000 + index, 0.05, EPOCH.minusYears(30).plusDays(index), EPOCH.plusDays(index),
+                EPOCH, EPOCH.plusHours(index), 0L);
+    }
+
+    /**
+     * Build the Job History of the given Index
+     * @param index int
+     * @return JobHistory
+     */
+    public static JobHistory jobHistory(int index) {
+        return new JobHistory("job-history-" + index, "employee-" + index, "department-" + index % DEPARTMENTS, "job-" + index % 7,
+                EPOCH.plusDays(index), EPOCH.plusDays(index + 365L), EPOCH, EPOCH.plusHours(index), 0L);
+    }
+
+    /**
+     * Benchmark Data Constructor
+     */
+    private BenchmarkData() {
+        throw new IllegalStateException("Utility class");
+    }
+}
@@ -0,0 +1,80 @@
+package com.rct.humanresources.benchmark;
+
+import com.rct.humanresources.core.model.dto.EmployeeDTO;
+import com.rct.humanresources.core.model.mapper.EmployeeMapperImpl;
+import com.rct.humanresources.core.service.impl.EmployeeServiceImpl;
+import com.rct.humanresources.infra.config.router.EmployeeRouterConfig;
+import com.rct.humanresources.infra.handler.EmployeeHandler;
+import com.rct.humanresources.infra.persistence.loader.BatchLoaders;
+import com.rct.humanresources.infra.persistence.model.Department;
+import com.rct.humanresources.infra.persistence.model.Employee;
+import com.rct.humanresources.infra.persistence.read.ReadPreferences;
+import com.rct.humanresources.infra.persistence.repository.DepartmentRepository;
+import com.rct.humanresources.infra.persistence.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.rct.humanresources.benchmark.BenchmarkData.DEPARTMENT_ID;
+import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_EMPLOYEES_BY_DEPARTMENT_ID_PATH;
+import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_EMPLOYEES_PATH_BY_ID;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+/**
+ * Handler Benchmark - Full EmployeeHandler request handling, routing, codecs and
+ * the Service pipeline, through a WebTestClient bound to the Router Function
+ */
+@State(Scope.Benchmark)
+public class HandlerBenchmark {
+    private static final int SIZE = 1000;
+    private WebTestClient client;
+
+    @Setup
+    public void setUp() {
+        var repository = InMemoryRepository.of(EmployeeRepository.class, Employee.class,
+                Employee::getId, BenchmarkData.employees(SIZE));
+        var service = new EmployeeServiceImpl(null, new EmployeeMapperImpl(), repository,
+                null, null, null, null, batchLoaders(repository), null, null, null);
+        client = WebTestClient
+                .bindToRouterFunction(new EmployeeRouterConfig().employeesRoutes(new EmployeeHandler(service)))
+                .build();
+    }
+
+    @Benchmark
+    public EmployeeDTO findById() {
+        return client.get()
+                .uri(HANDLER_EMPLOYEES_PATH_BY_ID, "employee-1")
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(EmployeeDTO.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> findByDepartmentId() {
+        return client.get()
+                .uri(HANDLER_EMPLOYEES_BY_DEPARTMENT_ID_PATH, DEPARTMENT_ID)
+                .accept(APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(EmployeeDTO.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    /**
+     * Batch Loaders without a window, so every findById is fetched on its own
+     */
+    private static BatchLoaders batchLoaders(EmployeeRepository employees) {
+        return new BatchLoaders(null, new ReadPreferences("primary", "primary", Duration.ofSeconds(90)),
+                InMemoryRepository.of(DepartmentRepository.class, Department.class, Department::getId, List.of()),
+                employees, Duration.ZERO, 1, 1);
+    }
+}
@@ -0,0 +1,90 @@
+package com.rct.humanresources.benchmark;
+
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * In Memory Repository - Stand-in of a Reactive Repository, so the Service pipelines
+ * are measured without a MongoDB round trip. Serves findById, findAll, findAllById, save and derived
+ * findByField finders; any other call fails fast
+ */
+public final class InMemoryRepository {
+    private static final String FIND_BY = "findBy";
+
+    /**
+     * Create a Repository over the given Entities
+     * @param repositoryType Repository Interface
+     * @param entityType Entity Class
+     * @param idOf Entity ID Accessor
+     * @param entities Entities
+     * @return Repository Proxy
+     */
+    public static <R extends ReactiveCrudRepository<T, String>, T> R of(Class<R> repositoryType, Class<T> entityType,
+                                                                      Function<T, String> idOf, List<T> entities) {
+        var store = new ConcurrentHashMap<String, T>();
+        entities.forEach(entity -> store.put(idOf.apply(entity), entity));
+        var getters = new ConcurrentHashMap<String, Method>();
+        return repositoryType.cast(Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> Mono.justOrEmpty(store.get((String) args[0]));
+                    case "findAll" -> Flux.fromIterable(store.values());
+                    case "findAllById" -> Flux.fromIterable((Iterable<?>) args[0]).mapNotNull(store::get);
+                    case "save" -> Mono.fromSupplier(() -> {
+                        @SuppressWarnings("unchecked")
+                        var entity = (T) args[0];
+                        store.put(idOf.apply(entity), entity);
+                        return entity;
+                    });
+                    case "toString" -> repositoryType.getSimpleName() + store.keySet();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> findBy(method, args, entityType, store, getters);
+                }));
+    }
+
+    /**
+     * Serve a derived findByField finder, matching the Field by equality
+     */
+    private static <T> Flux<T> findBy(Method method, Object[] args, Class<T> entityType,
+                                      Map<String, T> store, Map<String, Method> getters) {
+        if (!method.getName().startsWith(FIND_BY) || args == null || args.length != 1) {
+            throw new UnsupportedOperationException(method.getName());
+        }
+        var getter = getters.computeIfAbsent(method.getName(), name -> getter(entityType, name));
+        return Flux.fromIterable(store.values())
+                .filter(entity -> Objects.equals(read(getter, entity), args[0]));
+    }
+
+    private static Method getter(Class<?> entityType, String finder) {
+        try {
+            return entityType.getMethod("get" + finder.substring(FIND_BY.length()));
+        } catch (NoSuchMethodException e) {
+            throw new UnsupportedOperationException(finder, e);
+        }
+    }
+
+    private static Object read(Method getter, Object entity) {
+        try {
+            return getter.invoke(entity);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * In Memory Repository Constructor
+     */
+    private InMemoryRepository() {
+        throw new IllegalStateException("Utility class");
+    }
+}
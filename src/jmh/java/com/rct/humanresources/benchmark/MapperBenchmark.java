@@ -0,0 +1,55 @@
+package com.rct.humanresources.benchmark;
+
+import com.rct.humanresources.core.model.dto.EmployeeDTO;
+import com.rct.humanresources.core.model.dto.JobHistoryDTO;
+import com.rct.humanresources.core.model.mapper.EmployeeMapper;
+import com.rct.humanresources.core.model.mapper.EmployeeMapperImpl;
+import com.rct.humanresources.core.model.mapper.JobHistoryMapper;
+import com.rct.humanresources.core.model.mapper.JobHistoryMapperImpl;
+import com.rct.humanresources.infra.persistence.model.Employee;
+import com.rct.humanresources.infra.persistence.model.JobHistory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Mapper Benchmark - MapStruct conversions, including the LocalDateTime fields
+ */
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+    private final EmployeeMapper employeeMapper = new EmployeeMapperImpl();
+    private final JobHistoryMapper jobHistoryMapper = new JobHistoryMapperImpl();
+    private Employee employee;
+    private EmployeeDTO employeeDTO;
+    private JobHistory jobHistory;
+    private JobHistoryDTO jobHistoryDTO;
+
+    @Setup
+    public void setUp() {
+        employee = BenchmarkData.employee(1);
+        employeeDTO = employeeMapper.fromModel(employee);
+        jobHistory = BenchmarkData.jobHistory(1);
+        jobHistoryDTO = jobHistoryMapper.fromModel(jobHistory);
+    }
+
+    @Benchmark
+    public EmployeeDTO employeeFromModel() {
+        return employeeMapper.fromModel(employee);
+    }
+
+    @Benchmark
+    public Employee employeeFromDTO() {
+        return employeeMapper.fromDTO(employeeDTO);
+    }
+
+    @Benchmark
+    public JobHistoryDTO jobHistoryFromModel() {
+        return jobHistoryMapper.fromModel(jobHistory);
+    }
+
+    @Benchmark
+    public JobHistory jobHistoryFromDTO() {
+        return jobHistoryMapper.fromDTO(jobHistoryDTO);
+    }
+}
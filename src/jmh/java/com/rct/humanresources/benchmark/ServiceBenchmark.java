@@ -0,0 +1,79 @@
+package com.rct.humanresources.benchmark;
+
+import com.rct.humanresources.core.model.dto.EmployeeDTO;
+import com.rct.humanresources.core.model.dto.JobHistoryDTO;
+import com.rct.humanresources.core.model.mapper.EmployeeMapperImpl;
+import com.rct.humanresources.core.model.mapper.JobHistoryMapperImpl;
+import com.rct.humanresources.core.service.impl.EmployeeServiceImpl;
+import com.rct.humanresources.core.service.impl.JobHistoryServiceImpl;
+import com.rct.humanresources.infra.persistence.loader.BatchLoaders;
+import com.rct.humanresources.infra.persistence.model.Department;
+import com.rct.humanresources.infra.persistence.model.Employee;
+import com.rct.humanresources.infra.persistence.model.JobHistory;
+import com.rct.humanresources.infra.persistence.read.ReadPreferences;
+import com.rct.humanresources.infra.persistence.repository.DepartmentRepository;
+import com.rct.humanresources.infra.persistence.repository.EmployeeRepository;
+import com.rct.humanresources.infra.persistence.repository.JobHistoryRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.rct.humanresources.benchmark.BenchmarkData.DEPARTMENT_ID;
+
+/**
+ * Service Benchmark - Service pipelines over an In Memory Repository, so only
+ * the Reactor operators and the mapping are measured
+ */
+@State(Scope.Benchmark)
+public class ServiceBenchmark {
+    @Param({"100", "10000"})
+    public int size;
+    private EmployeeServiceImpl employeeService;
+    private JobHistoryServiceImpl jobHistoryService;
+
+    @Setup
+    public void setUp() {
+        var employees = InMemoryRepository.of(EmployeeRepository.class, Employee.class,
+                Employee::getId, BenchmarkData.employees(size));
+        var jobHistories = InMemoryRepository.of(JobHistoryRepository.class, JobHistory.class,
+                JobHistory::getId, BenchmarkData.jobHistories(size));
+        employeeService = new EmployeeServiceImpl(null, new EmployeeMapperImpl(), employees,
+                null, null, null, null, batchLoaders(employees), null, null, null);
+        jobHistoryService = new JobHistoryServiceImpl(null, new JobHistoryMapperImpl(), jobHistories,
+                null, null, null, null);
+    }
+
+    @Benchmark
+    public EmployeeDTO employeeFindById() {
+        return employeeService.findById("employee-1").block();
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> employeeFindAll() {
+        return employeeService.findAll().collectList().block();
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> employeeFindByDepartmentId() {
+        return employeeService.findByDepartmentId(DEPARTMENT_ID).collectList().block();
+    }
+
+    @Benchmark
+    public List<JobHistoryDTO> jobHistoryFindAll() {
+        return jobHistoryService.findAll().collectList().block();
+    }
+
+    /**
+     * Batch Loaders without a window, so every findById is fetched on its own
+     */
+    private static BatchLoaders batchLoaders(EmployeeRepository employees) {
+        return new BatchLoaders(null, new ReadPreferences("primary", "primary", Duration.ofSeconds(90)),
+                InMemoryRepository.of(DepartmentRepository.class, Department.class, Department::getId, List.of()),
+                employees, Duration.ZERO, 1, 1);
+    }
+}
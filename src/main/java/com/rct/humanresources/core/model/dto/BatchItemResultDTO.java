@@ -0,0 +1,22 @@
+package com.rct.humanresources.core.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Batch Item Result DTO - Outcome of one item of a bulk write, by its position in the request
+ * @param <T> DTO Type
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResultDTO<T> {
+    long index;
+    String status;
+    String id;
+    T document;
+    String error;
+}
@@ -0,0 +1,21 @@
+package com.rct.humanresources.core.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Change Event DTO - One insert, update or delete observed on a collection
+ * @param <T> DTO Type
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEventDTO<T> {
+    String operation;
+    String id;
+    T document;
+    String resumeToken;
+}
@@ -4,16 +4,19 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 /**
  * City DTO
  */
 @Getter
 @Setter
 @RequiredArgsConstructor
-public class CityDTO {
+public class CityDTO implements EntityDTO {
     String id;
     String name;
     String stateId;
-    String createdAt;
-    String updatedAt;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+    Long version;
 }
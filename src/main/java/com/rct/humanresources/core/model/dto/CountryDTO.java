@@ -4,15 +4,18 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 /**
  * Country DTO
  */
 @Getter
 @Setter
 @RequiredArgsConstructor
-public class CountryDTO {
+public class CountryDTO implements EntityDTO {
     String id;
     String name;
-    String createdAt;
-    String updatedAt;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+    Long version;
 }
@@ -0,0 +1,22 @@
+package com.rct.humanresources.core.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Cursor Page DTO - One keyset page of a collection
+ * @param <T> DTO Type
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    List<T> content;
+    String nextCursor;
+    int limit;
+}
@@ -0,0 +1,17 @@
+package com.rct.humanresources.core.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Delete Result DTO - Number of documents removed by a bulk delete
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeleteResultDTO {
+    long deletedCount;
+}
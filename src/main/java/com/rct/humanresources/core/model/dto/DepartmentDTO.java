@@ -4,18 +4,21 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 /**
  * Department DTO
  */
 @Getter
 @Setter
 @RequiredArgsConstructor
-public class DepartmentDTO {
+public class DepartmentDTO implements EntityDTO {
     String id;
     String name;
     String description;
     String locationId;
     String managerId;
-    String createdAt;
-    String updatedAt;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+    Long version;
 }
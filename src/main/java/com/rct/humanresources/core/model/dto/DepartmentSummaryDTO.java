@@ -0,0 +1,25 @@
+package com.rct.humanresources.core.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Department Summary DTO - Headcount, total payroll and manager name of one Department
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentSummaryDTO {
+    String id;
+    String name;
+    String managerId;
+    String managerName;
+    long headcount;
+    double totalPayroll;
+    LocalDateTime updatedAt;
+}
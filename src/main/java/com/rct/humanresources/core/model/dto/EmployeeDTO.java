@@ -4,25 +4,28 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 /**
  * Employee DTO
  */
 @Getter
 @Setter
 @RequiredArgsConstructor
-public class EmployeeDTO {
+public class EmployeeDTO implements EntityDTO {
     String id;
     String firstName;
     String lastName;
     String email;
     String phoneNumber;
-    double salary;
-    double commission;
-    String birthDate;
-    String hireDate;
+    Double salary;
+    Double commission;
+    LocalDateTime birthDate;
+    LocalDateTime hireDate;
     String departmentId;
     String managerId;
     String jobId;
-    String createdAt;
-    String updatedAt;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+    Long version;
 }
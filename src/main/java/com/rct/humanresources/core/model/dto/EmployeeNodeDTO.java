@@ -0,0 +1,24 @@
+package com.rct.humanresources.core.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Employee Node DTO - An Employee in the org chart, with its distance in reporting levels from the
+ * requested Employee, 1 for a direct report or the direct manager, and, in tree output, its direct reports
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeNodeDTO {
+    EmployeeDTO employee;
+    long depth;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    List<EmployeeNodeDTO> reports;
+}
@@ -0,0 +1,10 @@
+package com.rct.humanresources.core.model.dto;
+
+/**
+ * Entity DTO - ID and Version every entity DTO exposes, so pages, finds by IDs
+ * and versioned patches are written once for all of them
+ */
+public interface EntityDTO {
+    String getId();
+    Long getVersion();
+}
@@ -0,0 +1,24 @@
+package com.rct.humanresources.core.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Expanded Department DTO - A Department with the references resolved down to the requested level
+ * of location.city.state.country. References beyond that level, or not found, are left out
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ExpandedDepartmentDTO {
+    DepartmentDTO department;
+    LocationDTO location;
+    CityDTO city;
+    StateDTO state;
+    CountryDTO country;
+}
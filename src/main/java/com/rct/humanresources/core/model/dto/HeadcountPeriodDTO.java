@@ -0,0 +1,23 @@
+package com.rct.humanresources.core.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Headcount Period DTO - Distinct Employees holding a Job History during one period of a time series
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class HeadcountPeriodDTO {
+    String groupBy;
+    String groupId;
+    LocalDateTime periodStart;
+    LocalDateTime periodEnd;
+    long headcount;
+}
@@ -4,17 +4,20 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 /**
  * Job DTO
  */
 @Getter
 @Setter
 @RequiredArgsConstructor
-public class JobDTO {
+public class JobDTO implements EntityDTO {
     String id;
     String title;
-    double minSalary;
-    double maxSalary;
-    String createdAt;
-    String updatedAt;
+    Double minSalary;
+    Double maxSalary;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+    Long version;
 }
@@ -4,18 +4,22 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 /**
  * JobHistory DTO
  */
 @Getter
 @Setter
 @RequiredArgsConstructor
-public class JobHistoryDTO {
+public class JobHistoryDTO implements EntityDTO {
     String id;
-    String startDate;
-    String endDate;
+    LocalDateTime startDate;
+    LocalDateTime endDate;
+    String employeeId;
     String jobId;
     String departmentId;
-    String createdAt;
-    String updatedAt;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+    Long version;
 }
@@ -4,17 +4,20 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 /**
  * Location DTO
  */
 @Getter
 @Setter
 @RequiredArgsConstructor
-public class LocationDTO {
+public class LocationDTO implements EntityDTO {
     String id;
     String street;
     String postalCode;
     String cityId;
-    String createdAt;
-    String updatedAt;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+    Long version;
 }
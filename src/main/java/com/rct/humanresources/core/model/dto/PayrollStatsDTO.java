@@ -0,0 +1,27 @@
+package com.rct.humanresources.core.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Payroll Stats DTO - Headcount and salary distribution of one Department or Job
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollStatsDTO {
+    String groupBy;
+    String groupId;
+    long headcount;
+    Double totalSalary;
+    Double averageSalary;
+    Double minSalary;
+    Double maxSalary;
+    Double medianSalary;
+    Double p90Salary;
+    Double p99Salary;
+    Double totalCommission;
+}
@@ -4,17 +4,20 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 /**
  * State DTO
  */
 @Getter
 @Setter
 @RequiredArgsConstructor
-public class StateDTO {
+public class StateDTO implements EntityDTO {
     String id;
     String name;
     String acronym;
     String countryId;
-    String createdAt;
-    String updatedAt;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+    Long version;
 }
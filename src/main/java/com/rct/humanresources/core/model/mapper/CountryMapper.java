@@ -7,20 +7,6 @@ import org.mapstruct.Mapper;
 /**
  *  Country - Mapper MapStruct Interface
  */
-@Mapper(componentModel = "spring")
-public interface CountryMapper {
-    /**
-     * Convert Country DTO to Model
-     * @param countryDTO Country DTO
-     * @return Country Model
-     */
-    Country fromDTO(CountryDTO countryDTO);
-
-    /**
-     * Convert Country Model to DTO
-     * @param country Country Model
-     * @return Country DTO
-     */
-    CountryDTO fromModel(Country country);
-
+@Mapper(config = SharedMapperConfig.class)
+public interface CountryMapper extends EntityMapper<Country, CountryDTO> {
 }
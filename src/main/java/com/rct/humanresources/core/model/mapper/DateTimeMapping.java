@@ -0,0 +1,38 @@
+package com.rct.humanresources.core.model.mapper;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Date Time Mapping - The single immutable ISO formatter shared by the Mappers and the JSON codecs.
+ * DTOs carry java.time types, so a conversion only copies the reference; these methods cover the
+ * String representations that are still parsed or printed, such as query parameters
+ */
+public final class DateTimeMapping {
+    public static final DateTimeFormatter LOCAL_DATE_TIME = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    /**
+     * Format a LocalDateTime as ISO
+     * @param value LocalDateTime
+     * @return String
+     */
+    public static String format(LocalDateTime value) {
+        return value == null ? null : LOCAL_DATE_TIME.format(value);
+    }
+
+    /**
+     * Parse an ISO LocalDateTime
+     * @param value String
+     * @return LocalDateTime
+     */
+    public static LocalDateTime parse(String value) {
+        return value == null || value.isBlank() ? null : LocalDateTime.parse(value, LOCAL_DATE_TIME);
+    }
+
+    /**
+     * Date Time Mapping Constructor
+     */
+    private DateTimeMapping() {
+        throw new IllegalStateException("Utility class");
+    }
+}
@@ -7,19 +7,6 @@ import org.mapstruct.Mapper;
 /**
  *  Department - Mapper MapStruct Interface
  */
-@Mapper(componentModel = "spring")
-public interface DepartmentMapper {
-    /**
-     * Convert Department DTO to Model
-     * @param departmentDTO Department DTO
-     * @return Department Model
-     */
-    Department fromDTO(DepartmentDTO departmentDTO);
-
-    /**
-     * Convert Department Model to DTO
-     * @param department Department Model
-     * @return Department DTO
-     */
-    DepartmentDTO fromModel(Department department);
+@Mapper(config = SharedMapperConfig.class)
+public interface DepartmentMapper extends EntityMapper<Department, DepartmentDTO> {
 }
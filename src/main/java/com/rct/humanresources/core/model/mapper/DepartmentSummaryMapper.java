@@ -0,0 +1,18 @@
+package com.rct.humanresources.core.model.mapper;
+
+import com.rct.humanresources.core.model.dto.DepartmentSummaryDTO;
+import com.rct.humanresources.infra.persistence.model.DepartmentSummary;
+import org.mapstruct.Mapper;
+
+/**
+ *  Department Summary - Mapper MapStruct Interface
+ */
+@Mapper(config = SharedMapperConfig.class)
+public interface DepartmentSummaryMapper {
+    /**
+     * Convert Department Summary Model to DTO
+     * @param departmentSummary Department Summary Model
+     * @return Department Summary DTO
+     */
+    DepartmentSummaryDTO fromModel(DepartmentSummary departmentSummary);
+}
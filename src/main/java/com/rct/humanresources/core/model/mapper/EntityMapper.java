@@ -0,0 +1,27 @@
+package com.rct.humanresources.core.model.mapper;
+
+import org.mapstruct.Mapping;
+
+/**
+ *  Entity Mapper - Model and DTO conversions every entity Mapper provides, MapStruct
+ *  implementing them for the Model and DTO types bound by the extending Mapper
+ * @param <T> Model Type
+ * @param <D> DTO Type
+ */
+public interface EntityMapper<T, D> {
+    /**
+     * Convert DTO to Model, without its version: Spring Data sets it on insert and the updates
+     * increment it, a client never writes it
+     * @param dto DTO
+     * @return Model
+     */
+    @Mapping(target = "version", ignore = true)
+    T fromDTO(D dto);
+
+    /**
+     * Convert Model to DTO
+     * @param model Model
+     * @return DTO
+     */
+    D fromModel(T model);
+}
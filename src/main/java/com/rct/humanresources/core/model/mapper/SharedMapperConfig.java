@@ -0,0 +1,12 @@
+package com.rct.humanresources.core.model.mapper;
+
+import org.mapstruct.MapperConfig;
+
+import static org.mapstruct.InjectionStrategy.CONSTRUCTOR;
+
+/**
+ *  Shared MapStruct Configuration - Spring components, constructor injection and the shared Date Time Mapping
+ */
+@MapperConfig(componentModel = "spring", injectionStrategy = CONSTRUCTOR, uses = DateTimeMapping.class)
+public interface SharedMapperConfig {
+}
@@ -1,16 +1,17 @@
 package com.rct.humanresources.core.service;
 
 import com.rct.humanresources.core.model.dto.CityDTO;
+import com.rct.humanresources.core.model.dto.DeleteResultDTO;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-public interface CityService {
-    Mono<CityDTO> create(CityDTO dto);
-    Flux<CityDTO> findAll();
-    Mono<CityDTO> findById(String id);
+import java.util.Map;
+import java.util.Set;
+
+public interface CityService extends CrudService<CityDTO> {
     Flux<CityDTO> findByStateId(String stateId);
-    Mono<CityDTO> updateById(String id, CityDTO dto);
-    Mono<CityDTO> deleteById(String id);
-    Flux<CityDTO> fetchByName(String name);
+    Flux<CityDTO> findByStateId(String stateId, Set<String> fields);
+    Mono<DeleteResultDTO> deleteAllBy(Map<String, String> filter);
+    Flux<CityDTO> fetchByName(String name, Integer limit);
 
 }
@@ -0,0 +1,22 @@
+package com.rct.humanresources.core.service;
+
+import com.rct.humanresources.core.model.dto.BatchItemResultDTO;
+import com.rct.humanresources.core.model.dto.ChangeEventDTO;
+import com.rct.humanresources.core.model.dto.CursorPageDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface CrudService<D> {
+    Mono<D> create(D dto);
+    Flux<BatchItemResultDTO<D>> saveAll(Flux<D> dtos);
+    Flux<D> findAll();
+    Mono<CursorPageDTO<D>> findAll(String cursor, Integer limit);
+    Flux<ChangeEventDTO<D>> watch(String resumeToken);
+    Mono<D> findById(String id);
+    Flux<D> findAllById(List<String> ids);
+    Mono<D> updateById(String id, D dto);
+    Mono<D> patchById(String id, D dto);
+    Mono<D> deleteById(String id);
+}
@@ -1,19 +1,27 @@
 package com.rct.humanresources.core.service;
 
+import com.rct.humanresources.core.model.dto.DeleteResultDTO;
 import com.rct.humanresources.core.model.dto.DepartmentDTO;
+import com.rct.humanresources.core.model.dto.DepartmentSummaryDTO;
+import com.rct.humanresources.core.model.dto.ExpandedDepartmentDTO;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Department Service - Interface
  */
-public interface DepartmentService {
-    Mono<DepartmentDTO> create(DepartmentDTO dto);
-    Flux<DepartmentDTO> findAll();
+public interface DepartmentService extends CrudService<DepartmentDTO> {
     Flux<DepartmentDTO> findByManagerId(String managerId);
+    Flux<DepartmentDTO> findByManagerId(String managerId, Set<String> fields);
     Flux<DepartmentDTO> findByLocationId(String locationId);
-    Mono<DepartmentDTO> findById(String id);
-    Mono<DepartmentDTO> updateById(String id, DepartmentDTO dto);
-    Mono<DepartmentDTO> deleteById(String id);
-    Flux<DepartmentDTO> fetchByName(String name);
+    Flux<DepartmentDTO> findByLocationId(String locationId, Set<String> fields);
+    Mono<ExpandedDepartmentDTO> findById(String id, String expand);
+    Mono<DeleteResultDTO> deleteAllBy(Map<String, String> filter);
+    Mono<DepartmentSummaryDTO> findSummaryById(String id);
+    Flux<DepartmentSummaryDTO> findSummaries();
+    Flux<DepartmentSummaryDTO> rebuildSummaries();
+    Flux<DepartmentDTO> fetchByName(String name, Integer limit);
 }
@@ -1,18 +1,28 @@
 package com.rct.humanresources.core.service;
 
+import com.rct.humanresources.core.model.dto.DeleteResultDTO;
 import com.rct.humanresources.core.model.dto.EmployeeDTO;
+import com.rct.humanresources.core.model.dto.EmployeeNodeDTO;
+import com.rct.humanresources.core.model.dto.PayrollStatsDTO;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-public interface EmployeeService {
-    Flux<EmployeeDTO> findAll();
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+
+public interface EmployeeService extends CrudService<EmployeeDTO> {
     Flux<EmployeeDTO> findByDepartmentId(String departmentId);
+    Flux<EmployeeDTO> findByDepartmentId(String departmentId, Set<String> fields);
     Flux<EmployeeDTO> findByManagerId(String managerId);
+    Flux<EmployeeDTO> findByManagerId(String managerId, Set<String> fields);
     Flux<EmployeeDTO> findByJobId(String jobId);
-    Mono<EmployeeDTO> findById(String id);
-    Mono<EmployeeDTO> updateById(String id, EmployeeDTO dto);
-    Mono<EmployeeDTO> deleteById(String id);
-    Flux<EmployeeDTO> fetchByName(String name);
-    Mono<EmployeeDTO> create(EmployeeDTO dto);
+    Flux<EmployeeDTO> findByJobId(String jobId, Set<String> fields);
+    Flux<EmployeeNodeDTO> findSubordinates(String id, int depth);
+    Mono<EmployeeNodeDTO> findSubordinateTree(String id, int depth);
+    Flux<EmployeeNodeDTO> findChain(String id);
+    Flux<PayrollStatsDTO> findPayrollStats(String groupBy, LocalDateTime hiredFrom, LocalDateTime hiredTo);
+    Mono<DeleteResultDTO> deleteAllBy(Map<String, String> filter);
+    Flux<EmployeeDTO> fetchByName(String name, Integer limit);
 
 }
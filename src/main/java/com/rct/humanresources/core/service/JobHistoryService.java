@@ -1,15 +1,24 @@
 package com.rct.humanresources.core.service;
 
+import com.rct.humanresources.core.model.dto.DeleteResultDTO;
+import com.rct.humanresources.core.model.dto.HeadcountPeriodDTO;
 import com.rct.humanresources.core.model.dto.JobHistoryDTO;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-public interface JobHistoryService {
-    Flux<JobHistoryDTO> findAll();
-    Mono<JobHistoryDTO> findById(String id);
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+
+public interface JobHistoryService extends CrudService<JobHistoryDTO> {
     Flux<JobHistoryDTO> findByDepartmentId(String departmentId);
+    Flux<JobHistoryDTO> findByDepartmentId(String departmentId, Set<String> fields);
     Flux<JobHistoryDTO> findByJobId(String jobId);
-    Mono<JobHistoryDTO> updateById(String id, JobHistoryDTO dto);
-    Mono<JobHistoryDTO> deleteById(String id);
-    Mono<JobHistoryDTO> create(JobHistoryDTO dto);
+    Flux<JobHistoryDTO> findByJobId(String jobId, Set<String> fields);
+    Flux<JobHistoryDTO> findByEmployeeId(String employeeId);
+    Flux<JobHistoryDTO> findByEmployeeId(String employeeId, Set<String> fields);
+    Flux<JobHistoryDTO> findAsOf(Map<String, String> filter, LocalDateTime at);
+    Flux<JobHistoryDTO> findOverlapping(Map<String, String> filter, LocalDateTime from, LocalDateTime to);
+    Flux<HeadcountPeriodDTO> findHeadcount(Map<String, String> filter, LocalDateTime from, LocalDateTime to, String period);
+    Mono<DeleteResultDTO> deleteAllBy(Map<String, String> filter);
 }
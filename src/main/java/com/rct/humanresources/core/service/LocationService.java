@@ -1,15 +1,16 @@
 package com.rct.humanresources.core.service;
 
+import com.rct.humanresources.core.model.dto.DeleteResultDTO;
 import com.rct.humanresources.core.model.dto.LocationDTO;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-public interface LocationService {
-    Flux<LocationDTO> findAll();
+import java.util.Map;
+import java.util.Set;
+
+public interface LocationService extends CrudService<LocationDTO> {
     Flux<LocationDTO> findByCityId(String cityId);
-    Mono<LocationDTO> findById(String id);
-    Mono<LocationDTO> updateById(String id, LocationDTO dto);
-    Mono<LocationDTO> deleteById(String id);
-    Flux<LocationDTO> fetchByName(String name);
-    Mono<LocationDTO> create(LocationDTO dto);
+    Flux<LocationDTO> findByCityId(String cityId, Set<String> fields);
+    Mono<DeleteResultDTO> deleteAllBy(Map<String, String> filter);
+    Flux<LocationDTO> fetchByName(String name, Integer limit);
 }
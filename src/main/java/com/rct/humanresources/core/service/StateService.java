@@ -1,15 +1,16 @@
 package com.rct.humanresources.core.service;
 
+import com.rct.humanresources.core.model.dto.DeleteResultDTO;
 import com.rct.humanresources.core.model.dto.StateDTO;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-public interface StateService {
-    Flux<StateDTO> findAll();
+import java.util.Map;
+import java.util.Set;
+
+public interface StateService extends CrudService<StateDTO> {
     Flux<StateDTO> findByCountryId(String countryId);
-    Mono<StateDTO> findById(String id);
-    Mono<StateDTO> updateById(String id, StateDTO dto);
-    Mono<StateDTO> deleteById(String id);
-    Flux<StateDTO> fetchByName(String name);
-    Mono<StateDTO> create(StateDTO dto);
+    Flux<StateDTO> findByCountryId(String countryId, Set<String> fields);
+    Mono<DeleteResultDTO> deleteAllBy(Map<String, String> filter);
+    Flux<StateDTO> fetchByName(String name, Integer limit);
 }
@@ -0,0 +1,269 @@
+package com.rct.humanresources.core.service.impl;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.client.result.DeleteResult;
+import com.rct.humanresources.core.model.dto.BatchItemResultDTO;
+import com.rct.humanresources.core.model.dto.ChangeEventDTO;
+import com.rct.humanresources.core.model.dto.CursorPageDTO;
+import com.rct.humanresources.core.model.dto.DeleteResultDTO;
+import com.rct.humanresources.core.model.dto.EntityDTO;
+import com.rct.humanresources.core.model.mapper.EntityMapper;
+import com.rct.humanresources.core.service.CrudService;
+import com.rct.humanresources.infra.persistence.bulk.BulkWriter;
+import com.rct.humanresources.infra.persistence.search.SearchEngine;
+import com.rct.humanresources.infra.persistence.stream.ChangeStreamHub;
+import com.rct.humanresources.infra.persistence.update.PartialUpdater;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.rct.humanresources.core.util.CursorPagination.normalizeLimit;
+import static com.rct.humanresources.core.util.CursorPagination.pageQuery;
+import static com.rct.humanresources.core.util.CursorPagination.toPage;
+import static com.rct.humanresources.core.util.DeleteFilters.deleteQuery;
+import static com.rct.humanresources.core.util.FieldProjection.project;
+import static com.rct.humanresources.core.util.MultiGet.distinctIds;
+import static com.rct.humanresources.core.util.MultiGet.inRequestOrder;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Abstract Crud Service - The reads and writes every entity shares, written once over the entity Class,
+ * its Mapper and Repository: keyset pages, change streams, finds by IDs, bulk saves, versioned patches,
+ * projected finds, filtered deletes and name search. Entity services extend it, overriding an operation
+ * to cache or batch it, write to follow every single document write, or readPreference to route their reads.
+ * @param <T> Model Type
+ * @param <D> DTO Type
+ */
+public abstract class AbstractCrudService<T, D extends EntityDTO> implements CrudService<D> {
+    private final Class<T> type;
+    private final EntityMapper<T, D> mapper;
+    private final ReactiveMongoRepository<T, String> repository;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final ChangeStreamHub changeStreamHub;
+    private final SearchEngine searchEngine;
+    private final BulkWriter bulkWriter;
+    private final PartialUpdater partialUpdater;
+    private final Set<String> deleteFilters;
+
+    /**
+     * Abstract Crud Service Constructor
+     * @param type Model Class
+     * @param mapper Model and DTO Mapper
+     * @param repository Model Repository
+     * @param reactiveMongoTemplate ReactiveMongoTemplate
+     * @param changeStreamHub ChangeStreamHub
+     * @param searchEngine SearchEngine, null when the entity is not searchable
+     * @param bulkWriter BulkWriter
+     * @param partialUpdater PartialUpdater
+     * @param deleteFilters Fields a filtered delete may match on
+     */
+    protected AbstractCrudService(Class<T> type, EntityMapper<T, D> mapper, ReactiveMongoRepository<T, String> repository,
+                                  ReactiveMongoTemplate reactiveMongoTemplate, ChangeStreamHub changeStreamHub,
+                                  SearchEngine searchEngine, BulkWriter bulkWriter, PartialUpdater partialUpdater,
+                                  Set<String> deleteFilters) {
+        this.type = type;
+        this.mapper = mapper;
+        this.repository = repository;
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.changeStreamHub = changeStreamHub;
+        this.searchEngine = searchEngine;
+        this.bulkWriter = bulkWriter;
+        this.partialUpdater = partialUpdater;
+        this.deleteFilters = deleteFilters;
+    }
+
+    /**
+     * Create
+     * @param dto DTO
+     * @return Mono DTO
+     */
+    public Mono<D> create(D dto){
+        return write(null, repository.save(mapper.fromDTO(dto)))
+                .map(mapper::fromModel);
+    }
+
+    /**
+     * Save in unordered Bulk Writes
+     * @param dtos Flux DTO
+     * @return Flux BatchItemResultDTO DTO
+     */
+    public Flux<BatchItemResultDTO<D>> saveAll(Flux<D> dtos){
+        return bulkWriter
+                .write(type, dtos.map(mapper::fromDTO), mapper::fromModel);
+    }
+
+    /**
+     * Find All
+     * @return Flux DTO
+     */
+    public Flux<D> findAll(){
+        var readPreference = readPreference();
+        return (readPreference == null
+                ? repository.findAll()
+                : reactiveMongoTemplate.find(new Query().withReadPreference(readPreference), type))
+                .map(mapper::fromModel);
+    }
+
+    /**
+     * Find a Page after the Cursor
+     * @param cursor String
+     * @param limit Integer
+     * @return Mono CursorPageDTO DTO
+     */
+    public Mono<CursorPageDTO<D>> findAll(String cursor, Integer limit){
+        return Mono.fromCallable(() -> normalizeLimit(limit))
+                .flatMap(pageLimit -> reactiveMongoTemplate
+                        .find(routed(pageQuery(cursor, pageLimit)), type)
+                        .map(mapper::fromModel)
+                        .collectList()
+                        .map(items -> toPage(items, pageLimit, EntityDTO::getId)));
+    }
+
+    /**
+     * Watch Changes
+     * @param resumeToken String
+     * @return Flux ChangeEventDTO DTO
+     */
+    public Flux<ChangeEventDTO<D>> watch(String resumeToken){
+        return changeStreamHub.watch(type, resumeToken, mapper::fromModel);
+    }
+
+    /**
+     * Find by ID
+     * @param id String
+     * @return Mono DTO
+     */
+    public Mono<D> findById(String id){
+        var readPreference = readPreference();
+        return (readPreference == null
+                ? repository.findById(id)
+                : reactiveMongoTemplate.findOne(query(where("id").is(id)).withReadPreference(readPreference), type))
+                .map(mapper::fromModel);
+    }
+
+    /**
+     * Find by IDs, in a single $in query
+     * @param ids Requested IDs, duplicates ignored
+     * @return Flux DTO, in the order of the IDs, missing ones skipped
+     */
+    public Flux<D> findAllById(List<String> ids){
+        return Mono.fromCallable(() -> distinctIds(ids))
+                .flatMapMany(distinct -> inRequestOrder(distinct, findAllByDistinctId(distinct)
+                        .map(mapper::fromModel), EntityDTO::getId));
+    }
+
+    /**
+     * Update by ID
+     * @param id String
+     * @param dto DTO
+     * @return Mono DTO
+     */
+    public Mono<D> updateById(String id, D dto){
+        return write(id, partialUpdater.replace(type, id, dto, mapper::fromDTO, null))
+                .map(mapper::fromModel);
+    }
+
+    /**
+     * Patch by ID, setting only the fields present on the DTO
+     * @param id String
+     * @param dto DTO
+     * @return Mono DTO
+     */
+    public Mono<D> patchById(String id, D dto){
+        return write(id, partialUpdater.patch(type, id, dto, mapper::fromDTO, dto.getVersion()))
+                .map(mapper::fromModel);
+    }
+
+    /**
+     * Delete by ID
+     * @param id String
+     * @return Mono DTO
+     */
+    public Mono<D> deleteById(String id){
+        return write(null, reactiveMongoTemplate.findAndRemove(query(where("id").is(id)), type))
+                .map(mapper::fromModel);
+    }
+
+    /**
+     * Delete matching every given Field, in a single deleteMany
+     * @param filter Field Values, of the delete filters
+     * @return Mono DeleteResultDTO
+     */
+    public Mono<DeleteResultDTO> deleteAllBy(Map<String, String> filter){
+        var query = deleteQuery(filter, deleteFilters);
+        return removeAll(query, reactiveMongoTemplate.remove(query, type).map(DeleteResult::getDeletedCount))
+                .map(DeleteResultDTO::new);
+    }
+
+    /**
+     * Fetch by Name, most relevant first
+     * @param name String
+     * @param limit Integer
+     * @return Flux DTO
+     */
+    public Flux<D> fetchByName(String name, Integer limit) {
+        return searchEngine
+                .search(type, name, limit)
+                .map(mapper::fromModel);
+    }
+
+    /**
+     * Find All matching a Field, loading only the given Fields
+     * @param field Field Name
+     * @param value Field Value
+     * @param fields Field Names, all Fields when empty
+     * @return Flux DTO
+     */
+    protected Flux<D> findBy(String field, String value, Set<String> fields){
+        return reactiveMongoTemplate
+                .find(routed(project(query(where(field).is(value)), fields)), type)
+                .map(mapper::fromModel);
+    }
+
+    /**
+     * Read Preference of the reads this Service does not cache, the client default when null
+     * @return ReadPreference
+     */
+    protected ReadPreference readPreference(){
+        return null;
+    }
+
+    /**
+     * Run a single document Write, as is unless the entity follows its writes
+     * @param id ID of the replaced or patched document, null on create and delete
+     * @param write Insert, Replace, Patch or Delete, returning the written or removed document
+     * @return Mono Model
+     */
+    protected Mono<T> write(String id, Mono<T> write){
+        return write;
+    }
+
+    /**
+     * Run a Delete of every matching document, as is unless the entity follows its writes
+     * @param query Query of the documents about to be removed
+     * @param remove Delete, returning the removed count
+     * @return Mono Long
+     */
+    protected Mono<Long> removeAll(Query query, Mono<Long> remove){
+        return remove;
+    }
+
+    private Flux<T> findAllByDistinctId(Set<String> ids){
+        var readPreference = readPreference();
+        return readPreference == null
+                ? repository.findAllById(ids)
+                : reactiveMongoTemplate.find(query(where("id").in(ids)).withReadPreference(readPreference), type);
+    }
+
+    private Query routed(Query query){
+        var readPreference = readPreference();
+        return readPreference == null ? query : query.withReadPreference(readPreference);
+    }
+}
@@ -1,93 +1,136 @@
 package com.rct.humanresources.core.service.impl;
 
+import com.mongodb.ReadPreference;
+import com.rct.humanresources.core.model.dto.BatchItemResultDTO;
 import com.rct.humanresources.core.model.dto.CityDTO;
+import com.rct.humanresources.core.model.dto.DeleteResultDTO;
 import com.rct.humanresources.core.model.mapper.CityMapper;
 import com.rct.humanresources.core.service.CityService;
+import com.rct.humanresources.infra.cache.ReferenceDataCaches;
+import com.rct.humanresources.infra.persistence.bulk.BulkWriter;
 import com.rct.humanresources.infra.persistence.model.City;
+import com.rct.humanresources.infra.persistence.read.ReadPreferences;
 import com.rct.humanresources.infra.persistence.repository.CityRepository;
-import lombok.RequiredArgsConstructor;
+import com.rct.humanresources.infra.persistence.search.SearchEngine;
+import com.rct.humanresources.infra.persistence.stream.ChangeStreamHub;
+import com.rct.humanresources.infra.persistence.update.PartialUpdater;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
-import org.springframework.data.mongodb.core.query.Criteria;
-import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import static java.util.Collections.singletonList;
-import static org.springframework.data.domain.Sort.Order.asc;
-import static reactor.core.publisher.Mono.empty;
+import java.util.Map;
+import java.util.Set;
+
+import static com.rct.humanresources.infra.cache.ReactiveCache.getMany;
 
 /**
  * City Service Implementation
  */
 @Service
 @Slf4j
-@RequiredArgsConstructor
-public class CityServiceImpl implements CityService {
+public class CityServiceImpl extends AbstractCrudService<City, CityDTO> implements CityService {
+    private static final Set<String> DELETE_FILTERS = Set.of("stateId");
     private final CityMapper mapper;
     private final CityRepository repository;
-    private final ReactiveMongoTemplate reactiveMongoTemplate;
-    
+    private final ReferenceDataCaches caches;
+    private final ReadPreferences readPreferences;
+
+    /**
+     * City Service Implementation Constructor
+     * @param mapper CityMapper
+     * @param repository CityRepository
+     * @param reactiveMongoTemplate ReactiveMongoTemplate
+     * @param changeStreamHub ChangeStreamHub
+     * @param searchEngine SearchEngine
+     * @param bulkWriter BulkWriter
+     * @param partialUpdater PartialUpdater
+     * @param caches ReferenceDataCaches
+     * @param readPreferences ReadPreferences
+     */
+    public CityServiceImpl(CityMapper mapper, CityRepository repository, ReactiveMongoTemplate reactiveMongoTemplate,
+                           ChangeStreamHub changeStreamHub, SearchEngine searchEngine, BulkWriter bulkWriter,
+                           PartialUpdater partialUpdater, ReferenceDataCaches caches,
+                           ReadPreferences readPreferences) {
+        super(City.class, mapper, repository, reactiveMongoTemplate, changeStreamHub,
+                searchEngine, bulkWriter, partialUpdater, DELETE_FILTERS);
+        this.mapper = mapper;
+        this.repository = repository;
+        this.caches = caches;
+        this.readPreferences = readPreferences;
+    }
+
     /**
      * Create City
      * @param dto CityDTO
      * @return Mono CityDTO
      */
+    @Override
     public Mono<CityDTO> create(CityDTO dto){
-        return repository
-                .save(mapper.fromDTO(dto))
-                .map(mapper::fromModel);
+        return super.create(dto)
+                .doOnNext(saved -> caches.getCitiesByStateId().invalidate(saved.getStateId()));
     }
 
     /**
-     * Find All Cities
-     * @return Flux City
+     * Save Cities in unordered Bulk Writes
+     * @param dtos Flux CityDTO
+     * @return Flux BatchItemResultDTO CityDTO
      */
-    public Flux<CityDTO> findAll(){
-        return repository
-                .findAll()
-                .map(mapper::fromModel);
+    @Override
+    public Flux<BatchItemResultDTO<CityDTO>> saveAll(Flux<CityDTO> dtos){
+        return super.saveAll(dtos)
+                .doFinally(signal -> caches.getCitiesByStateId().invalidateAll());
     }
 
     /**
-     * Find City by ID
-     * @param id String
-     * @return Mono CityDTO
+     * Find All Cities by State ID
+     * @param stateId String
+     * @return Flux CityDTO
      */
-    public Mono<CityDTO> findById(String id){
-        return repository
-                .findById(id)
+    public Flux<CityDTO> findByStateId(String stateId){
+        return getMany(caches.getCitiesByStateId(), stateId, repository::findByStateId)
                 .map(mapper::fromModel);
     }
 
     /**
-     * Find All Cities by Department ID
+     * Find All Cities by State ID, loading only the given Fields
      * @param stateId String
+     * @param fields Field Names, all Fields when empty
      * @return Flux CityDTO
      */
-    public Flux<CityDTO> findByStateId(String stateId){
-        return repository
-                .findByStateId(stateId)
-                .map(mapper::fromModel);
+    public Flux<CityDTO> findByStateId(String stateId, Set<String> fields){
+        return findBy("stateId", stateId, fields);
     }
 
-
     /**
      * Update City by ID
      * @param id String
      * @param dto CityDTO
      * @return Mono CityDTO
      */
+    @Override
     public Mono<CityDTO> updateById(String id, CityDTO dto){
-        return repository
-                .findById(id)
-                .flatMap(item ->
-                    repository.save(mapper.fromDTO(dto))
-                )
-                .switchIfEmpty(empty())
-                .map(mapper::fromModel);
+        return super.updateById(id, dto)
+                .doOnNext(updated -> caches.getCitiesByStateId().invalidateAll());
+    }
+
+    /**
+     * Patch City by ID, setting only the fields present on the DTO
+     * @param id String
+     * @param dto CityDTO
+     * @return Mono CityDTO
+     */
+    @Override
+    public Mono<CityDTO> patchById(String id, CityDTO dto){
+        return super.patchById(id, dto)
+                .doOnNext(patched -> {
+                    if (dto.getStateId() == null) {
+                        caches.getCitiesByStateId().invalidate(patched.getStateId());
+                    } else {
+                        caches.getCitiesByStateId().invalidateAll();
+                    }
+                });
     }
 
     /**
@@ -95,28 +138,29 @@ public class CityServiceImpl implements CityService {
      * @param id String
      * @return Mono CityDTO
      */
+    @Override
     public Mono<CityDTO> deleteById(String id){
-        return repository
-                .findById(id)
-                .flatMap(item -> repository.delete(item).then(Mono.just(item)))
-                .map(mapper::fromModel);
+        return super.deleteById(id)
+                .doOnNext(deleted -> caches.getCitiesByStateId().invalidate(deleted.getStateId()));
     }
 
     /**
-     * Fetch Cities by Name
-     * @param name String
-     * @return Flux CityDTO
+     * Delete Cities matching every given Field, in a single deleteMany
+     * @param filter Field Values, of stateId
+     * @return Mono DeleteResultDTO
      */
-    public Flux<CityDTO> fetchByName(String name) {
-        var query = new Query().with(Sort.by(singletonList(asc("name"))));
-
-        query.addCriteria(Criteria
-                .where("name")
-                .regex(name)
-        );
-        return reactiveMongoTemplate
-                .find(query, City.class)
-                .map(mapper::fromModel);
+    @Override
+    public Mono<DeleteResultDTO> deleteAllBy(Map<String, String> filter){
+        return super.deleteAllBy(filter)
+                .doOnNext(result -> caches.getCitiesByStateId().invalidate(filter.get("stateId")));
     }
 
+    /**
+     * Read Preference of the City reads not served by the cache
+     * @return ReadPreference
+     */
+    @Override
+    protected ReadPreference readPreference(){
+        return readPreferences.getReference();
+    }
 }
@@ -1,54 +1,82 @@
 package com.rct.humanresources.core.service.impl;
 
+import com.mongodb.ReadPreference;
+import com.rct.humanresources.core.model.dto.BatchItemResultDTO;
 import com.rct.humanresources.core.model.dto.CountryDTO;
 import com.rct.humanresources.core.model.mapper.CountryMapper;
 import com.rct.humanresources.core.service.CountryService;
+import com.rct.humanresources.infra.cache.ReferenceDataCaches;
+import com.rct.humanresources.infra.persistence.bulk.BulkWriter;
 import com.rct.humanresources.infra.persistence.model.Country;
+import com.rct.humanresources.infra.persistence.read.ReadPreferences;
 import com.rct.humanresources.infra.persistence.repository.CountryRepository;
-import lombok.RequiredArgsConstructor;
+import com.rct.humanresources.infra.persistence.search.SearchEngine;
+import com.rct.humanresources.infra.persistence.stream.ChangeStreamHub;
+import com.rct.humanresources.infra.persistence.update.PartialUpdater;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
-import org.springframework.data.mongodb.core.query.Criteria;
-import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import static java.util.Collections.singletonList;
-import static org.springframework.data.domain.Sort.Order.asc;
-import static reactor.core.publisher.Mono.empty;
+import java.util.Set;
 
 /**
  * Country Service Implementation
  */
 @Service
 @Slf4j
-@RequiredArgsConstructor
-public class CountryServiceImpl implements CountryService {
-    private final ReactiveMongoTemplate reactiveMongoTemplate;
+public class CountryServiceImpl extends AbstractCrudService<Country, CountryDTO> implements CountryService {
     private final CountryMapper mapper;
     private final CountryRepository repository;
+    private final ReferenceDataCaches caches;
+    private final ReadPreferences readPreferences;
+
+    /**
+     * Country Service Implementation Constructor
+     * @param reactiveMongoTemplate ReactiveMongoTemplate
+     * @param mapper CountryMapper
+     * @param repository CountryRepository
+     * @param changeStreamHub ChangeStreamHub
+     * @param searchEngine SearchEngine
+     * @param bulkWriter BulkWriter
+     * @param partialUpdater PartialUpdater
+     * @param caches ReferenceDataCaches
+     * @param readPreferences ReadPreferences
+     */
+    public CountryServiceImpl(ReactiveMongoTemplate reactiveMongoTemplate, CountryMapper mapper,
+                              CountryRepository repository, ChangeStreamHub changeStreamHub,
+                              SearchEngine searchEngine, BulkWriter bulkWriter, PartialUpdater partialUpdater,
+                              ReferenceDataCaches caches,
+                              ReadPreferences readPreferences) {
+        super(Country.class, mapper, repository, reactiveMongoTemplate, changeStreamHub,
+                searchEngine, bulkWriter, partialUpdater, Set.of());
+        this.mapper = mapper;
+        this.repository = repository;
+        this.caches = caches;
+        this.readPreferences = readPreferences;
+    }
 
     /**
      * Create Country
      * @param dto CountryDTO
      * @return Mono CountryDTO
      */
+    @Override
     public Mono<CountryDTO> create(CountryDTO dto){
-        return repository
-                .save(mapper.fromDTO(dto))
-                .map(mapper::fromModel);
+        return super.create(dto)
+                .doOnNext(saved -> caches.getCountriesById().invalidate(saved.getId()));
     }
 
     /**
-     * Find All Countries
-     * @return Flux CountryDTO
+     * Save Countries in unordered Bulk Writes
+     * @param dtos Flux CountryDTO
+     * @return Flux BatchItemResultDTO CountryDTO
      */
-    public Flux<CountryDTO> findAll(){
-        return repository
-                .findAll()
-                .map(mapper::fromModel);
+    @Override
+    public Flux<BatchItemResultDTO<CountryDTO>> saveAll(Flux<CountryDTO> dtos){
+        return super.saveAll(dtos)
+                .doOnNext(result -> caches.getCountriesById().invalidate(result.getId()));
     }
 
     /**
@@ -56,9 +84,10 @@ public class CountryServiceImpl implements CountryService {
      * @param id String
      * @return Mono CountryDTO
      */
+    @Override
     public Mono<CountryDTO> findById(String id){
-        return repository
-                .findById(id)
+        return caches.getCountriesById()
+                .get(id, repository::findById)
                 .map(mapper::fromModel);
     }
 
@@ -68,14 +97,22 @@ public class CountryServiceImpl implements CountryService {
      * @param dto CountryDTO
      * @return Mono CountryDTO
      */
+    @Override
     public Mono<CountryDTO> updateById(String id, CountryDTO dto){
-        return repository
-                .findById(id)
-                .flatMap(item ->
-                        repository.save(mapper.fromDTO(dto))
-                )
-                .switchIfEmpty(empty())
-                .map(mapper::fromModel);
+        return super.updateById(id, dto)
+                .doOnNext(updated -> caches.getCountriesById().invalidate(id));
+    }
+
+    /**
+     * Patch Country by ID, setting only the fields present on the DTO
+     * @param id String
+     * @param dto CountryDTO
+     * @return Mono CountryDTO
+     */
+    @Override
+    public Mono<CountryDTO> patchById(String id, CountryDTO dto){
+        return super.patchById(id, dto)
+                .doOnNext(patched -> caches.getCountriesById().invalidate(id));
     }
 
     /**
@@ -83,28 +120,18 @@ public class CountryServiceImpl implements CountryService {
      * @param id String
      * @return Mono CountryDTO
      */
+    @Override
     public Mono<CountryDTO> deleteById(String id){
-        return repository
-                .findById(id)
-                .flatMap(item -> repository.delete(item).then(Mono.just(item)))
-                .map(mapper::fromModel);
+        return super.deleteById(id)
+                .doOnNext(deleted -> caches.getCountriesById().invalidate(deleted.getId()));
     }
 
     /**
-     * Fetch Countries by Name
-     * @param name String
-     * @return Flux CountryDTO
+     * Read Preference of the Country reads not served by the cache
+     * @return ReadPreference
      */
-    public Flux<CountryDTO> fetchByName(String name) {
-        var query = new Query().with(Sort.by(singletonList(asc("name"))));
-
-        query.addCriteria(Criteria
-                .where("name")
-                .regex(name)
-        );
-        return reactiveMongoTemplate
-                .find(query, Country.class)
-                .map(mapper::fromModel);
+    @Override
+    protected ReadPreference readPreference(){
+        return readPreferences.getReference();
     }
-
 }
@@ -1,65 +1,97 @@
 package com.rct.humanresources.core.service.impl;
 
 import com.rct.humanresources.core.model.dto.DepartmentDTO;
+import com.rct.humanresources.core.model.dto.DepartmentSummaryDTO;
+import com.rct.humanresources.core.model.dto.ExpandedDepartmentDTO;
 import com.rct.humanresources.core.model.mapper.DepartmentMapper;
+import com.rct.humanresources.core.model.mapper.DepartmentSummaryMapper;
 import com.rct.humanresources.core.service.DepartmentService;
+import com.rct.humanresources.infra.persistence.bulk.BulkWriter;
+import com.rct.humanresources.infra.persistence.expand.DepartmentExpander;
+import com.rct.humanresources.infra.persistence.loader.BatchLoaders;
 import com.rct.humanresources.infra.persistence.model.Department;
 import com.rct.humanresources.infra.persistence.repository.DepartmentRepository;
-import lombok.RequiredArgsConstructor;
+import com.rct.humanresources.infra.persistence.repository.DepartmentSummaryRepository;
+import com.rct.humanresources.infra.persistence.search.SearchEngine;
+import com.rct.humanresources.infra.persistence.stream.ChangeStreamHub;
+import com.rct.humanresources.infra.persistence.summary.DepartmentSummaries;
+import com.rct.humanresources.infra.persistence.update.PartialUpdater;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
-import org.springframework.data.mongodb.core.query.Criteria;
-import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import static java.util.Collections.singletonList;
-import static org.springframework.data.domain.Sort.Order.asc;
-import static reactor.core.publisher.Mono.empty;
+import java.util.Set;
+
+import static com.rct.humanresources.infra.persistence.expand.DepartmentExpander.parseDepth;
 
 /**
  * Department Service - Implementation
  */
 @Service
 @Slf4j
-@RequiredArgsConstructor
-public class DepartmentServiceImpl implements DepartmentService {
-    private final ReactiveMongoTemplate reactiveMongoTemplate;
+public class DepartmentServiceImpl extends AbstractCrudService<Department, DepartmentDTO> implements DepartmentService {
+    private static final Set<String> DELETE_FILTERS = Set.of("managerId", "locationId");
     private final DepartmentMapper mapper;
     private final DepartmentRepository repository;
+    private final BatchLoaders batchLoaders;
+    private final DepartmentSummaryRepository summaryRepository;
+    private final DepartmentSummaryMapper summaryMapper;
+    private final DepartmentSummaries departmentSummaries;
+    private final DepartmentExpander departmentExpander;
 
     /**
-     * Create DepartmentDTO
-     * @param dto DepartmentDTO
-     * @return Mono DepartmentDTO
+     * Department Service Implementation Constructor
+     * @param reactiveMongoTemplate ReactiveMongoTemplate
+     * @param mapper DepartmentMapper
+     * @param repository DepartmentRepository
+     * @param changeStreamHub ChangeStreamHub
+     * @param searchEngine SearchEngine
+     * @param bulkWriter BulkWriter
+     * @param partialUpdater PartialUpdater
+     * @param batchLoaders BatchLoaders
+     * @param summaryRepository DepartmentSummaryRepository
+     * @param summaryMapper DepartmentSummaryMapper
+     * @param departmentSummaries DepartmentSummaries
+     * @param departmentExpander DepartmentExpander
      */
-    public Mono<DepartmentDTO> create(DepartmentDTO dto){
-        return repository
-                .save(mapper.fromDTO(dto))
-                .map(mapper::fromModel);
+    public DepartmentServiceImpl(ReactiveMongoTemplate reactiveMongoTemplate, DepartmentMapper mapper,
+                                 DepartmentRepository repository, ChangeStreamHub changeStreamHub,
+                                 SearchEngine searchEngine, BulkWriter bulkWriter, PartialUpdater partialUpdater,
+                                 BatchLoaders batchLoaders, DepartmentSummaryRepository summaryRepository,
+                                 DepartmentSummaryMapper summaryMapper, DepartmentSummaries departmentSummaries,
+                                 DepartmentExpander departmentExpander) {
+        super(Department.class, mapper, repository, reactiveMongoTemplate, changeStreamHub,
+                searchEngine, bulkWriter, partialUpdater, DELETE_FILTERS);
+        this.mapper = mapper;
+        this.repository = repository;
+        this.batchLoaders = batchLoaders;
+        this.summaryRepository = summaryRepository;
+        this.summaryMapper = summaryMapper;
+        this.departmentSummaries = departmentSummaries;
+        this.departmentExpander = departmentExpander;
     }
 
     /**
-     * Find All Departments
+     * Find All Department by Manager ID
+     * @param managerId String
      * @return Flux DepartmentDTO
      */
-    public Flux<DepartmentDTO> findAll(){
+    public Flux<DepartmentDTO> findByManagerId(String managerId){
         return repository
-                .findAll()
+                .findByManagerId(managerId)
                 .map(mapper::fromModel);
     }
 
     /**
-     * Find All Department by Manager ID
+     * Find All Departments by Manager ID, loading only the given Fields
      * @param managerId String
+     * @param fields Field Names, all Fields when empty
      * @return Flux DepartmentDTO
      */
-    public Flux<DepartmentDTO> findByManagerId(String managerId){
-        return repository
-                .findByManagerId(managerId)
-                .map(mapper::fromModel);
+    public Flux<DepartmentDTO> findByManagerId(String managerId, Set<String> fields){
+        return findBy("managerId", managerId, fields);
     }
 
     /**
@@ -74,56 +106,67 @@ public class DepartmentServiceImpl implements DepartmentService {
     }
 
     /**
-     * Find Department by ID
-     * @param id String
-     * @return Mono Department
+     * Find All Departments by Location ID, loading only the given Fields
+     * @param locationId String
+     * @param fields Field Names, all Fields when empty
+     * @return Flux DepartmentDTO
      */
-    public Mono<DepartmentDTO> findById(String id){
-        return repository.findById(id).map(mapper::fromModel);
+    public Flux<DepartmentDTO> findByLocationId(String locationId, Set<String> fields){
+        return findBy("locationId", locationId, fields);
     }
 
     /**
-     * Update Department
+     * Find Department by ID, batched with the concurrent finds by ID into one $in query
      * @param id String
-     * @param dto DepartmentDTO
-     * @return Mono DepartmentDTO
+     * @return Mono Department
      */
-    public Mono<DepartmentDTO> updateById(String id, DepartmentDTO dto){
-        return repository
-                .findById(id)
-                .flatMap(item ->
-                        repository.save(mapper.fromDTO(dto))
-                )
-                .switchIfEmpty(empty())
+    @Override
+    public Mono<DepartmentDTO> findById(String id){
+        return batchLoaders
+                .getDepartments()
+                .load(id)
                 .map(mapper::fromModel);
     }
 
     /**
-     * Delete Department
+     * Find Department by ID, with its location.city.state.country references resolved in one aggregation
      * @param id String
-     * @return Mono DepartmentDTO
+     * @param expand Prefix of location.city.state.country
+     * @return Mono ExpandedDepartmentDTO
      */
-    public Mono<DepartmentDTO> deleteById(String id){
-        return repository.findById(id)
-                .flatMap(item -> repository.delete(item).then(Mono.just(item)))
-                .map(mapper::fromModel);
+    public Mono<ExpandedDepartmentDTO> findById(String id, String expand){
+        return Mono.fromCallable(() -> parseDepth(expand))
+                .flatMap(depth -> departmentExpander.findById(id, depth));
     }
 
     /**
-     * Fetch Department by Name
-     * @param name String
-     * @return Flux DepartmentDTO
+     * Find the Summary of a Department, read from the department_summaries view
+     * @param id Department ID
+     * @return Mono DepartmentSummaryDTO
      */
-    public Flux<DepartmentDTO> fetchByName(String name) {
-        var query = new Query().with(Sort.by(singletonList(asc("name"))));
+    public Mono<DepartmentSummaryDTO> findSummaryById(String id){
+        return summaryRepository
+                .findById(id)
+                .map(summaryMapper::fromModel);
+    }
 
-        query.addCriteria(Criteria
-                .where("name")
-                .regex(name)
-        );
-        return reactiveMongoTemplate
-                .find(query, Department.class)
-                .map(mapper::fromModel);
+    /**
+     * Find the Summaries of every Department, read from the department_summaries view
+     * @return Flux DepartmentSummaryDTO
+     */
+    public Flux<DepartmentSummaryDTO> findSummaries(){
+        return summaryRepository
+                .findAll()
+                .map(summaryMapper::fromModel);
     }
 
+    /**
+     * Rebuild every Department Summary from the departments and employees collections
+     * @return Flux DepartmentSummaryDTO, once rebuilt
+     */
+    public Flux<DepartmentSummaryDTO> rebuildSummaries(){
+        return departmentSummaries
+                .rebuild()
+                .thenMany(findSummaries());
+    }
 }
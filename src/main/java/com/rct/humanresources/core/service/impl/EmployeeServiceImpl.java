@@ -1,24 +1,30 @@
 package com.rct.humanresources.core.service.impl;
 
 import com.rct.humanresources.core.model.dto.EmployeeDTO;
+import com.rct.humanresources.core.model.dto.EmployeeNodeDTO;
+import com.rct.humanresources.core.model.dto.PayrollStatsDTO;
 import com.rct.humanresources.core.model.mapper.EmployeeMapper;
 import com.rct.humanresources.core.service.EmployeeService;
+import com.rct.humanresources.infra.persistence.analytics.PayrollAnalytics;
+import com.rct.humanresources.infra.persistence.bulk.BulkWriter;
+import com.rct.humanresources.infra.persistence.hierarchy.OrgChart;
+import com.rct.humanresources.infra.persistence.loader.BatchLoaders;
 import com.rct.humanresources.infra.persistence.model.Employee;
 import com.rct.humanresources.infra.persistence.repository.EmployeeRepository;
-import lombok.RequiredArgsConstructor;
+import com.rct.humanresources.infra.persistence.search.SearchEngine;
+import com.rct.humanresources.infra.persistence.stream.ChangeStreamHub;
+import com.rct.humanresources.infra.persistence.summary.DepartmentSummaries;
+import com.rct.humanresources.infra.persistence.update.PartialUpdater;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
-import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import static java.util.Collections.singletonList;
-import static org.springframework.data.domain.Sort.Order.asc;
-import static reactor.core.publisher.Mono.empty;
+import java.time.LocalDateTime;
+import java.util.Set;
 
 /**
  * Employee Service Implementation
@@ -26,41 +32,54 @@ import static reactor.core.publisher.Mono.empty;
 @Service
 @Slf4j
 @Transactional
-@RequiredArgsConstructor
-public class EmployeeServiceImpl implements EmployeeService {
-    private final ReactiveMongoTemplate reactiveMongoTemplate;
+public class EmployeeServiceImpl extends AbstractCrudService<Employee, EmployeeDTO> implements EmployeeService {
+    private static final Set<String> DELETE_FILTERS = Set.of("departmentId", "managerId", "jobId");
     private final EmployeeMapper mapper;
     private final EmployeeRepository repository;
+    private final BatchLoaders batchLoaders;
+    private final OrgChart orgChart;
+    private final PayrollAnalytics payrollAnalytics;
+    private final DepartmentSummaries departmentSummaries;
 
     /**
-     * Create Employee
-     * @param dto EmployeeDTO
-     * @return Mono EmployeeDTO
-     */
-    public Mono<EmployeeDTO> create(EmployeeDTO dto){
-        return repository
-                .save(mapper.fromDTO(dto))
-                .map(mapper::fromModel);
-    }
-
-    /**
-     * Find All Employees
-     * @return Flux EmployeeDTO
+     * Employee Service Implementation Constructor
+     * @param reactiveMongoTemplate ReactiveMongoTemplate
+     * @param mapper EmployeeMapper
+     * @param repository EmployeeRepository
+     * @param changeStreamHub ChangeStreamHub
+     * @param searchEngine SearchEngine
+     * @param bulkWriter BulkWriter
+     * @param partialUpdater PartialUpdater
+     * @param batchLoaders BatchLoaders
+     * @param orgChart OrgChart
+     * @param payrollAnalytics PayrollAnalytics
+     * @param departmentSummaries DepartmentSummaries
      */
-    public Flux<EmployeeDTO> findAll(){
-        return repository
-                .findAll()
-                .map(mapper::fromModel);
+    public EmployeeServiceImpl(ReactiveMongoTemplate reactiveMongoTemplate, EmployeeMapper mapper,
+                               EmployeeRepository repository, ChangeStreamHub changeStreamHub,
+                               SearchEngine searchEngine, BulkWriter bulkWriter, PartialUpdater partialUpdater,
+                               BatchLoaders batchLoaders, OrgChart orgChart, PayrollAnalytics payrollAnalytics,
+                               DepartmentSummaries departmentSummaries) {
+        super(Employee.class, mapper, repository, reactiveMongoTemplate, changeStreamHub,
+                searchEngine, bulkWriter, partialUpdater, DELETE_FILTERS);
+        this.mapper = mapper;
+        this.repository = repository;
+        this.batchLoaders = batchLoaders;
+        this.orgChart = orgChart;
+        this.payrollAnalytics = payrollAnalytics;
+        this.departmentSummaries = departmentSummaries;
     }
 
     /**
-     * Find Employee by ID
+     * Find Employee by ID, batched with the concurrent finds by ID into one $in query
      * @param id String
      * @return Mono EmployeeDTO
      */
+    @Override
     public Mono<EmployeeDTO> findById(String id){
-        return repository
-                .findById(id)
+        return batchLoaders
+                .getEmployees()
+                .load(id)
                 .map(mapper::fromModel);
     }
 
@@ -76,7 +95,17 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
     /**
-     * Find All Employees by Department ID
+     * Find All Employees by Department ID, loading only the given Fields
+     * @param departmentId String
+     * @param fields Field Names, all Fields when empty
+     * @return Flux EmployeeDTO
+     */
+    public Flux<EmployeeDTO> findByDepartmentId(String departmentId, Set<String> fields){
+        return findBy("departmentId", departmentId, fields);
+    }
+
+    /**
+     * Find All Employees by Manager ID
      * @param managerId String
      * @return Flux EmployeeDTO
      */
@@ -86,6 +115,16 @@ public class EmployeeServiceImpl implements EmployeeService {
                 .map(mapper::fromModel);
     }
 
+    /**
+     * Find All Employees by Manager ID, loading only the given Fields
+     * @param managerId String
+     * @param fields Field Names, all Fields when empty
+     * @return Flux EmployeeDTO
+     */
+    public Flux<EmployeeDTO> findByManagerId(String managerId, Set<String> fields){
+        return findBy("managerId", managerId, fields);
+    }
+
     /**
      * Find All Employees by Job ID
      * @param jobId String
@@ -98,46 +137,75 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
     /**
-     * Update Employee by ID
+     * Find All Employees by Job ID, loading only the given Fields
+     * @param jobId String
+     * @param fields Field Names, all Fields when empty
+     * @return Flux EmployeeDTO
+     */
+    public Flux<EmployeeDTO> findByJobId(String jobId, Set<String> fields){
+        return findBy("jobId", jobId, fields);
+    }
+
+    /**
+     * Find the Employees reporting to an Employee, down to the given Depth, in one $graphLookup
      * @param id String
-     * @param dto EmployeeDTO
-     * @return Mono EmployeeDTO
+     * @param depth Levels below the Employee
+     * @return Flux EmployeeNodeDTO
      */
-    public Mono<EmployeeDTO> updateById(String id, EmployeeDTO dto){
-        return repository
-                .findById(id)
-                .flatMap(item ->
-                        repository.save(mapper.fromDTO(dto))
-                )
-                .switchIfEmpty(empty())
-                .map(mapper::fromModel);
+    public Flux<EmployeeNodeDTO> findSubordinates(String id, int depth){
+        return orgChart.subordinates(id, depth, mapper::fromModel);
     }
 
     /**
-     * Delete Employee by ID
+     * Find the Employees reporting to an Employee, nested under their managers
      * @param id String
-     * @return Mono EmployeeDTO
+     * @param depth Levels below the Employee
+     * @return Mono EmployeeNodeDTO
      */
-    public Mono<EmployeeDTO> deleteById(String id){
-        return repository.findById(id)
-                .flatMap(item -> repository.delete(item).then(Mono.just(item))).map(mapper::fromModel);
+    public Mono<EmployeeNodeDTO> findSubordinateTree(String id, int depth){
+        return findById(id)
+                .zipWith(findSubordinates(id, depth).collectList(), OrgChart::tree);
     }
 
     /**
-     * Fetch Employees by Name
-     * @param name String
-     * @return Flux EmployeeDTO
+     * Find the management chain of an Employee, direct manager first, in one $graphLookup
+     * @param id String
+     * @return Flux EmployeeNodeDTO
      */
-    public Flux<EmployeeDTO> fetchByName(String name) {
-        var query = new Query().with(Sort.by(singletonList(asc("name"))));
-
-        query.addCriteria(Criteria
-                .where("name")
-                .regex(name)
-        );
-        return reactiveMongoTemplate
-                .find(query, Employee.class)
-                .map(mapper::fromModel);
+    public Flux<EmployeeNodeDTO> findChain(String id){
+        return orgChart.chain(id, mapper::fromModel);
+    }
+
+    /**
+     * Find Headcount and Salary Statistics per Department or Job, in one aggregation pipeline
+     * @param groupBy departmentId or jobId
+     * @param hiredFrom Hire Date lower bound, inclusive, may be null
+     * @param hiredTo Hire Date upper bound, exclusive, may be null
+     * @return Flux PayrollStatsDTO
+     */
+    public Flux<PayrollStatsDTO> findPayrollStats(String groupBy, LocalDateTime hiredFrom, LocalDateTime hiredTo){
+        return payrollAnalytics.salaryStats(groupBy, hiredFrom, hiredTo);
+    }
+
+    /**
+     * Run an Employee Write, refreshing the Department Summaries it left or joined
+     * @param id ID of the replaced or patched Employee, null on create and delete
+     * @param write Insert, Replace, Patch or Delete
+     * @return Mono Employee
+     */
+    @Override
+    protected Mono<Employee> write(String id, Mono<Employee> write){
+        return departmentSummaries.tracking(id, write);
     }
 
+    /**
+     * Run a filtered Employee Delete, refreshing the Department Summaries of the removed Employees
+     * @param query Query of the Employees about to be removed
+     * @param remove Delete
+     * @return Mono Long
+     */
+    @Override
+    protected Mono<Long> removeAll(Query query, Mono<Long> remove){
+        return departmentSummaries.trackingRemoval(query, remove);
+    }
 }
@@ -1,59 +1,75 @@
 package com.rct.humanresources.core.service.impl;
 
+import com.rct.humanresources.core.model.dto.HeadcountPeriodDTO;
 import com.rct.humanresources.core.model.dto.JobHistoryDTO;
 import com.rct.humanresources.core.model.mapper.JobHistoryMapper;
 import com.rct.humanresources.core.service.JobHistoryService;
+import com.rct.humanresources.infra.persistence.bulk.BulkWriter;
+import com.rct.humanresources.infra.persistence.model.JobHistory;
 import com.rct.humanresources.infra.persistence.repository.JobHistoryRepository;
-import lombok.RequiredArgsConstructor;
+import com.rct.humanresources.infra.persistence.stream.ChangeStreamHub;
+import com.rct.humanresources.infra.persistence.timeline.JobHistoryTimeline;
+import com.rct.humanresources.infra.persistence.update.PartialUpdater;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.Mono;
 
-import static reactor.core.publisher.Mono.empty;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * JobHistory Service Implementation
  */
 @Service
 @Slf4j
-@RequiredArgsConstructor
-public class JobHistoryServiceImpl implements JobHistoryService {
-    private final ReactiveMongoTemplate reactiveMongoTemplate;
+public class JobHistoryServiceImpl extends AbstractCrudService<JobHistory, JobHistoryDTO> implements JobHistoryService {
+    private static final Set<String> DELETE_FILTERS = Set.of("jobId", "departmentId", "employeeId");
     private final JobHistoryMapper mapper;
     private final JobHistoryRepository repository;
+    private final JobHistoryTimeline jobHistoryTimeline;
 
     /**
-     * Create JobHistory
-     * @param dto JobHistoryDTO
-     * @return Mono JobHistoryDTO
+     * JobHistory Service Implementation Constructor
+     * @param reactiveMongoTemplate ReactiveMongoTemplate
+     * @param mapper JobHistoryMapper
+     * @param repository JobHistoryRepository
+     * @param changeStreamHub ChangeStreamHub
+     * @param bulkWriter BulkWriter
+     * @param partialUpdater PartialUpdater
+     * @param jobHistoryTimeline JobHistoryTimeline
      */
-    public Mono<JobHistoryDTO> create(JobHistoryDTO dto){
-        return repository
-                .save(mapper.fromDTO(dto))
-                .map(mapper::fromModel);
+    public JobHistoryServiceImpl(ReactiveMongoTemplate reactiveMongoTemplate, JobHistoryMapper mapper,
+                                 JobHistoryRepository repository, ChangeStreamHub changeStreamHub,
+                                 BulkWriter bulkWriter, PartialUpdater partialUpdater,
+                                 JobHistoryTimeline jobHistoryTimeline) {
+        super(JobHistory.class, mapper, repository, reactiveMongoTemplate, changeStreamHub,
+                null, bulkWriter, partialUpdater, DELETE_FILTERS);
+        this.mapper = mapper;
+        this.repository = repository;
+        this.jobHistoryTimeline = jobHistoryTimeline;
     }
 
     /**
-     * Find All JobHistories
+     * Find All JobHistories by Department ID
+     * @param departmentId String
      * @return Flux JobHistoryDTO
      */
-    public Flux<JobHistoryDTO> findAll(){
+    public Flux<JobHistoryDTO> findByDepartmentId(String departmentId){
         return repository
-                .findAll()
+                .findByDepartmentId(departmentId)
                 .map(mapper::fromModel);
     }
 
     /**
-     * Find All JobHistories by Department ID
+     * Find All Job Histories by Department ID, loading only the given Fields
      * @param departmentId String
+     * @param fields Field Names, all Fields when empty
      * @return Flux JobHistoryDTO
      */
-    public Flux<JobHistoryDTO> findByDepartmentId(String departmentId){
-        return repository
-                .findByDepartmentId(departmentId)
-                .map(mapper::fromModel);
+    public Flux<JobHistoryDTO> findByDepartmentId(String departmentId, Set<String> fields){
+        return findBy("departmentId", departmentId, fields);
     }
 
     /**
@@ -68,42 +84,70 @@ public class JobHistoryServiceImpl implements JobHistoryService {
     }
 
     /**
-     * Find JobHistory by ID
-     * @param id String
-     * @return Mono JobHistoryDTO
+     * Find All Job Histories by Job ID, loading only the given Fields
+     * @param jobId String
+     * @param fields Field Names, all Fields when empty
+     * @return Flux JobHistoryDTO
      */
-    public Mono<JobHistoryDTO> findById(String id){
-        return repository
-                .findById(id)
-                .map(mapper::fromModel);
+    public Flux<JobHistoryDTO> findByJobId(String jobId, Set<String> fields){
+        return findBy("jobId", jobId, fields);
     }
 
     /**
-     * Update JobHistory by ID
-     * @param id String
-     * @param dto JobHistoryDTO
-     * @return Mono JobHistoryDTO
+     * Find All Job Histories by Employee ID
+     * @param employeeId String
+     * @return Flux JobHistoryDTO
      */
-    public Mono<JobHistoryDTO> updateById(String id, JobHistoryDTO dto){
+    public Flux<JobHistoryDTO> findByEmployeeId(String employeeId){
         return repository
-                .findById(id)
-                .flatMap(item ->
-                        repository.save(mapper.fromDTO(dto))
-                )
-                .switchIfEmpty(empty())
+                .findByEmployeeId(employeeId)
                 .map(mapper::fromModel);
     }
 
     /**
-     * Delete JobHistory by ID
-     * @param id String
-     * @return Mono JobHistoryDTO
+     * Find All Job Histories by Employee ID, loading only the given Fields
+     * @param employeeId String
+     * @param fields Field Names, all Fields when empty
+     * @return Flux JobHistoryDTO
+     */
+    public Flux<JobHistoryDTO> findByEmployeeId(String employeeId, Set<String> fields){
+        return findBy("employeeId", employeeId, fields);
+    }
+
+    /**
+     * Find the Job Histories holding at a Date
+     * @param filter Exactly one of jobId, departmentId or employeeId
+     * @param at LocalDateTime
+     * @return Flux JobHistoryDTO, by startDate
      */
-    public Mono<JobHistoryDTO> deleteById(String id){
-        return repository.findById(id)
-                .flatMap(item -> repository.delete(item).then(Mono.just(item)))
+    public Flux<JobHistoryDTO> findAsOf(Map<String, String> filter, LocalDateTime at){
+        return jobHistoryTimeline
+                .asOf(filter, at)
                 .map(mapper::fromModel);
     }
 
+    /**
+     * Find the Job Histories holding at any time between two Dates
+     * @param filter Exactly one of jobId, departmentId or employeeId
+     * @param from Lower bound, inclusive
+     * @param to Upper bound, exclusive
+     * @return Flux JobHistoryDTO, by startDate
+     */
+    public Flux<JobHistoryDTO> findOverlapping(Map<String, String> filter, LocalDateTime from, LocalDateTime to){
+        return jobHistoryTimeline
+                .overlapping(filter, from, to)
+                .map(mapper::fromModel);
+    }
 
+    /**
+     * Find the Headcount of each Period between two Dates
+     * @param filter Exactly one of jobId, departmentId or employeeId
+     * @param from Lower bound, inclusive
+     * @param to Upper bound, exclusive
+     * @param period day, week, month or year
+     * @return Flux HeadcountPeriodDTO
+     */
+    public Flux<HeadcountPeriodDTO> findHeadcount(Map<String, String> filter, LocalDateTime from, LocalDateTime to, String period){
+        return jobHistoryTimeline.headcount(filter, from, to, period);
+    }
 }
@@ -1,110 +1,138 @@
 package com.rct.humanresources.core.service.impl;
 
-import com.rct.humanresources.core.model.mapper.JobMapper;
+import com.mongodb.ReadPreference;
+import com.rct.humanresources.core.model.dto.BatchItemResultDTO;
 import com.rct.humanresources.core.model.dto.JobDTO;
+import com.rct.humanresources.core.model.mapper.JobMapper;
 import com.rct.humanresources.core.service.JobService;
+import com.rct.humanresources.infra.cache.ReferenceDataCaches;
+import com.rct.humanresources.infra.persistence.bulk.BulkWriter;
+import com.rct.humanresources.infra.persistence.loader.BatchLoaders;
 import com.rct.humanresources.infra.persistence.model.Job;
+import com.rct.humanresources.infra.persistence.read.ReadPreferences;
 import com.rct.humanresources.infra.persistence.repository.JobRepository;
-import lombok.RequiredArgsConstructor;
+import com.rct.humanresources.infra.persistence.search.SearchEngine;
+import com.rct.humanresources.infra.persistence.stream.ChangeStreamHub;
+import com.rct.humanresources.infra.persistence.update.PartialUpdater;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
-import org.springframework.data.mongodb.core.query.Criteria;
-import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import static java.util.Collections.singletonList;
-import static org.springframework.data.domain.Sort.Order.asc;
-import static reactor.core.publisher.Mono.empty;
+import java.util.Set;
 
 /**
  * Job Service Implementation
  */
 @Service
 @Slf4j
-@RequiredArgsConstructor
-public class JobServiceImpl implements JobService {
+public class JobServiceImpl extends AbstractCrudService<Job, JobDTO> implements JobService {
     private final JobMapper mapper;
-    private final JobRepository repository;
-    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final BatchLoaders batchLoaders;
+    private final ReferenceDataCaches caches;
+    private final ReadPreferences readPreferences;
+
+    /**
+     * Job Service Implementation Constructor
+     * @param mapper JobMapper
+     * @param repository JobRepository
+     * @param reactiveMongoTemplate ReactiveMongoTemplate
+     * @param changeStreamHub ChangeStreamHub
+     * @param searchEngine SearchEngine
+     * @param bulkWriter BulkWriter
+     * @param partialUpdater PartialUpdater
+     * @param batchLoaders BatchLoaders
+     * @param caches ReferenceDataCaches
+     * @param readPreferences ReadPreferences
+     */
+    public JobServiceImpl(JobMapper mapper, JobRepository repository, ReactiveMongoTemplate reactiveMongoTemplate,
+                          ChangeStreamHub changeStreamHub, SearchEngine searchEngine, BulkWriter bulkWriter,
+                          PartialUpdater partialUpdater, BatchLoaders batchLoaders, ReferenceDataCaches caches,
+                          ReadPreferences readPreferences) {
+        super(Job.class, mapper, repository, reactiveMongoTemplate, changeStreamHub,
+                searchEngine, bulkWriter, partialUpdater, Set.of());
+        this.mapper = mapper;
+        this.batchLoaders = batchLoaders;
+        this.caches = caches;
+        this.readPreferences = readPreferences;
+    }
 
     /**
      * Create Job
-     * @param dto Job
-     * @return Mono Job
+     * @param dto JobDTO
+     * @return Mono JobDTO
      */
+    @Override
     public Mono<JobDTO> create(JobDTO dto){
-        return repository
-                .save(mapper.fromDTO(dto))
-                .map(mapper::fromModel);
-                
+        return super.create(dto)
+                .doOnNext(saved -> caches.getJobsById().invalidate(saved.getId()));
     }
 
     /**
-     * Find All Jobs
-     * @return Flux Job
+     * Save Jobs in unordered Bulk Writes
+     * @param dtos Flux JobDTO
+     * @return Flux BatchItemResultDTO JobDTO
      */
-    public Flux<JobDTO> findAll(){
-        return repository
-                .findAll()
-                .map(mapper::fromModel);
+    @Override
+    public Flux<BatchItemResultDTO<JobDTO>> saveAll(Flux<JobDTO> dtos){
+        return super.saveAll(dtos)
+                .doOnNext(result -> caches.getJobsById().invalidate(result.getId()));
     }
 
     /**
-     * Find Job by ID
+     * Find Job by ID, batched with the concurrent finds by ID into one $in query
      * @param id String
-     * @return Mono Job
+     * @return Mono JobDTO
      */
+    @Override
     public Mono<JobDTO> findById(String id){
-        return repository
-                .findById(id)
+        return caches.getJobsById()
+                .get(id, key -> batchLoaders.getJobs().load(key))
                 .map(mapper::fromModel);
     }
 
     /**
      * Update Job by ID
      * @param id String
-     * @param dto Job
-     * @return Mono Job
+     * @param dto JobDTO
+     * @return Mono JobDTO
      */
+    @Override
     public Mono<JobDTO> updateById(String id, JobDTO dto){
-        return repository
-                .findById(id)
-                .flatMap(item ->
-                        repository.save(mapper.fromDTO(dto))
-                )
-                .switchIfEmpty(empty())
-                .map(mapper::fromModel);
+        return super.updateById(id, dto)
+                .doOnNext(updated -> caches.getJobsById().invalidate(id));
+    }
+
+    /**
+     * Patch Job by ID, setting only the fields present on the DTO
+     * @param id String
+     * @param dto JobDTO
+     * @return Mono JobDTO
+     */
+    @Override
+    public Mono<JobDTO> patchById(String id, JobDTO dto){
+        return super.patchById(id, dto)
+                .doOnNext(patched -> caches.getJobsById().invalidate(id));
     }
 
     /**
      * Delete Job by ID
      * @param id String
-     * @return Mono Job
+     * @return Mono JobDTO
      */
+    @Override
     public Mono<JobDTO> deleteById(String id){
-        return repository.findById(id)
-                .flatMap(item -> repository.delete(item).then(Mono.just(item)))
-                .map(mapper::fromModel);
+        return super.deleteById(id)
+                .doOnNext(deleted -> caches.getJobsById().invalidate(deleted.getId()));
     }
 
     /**
-     * Fetch Jobs by Name
-     * @param name String
-     * @return Flux Job
+     * Read Preference of the Job reads not served by the cache
+     * @return ReadPreference
      */
-    public Flux<JobDTO> fetchByName(String name) {
-        var query = new Query().with(Sort.by(singletonList(asc("name"))));
-
-        query.addCriteria(Criteria
-                .where("name")
-                .regex(name)
-        );
-        return reactiveMongoTemplate
-                .find(query, Job.class)
-                .map(mapper::fromModel);
+    @Override
+    protected ReadPreference readPreference(){
+        return readPreferences.getReference();
     }
-
 }
@@ -3,63 +3,46 @@ package com.rct.humanresources.core.service.impl;
 import com.rct.humanresources.core.model.dto.LocationDTO;
 import com.rct.humanresources.core.model.mapper.LocationMapper;
 import com.rct.humanresources.core.service.LocationService;
+import com.rct.humanresources.infra.persistence.bulk.BulkWriter;
 import com.rct.humanresources.infra.persistence.model.Location;
 import com.rct.humanresources.infra.persistence.repository.LocationRepository;
-import lombok.RequiredArgsConstructor;
+import com.rct.humanresources.infra.persistence.search.SearchEngine;
+import com.rct.humanresources.infra.persistence.stream.ChangeStreamHub;
+import com.rct.humanresources.infra.persistence.update.PartialUpdater;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
-import org.springframework.data.mongodb.core.query.Criteria;
-import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.Mono;
 
-import static java.util.Collections.singletonList;
-import static org.springframework.data.domain.Sort.Order.asc;
-import static reactor.core.publisher.Mono.empty;
+import java.util.Set;
 
 /**
  * Location Service Implementation
  */
 @Service
 @Slf4j
-@RequiredArgsConstructor
-public class LocationServiceImpl implements LocationService {
+public class LocationServiceImpl extends AbstractCrudService<Location, LocationDTO> implements LocationService {
+    private static final Set<String> DELETE_FILTERS = Set.of("cityId");
     private final LocationMapper mapper;
     private final LocationRepository repository;
-    private final ReactiveMongoTemplate reactiveMongoTemplate;
 
     /**
-     * Create Location
-     * @param dto LocationDTO
-     * @return Mono LocationDTO
+     * Location Service Implementation Constructor
+     * @param mapper LocationMapper
+     * @param repository LocationRepository
+     * @param reactiveMongoTemplate ReactiveMongoTemplate
+     * @param changeStreamHub ChangeStreamHub
+     * @param searchEngine SearchEngine
+     * @param bulkWriter BulkWriter
+     * @param partialUpdater PartialUpdater
      */
-    public Mono<LocationDTO> create(LocationDTO dto){
-        return repository
-                .save(mapper.fromDTO(dto))
-                .map(mapper::fromModel);
-    }
-
-    /**
-     * Find All Locations
-     * @return Flux LocationDTO
-     */
-    public Flux<LocationDTO> findAll(){
-        return repository
-                .findAll()
-                .map(mapper::fromModel);
-    }
-
-    /**
-     * Find Location by ID
-     * @param id String
-     * @return Mono LocationDTO
-     */
-    public Mono<LocationDTO> findById(String id){
-        return repository
-                .findById(id)
-                .map(mapper::fromModel);
+    public LocationServiceImpl(LocationMapper mapper, LocationRepository repository,
+                               ReactiveMongoTemplate reactiveMongoTemplate, ChangeStreamHub changeStreamHub,
+                               SearchEngine searchEngine, BulkWriter bulkWriter, PartialUpdater partialUpdater) {
+        super(Location.class, mapper, repository, reactiveMongoTemplate, changeStreamHub,
+                searchEngine, bulkWriter, partialUpdater, DELETE_FILTERS);
+        this.mapper = mapper;
+        this.repository = repository;
     }
 
     /**
@@ -73,50 +56,13 @@ public class LocationServiceImpl implements LocationService {
                 .map(mapper::fromModel);
     }
 
-
-    /**
-     * Update Location by ID
-     * @param id String
-     * @param dto LocationDTO
-     * @return Mono LocationDTO
-     */
-    public Mono<LocationDTO> updateById(String id, LocationDTO dto){
-        return repository
-                .findById(id)
-                .flatMap(item ->
-                        repository.save(mapper.fromDTO(dto))
-                )
-                .switchIfEmpty(empty())
-                .map(mapper::fromModel);
-    }
-
-    /**
-     * Delete Location by ID
-     * @param id String
-     * @return Mono LocationDTO
-     */
-    public Mono<LocationDTO> deleteById(String id){
-        return repository
-                .findById(id)
-                .flatMap(item -> repository.delete(item).then(Mono.just(item)))
-                .map(mapper::fromModel);
-    }
-
     /**
-     * Fetch Locations by Name
-     * @param name String
+     * Find All Locations by City ID, loading only the given Fields
+     * @param cityId String
+     * @param fields Field Names, all Fields when empty
      * @return Flux LocationDTO
      */
-    public Flux<LocationDTO> fetchByName(String name) {
-        var query = new Query().with(Sort.by(singletonList(asc("name"))));
-
-        query.addCriteria(Criteria
-                .where("name")
-                .regex(name)
-        );
-        return reactiveMongoTemplate
-                .find(query, Location.class)
-                .map(mapper::fromModel);
+    public Flux<LocationDTO> findByCityId(String cityId, Set<String> fields){
+        return findBy("cityId", cityId, fields);
     }
-
 }
@@ -1,93 +1,136 @@
 package com.rct.humanresources.core.service.impl;
 
+import com.mongodb.ReadPreference;
+import com.rct.humanresources.core.model.dto.BatchItemResultDTO;
 import com.rct.humanresources.core.model.dto.StateDTO;
+import com.rct.humanresources.core.model.dto.DeleteResultDTO;
 import com.rct.humanresources.core.model.mapper.StateMapper;
 import com.rct.humanresources.core.service.StateService;
+import com.rct.humanresources.infra.cache.ReferenceDataCaches;
+import com.rct.humanresources.infra.persistence.bulk.BulkWriter;
 import com.rct.humanresources.infra.persistence.model.State;
+import com.rct.humanresources.infra.persistence.read.ReadPreferences;
 import com.rct.humanresources.infra.persistence.repository.StateRepository;
-import lombok.RequiredArgsConstructor;
+import com.rct.humanresources.infra.persistence.search.SearchEngine;
+import com.rct.humanresources.infra.persistence.stream.ChangeStreamHub;
+import com.rct.humanresources.infra.persistence.update.PartialUpdater;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
-import org.springframework.data.mongodb.core.query.Criteria;
-import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import static java.util.Collections.singletonList;
-import static org.springframework.data.domain.Sort.Order.asc;
-import static reactor.core.publisher.Mono.empty;
+import java.util.Map;
+import java.util.Set;
+
+import static com.rct.humanresources.infra.cache.ReactiveCache.getMany;
 
 /**
  * State Service Implementation
  */
 @Service
 @Slf4j
-@RequiredArgsConstructor
-public class StateServiceImpl implements StateService {
-    private final ReactiveMongoTemplate reactiveMongoTemplate;
+public class StateServiceImpl extends AbstractCrudService<State, StateDTO> implements StateService {
+    private static final Set<String> DELETE_FILTERS = Set.of("countryId");
     private final StateMapper mapper;
     private final StateRepository repository;
+    private final ReferenceDataCaches caches;
+    private final ReadPreferences readPreferences;
+
+    /**
+     * State Service Implementation Constructor
+     * @param reactiveMongoTemplate ReactiveMongoTemplate
+     * @param mapper StateMapper
+     * @param repository StateRepository
+     * @param changeStreamHub ChangeStreamHub
+     * @param searchEngine SearchEngine
+     * @param bulkWriter BulkWriter
+     * @param partialUpdater PartialUpdater
+     * @param caches ReferenceDataCaches
+     * @param readPreferences ReadPreferences
+     */
+    public StateServiceImpl(ReactiveMongoTemplate reactiveMongoTemplate, StateMapper mapper, StateRepository repository,
+                            ChangeStreamHub changeStreamHub, SearchEngine searchEngine, BulkWriter bulkWriter,
+                            PartialUpdater partialUpdater, ReferenceDataCaches caches,
+                            ReadPreferences readPreferences) {
+        super(State.class, mapper, repository, reactiveMongoTemplate, changeStreamHub,
+                searchEngine, bulkWriter, partialUpdater, DELETE_FILTERS);
+        this.mapper = mapper;
+        this.repository = repository;
+        this.caches = caches;
+        this.readPreferences = readPreferences;
+    }
 
     /**
      * Create State
      * @param dto StateDTO
      * @return Mono StateDTO
      */
+    @Override
     public Mono<StateDTO> create(StateDTO dto){
-        return repository
-                .save(mapper.fromDTO(dto))
-                .map(mapper::fromModel);
+        return super.create(dto)
+                .doOnNext(saved -> caches.getStatesByCountryId().invalidate(saved.getCountryId()));
     }
 
     /**
-     * Find All States
-     * @return Flux StateDTO
+     * Save States in unordered Bulk Writes
+     * @param dtos Flux StateDTO
+     * @return Flux BatchItemResultDTO StateDTO
      */
-    public Flux<StateDTO> findAll(){
-        return repository
-                .findAll()
-                .map(mapper::fromModel);
+    @Override
+    public Flux<BatchItemResultDTO<StateDTO>> saveAll(Flux<StateDTO> dtos){
+        return super.saveAll(dtos)
+                .doFinally(signal -> caches.getStatesByCountryId().invalidateAll());
     }
 
     /**
-     * Find State by ID
-     * @param id String
-     * @return Mono StateDTO
+     * Find All States by Country ID
+     * @param countryId String
+     * @return Flux StateDTO
      */
-    public Mono<StateDTO> findById(String id){
-        return repository
-                .findById(id)
+    public Flux<StateDTO> findByCountryId(String countryId){
+        return getMany(caches.getStatesByCountryId(), countryId, repository::findByCountryId)
                 .map(mapper::fromModel);
     }
 
     /**
-     * Find All States by Department ID
+     * Find All States by Country ID, loading only the given Fields
      * @param countryId String
+     * @param fields Field Names, all Fields when empty
      * @return Flux StateDTO
      */
-    public Flux<StateDTO> findByCountryId(String countryId){
-        return repository
-                .findByCountryId(countryId)
-                .map(mapper::fromModel);
+    public Flux<StateDTO> findByCountryId(String countryId, Set<String> fields){
+        return findBy("countryId", countryId, fields);
     }
 
-
     /**
      * Update State by ID
      * @param id String
      * @param dto StateDTO
      * @return Mono StateDTO
      */
+    @Override
     public Mono<StateDTO> updateById(String id, StateDTO dto){
-        return repository
-                .findById(id)
-                .flatMap(item ->
-                        repository.save(mapper.fromDTO(dto))
-                )
-                .switchIfEmpty(empty())
-                .map(mapper::fromModel);
+        return super.updateById(id, dto)
+                .doOnNext(updated -> caches.getStatesByCountryId().invalidateAll());
+    }
+
+    /**
+     * Patch State by ID, setting only the fields present on the DTO
+     * @param id String
+     * @param dto StateDTO
+     * @return Mono StateDTO
+     */
+    @Override
+    public Mono<StateDTO> patchById(String id, StateDTO dto){
+        return super.patchById(id, dto)
+                .doOnNext(patched -> {
+                    if (dto.getCountryId() == null) {
+                        caches.getStatesByCountryId().invalidate(patched.getCountryId());
+                    } else {
+                        caches.getStatesByCountryId().invalidateAll();
+                    }
+                });
     }
 
     /**
@@ -95,26 +138,29 @@ public class StateServiceImpl implements StateService {
      * @param id String
      * @return Mono StateDTO
      */
+    @Override
     public Mono<StateDTO> deleteById(String id){
-        return repository.findById(id)
-                .flatMap(item -> repository.delete(item).then(Mono.just(item)))
-                .map(mapper::fromModel);
+        return super.deleteById(id)
+                .doOnNext(deleted -> caches.getStatesByCountryId().invalidate(deleted.getCountryId()));
     }
 
     /**
-     * Fetch States by Name
-     * @param name String
-     * @return Flux StateDTO
+     * Delete States matching every given Field, in a single deleteMany
+     * @param filter Field Values, of countryId
+     * @return Mono DeleteResultDTO
      */
-    public Flux<StateDTO> fetchByName(String name) {
-        var query = new Query().with(Sort.by(singletonList(asc("name"))));
-
-        query.addCriteria(Criteria
-                .where("name")
-                .regex(name)
-        );
-        return reactiveMongoTemplate.find(query, State.class)
-                .map(mapper::fromModel);
+    @Override
+    public Mono<DeleteResultDTO> deleteAllBy(Map<String, String> filter){
+        return super.deleteAllBy(filter)
+                .doOnNext(result -> caches.getStatesByCountryId().invalidate(filter.get("countryId")));
     }
 
+    /**
+     * Read Preference of the State reads not served by the cache
+     * @return ReadPreference
+     */
+    @Override
+    protected ReadPreference readPreference(){
+        return readPreferences.getReference();
+    }
 }
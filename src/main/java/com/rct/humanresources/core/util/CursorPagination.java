@@ -0,0 +1,121 @@
+package com.rct.humanresources.core.util;
+
+import com.rct.humanresources.core.model.dto.CursorPageDTO;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.springframework.data.domain.Sort.Order.asc;
+
+/**
+ * Cursor Pagination - Keyset pages over the _id index
+ */
+public final class CursorPagination {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+    private static final String ID = "id";
+
+    /**
+     * Build the Query of a page: _id greater than the cursor, ordered by _id.
+     * One extra document is requested to know whether a next page exists.
+     * @param cursor Opaque cursor returned by the previous page, or null for the first page
+     * @param limit Normalized page size
+     * @return Query
+     */
+    public static Query pageQuery(String cursor, int limit) {
+        var query = new Query()
+                .with(Sort.by(asc(ID)))
+                .limit(limit + 1);
+        if (cursor == null || cursor.isBlank()) {
+            return query;
+        }
+        var after = decode(cursor);
+        if (ObjectId.isValid(after)) {
+            return query.addCriteria(Criteria.where(ID).gt(after));
+        }
+        // Seeded documents keep plain String ids. MongoDB range operators only match values of the
+        // same BSON type and String sorts before ObjectId, so the ObjectId ids must follow the last String.
+        return query.addCriteria(new Criteria().orOperator(
+                Criteria.where(ID).gt(after),
+                Criteria.where(ID).type(7)));
+    }
+
+    /**
+     * Build the page from the fetched documents
+     * @param items Items fetched by {@link #pageQuery(String, int)}
+     * @param limit Normalized page size
+     * @param idExtractor Item ID getter
+     * @return CursorPageDTO
+     * @param <T> DTO Type
+     */
+    public static <T> CursorPageDTO<T> toPage(List<T> items, int limit, Function<T, String> idExtractor) {
+        if (items.size() <= limit) {
+            return new CursorPageDTO<>(items, null, limit);
+        }
+        var content = items.subList(0, limit);
+        return new CursorPageDTO<>(content, encode(idExtractor.apply(content.get(limit - 1))), limit);
+    }
+
+    /**
+     * Normalize the requested page size
+     * @param limit Requested size, may be null
+     * @return Page size between 1 and {@link #MAX_LIMIT}
+     */
+    public static int normalizeLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be greater than zero");
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * Parse the limit query parameter
+     * @param limit Raw parameter, may be null
+     * @return Integer or null
+     */
+    public static Integer parseLimit(String limit) {
+        try {
+            return limit == null ? null : Integer.valueOf(limit);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("limit must be a number: " + limit);
+        }
+    }
+
+    /**
+     * Encode an ID as an opaque cursor
+     * @param id Document ID
+     * @return Cursor
+     */
+    public static String encode(String id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.getBytes(UTF_8));
+    }
+
+    /**
+     * Decode an opaque cursor
+     * @param cursor Cursor
+     * @return Document ID
+     */
+    public static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Cursor Pagination Constructor
+     */
+    private CursorPagination() {
+        throw new IllegalStateException("Utility class");
+    }
+}
@@ -0,0 +1,42 @@
+package com.rct.humanresources.core.util;
+
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Delete Filters - Equality filters of a bulk delete, limited to the allowed fields
+ * and never empty, so a request cannot wipe a collection
+ */
+public final class DeleteFilters {
+
+    /**
+     * Build the Query of a bulk delete
+     * @param filter Field Values, from the query string
+     * @param allowed Field Names that may be filtered on
+     * @return Query
+     */
+    public static Query deleteQuery(Map<String, String> filter, Set<String> allowed) {
+        if (filter.isEmpty()) {
+            throw new IllegalArgumentException("A delete filter is required, one of " + new TreeSet<>(allowed));
+        }
+        var query = new Query();
+        filter.forEach((field, value) -> {
+            if (!allowed.contains(field)) {
+                throw new IllegalArgumentException("Unknown delete filter " + field + ", expected one of " + new TreeSet<>(allowed));
+            }
+            query.addCriteria(Criteria.where(field).is(value));
+        });
+        return query;
+    }
+
+    /**
+     * Delete Filters Constructor
+     */
+    private DeleteFilters() {
+        throw new IllegalStateException("Utility class");
+    }
+}
@@ -0,0 +1,81 @@
+package com.rct.humanresources.core.util;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.beans.PropertyDescriptor;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Field Projection - The fields query parameter of list endpoints, pushed down to Mongo as a
+ * projection so only those fields are read, decoded and mapped, and written back as slim documents
+ */
+public final class FieldProjection {
+    public static final String ID = "id";
+
+    /**
+     * Parse a comma separated Field list against the DTO properties, the ID is always included
+     * @param fields Field Names, e.g. id,firstName,lastName
+     * @param type DTO Class
+     * @return Field Names, in request order
+     */
+    public static Set<String> parseFields(String fields, Class<?> type) {
+        var known = new TreeSet<String>();
+        for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(type)) {
+            if (descriptor.getReadMethod() != null && descriptor.getWriteMethod() != null) {
+                known.add(descriptor.getName());
+            }
+        }
+        var parsed = new LinkedHashSet<String>();
+        parsed.add(ID);
+        Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .forEach(field -> {
+                    if (!known.contains(field)) {
+                        throw new IllegalArgumentException("Unknown field " + field + ", expected one of " + known);
+                    }
+                    parsed.add(field);
+                });
+        return parsed;
+    }
+
+    /**
+     * Restrict a Query to the given Fields, all Fields when empty
+     * @param query Query
+     * @param fields Field Names
+     * @return Query
+     */
+    public static Query project(Query query, Set<String> fields) {
+        if (!fields.isEmpty()) {
+            query.fields().include(fields.toArray(String[]::new));
+        }
+        return query;
+    }
+
+    /**
+     * Read only the given Fields of a DTO
+     * @param dto DTO
+     * @param fields Field Names
+     * @return Map Field Name to Value, in request order
+     */
+    public static Map<String, Object> slim(Object dto, Set<String> fields) {
+        var source = new BeanWrapperImpl(dto);
+        var slim = new LinkedHashMap<String, Object>();
+        fields.forEach(field -> slim.put(field, source.getPropertyValue(field)));
+        return slim;
+    }
+
+    /**
+     * Field Projection Constructor
+     */
+    private FieldProjection() {
+        throw new IllegalStateException("Utility class");
+    }
+}
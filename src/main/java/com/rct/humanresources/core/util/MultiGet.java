@@ -0,0 +1,61 @@
+package com.rct.humanresources.core.util;
+
+import reactor.core.publisher.Flux;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Multi Get - IDs of a by-ids read, deduplicated and bounded so one request is one $in query,
+ * and the documents found put back in the order they were asked for
+ */
+public final class MultiGet {
+    public static final int MAX_IDS = 1000;
+
+    /**
+     * Validate and deduplicate the requested IDs, keeping their order
+     * @param ids Requested IDs
+     * @return Set String, in request order
+     */
+    public static Set<String> distinctIds(List<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one id is required");
+        }
+        var distinct = new LinkedHashSet<String>();
+        for (var i = 0; i < ids.size(); i++) {
+            var id = ids.get(i);
+            if (id == null || id.isBlank()) {
+                throw new IllegalArgumentException("Blank id at position " + i);
+            }
+            distinct.add(id);
+        }
+        if (distinct.size() > MAX_IDS) {
+            throw new IllegalArgumentException("Too many ids, " + distinct.size() + " given, at most " + MAX_IDS);
+        }
+        return distinct;
+    }
+
+    /**
+     * Emit the Found documents in the order of the requested IDs, skipping the missing ones
+     * @param ids Requested IDs, deduplicated
+     * @param found Documents found, in any order
+     * @param idOf Document ID
+     * @return Flux T
+     * @param <T> Document Type
+     */
+    public static <T> Flux<T> inRequestOrder(Set<String> ids, Flux<T> found, Function<T, String> idOf) {
+        return found
+                .collectMap(idOf)
+                .flatMapIterable(byId -> ids.stream().map(byId::get).filter(Objects::nonNull).toList());
+    }
+
+    /**
+     * Multi Get Constructor
+     */
+    private MultiGet() {
+        throw new IllegalStateException("Utility class");
+    }
+}
@@ -0,0 +1,86 @@
+package com.rct.humanresources.infra.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Reactive Cache - Mono and Flux view over a Caffeine AsyncCache.
+ * Concurrent misses on a key share one load; an empty load is not cached. Invalidating a key
+ * drops its load in flight, and the callers waiting on that load read the key again, so a value
+ * loaded before an invalidation is neither kept nor answered after it.
+ * @param <K> Key Type
+ * @param <V> Value Type
+ */
+public class ReactiveCache<K, V> {
+    private final AsyncCache<K, V> cache;
+
+    /**
+     * Reactive Cache Constructor
+     * @param cache AsyncCache
+     */
+    public ReactiveCache(AsyncCache<K, V> cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Get a Value, loading it on a miss
+     * @param key K
+     * @param loader Mono Loader of the Key
+     * @return Mono V
+     */
+    public Mono<V> get(K key, Function<K, Mono<V>> loader) {
+        return get(key, loader, true);
+    }
+
+    private Mono<V> get(K key, Function<K, Mono<V>> loader, boolean fenced) {
+        return Mono.defer(() -> {
+            var load = cache.get(key, (k, executor) -> loader.apply(k).toFuture());
+            return Mono.fromFuture(load, true)
+                    .flatMap(value -> !fenced || cache.asMap().get(key) == load
+                            ? Mono.just(value)
+                            : get(key, loader, false));
+        });
+    }
+
+    /**
+     * Invalidate a Key
+     * @param key K
+     */
+    public void invalidate(K key) {
+        if (key != null) {
+            cache.synchronous().invalidate(key);
+        }
+    }
+
+    /**
+     * Invalidate every Key
+     */
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    /**
+     * Caffeine Cache behind this View
+     * @return AsyncCache
+     */
+    public AsyncCache<K, V> unwrap() {
+        return cache;
+    }
+
+    /**
+     * Get a cached List as a Flux, loading it on a miss
+     * @param cache ReactiveCache of Lists
+     * @param key K
+     * @param loader Flux Loader of the Key
+     * @return Flux E
+     * @param <K> Key Type
+     * @param <E> Element Type
+     */
+    public static <K, E> Flux<E> getMany(ReactiveCache<K, List<E>> cache, K key, Function<K, Flux<E>> loader) {
+        return cache.get(key, k -> loader.apply(k).collectList().map(List::copyOf)).flatMapIterable(Function.identity());
+    }
+}
@@ -0,0 +1,67 @@
+package com.rct.humanresources.infra.cache;
+
+import com.rct.humanresources.core.model.dto.ChangeEventDTO;
+import com.rct.humanresources.infra.persistence.model.City;
+import com.rct.humanresources.infra.persistence.model.Country;
+import com.rct.humanresources.infra.persistence.model.Job;
+import com.rct.humanresources.infra.persistence.model.State;
+import com.rct.humanresources.infra.persistence.stream.ChangeStreamHub;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static java.time.Duration.ofMinutes;
+import static java.time.Duration.ofSeconds;
+
+/**
+ * Reference Data Cache Invalidator - Evicts cached reference data on MongoDB change events,
+ * so writes made by other instances or straight to the database are seen before the TTL.
+ * A state or city change evicts its whole list cache, as the previous parent of a moved document is unknown.
+ * Everything is invalidated whenever a change stream (re)connects, since events may have been missed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataCacheInvalidator {
+    private final ChangeStreamHub changeStreamHub;
+    private final ReferenceDataCaches caches;
+    private final Disposable.Composite subscriptions = Disposables.composite();
+
+    /**
+     * Listen to the Reference Data Change Streams once the Application is Ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void listen() {
+        subscriptions.add(listen(Country.class, change -> caches.getCountriesById().invalidate(change.getId())));
+        subscriptions.add(listen(Job.class, change -> caches.getJobsById().invalidate(change.getId())));
+        subscriptions.add(listen(State.class, change -> caches.getStatesByCountryId().invalidateAll()));
+        subscriptions.add(listen(City.class, change -> caches.getCitiesByStateId().invalidateAll()));
+    }
+
+    private <T> Disposable listen(Class<T> type, Consumer<ChangeEventDTO<T>> invalidation) {
+        return Flux.defer(() -> changeStreamHub.watch(type, null, Function.<T>identity()))
+                .doOnSubscribe(subscription -> caches.invalidateAll())
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, ofSeconds(1)).maxBackoff(ofMinutes(1))
+                        .doBeforeRetry(signal -> log.warn("{} change stream failed, cache invalidation retrying: {}",
+                                type.getSimpleName(), signal.failure().getMessage())))
+                .subscribe(invalidation);
+    }
+
+    /**
+     * Stop Listening
+     */
+    @PreDestroy
+    public void stop() {
+        subscriptions.dispose();
+    }
+}
@@ -0,0 +1,67 @@
+package com.rct.humanresources.infra.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rct.humanresources.infra.persistence.model.City;
+import com.rct.humanresources.infra.persistence.model.Country;
+import com.rct.humanresources.infra.persistence.model.Job;
+import com.rct.humanresources.infra.persistence.model.State;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Reference Data Caches - Size bounded, expiring caches for data that almost never changes:
+ * countries and jobs by ID, states by country and cities by state.
+ * Entries are persistence models that never leave the cache: every read maps them to a new DTO,
+ * so a caller changing its DTO cannot change what the next caller reads.
+ * Hits, misses and evictions are published as cache.* meters tagged with the cache name.
+ */
+@Getter
+@Component
+public class ReferenceDataCaches {
+    private final ReactiveCache<String, Country> countriesById;
+    private final ReactiveCache<String, Job> jobsById;
+    private final ReactiveCache<String, List<State>> statesByCountryId;
+    private final ReactiveCache<String, List<City>> citiesByStateId;
+
+    /**
+     * Reference Data Caches Constructor
+     * @param meterRegistry MeterRegistry
+     * @param maximumSize Maximum Entries per Cache
+     * @param timeToLive Expiration after Write
+     */
+    public ReferenceDataCaches(MeterRegistry meterRegistry,
+                               @Value("${humanresources.cache.reference.maximum-size:10000}") long maximumSize,
+                               @Value("${humanresources.cache.reference.time-to-live:1h}") Duration timeToLive) {
+        this.countriesById = cache(meterRegistry, "countries.byId", maximumSize, timeToLive);
+        this.jobsById = cache(meterRegistry, "jobs.byId", maximumSize, timeToLive);
+        this.statesByCountryId = cache(meterRegistry, "states.byCountryId", maximumSize, timeToLive);
+        this.citiesByStateId = cache(meterRegistry, "cities.byStateId", maximumSize, timeToLive);
+    }
+
+    /**
+     * Invalidate every Reference Data Cache
+     */
+    public void invalidateAll() {
+        countriesById.invalidateAll();
+        jobsById.invalidateAll();
+        statesByCountryId.invalidateAll();
+        citiesByStateId.invalidateAll();
+    }
+
+    private static <K, V> ReactiveCache<K, V> cache(MeterRegistry meterRegistry, String name,
+                                                    long maximumSize, Duration timeToLive) {
+        var cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .<K, V>buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        return new ReactiveCache<>(cache);
+    }
+}
@@ -0,0 +1,142 @@
+package com.rct.humanresources.infra.client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit Breaker - Stops calling a failing dependency. Closed, it records the outcome of the last calls and
+ * opens once their failure rate reaches the threshold; open, it rejects every call for the open duration;
+ * half open, it lets a single trial call through, closing on its success and opening again on its failure
+ */
+@Slf4j
+public class CircuitBreaker {
+    /**
+     * Circuit Breaker State
+     */
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final boolean[] outcomes;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+    private final LongSupplier nanoClock;
+    private State state = State.CLOSED;
+    private int calls;
+    private int failures;
+    private int next;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    /**
+     * Circuit Breaker Constructor
+     * @param name Dependency Name, logged on every transition
+     * @param windowSize Last calls whose outcomes are recorded
+     * @param minimumCalls Calls recorded before the failure rate is evaluated
+     * @param failureRateThreshold Failure rate, between 0 and 1, opening the circuit
+     * @param openDuration Time the circuit stays open before a trial call
+     * @param nanoClock Monotonic clock, in nanoseconds
+     */
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRateThreshold,
+                          Duration openDuration, LongSupplier nanoClock) {
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize) {
+            throw new IllegalArgumentException("The minimum calls must be between 1 and the window size " + windowSize);
+        }
+        if (failureRateThreshold <= 0 || failureRateThreshold > 1) {
+            throw new IllegalArgumentException("The failure rate threshold must be above 0 and at most 1");
+        }
+        this.name = name;
+        this.outcomes = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Acquire a Permission to Call, to be followed by onSuccess, onFailure or release
+     * @return true when the call may proceed
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openDurationNanos) {
+            transition(State.HALF_OPEN);
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialInFlight) {
+                    yield false;
+                }
+                trialInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    /**
+     * Record a Successful Call
+     */
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            transition(State.CLOSED);
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    /**
+     * Record a Failed Call
+     */
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transition(State.OPEN);
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (calls >= minimumCalls && failures >= failureRateThreshold * calls) {
+                transition(State.OPEN);
+            }
+        }
+    }
+
+    /**
+     * Release a Permission without an outcome, as a cancelled call
+     */
+    public synchronized void release() {
+        trialInFlight = false;
+    }
+
+    /**
+     * Current State
+     * @return State
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (calls == outcomes.length) {
+            failures -= outcomes[next] ? 1 : 0;
+        } else {
+            calls++;
+        }
+        outcomes[next] = failure;
+        failures += failure ? 1 : 0;
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void transition(State target) {
+        log.warn("Circuit breaker {} {} -> {}", name, state, target);
+        state = target;
+        trialInFlight = false;
+        if (target == State.OPEN) {
+            openedAt = nanoClock.getAsLong();
+        } else if (target == State.CLOSED) {
+            calls = 0;
+            failures = 0;
+            next = 0;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.rct.humanresources.infra.client;
+
+import com.rct.humanresources.infra.config.exception.ClientCallRejectedException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.springframework.http.HttpStatus.BAD_GATEWAY;
+import static org.springframework.http.HttpStatus.GATEWAY_TIMEOUT;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
+
+/**
+ * Client Resilience - Policies of the outbound calls, under humanresources.client.resilience. Each attempt
+ * passes a Circuit Breaker and a bulkhead bounding the calls in flight, both failing fast with a
+ * ClientCallRejectedException. Idempotent calls still waiting after the hedge delay are sent once more, the
+ * first value winning, a failed or rejected hedge leaving the primary call to run. Failures are retried with a jittered exponential backoff only when the call is
+ * idempotent and the status says the dependency may recover, 429, 502, 503 or 504, or when the connection
+ * was never established; retries and hedges both draw on a Retry Budget
+ */
+@Component
+public class ClientResilience {
+    private static final String CIRCUIT_BREAKER_NAME = "http-client";
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(TOO_MANY_REQUESTS.value(), BAD_GATEWAY.value(),
+            SERVICE_UNAVAILABLE.value(), GATEWAY_TIMEOUT.value());
+    private final CircuitBreaker circuitBreaker;
+    private final RetryBudget retryBudget;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int maxConcurrentCalls;
+    private final int maxRetries;
+    private final Duration minBackoff;
+    private final Duration maxBackoff;
+    private final double jitter;
+    private final Duration hedgeDelay;
+
+    /**
+     * Client Resilience Constructor
+     * @param windowSize Last calls whose outcomes the Circuit Breaker records
+     * @param minimumCalls Calls recorded before the failure rate is evaluated
+     * @param failureRateThreshold Failure rate opening the circuit
+     * @param openDuration Time the circuit stays open before a trial call
+     * @param maxConcurrentCalls Calls in flight at most, the others rejected
+     * @param maxRetries Retries of a call at most
+     * @param minBackoff Backoff before the first retry, doubled on each
+     * @param maxBackoff Backoff at most
+     * @param jitter Share of the backoff drawn at random, between 0 and 1
+     * @param retryRatio Retries and hedges earned by each call
+     * @param retryCapacity Retries and hedges allowed in a burst
+     * @param hedgeDelay Wait before an idempotent call is sent once more, never when 0
+     */
+    @Autowired
+    public ClientResilience(@Value("${humanresources.client.resilience.circuit-breaker.window-size:20}") int windowSize,
+                            @Value("${humanresources.client.resilience.circuit-breaker.minimum-calls:10}") int minimumCalls,
+                            @Value("${humanresources.client.resilience.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+                            @Value("${humanresources.client.resilience.circuit-breaker.open-duration:30s}") Duration openDuration,
+                            @Value("${humanresources.client.resilience.bulkhead.max-concurrent-calls:32}") int maxConcurrentCalls,
+                            @Value("${humanresources.client.resilience.retry.max-retries:3}") int maxRetries,
+                            @Value("${humanresources.client.resilience.retry.min-backoff:100ms}") Duration minBackoff,
+                            @Value("${humanresources.client.resilience.retry.max-backoff:2s}") Duration maxBackoff,
+                            @Value("${humanresources.client.resilience.retry.jitter:0.5}") double jitter,
+                            @Value("${humanresources.client.resilience.retry.budget-ratio:0.1}") double retryRatio,
+                            @Value("${humanresources.client.resilience.retry.budget-capacity:10}") int retryCapacity,
+                            @Value("${humanresources.client.resilience.hedge.delay:200ms}") Duration hedgeDelay) {
+        this(new CircuitBreaker(CIRCUIT_BREAKER_NAME, windowSize, minimumCalls, failureRateThreshold, openDuration, System::nanoTime),
+                new RetryBudget(retryRatio, retryCapacity), maxConcurrentCalls, maxRetries, minBackoff, maxBackoff, jitter, hedgeDelay);
+    }
+
+    ClientResilience(CircuitBreaker circuitBreaker, RetryBudget retryBudget, int maxConcurrentCalls, int maxRetries,
+                     Duration minBackoff, Duration maxBackoff, double jitter, Duration hedgeDelay) {
+        if (maxConcurrentCalls < 1 || maxRetries < 0 || jitter < 0 || jitter > 1) {
+            throw new IllegalArgumentException("The max concurrent calls must be at least 1, the max retries at least 0 and the jitter between 0 and 1");
+        }
+        this.circuitBreaker = circuitBreaker;
+        this.retryBudget = retryBudget;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxRetries = maxRetries;
+        this.minBackoff = minBackoff;
+        this.maxBackoff = maxBackoff;
+        this.jitter = jitter;
+        this.hedgeDelay = hedgeDelay;
+    }
+
+    /**
+     * Call a Dependency under the Resilience Policies
+     * @param call Supplier of the Call, subscribed once per attempt
+     * @param idempotent Whether the call may be sent more than once
+     * @param <T> Response Type
+     * @return Mono Response, or the error of the last attempt
+     */
+    public <T> Mono<T> call(Supplier<Mono<T>> call, boolean idempotent) {
+        var attempt = Mono.defer(() -> guarded(call));
+        var hedged = idempotent && hedgeDelay.isPositive()
+                ? Mono.firstWithSignal(attempt, Mono.delay(hedgeDelay).then(Mono.defer(() -> hedge(attempt))))
+                : attempt;
+        return Mono.defer(() -> {
+            retryBudget.deposit();
+            return hedged.retryWhen(Retry.from(signals -> signals.concatMap(signal -> retry(signal, idempotent))));
+        });
+    }
+
+    /**
+     * Backoff before a Retry, exponential, capped, then reduced by a random share of at most the jitter
+     * @param retry Retries already made
+     * @param minBackoff Backoff before the first retry
+     * @param maxBackoff Backoff at most
+     * @param jitter Share of the backoff drawn at random
+     * @param draw Random draw, between 0 and 1
+     * @return Duration
+     */
+    static Duration backoff(long retry, Duration minBackoff, Duration maxBackoff, double jitter, double draw) {
+        var exponential = minBackoff.multipliedBy(1L << Math.min(retry, 30));
+        var capped = exponential.compareTo(maxBackoff) > 0 ? maxBackoff : exponential;
+        return Duration.ofNanos((long) (capped.toNanos() * (1 - jitter * draw)));
+    }
+
+    /**
+     * Whether a Failure may be Retried
+     * @param error Failure
+     * @param idempotent Whether the call may be sent more than once
+     * @return true on a retryable status of an idempotent call, or when the connection was never established
+     */
+    static boolean retryable(Throwable error, boolean idempotent) {
+        if (error instanceof WebClientResponseException response) {
+            return idempotent && RETRYABLE_STATUSES.contains(response.getStatusCode().value());
+        }
+        if (error instanceof WebClientRequestException request) {
+            return idempotent || request.getCause() instanceof ConnectException;
+        }
+        return false;
+    }
+
+    /**
+     * Whether a Failure counts against the Dependency, client errors but 429 being the caller's
+     * @param error Failure
+     * @return true on a server error, 429, or a failed exchange
+     */
+    static boolean failure(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError() || response.getStatusCode().value() == TOO_MANY_REQUESTS.value();
+        }
+        return !(error instanceof ClientCallRejectedException);
+    }
+
+    private <T> Mono<T> guarded(Supplier<Mono<T>> call) {
+        if (!circuitBreaker.tryAcquire()) {
+            return Mono.error(new ClientCallRejectedException("circuit breaker " + CIRCUIT_BREAKER_NAME + " open"));
+        }
+        if (inFlight.incrementAndGet() > maxConcurrentCalls) {
+            inFlight.decrementAndGet();
+            circuitBreaker.release();
+            return Mono.error(new ClientCallRejectedException("more than " + maxConcurrentCalls + " calls in flight"));
+        }
+        return Mono.defer(call)
+                .doOnSuccess(response -> circuitBreaker.onSuccess())
+                .doOnError(error -> {
+                    if (failure(error)) {
+                        circuitBreaker.onFailure();
+                    } else {
+                        circuitBreaker.onSuccess();
+                    }
+                })
+                .doOnCancel(circuitBreaker::release)
+                .doFinally(signal -> inFlight.decrementAndGet());
+    }
+
+    /**
+     * Send a Call once more, drawing on the Retry Budget. The hedge only ever answers with a value: when it
+     * fails, or is rejected by the bulkhead or half open circuit, the primary call goes on and its outcome
+     * stands, the token of a rejected hedge being refunded
+     * @param attempt Attempt
+     * @param <T> Response Type
+     * @return Mono Response, never completing when the hedge is not sent or fails
+     */
+    private <T> Mono<T> hedge(Mono<T> attempt) {
+        if (!retryBudget.tryWithdraw()) {
+            return Mono.never();
+        }
+        return attempt.onErrorResume(error -> {
+            if (error instanceof ClientCallRejectedException) {
+                retryBudget.refund();
+            }
+            return Mono.never();
+        });
+    }
+
+    private Mono<Long> retry(Retry.RetrySignal signal, boolean idempotent) {
+        var error = signal.failure();
+        if (signal.totalRetries() >= maxRetries || !retryable(error, idempotent) || !retryBudget.tryWithdraw()) {
+            return Mono.error(error);
+        }
+        return Mono.delay(backoff(signal.totalRetries(), minBackoff, maxBackoff, jitter, ThreadLocalRandom.current().nextDouble()));
+    }
+}
@@ -0,0 +1,52 @@
+package com.rct.humanresources.infra.client;
+
+/**
+ * Retry Budget - Bounds retries and hedged calls to a share of the calls, so they cannot multiply the load
+ * of a dependency that is already failing. Every call deposits the ratio in a bucket holding at most the
+ * capacity, every retry or hedge withdraws one token, and none is made when less than one is left
+ */
+public class RetryBudget {
+    private final double ratio;
+    private final double capacity;
+    private double tokens;
+
+    /**
+     * Retry Budget Constructor
+     * @param ratio Retries earned by each call, between 0 and 1
+     * @param capacity Tokens held at most, the retries allowed in a burst, the bucket starting full
+     */
+    public RetryBudget(double ratio, int capacity) {
+        if (ratio < 0 || ratio > 1 || capacity < 1) {
+            throw new IllegalArgumentException("The retry ratio must be between 0 and 1 and the capacity at least 1");
+        }
+        this.ratio = ratio;
+        this.capacity = capacity;
+        this.tokens = capacity;
+    }
+
+    /**
+     * Deposit the Ratio of a Call
+     */
+    public synchronized void deposit() {
+        tokens = Math.min(capacity, tokens + ratio);
+    }
+
+    /**
+     * Refund the Token of a Retry or Hedge that was never sent
+     */
+    public synchronized void refund() {
+        tokens = Math.min(capacity, tokens + 1);
+    }
+
+    /**
+     * Withdraw a Token for a Retry or Hedge
+     * @return true when the budget allows it
+     */
+    public synchronized boolean tryWithdraw() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+}
@@ -1,25 +1,48 @@
 package com.rct.humanresources.infra.client;
 
+import com.rct.humanresources.core.model.dto.BatchItemResultDTO;
 import com.rct.humanresources.infra.persistence.model.Employee;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.util.retry.Retry;
 
-import static java.time.Duration.ofSeconds;
+import static com.rct.humanresources.infra.persistence.bulk.BulkWriter.CREATED;
+import static com.rct.humanresources.infra.persistence.bulk.BulkWriter.FAILED;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 
 /**
- * WebClientUtil to Call Rest API
+ * WebClientUtil to Call Rest API - Calls to the downstream Employee API go through the Client Resilience
+ * policies: reads are hedged and retried, creates are only retried when the connection was never established
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class WebClientUtil {
+    private static final String EMPLOYEES = "/employees";
     private final WebClient webClient;
+    private final ClientResilience clientResilience;
+    private final String baseUrl;
+    private final int batchConcurrency;
+
+    /**
+     * WebClientUtil Constructor
+     * @param webClient WebClient
+     * @param clientResilience ClientResilience
+     * @param baseUrl Base URL of the Employee API
+     * @param batchConcurrency Employees posted at once by a batch
+     */
+    public WebClientUtil(WebClient webClient,
+                         ClientResilience clientResilience,
+                         @Value("${humanresources.client.employees.base-url:http://localhost:8080}") String baseUrl,
+                         @Value("${humanresources.client.employees.batch-concurrency:8}") int batchConcurrency) {
+        this.webClient = webClient;
+        this.clientResilience = clientResilience;
+        this.baseUrl = baseUrl;
+        this.batchConcurrency = batchConcurrency;
+    }
+
     /**
      * Get Fake Users
      * @return ResponseSpec
@@ -31,24 +54,48 @@ public class WebClientUtil {
                 .retrieve();
     }
 
+    /**
+     * Get Employee
+     * @param id Employee ID
+     * @return Mono Employee
+     */
+    public Mono<Employee> getEmployee(String id) {
+        return clientResilience.call(() -> webClient
+                .get()
+                .uri(baseUrl + EMPLOYEES + "/{id}", id)
+                .accept(APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(Employee.class), true);
+    }
+
     /**
      * Post Employee
      * @param employee Employee
-     * @return Mono User
+     * @return Mono Employee, created
      */
     public Mono<Employee> postEmployee(Employee employee) {
-        return webClient
-                .post()
-                .uri("http://localhost:8080/employees")
-                .header("Authorization", "Basic MY_PASSWORD")
-                .accept(APPLICATION_JSON)
-                .body(Mono.just(employee), Employee.class)
-                .retrieve()
-                .bodyToMono(Employee.class)
-                .log()
-                .retryWhen(Retry.backoff(10, ofSeconds(2)))
-                .onErrorReturn(new Employee())
-                .doOnError(throwable -> log.error("Result error out for POST employee", throwable))
-                .doFinally(signalType -> log.info("Result Completed for POST Employee: {}", signalType));
+        return clientResilience.call(() -> webClient
+                        .post()
+                        .uri(baseUrl + EMPLOYEES)
+                        .header("Authorization", "Basic MY_PASSWORD")
+                        .accept(APPLICATION_JSON)
+                        .bodyValue(employee)
+                        .retrieve()
+                        .bodyToMono(Employee.class), false)
+                .doOnError(throwable -> log.error("Result error out for POST employee", throwable));
+    }
+
+    /**
+     * Post Employees, batchConcurrency at once, one failing not stopping the others
+     * @param employees Flux Employee
+     * @return Flux BatchItemResultDTO, one per Employee, in request order
+     */
+    public Flux<BatchItemResultDTO<Employee>> postEmployees(Flux<Employee> employees) {
+        return employees
+                .index()
+                .flatMapSequential(indexed -> postEmployee(indexed.getT2())
+                        .map(created -> new BatchItemResultDTO<>(indexed.getT1(), CREATED, created.getId(), created, null))
+                        .onErrorResume(error -> Mono.just(new BatchItemResultDTO<Employee>(indexed.getT1(), FAILED,
+                                indexed.getT2().getId(), null, error.getMessage()))), batchConcurrency);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,29 @@
+package com.rct.humanresources.infra.config;
+
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS;
+import static com.rct.humanresources.core.model.mapper.DateTimeMapping.LOCAL_DATE_TIME;
+
+/**
+ * Jackson Configuration - DTO dates are written and read once, by the JSON codecs, as ISO local
+ * date times through the shared formatter, the same text the String typed DTOs used to carry
+ */
+@Configuration
+public class JacksonConfig {
+    /**
+     * Get the LocalDateTime ISO Customizer
+     * @return Jackson2ObjectMapperBuilderCustomizer
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer localDateTimeCustomizer() {
+        return builder -> builder
+                .featuresToDisable(WRITE_DATES_AS_TIMESTAMPS)
+                .serializers(new LocalDateTimeSerializer(LOCAL_DATE_TIME))
+                .deserializers(new LocalDateTimeDeserializer(LOCAL_DATE_TIME));
+    }
+}
@@ -0,0 +1,95 @@
+package com.rct.humanresources.infra.config;
+
+import com.rct.humanresources.infra.metrics.MethodMetricsPostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Service;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.springframework.core.annotation.AnnotatedElementUtils.hasAnnotation;
+
+/**
+ * Metrics Configuration - Service and Repository method timers, Reactor Scheduler executor gauges
+ * and Reactor Netty server metrics, next to the http.server.requests route timers recorded by WebFlux.
+ * Every meter is published on /actuator/prometheus
+ */
+@Configuration
+public class MetricsConfig {
+    public static final String SERVICE_METRIC = "humanresources.service";
+    public static final String REPOSITORY_METRIC = "humanresources.repository";
+    private static final String SCHEDULER_METRICS_KEY = "humanresources.scheduler.metrics";
+    private static final int URI_TAG_SEGMENTS = 2;
+
+    /**
+     * Time every Service method
+     * @param meterRegistry MeterRegistry
+     * @return MethodMetricsPostProcessor
+     */
+    @Bean
+    public static MethodMetricsPostProcessor serviceMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new MethodMetricsPostProcessor(meterRegistry, SERVICE_METRIC, "service",
+                bean -> hasAnnotation(AopUtils.getTargetClass(bean), Service.class));
+    }
+
+    /**
+     * Time every Repository query and count the documents it returned
+     * @param meterRegistry MeterRegistry
+     * @return MethodMetricsPostProcessor
+     */
+    @Bean
+    public static MethodMetricsPostProcessor repositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new MethodMetricsPostProcessor(meterRegistry, REPOSITORY_METRIC, "repository",
+                Repository.class::isInstance);
+    }
+
+    /**
+     * Publish executor gauges of every Reactor Scheduler worker created from now on
+     * @param meterRegistry MeterRegistry
+     * @return DisposableBean removing the decorator on shutdown
+     */
+    @Bean
+    public DisposableBean schedulerMetrics(MeterRegistry meterRegistry) {
+        var executors = new AtomicLong();
+        Schedulers.addExecutorServiceDecorator(SCHEDULER_METRICS_KEY, (scheduler, executor) ->
+                ExecutorServiceMetrics.monitor(meterRegistry, executor,
+                        scheduler.toString() + "-" + executors.incrementAndGet(), "reactor.scheduler",
+                        Tags.of("scheduler", scheduler.toString())));
+        return () -> Schedulers.removeExecutorServiceDecorator(SCHEDULER_METRICS_KEY);
+    }
+
+    /**
+     * Enable Reactor Netty server metrics, event loop pending tasks, connections and data sizes.
+     * The URI tag keeps only the leading path segments, so entity IDs do not explode its cardinality
+     * @return WebServerFactoryCustomizer NettyReactiveWebServerFactory
+     */
+    @Bean
+    public WebServerFactoryCustomizer<NettyReactiveWebServerFactory> nettyMetricsCustomizer() {
+        return factory -> factory.addServerCustomizers(server -> server.metrics(true, MetricsConfig::uriTag));
+    }
+
+    /**
+     * Keep the leading segments of an URI
+     * @param uri Request URI
+     * @return URI Tag
+     */
+    static String uriTag(String uri) {
+        var path = uri.split("\\?", 2)[0];
+        return Arrays.stream(path.split("/"))
+                .filter(segment -> !segment.isEmpty())
+                .limit(URI_TAG_SEGMENTS)
+                .collect(Collectors.joining("/", "/", ""));
+    }
+}
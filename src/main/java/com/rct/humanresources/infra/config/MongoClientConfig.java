@@ -0,0 +1,87 @@
+package com.rct.humanresources.infra.config;
+
+import com.mongodb.MongoCompressor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Mongo Client Configuration - Connection pool, wire compression and timeouts of the reactive driver,
+ * under humanresources.mongodb.client, applied after the connection string so they win over its options.
+ * The mongo-throughput and mongo-secondary-reads profiles hold tuned sets; pool pressure shows on the
+ * mongodb.driver.pool gauges of /actuator/prometheus. Reads are routed per query, see ReadPreferences
+ */
+@Configuration
+public class MongoClientConfig {
+
+    /**
+     * Get the Mongo Client Settings Customizer
+     * @param maxSize Connections per server
+     * @param minSize Connections kept open per server
+     * @param maxConnecting Connections established at once per server
+     * @param maxWaitTime Wait for a pooled connection before failing
+     * @param maxConnectionIdleTime Idle time before a connection is closed, unbounded when 0
+     * @param connectTimeout Socket connect timeout
+     * @param readTimeout Socket read timeout, unbounded when 0
+     * @param serverSelectionTimeout Wait for a suitable server before failing
+     * @param compressors Wire compressors by preference, zstd, snappy or zlib, as negotiated with the server
+     * @return MongoClientSettingsBuilderCustomizer
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoClientTuningCustomizer(
+            @Value("${humanresources.mongodb.client.pool.max-size:100}") int maxSize,
+            @Value("${humanresources.mongodb.client.pool.min-size:0}") int minSize,
+            @Value("${humanresources.mongodb.client.pool.max-connecting:2}") int maxConnecting,
+            @Value("${humanresources.mongodb.client.pool.max-wait-time:2m}") Duration maxWaitTime,
+            @Value("${humanresources.mongodb.client.pool.max-connection-idle-time:0s}") Duration maxConnectionIdleTime,
+            @Value("${humanresources.mongodb.client.connect-timeout:10s}") Duration connectTimeout,
+            @Value("${humanresources.mongodb.client.read-timeout:0s}") Duration readTimeout,
+            @Value("${humanresources.mongodb.client.server-selection-timeout:30s}") Duration serverSelectionTimeout,
+            @Value("${humanresources.mongodb.client.compressors:}") List<String> compressors) {
+        var mongoCompressors = compressors(compressors);
+        return builder -> {
+            builder.applyToConnectionPoolSettings(pool -> pool
+                            .maxSize(maxSize)
+                            .minSize(minSize)
+                            .maxConnecting(maxConnecting)
+                            .maxWaitTime(maxWaitTime.toMillis(), MILLISECONDS)
+                            .maxConnectionIdleTime(maxConnectionIdleTime.toMillis(), MILLISECONDS))
+                    .applyToSocketSettings(socket -> socket
+                            .connectTimeout(connectTimeout.toMillis(), MILLISECONDS)
+                            .readTimeout(readTimeout.toMillis(), MILLISECONDS))
+                    .applyToClusterSettings(cluster -> cluster
+                            .serverSelectionTimeout(serverSelectionTimeout.toMillis(), MILLISECONDS));
+            if (!mongoCompressors.isEmpty()) {
+                builder.compressorList(mongoCompressors);
+            }
+        };
+    }
+
+    /**
+     * Mongo Compressors of their Names
+     * @param names zstd, snappy or zlib
+     * @return List MongoCompressor, in the given order
+     */
+    static List<MongoCompressor> compressors(List<String> names) {
+        return names.stream()
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .map(MongoClientConfig::compressor)
+                .toList();
+    }
+
+    private static MongoCompressor compressor(String name) {
+        return switch (name) {
+            case "zstd" -> MongoCompressor.createZstdCompressor();
+            case "snappy" -> MongoCompressor.createSnappyCompressor();
+            case "zlib" -> MongoCompressor.createZlibCompressor();
+            default -> throw new IllegalArgumentException("Unknown Mongo compressor " + name + ", expected zstd, snappy or zlib");
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package com.rct.humanresources.infra.config;
+
+import com.rct.humanresources.infra.persistence.hierarchy.OrgChart;
+import com.rct.humanresources.infra.persistence.index.IndexReconciler;
+import com.rct.humanresources.infra.persistence.index.QueryPlanAuditor;
+import com.rct.humanresources.infra.persistence.search.SearchKeyBackfill;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backfills the search keys, migrates the manager references and reconciles the IndexCatalog at startup,
+ * then explains the repository queries against the result
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class MongoIndexInitializerConfig implements CommandLineRunner {
+    private final IndexReconciler indexReconciler;
+    private final QueryPlanAuditor queryPlanAuditor;
+    private final SearchKeyBackfill searchKeyBackfill;
+    private final OrgChart orgChart;
+
+    @Override
+    public void run(String... args) {
+        searchKeyBackfill.backfill()
+                .then(orgChart.migrateManagerIds())
+                .thenMany(indexReconciler.reconcile())
+                .thenMany(queryPlanAuditor.audit())
+                .count()
+                .subscribe(unindexed -> log.info("Indexes reconciled, {} repository queries unindexed", unindexed),
+                        e -> log.error("Index reconciliation failed", e));
+    }
+}
@@ -0,0 +1,74 @@
+package com.rct.humanresources.infra.config;
+
+import com.rct.humanresources.infra.metrics.AccessLogSampler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.server.logging.AccessLogFactory;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+
+import static io.netty.channel.ChannelOption.SO_BACKLOG;
+import static reactor.netty.resources.LoopResources.DEFAULT_IO_WORKER_COUNT;
+
+/**
+ * Server Tuning Configuration - Reactor Netty server event loops, transport, accept backlog, HTTP/2 streams
+ * and sampled access log, under humanresources.server. Compression, idle and keep alive limits and the codec
+ * in-memory cap are Spring Boot properties, set next to them in application.yml.
+ * The server runs on its own event loops, so WebClient calls never queue behind inbound requests, and on
+ * epoll when the native transport is on the classpath. The baseline profile turns it all off for comparison
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "humanresources.server", name = "tuning-enabled", havingValue = "true", matchIfMissing = true)
+public class ServerTuningConfig {
+    private static final String SERVER_LOOP_PREFIX = "http-server";
+
+    /**
+     * Get the Server Event Loops
+     * @param selectThreads Threads accepting connections
+     * @param workerThreads Threads serving connections, the Reactor Netty default of one per core, at least 4, when 0
+     * @return LoopResources, disposed on shutdown
+     */
+    @Bean(destroyMethod = "dispose")
+    public LoopResources serverLoopResources(@Value("${humanresources.server.event-loop.select-threads:1}") int selectThreads,
+                                             @Value("${humanresources.server.event-loop.worker-threads:0}") int workerThreads) {
+        var workers = workerThreads > 0 ? workerThreads : DEFAULT_IO_WORKER_COUNT;
+        log.info("Server event loops: {} select and {} worker threads, native transport {}",
+                selectThreads, workers, LoopResources.hasNativeSupport() ? "available" : "unavailable");
+        return LoopResources.create(SERVER_LOOP_PREFIX, selectThreads, workers, true);
+    }
+
+    /**
+     * Run the Server on its Event Loops, with the accept backlog, HTTP/2 stream limit and sampled access log
+     * @param serverLoopResources LoopResources
+     * @param preferNative Use epoll when available
+     * @param backlog Pending connections queued by the kernel
+     * @param maxConcurrentStreams HTTP/2 streams per connection
+     * @param accessLog Enable the access log
+     * @param sampleRate Share of the successful and fast requests logged
+     * @param slowThreshold Duration from which a request is always logged
+     * @return WebServerFactoryCustomizer NettyReactiveWebServerFactory
+     */
+    @Bean
+    public WebServerFactoryCustomizer<NettyReactiveWebServerFactory> nettyTuningCustomizer(
+            LoopResources serverLoopResources,
+            @Value("${humanresources.server.prefer-native:true}") boolean preferNative,
+            @Value("${humanresources.server.backlog:1024}") int backlog,
+            @Value("${humanresources.server.http2.max-concurrent-streams:256}") long maxConcurrentStreams,
+            @Value("${humanresources.server.access-log.enabled:true}") boolean accessLog,
+            @Value("${humanresources.server.access-log.sample-rate:0.01}") double sampleRate,
+            @Value("${humanresources.server.access-log.slow-threshold:500ms}") Duration slowThreshold) {
+        var sampler = new AccessLogSampler(sampleRate, slowThreshold);
+        return factory -> factory.addServerCustomizers(server -> server
+                .runOn(serverLoopResources, preferNative)
+                .option(SO_BACKLOG, backlog)
+                .http2Settings(settings -> settings.maxConcurrentStreams(maxConcurrentStreams))
+                .accessLog(accessLog, AccessLogFactory.createFilter(sampler)));
+    }
+}
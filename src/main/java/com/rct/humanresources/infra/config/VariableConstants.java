@@ -8,6 +8,8 @@ public class VariableConstants {
     public static final String BY_ID = "/{id}";
     public static final String SEARCH = "/search";
     public static final String STREAM = "/stream";
+    public static final String BATCH = "/batch";
+    public static final String BY_IDS = "/by-ids";
 
     /**
      * Handlers - Employees - Context Path
@@ -18,6 +20,11 @@ public class VariableConstants {
     public static final String HANDLER_EMPLOYEES_PATH_BY_ID = HANDLER_EMPLOYEES_PATH + BY_ID;
     public static final String HANDLER_EMPLOYEES_SEARCH_PATH = HANDLER_EMPLOYEES_PATH + SEARCH;
     public static final String HANDLER_EMPLOYEES_STREAM_PATH = HANDLER_EMPLOYEES_PATH + STREAM;
+    public static final String HANDLER_EMPLOYEES_BATCH_PATH = HANDLER_EMPLOYEES_PATH + BATCH;
+    public static final String HANDLER_EMPLOYEES_BY_IDS_PATH = HANDLER_EMPLOYEES_PATH + BY_IDS;
+    public static final String HANDLER_EMPLOYEES_SUBORDINATES_PATH = HANDLER_EMPLOYEES_PATH_BY_ID + "/subordinates";
+    public static final String HANDLER_EMPLOYEES_CHAIN_PATH = HANDLER_EMPLOYEES_PATH_BY_ID + "/chain";
+    public static final String HANDLER_EMPLOYEES_PAYROLL_PATH = HANDLER_EMPLOYEES_PATH + "/payroll";
 
     /**
      * Handlers - Departments - Context Path
@@ -28,6 +35,11 @@ public class VariableConstants {
     public static final String HANDLER_DEPARTMENTS_PATH_BY_LOCATION_ID = HANDLER_DEPARTMENTS_PATH + "/locations/{locationId}";
     public static final String HANDLER_DEPARTMENTS_SEARCH_PATH = HANDLER_DEPARTMENTS_PATH + SEARCH;
     public static final String HANDLER_DEPARTMENTS_STREAM_PATH = HANDLER_DEPARTMENTS_PATH + STREAM;
+    public static final String HANDLER_DEPARTMENTS_BATCH_PATH = HANDLER_DEPARTMENTS_PATH + BATCH;
+    public static final String HANDLER_DEPARTMENTS_BY_IDS_PATH = HANDLER_DEPARTMENTS_PATH + BY_IDS;
+    public static final String HANDLER_DEPARTMENTS_SUMMARIES_PATH = HANDLER_DEPARTMENTS_PATH + "/summaries";
+    public static final String HANDLER_DEPARTMENTS_SUMMARIES_REBUILD_PATH = HANDLER_DEPARTMENTS_SUMMARIES_PATH + "/rebuild";
+    public static final String HANDLER_DEPARTMENTS_SUMMARY_PATH = HANDLER_DEPARTMENTS_PATH_BY_ID + "/summary";
 
     /**
      * Handlers - Jobs - Context Path
@@ -36,6 +48,8 @@ public class VariableConstants {
     public static final String HANDLER_JOBS_PATH_BY_ID = HANDLER_JOBS_PATH + BY_ID;
     public static final String HANDLER_JOBS_SEARCH_PATH = HANDLER_JOBS_PATH + SEARCH;
     public static final String HANDLER_JOBS_STREAM_PATH = HANDLER_JOBS_PATH + STREAM;
+    public static final String HANDLER_JOBS_BATCH_PATH = HANDLER_JOBS_PATH + BATCH;
+    public static final String HANDLER_JOBS_BY_IDS_PATH = HANDLER_JOBS_PATH + BY_IDS;
 
     /**
      * Handlers - Jobs Histories - Context Path
@@ -44,8 +58,14 @@ public class VariableConstants {
     public static final String HANDLER_JOB_HISTORIES_PATH_BY_ID = HANDLER_JOB_HISTORIES_PATH + BY_ID;
     public static final String HANDLER_JOB_HISTORIES_PATH_BY_JOB_ID =  HANDLER_JOB_HISTORIES_PATH + "/jobs/{jobId}";
     public static final String HANDLER_JOB_HISTORIES_PATH_BY_DEPARTMENT_ID =  HANDLER_JOB_HISTORIES_PATH + "/departments/{departmentId}";
+    public static final String HANDLER_JOB_HISTORIES_PATH_BY_EMPLOYEE_ID =  HANDLER_JOB_HISTORIES_PATH + "/employees/{employeeId}";
+    public static final String HANDLER_JOB_HISTORIES_AS_OF_PATH = HANDLER_JOB_HISTORIES_PATH + "/as-of";
+    public static final String HANDLER_JOB_HISTORIES_OVERLAPPING_PATH = HANDLER_JOB_HISTORIES_PATH + "/overlapping";
+    public static final String HANDLER_JOB_HISTORIES_HEADCOUNT_PATH = HANDLER_JOB_HISTORIES_PATH + "/headcount";
     public static final String HANDLER_JOB_HISTORIES_SEARCH_PATH =  HANDLER_JOB_HISTORIES_PATH + SEARCH;
     public static final String HANDLER_JOB_HISTORIES_STREAM_PATH = HANDLER_JOB_HISTORIES_PATH + STREAM;
+    public static final String HANDLER_JOB_HISTORIES_BATCH_PATH = HANDLER_JOB_HISTORIES_PATH + BATCH;
+    public static final String HANDLER_JOB_HISTORIES_BY_IDS_PATH = HANDLER_JOB_HISTORIES_PATH + BY_IDS;
 
     /**
      * Handlers - Locations - Context Path
@@ -55,6 +75,8 @@ public class VariableConstants {
     public static final String HANDLER_LOCATIONS_PATH_BY_CITY_ID = HANDLER_LOCATIONS_PATH + "/cities/{cityId}";
     public static final String HANDLER_LOCATIONS_SEARCH_PATH = HANDLER_LOCATIONS_PATH + SEARCH;
     public static final String HANDLER_LOCATIONS_STREAM_PATH = HANDLER_LOCATIONS_PATH + STREAM;
+    public static final String HANDLER_LOCATIONS_BATCH_PATH = HANDLER_LOCATIONS_PATH + BATCH;
+    public static final String HANDLER_LOCATIONS_BY_IDS_PATH = HANDLER_LOCATIONS_PATH + BY_IDS;
 
     /**
      * Handlers - Countries - Context Path
@@ -63,6 +85,8 @@ public class VariableConstants {
     public static final String HANDLER_COUNTRIES_PATH_BY_ID = HANDLER_COUNTRIES_PATH + BY_ID;
     public static final String HANDLER_COUNTRIES_SEARCH_PATH = HANDLER_COUNTRIES_PATH + SEARCH;
     public static final String HANDLER_COUNTRIES_STREAM_PATH = HANDLER_COUNTRIES_PATH + STREAM;
+    public static final String HANDLER_COUNTRIES_BATCH_PATH = HANDLER_COUNTRIES_PATH + BATCH;
+    public static final String HANDLER_COUNTRIES_BY_IDS_PATH = HANDLER_COUNTRIES_PATH + BY_IDS;
 
     /**
      * Handlers - States - Context Path
@@ -72,6 +96,8 @@ public class VariableConstants {
     public static final String HANDLER_STATES_PATH_BY_COUNTRY_ID = HANDLER_STATES_PATH + "/countries/{countryId}";
     public static final String HANDLER_STATES_SEARCH_PATH = HANDLER_STATES_PATH + SEARCH;
     public static final String HANDLER_STATES_STREAM_PATH = HANDLER_STATES_PATH + STREAM;
+    public static final String HANDLER_STATES_BATCH_PATH = HANDLER_STATES_PATH + BATCH;
+    public static final String HANDLER_STATES_BY_IDS_PATH = HANDLER_STATES_PATH + BY_IDS;
 
     /**
      * Handlers - Cities - Context Path
@@ -81,6 +107,8 @@ public class VariableConstants {
     public static final String HANDLER_CITIES_PATH_BY_STATE_ID = HANDLER_CITIES_PATH + "/states/{stateId}";
     public static final String HANDLER_CITIES_SEARCH_PATH = HANDLER_CITIES_PATH + SEARCH;
     public static final String HANDLER_CITIES_STREAM_PATH = HANDLER_CITIES_PATH + STREAM;
+    public static final String HANDLER_CITIES_BATCH_PATH = HANDLER_CITIES_PATH + BATCH;
+    public static final String HANDLER_CITIES_BY_IDS_PATH = HANDLER_CITIES_PATH + BY_IDS;
 
     /**
      * Handlers Constructor
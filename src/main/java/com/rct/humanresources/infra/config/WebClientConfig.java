@@ -1,14 +1,18 @@
 package com.rct.humanresources.infra.config;
 
 import io.netty.handler.ssl.SslContextBuilder;
-
 import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
 import javax.net.ssl.SSLException;
+import java.time.Duration;
 
 import static io.netty.channel.ChannelOption.CONNECT_TIMEOUT_MILLIS;
 import static io.netty.handler.logging.LogLevel.DEBUG;
@@ -17,38 +21,90 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static reactor.netty.transport.logging.AdvancedByteBufFormat.TEXTUAL;
 
 /**
- * WebClient Configuration
+ * WebClient Configuration - Outbound HTTP client, under humanresources.client: a named Connection Provider
+ * bounding the connections and the acquires queued for them, evicting idle and aged connections, and
+ * connect, response, read and write timeouts, so a slow dependency fails fast instead of holding event loops.
+ * The WebClient is built from the Spring Boot builder, so calls are timed as http.client.requests and the pool
+ * shows on the reactor.netty.connection.provider gauges. Wiretap and trusting every certificate are off
+ * unless enabled, for local troubleshooting only
  */
 @Configuration
 public class WebClientConfig {
+    private static final String CONNECTION_PROVIDER_NAME = "http-client";
+    private static final String WIRETAP_CATEGORY = "reactor.netty.http.client.HttpClient";
+
+    /**
+     * Get the Client Connection Provider
+     * @param maxConnections Connections per remote address
+     * @param pendingAcquireMaxCount Acquires queued once every connection is in use, failing beyond it
+     * @param pendingAcquireTimeout Wait for a pooled connection before failing
+     * @param maxIdleTime Idle time before a connection is closed
+     * @param maxLifeTime Age at which a connection is closed, so load balancers see new ones
+     * @param evictInBackground Interval of the idle and aged connections eviction
+     * @param metrics Register the pool gauges
+     * @return ConnectionProvider, disposed on shutdown
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider clientConnectionProvider(
+            @Value("${humanresources.client.pool.max-connections:50}") int maxConnections,
+            @Value("${humanresources.client.pool.pending-acquire-max-count:100}") int pendingAcquireMaxCount,
+            @Value("${humanresources.client.pool.pending-acquire-timeout:5s}") Duration pendingAcquireTimeout,
+            @Value("${humanresources.client.pool.max-idle-time:30s}") Duration maxIdleTime,
+            @Value("${humanresources.client.pool.max-life-time:5m}") Duration maxLifeTime,
+            @Value("${humanresources.client.pool.evict-in-background:30s}") Duration evictInBackground,
+            @Value("${humanresources.client.pool.metrics-enabled:true}") boolean metrics) {
+        return ConnectionProvider.builder(CONNECTION_PROVIDER_NAME)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInBackground)
+                .metrics(metrics)
+                .build();
+    }
+
     /**
      * Get Web Client Builder
+     * @param webClientBuilder Spring Boot WebClient Builder, with the codecs and observations
+     * @param clientConnectionProvider ConnectionProvider
+     * @param connectTimeout TCP connect timeout
+     * @param responseTimeout Wait for the response headers of each call
+     * @param readTimeout Inactivity while reading a response
+     * @param writeTimeout Inactivity while writing a request
+     * @param wiretap Log every byte sent and received, at DEBUG
+     * @param insecureTrustAll Trust every certificate
      * @return WebClient
      * @throws SSLException SSL Exception
      */
     @Bean
-    public WebClient getWebClientBuilder() throws SSLException {
-
-        final long TIMEOUT = 120L;
-        final long FACTOR = 1000L;
-
-        // Define SSLContext in order to connect to secure APIs network
-        var sslContext = SslContextBuilder
-                .forClient()
-                .trustManager(INSTANCE)
-                .build();
-
-        // Create an HTTP Client. Overload with timeout config and LogLevel settings.
-        // Override the above SSLContext into the client
-        var httpClient = HttpClient.create()
-                .option(CONNECT_TIMEOUT_MILLIS, 120 * 1000)
-                .doOnConnected(connection -> connection.addHandlerLast(new ReadTimeoutHandler(TIMEOUT * FACTOR, MILLISECONDS)))
-                .wiretap("reactor.netty.http.client.HttpClient", DEBUG, TEXTUAL)
-                .followRedirect(true)
-                .secure(sslContextSpec -> sslContextSpec.sslContext(sslContext));
-
-        // Add the above connector to the WebClient instance
-        return WebClient.builder()
+    public WebClient getWebClientBuilder(
+            WebClient.Builder webClientBuilder,
+            ConnectionProvider clientConnectionProvider,
+            @Value("${humanresources.client.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${humanresources.client.response-timeout:5s}") Duration responseTimeout,
+            @Value("${humanresources.client.read-timeout:10s}") Duration readTimeout,
+            @Value("${humanresources.client.write-timeout:10s}") Duration writeTimeout,
+            @Value("${humanresources.client.wiretap:false}") boolean wiretap,
+            @Value("${humanresources.client.insecure-trust-all:false}") boolean insecureTrustAll) throws SSLException {
+        var httpClient = HttpClient.create(clientConnectionProvider)
+                .option(CONNECT_TIMEOUT_MILLIS, Math.toIntExact(connectTimeout.toMillis()))
+                .responseTimeout(responseTimeout)
+                .doOnConnected(connection -> connection
+                        .addHandlerLast(new ReadTimeoutHandler(readTimeout.toMillis(), MILLISECONDS))
+                        .addHandlerLast(new WriteTimeoutHandler(writeTimeout.toMillis(), MILLISECONDS)))
+                .followRedirect(true);
+        if (wiretap) {
+            httpClient = httpClient.wiretap(WIRETAP_CATEGORY, DEBUG, TEXTUAL);
+        }
+        if (insecureTrustAll) {
+            var sslContext = SslContextBuilder
+                    .forClient()
+                    .trustManager(INSTANCE)
+                    .build();
+            httpClient = httpClient.secure(sslContextSpec -> sslContextSpec.sslContext(sslContext));
+        }
+        return webClientBuilder
                 .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
     }
@@ -0,0 +1,8 @@
+package com.rct.humanresources.infra.config.exception;
+
+public class ClientCallRejectedException extends RuntimeException {
+
+    public ClientCallRejectedException(String reason) {
+        super("Outbound call rejected: " + reason + ".");
+    }
+}
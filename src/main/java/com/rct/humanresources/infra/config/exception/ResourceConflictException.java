@@ -0,0 +1,8 @@
+package com.rct.humanresources.infra.config.exception;
+
+public class ResourceConflictException extends RuntimeException {
+
+    public ResourceConflictException(String param) {
+        super("Resource with param: " + param + " was modified concurrently.");
+    }
+}
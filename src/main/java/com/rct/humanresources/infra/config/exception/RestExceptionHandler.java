@@ -8,6 +8,7 @@ import org.springframework.web.server.WebExceptionHandler;
 import reactor.core.publisher.Mono;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static reactor.core.publisher.Mono.error;
 
@@ -25,6 +26,10 @@ public class RestExceptionHandler implements WebExceptionHandler {
             exchange.getResponse().setStatusCode(BAD_REQUEST);
             return exchange.getResponse().setComplete();
         }
+        if(ex instanceof ResourceConflictException){
+            exchange.getResponse().setStatusCode(CONFLICT);
+            return exchange.getResponse().setComplete();
+        }
 
         return error(ex);
     }
@@ -1,9 +1,14 @@
 package com.rct.humanresources.infra.config.router;
 
+import com.rct.humanresources.core.model.dto.BatchItemResultDTO;
+import com.rct.humanresources.core.model.dto.ChangeEventDTO;
 import com.rct.humanresources.core.model.dto.CityDTO;
+import com.rct.humanresources.core.model.dto.CursorPageDTO;
+import com.rct.humanresources.core.model.dto.DeleteResultDTO;
 import com.rct.humanresources.infra.handler.CityHandler;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
@@ -17,17 +22,24 @@ import org.springframework.web.reactive.function.server.RequestPredicates;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
+import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_CITIES_BATCH_PATH;
+import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_CITIES_BY_IDS_PATH;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_CITIES_PATH;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_CITIES_PATH_BY_ID;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_CITIES_PATH_BY_STATE_ID;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_CITIES_SEARCH_PATH;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_CITIES_STREAM_PATH;
+import static com.rct.humanresources.infra.config.router.CrudRoutes.crudRoutes;
 import static io.swagger.v3.oas.annotations.enums.ParameterIn.PATH;
 import static io.swagger.v3.oas.annotations.enums.ParameterIn.QUERY;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
 import static org.springframework.web.bind.annotation.RequestMethod.DELETE;
 import static org.springframework.web.bind.annotation.RequestMethod.GET;
+import static org.springframework.web.bind.annotation.RequestMethod.PATCH;
 import static org.springframework.web.bind.annotation.RequestMethod.POST;
 import static org.springframework.web.bind.annotation.RequestMethod.PUT;
 import static org.springframework.web.reactive.function.server.RequestPredicates.accept;
@@ -41,8 +53,9 @@ public class CityRouterConfig {
             @RouterOperation(path = HANDLER_CITIES_PATH, produces = {APPLICATION_JSON_VALUE}, beanClass =
                     CityHandler.class, method = GET, beanMethod = "findAll", operation =
             @Operation(operationId = "findAll", responses = {@ApiResponse(responseCode = "200", description =
-                    "Successful operation", content = @Content(schema = @Schema(implementation = CityDTO.class))),
-                    @ApiResponse(responseCode = "400", description = "Invalid City details supplied")})),
+                    "Successful operation", content = @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid City details supplied")}, parameters = {
+                    @Parameter(in = QUERY, name = "after"), @Parameter(in = QUERY, name = "limit")})),
 
             @RouterOperation(path = HANDLER_CITIES_PATH_BY_ID, produces = {APPLICATION_JSON_VALUE}, beanClass =
                     CityHandler.class, method = GET, beanMethod = "findById", operation =
@@ -52,28 +65,63 @@ public class CityRouterConfig {
                     @ApiResponse(responseCode = "404", description = "City not found")}, parameters =
                     {@Parameter(in = PATH, name = "id")})),
 
-            @RouterOperation(path = HANDLER_CITIES_PATH_BY_STATE_ID, produces = {APPLICATION_JSON_VALUE}, beanClass =
+            @RouterOperation(path = HANDLER_CITIES_PATH_BY_STATE_ID, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, beanClass =
                     CityHandler.class, method = GET, beanMethod = "findByStateId", operation =
             @Operation(operationId = "findByStateId", responses = {@ApiResponse(responseCode = "200", description =
                     "Successful operation", content = @Content(schema = @Schema(implementation = CityDTO.class))),
                     @ApiResponse(responseCode = "400", description = "Invalid City details supplied"),
                     @ApiResponse(responseCode = "404", description = "City not found")}, parameters =
-                    {@Parameter(in = PATH, name = "stateId")})),
+                    {@Parameter(in = PATH, name = "stateId"), @Parameter(in = QUERY, name = "fields")})),
 
-            @RouterOperation(path = HANDLER_CITIES_SEARCH_PATH, produces = {APPLICATION_JSON_VALUE}, beanClass =
+            @RouterOperation(path = HANDLER_CITIES_SEARCH_PATH, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, beanClass =
                     CityHandler.class, method = GET, beanMethod = "search", operation =
             @Operation(operationId = "search", responses = {@ApiResponse(responseCode = "200", description =
                     "Successful operation", content = @Content(schema = @Schema(implementation = CityDTO.class))),
                     @ApiResponse(responseCode = "400", description = "Invalid City details supplied"),
                     @ApiResponse(responseCode = "404", description = "City not found")}, parameters =
-                    {@Parameter(in = QUERY, name = "name")})),
+                    {@Parameter(in = QUERY, name = "name"), @Parameter(in = QUERY, name = "limit")})),
 
-            @RouterOperation(path = HANDLER_CITIES_STREAM_PATH, produces = {APPLICATION_JSON_VALUE}, beanClass =
+            @RouterOperation(path = HANDLER_CITIES_STREAM_PATH, produces = {TEXT_EVENT_STREAM_VALUE}, beanClass =
                     CityHandler.class, method = GET, beanMethod = "stream", operation =
             @Operation(operationId = "stream", responses = {@ApiResponse(responseCode = "200", description =
-                    "Successful operation", content = @Content(schema = @Schema(implementation = CityDTO.class))),
+                    "Successful operation", content = @Content(schema = @Schema(implementation = ChangeEventDTO.class))),
                     @ApiResponse(responseCode = "400", description = "Invalid City details supplied")})),
 
+            @RouterOperation(path = HANDLER_CITIES_BATCH_PATH, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, method = POST, beanClass =
+                    CityHandler.class, beanMethod = "saveAll", operation =
+            @Operation(operationId = "saveAll", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(schema = @Schema(implementation = BatchItemResultDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid City details supplied")}, requestBody =
+            @RequestBody(content = @Content(array = @ArraySchema(schema = @Schema(implementation = CityDTO.class)))))),
+
+            @RouterOperation(path = HANDLER_CITIES_BY_IDS_PATH, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, method = POST, beanClass =
+                    CityHandler.class, beanMethod = "findAllById", operation =
+            @Operation(operationId = "findAllById", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(array = @ArraySchema(schema = @Schema(implementation = CityDTO.class)))),
+                    @ApiResponse(responseCode = "400", description = "Missing, blank or too many IDs")}, requestBody =
+            @RequestBody(content = @Content(array = @ArraySchema(schema = @Schema(implementation = String.class)))))),
+
+            @RouterOperation(path = HANDLER_CITIES_PATH_BY_ID, produces = {APPLICATION_JSON_VALUE}, method = PATCH, beanClass =
+                    CityHandler.class, beanMethod = "patchById", operation =
+            @Operation(operationId = "patchById", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(schema = @Schema(implementation = CityDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid City details supplied"),
+                    @ApiResponse(responseCode = "404", description = "City not found"),
+                    @ApiResponse(responseCode = "409", description = "City version is stale")}, parameters = {
+                    @Parameter(in = PATH, name = "id")}, requestBody =
+            @RequestBody(content = @Content(schema = @Schema(implementation = CityDTO.class))))),
+
+            @RouterOperation(path = HANDLER_CITIES_PATH, produces = {APPLICATION_JSON_VALUE}, method = DELETE, beanClass =
+                    CityHandler.class, beanMethod = "deleteAllBy", operation =
+            @Operation(operationId = "deleteAllBy", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(schema = @Schema(implementation = DeleteResultDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Missing or unknown City filter")}, parameters = {
+                    @Parameter(in = QUERY, name = "stateId")})),
+
             @RouterOperation(path = HANDLER_CITIES_PATH, produces = {APPLICATION_JSON_VALUE}, method = POST, beanClass =
                     CityHandler.class, beanMethod = "create", operation =
             @Operation(operationId = "create", responses = {@ApiResponse(responseCode = "200", description =
@@ -107,13 +155,9 @@ public class CityRouterConfig {
      */
     @NotNull
     public RouterFunction<ServerResponse> citiesRoutes(CityHandler handler) {
-        return route(RequestPredicates.GET(HANDLER_CITIES_PATH).and(accept(APPLICATION_JSON)), handler::findAll)
-                .andRoute(RequestPredicates.GET(HANDLER_CITIES_PATH_BY_ID).and(accept(APPLICATION_JSON)), handler::findById)
-                .andRoute(RequestPredicates.GET(HANDLER_CITIES_PATH_BY_STATE_ID).and(accept(APPLICATION_JSON)), handler::findByStateId)
-                .andRoute(RequestPredicates.GET(HANDLER_CITIES_SEARCH_PATH).and(accept(APPLICATION_JSON)), handler::search)
-                .andRoute(RequestPredicates.GET(HANDLER_CITIES_STREAM_PATH).and(accept(APPLICATION_JSON)), handler::stream)
-                .andRoute(RequestPredicates.POST(HANDLER_CITIES_PATH).and(accept(APPLICATION_JSON)), handler::create)
-                .andRoute(RequestPredicates.PUT(HANDLER_CITIES_PATH_BY_ID).and(accept(APPLICATION_JSON)), handler::updateById)
-                .andRoute(RequestPredicates.DELETE(HANDLER_CITIES_PATH_BY_ID).and(accept(APPLICATION_JSON)), handler::deleteById);
+        return route(RequestPredicates.GET(HANDLER_CITIES_PATH_BY_STATE_ID).and(accept(APPLICATION_JSON, APPLICATION_NDJSON)), handler::findByStateId)
+                .andRoute(RequestPredicates.GET(HANDLER_CITIES_SEARCH_PATH).and(accept(APPLICATION_JSON, APPLICATION_NDJSON)), handler::search)
+                .andRoute(RequestPredicates.DELETE(HANDLER_CITIES_PATH).and(accept(APPLICATION_JSON)), handler::deleteAllBy)
+                .and(crudRoutes(HANDLER_CITIES_PATH, handler));
     }
 }
@@ -1,9 +1,13 @@
 package com.rct.humanresources.infra.config.router;
 
+import com.rct.humanresources.core.model.dto.BatchItemResultDTO;
+import com.rct.humanresources.core.model.dto.ChangeEventDTO;
 import com.rct.humanresources.core.model.dto.CountryDTO;
+import com.rct.humanresources.core.model.dto.CursorPageDTO;
 import com.rct.humanresources.infra.handler.CountryHandler;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
@@ -17,16 +21,23 @@ import org.springframework.web.reactive.function.server.RequestPredicates;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
+import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_COUNTRIES_BATCH_PATH;
+import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_COUNTRIES_BY_IDS_PATH;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_COUNTRIES_PATH;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_COUNTRIES_PATH_BY_ID;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_COUNTRIES_SEARCH_PATH;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_COUNTRIES_STREAM_PATH;
+import static com.rct.humanresources.infra.config.router.CrudRoutes.crudRoutes;
 import static io.swagger.v3.oas.annotations.enums.ParameterIn.PATH;
 import static io.swagger.v3.oas.annotations.enums.ParameterIn.QUERY;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
 import static org.springframework.web.bind.annotation.RequestMethod.DELETE;
 import static org.springframework.web.bind.annotation.RequestMethod.GET;
+import static org.springframework.web.bind.annotation.RequestMethod.PATCH;
 import static org.springframework.web.bind.annotation.RequestMethod.POST;
 import static org.springframework.web.bind.annotation.RequestMethod.PUT;
 import static org.springframework.web.reactive.function.server.RequestPredicates.accept;
@@ -40,8 +51,9 @@ public class CountryRouterConfig {
                     CountryHandler.class, method = GET, beanMethod = "findAll", operation =
             @Operation(operationId = "findAll", responses = {
                     @ApiResponse(responseCode = "200", description = "Successful operation", content =
-                    @Content(schema = @Schema(implementation = CountryDTO.class))),
-                    @ApiResponse(responseCode = "400", description = "Invalid Country details supplied")})),
+                    @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid Country details supplied")}, parameters = {
+                    @Parameter(in = QUERY, name = "after"), @Parameter(in = QUERY, name = "limit")})),
 
             @RouterOperation(path = HANDLER_COUNTRIES_PATH_BY_ID, produces = {APPLICATION_JSON_VALUE}, beanClass =
                     CountryHandler.class, method = GET, beanMethod = "findById", operation =
@@ -51,20 +63,20 @@ public class CountryRouterConfig {
                     @ApiResponse(responseCode = "400", description = "Invalid Country details supplied"),
                     @ApiResponse(responseCode = "404", description = "Country not found")}, parameters = {@Parameter(in = PATH, name = "id")})),
 
-            @RouterOperation(path = HANDLER_COUNTRIES_SEARCH_PATH, produces = {APPLICATION_JSON_VALUE}, beanClass =
+            @RouterOperation(path = HANDLER_COUNTRIES_SEARCH_PATH, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, beanClass =
                     CountryHandler.class, method = GET, beanMethod = "search", operation =
             @Operation(operationId = "search", responses = {
                     @ApiResponse(responseCode = "200", description = "Successful operation", content =
                     @Content(schema = @Schema(implementation = CountryDTO.class))),
                     @ApiResponse(responseCode = "400", description = "Invalid Country details supplied"),
                     @ApiResponse(responseCode = "404", description = "Country not found")}, parameters = {
-                    @Parameter(in = QUERY, name = "name")})),
+                    @Parameter(in = QUERY, name = "name"), @Parameter(in = QUERY, name = "limit")})),
 
-            @RouterOperation(path = HANDLER_COUNTRIES_STREAM_PATH, produces = {APPLICATION_JSON_VALUE}, beanClass =
+            @RouterOperation(path = HANDLER_COUNTRIES_STREAM_PATH, produces = {TEXT_EVENT_STREAM_VALUE}, beanClass =
                     CountryHandler.class, method = GET, beanMethod = "stream", operation =
             @Operation(operationId = "stream", responses = {
                     @ApiResponse(responseCode = "200", description = "Successful operation", content =
-                    @Content(schema = @Schema(implementation = CountryDTO.class))),
+                    @Content(schema = @Schema(implementation = ChangeEventDTO.class))),
                     @ApiResponse(responseCode = "400", description = "Invalid Country details supplied")})),
 
 
@@ -78,6 +90,33 @@ public class CountryRouterConfig {
                     @Parameter(in = PATH, name = "id")}, requestBody =
             @RequestBody(content = @Content(schema = @Schema(implementation = CountryDTO.class))))),
 
+            @RouterOperation(path = HANDLER_COUNTRIES_BATCH_PATH, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, method = POST, beanClass =
+                    CountryHandler.class, beanMethod = "saveAll", operation =
+            @Operation(operationId = "saveAll", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(schema = @Schema(implementation = BatchItemResultDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid Country details supplied")}, requestBody =
+            @RequestBody(content = @Content(array = @ArraySchema(schema = @Schema(implementation = CountryDTO.class)))))),
+
+            @RouterOperation(path = HANDLER_COUNTRIES_BY_IDS_PATH, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, method = POST, beanClass =
+                    CountryHandler.class, beanMethod = "findAllById", operation =
+            @Operation(operationId = "findAllById", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(array = @ArraySchema(schema = @Schema(implementation = CountryDTO.class)))),
+                    @ApiResponse(responseCode = "400", description = "Missing, blank or too many IDs")}, requestBody =
+            @RequestBody(content = @Content(array = @ArraySchema(schema = @Schema(implementation = String.class)))))),
+
+            @RouterOperation(path = HANDLER_COUNTRIES_PATH_BY_ID, produces = {APPLICATION_JSON_VALUE}, method = PATCH, beanClass =
+                    CountryHandler.class, beanMethod = "patchById", operation =
+            @Operation(operationId = "patchById", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(schema = @Schema(implementation = CountryDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid Country details supplied"),
+                    @ApiResponse(responseCode = "404", description = "Country not found"),
+                    @ApiResponse(responseCode = "409", description = "Country version is stale")}, parameters = {
+                    @Parameter(in = PATH, name = "id")}, requestBody =
+            @RequestBody(content = @Content(schema = @Schema(implementation = CountryDTO.class))))),
+
             @RouterOperation(path = HANDLER_COUNTRIES_PATH, produces = {APPLICATION_JSON_VALUE}, method = POST, beanClass =
                     CountryHandler.class, beanMethod = "create", operation =
             @Operation(operationId = "create", responses = {
@@ -103,12 +142,7 @@ public class CountryRouterConfig {
      */
     @NotNull
     public RouterFunction<ServerResponse> countriesRoutes(CountryHandler handler) {
-        return route(RequestPredicates.GET(HANDLER_COUNTRIES_PATH).and(accept(APPLICATION_JSON)), handler::findAll)
-                .andRoute(RequestPredicates.GET(HANDLER_COUNTRIES_PATH_BY_ID).and(accept(APPLICATION_JSON)), handler::findById)
-                .andRoute(RequestPredicates.GET(HANDLER_COUNTRIES_SEARCH_PATH).and(accept(APPLICATION_JSON)), handler::search)
-                .andRoute(RequestPredicates.GET(HANDLER_COUNTRIES_STREAM_PATH).and(accept(APPLICATION_JSON)), handler::stream)
-                .andRoute(RequestPredicates.POST(HANDLER_COUNTRIES_PATH).and(accept(APPLICATION_JSON)), handler::create)
-                .andRoute(RequestPredicates.PUT(HANDLER_COUNTRIES_PATH_BY_ID).and(accept(APPLICATION_JSON)), handler::updateById)
-                .andRoute(RequestPredicates.DELETE(HANDLER_COUNTRIES_PATH_BY_ID).and(accept(APPLICATION_JSON)), handler::deleteById);
+        return route(RequestPredicates.GET(HANDLER_COUNTRIES_SEARCH_PATH).and(accept(APPLICATION_JSON, APPLICATION_NDJSON)), handler::search)
+                .and(crudRoutes(HANDLER_COUNTRIES_PATH, handler));
     }
 }
@@ -0,0 +1,49 @@
+package com.rct.humanresources.infra.config.router;
+
+import com.rct.humanresources.infra.handler.CrudHandler;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static com.rct.humanresources.infra.config.VariableConstants.BATCH;
+import static com.rct.humanresources.infra.config.VariableConstants.BY_ID;
+import static com.rct.humanresources.infra.config.VariableConstants.BY_IDS;
+import static com.rct.humanresources.infra.config.VariableConstants.STREAM;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM;
+import static org.springframework.web.reactive.function.server.RequestPredicates.accept;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Crud Routes - The routes every entity shares, under its Context Path.
+ * Entity routers list their own routes first and append these, so literal paths such as /search
+ * are matched before /{id}.
+ */
+public final class CrudRoutes {
+
+    /**
+     * Routes of a CrudHandler
+     * @param path Entity Context Path
+     * @param handler CrudHandler
+     * @return RouterFunction ServerResponse
+     */
+    public static RouterFunction<ServerResponse> crudRoutes(String path, CrudHandler<?, ?> handler) {
+        return route(RequestPredicates.GET(path).and(accept(APPLICATION_JSON)), handler::findAll)
+                .andRoute(RequestPredicates.GET(path + STREAM).and(accept(TEXT_EVENT_STREAM)), handler::stream)
+                .andRoute(RequestPredicates.GET(path + BY_ID).and(accept(APPLICATION_JSON)), handler::findById)
+                .andRoute(RequestPredicates.POST(path).and(accept(APPLICATION_JSON)), handler::create)
+                .andRoute(RequestPredicates.POST(path + BATCH).and(accept(APPLICATION_JSON, APPLICATION_NDJSON)), handler::saveAll)
+                .andRoute(RequestPredicates.POST(path + BY_IDS).and(accept(APPLICATION_JSON, APPLICATION_NDJSON)), handler::findAllById)
+                .andRoute(RequestPredicates.PUT(path + BY_ID).and(accept(APPLICATION_JSON)), handler::updateById)
+                .andRoute(RequestPredicates.PATCH(path + BY_ID).and(accept(APPLICATION_JSON)), handler::patchById)
+                .andRoute(RequestPredicates.DELETE(path + BY_ID).and(accept(APPLICATION_JSON)), handler::deleteById);
+    }
+
+    /**
+     * Crud Routes Constructor
+     */
+    private CrudRoutes() {
+        throw new IllegalStateException("Utility class");
+    }
+}
@@ -1,9 +1,15 @@
 package com.rct.humanresources.infra.config.router;
 
+import com.rct.humanresources.core.model.dto.BatchItemResultDTO;
+import com.rct.humanresources.core.model.dto.ChangeEventDTO;
+import com.rct.humanresources.core.model.dto.CursorPageDTO;
+import com.rct.humanresources.core.model.dto.DeleteResultDTO;
 import com.rct.humanresources.core.model.dto.DepartmentDTO;
+import com.rct.humanresources.core.model.dto.DepartmentSummaryDTO;
 import com.rct.humanresources.infra.handler.DepartmentHandler;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
@@ -17,18 +23,28 @@ import org.springframework.web.reactive.function.server.RequestPredicates;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
+import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_DEPARTMENTS_BATCH_PATH;
+import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_DEPARTMENTS_BY_IDS_PATH;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_DEPARTMENTS_PATH;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_DEPARTMENTS_PATH_BY_ID;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_DEPARTMENTS_PATH_BY_LOCATION_ID;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_DEPARTMENTS_PATH_BY_MANAGER_ID;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_DEPARTMENTS_SEARCH_PATH;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_DEPARTMENTS_STREAM_PATH;
+import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_DEPARTMENTS_SUMMARIES_PATH;
+import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_DEPARTMENTS_SUMMARIES_REBUILD_PATH;
+import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_DEPARTMENTS_SUMMARY_PATH;
+import static com.rct.humanresources.infra.config.router.CrudRoutes.crudRoutes;
 import static io.swagger.v3.oas.annotations.enums.ParameterIn.PATH;
 import static io.swagger.v3.oas.annotations.enums.ParameterIn.QUERY;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
 import static org.springframework.util.MimeTypeUtils.APPLICATION_JSON_VALUE;
 import static org.springframework.web.bind.annotation.RequestMethod.DELETE;
 import static org.springframework.web.bind.annotation.RequestMethod.GET;
+import static org.springframework.web.bind.annotation.RequestMethod.PATCH;
 import static org.springframework.web.bind.annotation.RequestMethod.POST;
 import static org.springframework.web.bind.annotation.RequestMethod.PUT;
 import static org.springframework.web.reactive.function.server.RequestPredicates.accept;
@@ -41,26 +57,27 @@ public class DepartmentRouterConfig {
             DepartmentHandler.class, method = GET, beanMethod = "findAll", operation =
     @Operation(operationId = "findAll", responses = {
             @ApiResponse(responseCode = "200", description = "Successful operation", content =
-            @Content(schema = @Schema(implementation = DepartmentDTO.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid Department details supplied")})),
+            @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid Department details supplied")}, parameters = {
+                    @Parameter(in = QUERY, name = "after"), @Parameter(in = QUERY, name = "limit")})),
 
-            @RouterOperation(path = HANDLER_DEPARTMENTS_PATH_BY_LOCATION_ID, produces = {APPLICATION_JSON_VALUE}, beanClass =
+            @RouterOperation(path = HANDLER_DEPARTMENTS_PATH_BY_LOCATION_ID, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, beanClass =
                     DepartmentHandler.class, method = GET, beanMethod = "findByLocationId", operation =
             @Operation(operationId = "findByLocationId", responses = {
                     @ApiResponse(responseCode = "200", description = "Successful operation", content =
                     @Content(schema = @Schema(implementation = DepartmentDTO.class))),
                     @ApiResponse(responseCode = "400", description = "Invalid Department details supplied"),
                     @ApiResponse(responseCode = "404", description = "Department not found")}, parameters = {
-                    @Parameter(in = PATH, name = "locationId")})),
+                    @Parameter(in = PATH, name = "locationId"), @Parameter(in = QUERY, name = "fields")})),
 
-            @RouterOperation(path = HANDLER_DEPARTMENTS_PATH_BY_MANAGER_ID, produces = {APPLICATION_JSON_VALUE}, beanClass =
+            @RouterOperation(path = HANDLER_DEPARTMENTS_PATH_BY_MANAGER_ID, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, beanClass =
                     DepartmentHandler.class, method = GET, beanMethod = "findByManagerId", operation =
             @Operation(operationId = "findByManagerId", responses = {
                     @ApiResponse(responseCode = "200", description = "Successful operation", content =
                     @Content(schema = @Schema(implementation = DepartmentDTO.class))),
                     @ApiResponse(responseCode = "400", description = "Invalid Department details supplied"),
                     @ApiResponse(responseCode = "404", description = "Department not found")}, parameters = {
-                    @Parameter(in = PATH, name = "managerId")})),
+                    @Parameter(in = PATH, name = "managerId"), @Parameter(in = QUERY, name = "fields")})),
 
             @RouterOperation(path = HANDLER_DEPARTMENTS_PATH_BY_ID, produces = {APPLICATION_JSON_VALUE}, beanClass =
                     DepartmentHandler.class, method = GET, beanMethod = "findById", operation =
@@ -69,22 +86,43 @@ public class DepartmentRouterConfig {
                     @Content(schema = @Schema(implementation = DepartmentDTO.class))),
                     @ApiResponse(responseCode = "400", description = "Invalid Department details supplied"),
                     @ApiResponse(responseCode = "404", description = "Department not found")}, parameters = {
+                    @Parameter(in = PATH, name = "id"), @Parameter(in = QUERY, name = "expand",
+                    description = "location, location.city, location.city.state or location.city.state.country")})),
+
+            @RouterOperation(path = HANDLER_DEPARTMENTS_SUMMARIES_PATH, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, beanClass =
+                    DepartmentHandler.class, method = GET, beanMethod = "findSummaries", operation =
+            @Operation(operationId = "findSummaries", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(array = @ArraySchema(schema = @Schema(implementation = DepartmentSummaryDTO.class))))})),
+
+            @RouterOperation(path = HANDLER_DEPARTMENTS_SUMMARY_PATH, produces = {APPLICATION_JSON_VALUE}, beanClass =
+                    DepartmentHandler.class, method = GET, beanMethod = "findSummaryById", operation =
+            @Operation(operationId = "findSummaryById", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(schema = @Schema(implementation = DepartmentSummaryDTO.class))),
+                    @ApiResponse(responseCode = "404", description = "Department Summary not found")}, parameters = {
                     @Parameter(in = PATH, name = "id")})),
 
-            @RouterOperation(path = HANDLER_DEPARTMENTS_SEARCH_PATH, produces = {APPLICATION_JSON_VALUE}, beanClass =
+            @RouterOperation(path = HANDLER_DEPARTMENTS_SUMMARIES_REBUILD_PATH, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, beanClass =
+                    DepartmentHandler.class, method = POST, beanMethod = "rebuildSummaries", operation =
+            @Operation(operationId = "rebuildSummaries", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(array = @ArraySchema(schema = @Schema(implementation = DepartmentSummaryDTO.class))))})),
+
+            @RouterOperation(path = HANDLER_DEPARTMENTS_SEARCH_PATH, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, beanClass =
                     DepartmentHandler.class, method = GET, beanMethod = "search", operation =
             @Operation(operationId = "search", responses = {
                     @ApiResponse(responseCode = "200", description = "Successful operation", content =
                     @Content(schema = @Schema(implementation = DepartmentDTO.class))),
                     @ApiResponse(responseCode = "400", description = "Invalid Department details supplied"),
                     @ApiResponse(responseCode = "404", description = "Department not found")}, parameters = {
-                    @Parameter(in = QUERY, name = "name")})),
+                    @Parameter(in = QUERY, name = "name"), @Parameter(in = QUERY, name = "limit")})),
 
-            @RouterOperation(path = HANDLER_DEPARTMENTS_STREAM_PATH, produces = {APPLICATION_JSON_VALUE}, beanClass =
+            @RouterOperation(path = HANDLER_DEPARTMENTS_STREAM_PATH, produces = {TEXT_EVENT_STREAM_VALUE}, beanClass =
                     DepartmentHandler.class, method = GET, beanMethod = "stream", operation =
             @Operation(operationId = "stream", responses = {
                     @ApiResponse(responseCode = "200", description = "Successful operation", content =
-                    @Content(schema = @Schema(implementation = DepartmentDTO.class))),
+                    @Content(schema = @Schema(implementation = ChangeEventDTO.class))),
                     @ApiResponse(responseCode = "400", description = "Invalid Department details supplied")})),
 
 
@@ -98,6 +136,41 @@ public class DepartmentRouterConfig {
                     @Parameter(in = PATH, name = "id")}, requestBody =
             @RequestBody(content = @Content(schema = @Schema(implementation = DepartmentDTO.class))))),
 
+            @RouterOperation(path = HANDLER_DEPARTMENTS_BATCH_PATH, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, method = POST, beanClass =
+                    DepartmentHandler.class, beanMethod = "saveAll", operation =
+            @Operation(operationId = "saveAll", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(schema = @Schema(implementation = BatchItemResultDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid Department details supplied")}, requestBody =
+            @RequestBody(content = @Content(array = @ArraySchema(schema = @Schema(implementation = DepartmentDTO.class)))))),
+
+            @RouterOperation(path = HANDLER_DEPARTMENTS_BY_IDS_PATH, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, method = POST, beanClass =
+                    DepartmentHandler.class, beanMethod = "findAllById", operation =
+            @Operation(operationId = "findAllById", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(array = @ArraySchema(schema = @Schema(implementation = DepartmentDTO.class)))),
+                    @ApiResponse(responseCode = "400", description = "Missing, blank or too many IDs")}, requestBody =
+            @RequestBody(content = @Content(array = @ArraySchema(schema = @Schema(implementation = String.class)))))),
+
+            @RouterOperation(path = HANDLER_DEPARTMENTS_PATH_BY_ID, produces = {APPLICATION_JSON_VALUE}, method = PATCH, beanClass =
+                    DepartmentHandler.class, beanMethod = "patchById", operation =
+            @Operation(operationId = "patchById", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(schema = @Schema(implementation = DepartmentDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid Department details supplied"),
+                    @ApiResponse(responseCode = "404", description = "Department not found"),
+                    @ApiResponse(responseCode = "409", description = "Department version is stale")}, parameters = {
+                    @Parameter(in = PATH, name = "id")}, requestBody =
+            @RequestBody(content = @Content(schema = @Schema(implementation = DepartmentDTO.class))))),
+
+            @RouterOperation(path = HANDLER_DEPARTMENTS_PATH, produces = {APPLICATION_JSON_VALUE}, method = DELETE, beanClass =
+                    DepartmentHandler.class, beanMethod = "deleteAllBy", operation =
+            @Operation(operationId = "deleteAllBy", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(schema = @Schema(implementation = DeleteResultDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Missing or unknown Department filter")}, parameters = {
+                    @Parameter(in = QUERY, name = "managerId"), @Parameter(in = QUERY, name = "locationId")})),
+
             @RouterOperation(path = HANDLER_DEPARTMENTS_PATH, produces = {APPLICATION_JSON_VALUE}, method = POST, beanClass =
                     DepartmentHandler.class, beanMethod = "create", operation =
             @Operation(operationId = "create", responses = {
@@ -124,15 +197,14 @@ public class DepartmentRouterConfig {
      */
     @NotNull
     public RouterFunction<ServerResponse> departmentsRoutes(DepartmentHandler handler) {
-        return route(RequestPredicates.GET(HANDLER_DEPARTMENTS_PATH).and(accept(APPLICATION_JSON)), handler::findAll)
-                .andRoute(RequestPredicates.GET(HANDLER_DEPARTMENTS_PATH_BY_ID).and(accept(APPLICATION_JSON)), handler::findById)
-                .andRoute(RequestPredicates.GET(HANDLER_DEPARTMENTS_PATH_BY_LOCATION_ID).and(accept(APPLICATION_JSON)), handler::findByLocationId)
-                .andRoute(RequestPredicates.GET(HANDLER_DEPARTMENTS_PATH_BY_MANAGER_ID).and(accept(APPLICATION_JSON)), handler::findByManagerId)
-                .andRoute(RequestPredicates.GET(HANDLER_DEPARTMENTS_SEARCH_PATH).and(accept(APPLICATION_JSON)), handler::search)
-                .andRoute(RequestPredicates.GET(HANDLER_DEPARTMENTS_STREAM_PATH).and(accept(APPLICATION_JSON)), handler::stream)
-                .andRoute(RequestPredicates.POST(HANDLER_DEPARTMENTS_PATH).and(accept(APPLICATION_JSON)), handler::create)
-                .andRoute(RequestPredicates.PUT(HANDLER_DEPARTMENTS_PATH_BY_ID).and(accept(APPLICATION_JSON)), handler::updateById)
-                .andRoute(RequestPredicates.DELETE(HANDLER_DEPARTMENTS_PATH_BY_ID).and(accept(APPLICATION_JSON)), handler::deleteById);
+        return route(RequestPredicates.GET(HANDLER_DEPARTMENTS_SUMMARIES_PATH).and(accept(APPLICATION_JSON, APPLICATION_NDJSON)), handler::findSummaries)
+                .andRoute(RequestPredicates.GET(HANDLER_DEPARTMENTS_SUMMARY_PATH).and(accept(APPLICATION_JSON)), handler::findSummaryById)
+                .andRoute(RequestPredicates.GET(HANDLER_DEPARTMENTS_PATH_BY_LOCATION_ID).and(accept(APPLICATION_JSON, APPLICATION_NDJSON)), handler::findByLocationId)
+                .andRoute(RequestPredicates.GET(HANDLER_DEPARTMENTS_PATH_BY_MANAGER_ID).and(accept(APPLICATION_JSON, APPLICATION_NDJSON)), handler::findByManagerId)
+                .andRoute(RequestPredicates.GET(HANDLER_DEPARTMENTS_SEARCH_PATH).and(accept(APPLICATION_JSON, APPLICATION_NDJSON)), handler::search)
+                .andRoute(RequestPredicates.POST(HANDLER_DEPARTMENTS_SUMMARIES_REBUILD_PATH).and(accept(APPLICATION_JSON, APPLICATION_NDJSON)), handler::rebuildSummaries)
+                .andRoute(RequestPredicates.DELETE(HANDLER_DEPARTMENTS_PATH).and(accept(APPLICATION_JSON)), handler::deleteAllBy)
+                .and(crudRoutes(HANDLER_DEPARTMENTS_PATH, handler));
 
     }
 
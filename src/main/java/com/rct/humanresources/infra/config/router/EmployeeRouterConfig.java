@@ -1,9 +1,16 @@
 package com.rct.humanresources.infra.config.router;
 
+import com.rct.humanresources.core.model.dto.BatchItemResultDTO;
+import com.rct.humanresources.core.model.dto.ChangeEventDTO;
+import com.rct.humanresources.core.model.dto.CursorPageDTO;
+import com.rct.humanresources.core.model.dto.DeleteResultDTO;
 import com.rct.humanresources.core.model.dto.EmployeeDTO;
+import com.rct.humanresources.core.model.dto.EmployeeNodeDTO;
+import com.rct.humanresources.core.model.dto.PayrollStatsDTO;
 import com.rct.humanresources.infra.handler.EmployeeHandler;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
@@ -17,17 +24,28 @@ import org.springframework.web.reactive.function.server.RequestPredicates;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
+import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_EMPLOYEES_BATCH_PATH;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_EMPLOYEES_BY_DEPARTMENT_ID_PATH;
+import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_EMPLOYEES_BY_IDS_PATH;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_EMPLOYEES_BY_JOB_ID_PATH;
+import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_EMPLOYEES_CHAIN_PATH;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_EMPLOYEES_PATH;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_EMPLOYEES_PATH_BY_ID;
+import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_EMPLOYEES_PAYROLL_PATH;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_EMPLOYEES_SEARCH_PATH;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_EMPLOYEES_STREAM_PATH;
+import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_EMPLOYEES_SUBORDINATES_PATH;
+import static com.rct.humanresources.infra.config.router.CrudRoutes.crudRoutes;
 import static io.swagger.v3.oas.annotations.enums.ParameterIn.PATH;
+import static io.swagger.v3.oas.annotations.enums.ParameterIn.QUERY;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
 import static org.springframework.web.bind.annotation.RequestMethod.DELETE;
 import static org.springframework.web.bind.annotation.RequestMethod.GET;
+import static org.springframework.web.bind.annotation.RequestMethod.PATCH;
 import static org.springframework.web.bind.annotation.RequestMethod.POST;
 import static org.springframework.web.bind.annotation.RequestMethod.PUT;
 import static org.springframework.web.reactive.function.server.RequestPredicates.accept;
@@ -40,8 +58,9 @@ public class EmployeeRouterConfig {
             EmployeeHandler.class, method = GET, beanMethod = "findAll", operation =
     @Operation(operationId = "findAll", responses = {
             @ApiResponse(responseCode = "200", description = "Successful operation", content =
-            @Content(schema = @Schema(implementation = EmployeeDTO.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid Employee details supplied")})),
+            @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid Employee details supplied")}, parameters = {
+                    @Parameter(in = QUERY, name = "after"), @Parameter(in = QUERY, name = "limit")})),
 
             @RouterOperation(path = HANDLER_EMPLOYEES_PATH_BY_ID, produces = {APPLICATION_JSON_VALUE}, beanClass =
                     EmployeeHandler.class, method = GET, beanMethod = "findById", operation =
@@ -52,25 +71,49 @@ public class EmployeeRouterConfig {
                     @ApiResponse(responseCode = "404", description = "Employee not found")}, parameters = {
                     @Parameter(in = PATH, name = "id")})),
 
-            @RouterOperation(path = HANDLER_EMPLOYEES_BY_DEPARTMENT_ID_PATH, produces = {APPLICATION_JSON_VALUE}, beanClass =
+            @RouterOperation(path = HANDLER_EMPLOYEES_BY_DEPARTMENT_ID_PATH, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, beanClass =
                     EmployeeHandler.class, method = GET, beanMethod = "findByDepartmentId", operation =
             @Operation(operationId = "findByDepartmentId", responses = {
                     @ApiResponse(responseCode = "200", description = "Successful operation", content =
                     @Content(schema = @Schema(implementation = EmployeeDTO.class))),
                     @ApiResponse(responseCode = "400", description = "Invalid Employee details supplied"),
                     @ApiResponse(responseCode = "404", description = "Employee not found")}, parameters = {
-                    @Parameter(in = PATH, name = "departmentId")})),
+                    @Parameter(in = PATH, name = "departmentId"), @Parameter(in = QUERY, name = "fields")})),
 
-            @RouterOperation(path = HANDLER_EMPLOYEES_BY_JOB_ID_PATH, produces = {APPLICATION_JSON_VALUE}, beanClass =
+            @RouterOperation(path = HANDLER_EMPLOYEES_BY_JOB_ID_PATH, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, beanClass =
                     EmployeeHandler.class, method = GET, beanMethod = "findByJobId", operation =
             @Operation(operationId = "findByJobId", responses = {
                     @ApiResponse(responseCode = "200", description = "Successful operation", content =
                     @Content(schema = @Schema(implementation = EmployeeDTO.class))),
                     @ApiResponse(responseCode = "400", description = "Invalid Employee details supplied"),
                     @ApiResponse(responseCode = "404", description = "Employee not found")}, parameters = {
-                    @Parameter(in = PATH, name = "jobId")})),
+                    @Parameter(in = PATH, name = "jobId"), @Parameter(in = QUERY, name = "fields")})),
 
-            @RouterOperation(path = HANDLER_EMPLOYEES_SEARCH_PATH, produces = {APPLICATION_JSON_VALUE}, beanClass =
+            @RouterOperation(path = HANDLER_EMPLOYEES_SUBORDINATES_PATH, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, beanClass =
+                    EmployeeHandler.class, method = GET, beanMethod = "findSubordinates", operation =
+            @Operation(operationId = "findSubordinates", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(schema = @Schema(implementation = EmployeeNodeDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid depth supplied"),
+                    @ApiResponse(responseCode = "404", description = "Employee not found")}, parameters = {
+                    @Parameter(in = PATH, name = "id"), @Parameter(in = QUERY, name = "depth"), @Parameter(in = QUERY, name = "tree")})),
+
+            @RouterOperation(path = HANDLER_EMPLOYEES_CHAIN_PATH, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, beanClass =
+                    EmployeeHandler.class, method = GET, beanMethod = "findChain", operation =
+            @Operation(operationId = "findChain", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(schema = @Schema(implementation = EmployeeNodeDTO.class)))}, parameters = {
+                    @Parameter(in = PATH, name = "id")})),
+
+            @RouterOperation(path = HANDLER_EMPLOYEES_PAYROLL_PATH, produces = {APPLICATION_JSON_VALUE}, beanClass =
+                    EmployeeHandler.class, method = GET, beanMethod = "findPayrollStats", operation =
+            @Operation(operationId = "findPayrollStats", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(schema = @Schema(implementation = PayrollStatsDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid groupBy or hire date supplied")}, parameters = {
+                    @Parameter(in = QUERY, name = "groupBy"), @Parameter(in = QUERY, name = "hiredFrom"), @Parameter(in = QUERY, name = "hiredTo")})),
+
+            @RouterOperation(path = HANDLER_EMPLOYEES_SEARCH_PATH, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, beanClass =
                     EmployeeHandler.class, method = GET, beanMethod = "search", operation =
             @Operation(operationId = "search", responses = {
                     @ApiResponse(responseCode = "200", description = "Successful operation", content =
@@ -79,11 +122,11 @@ public class EmployeeRouterConfig {
                     @ApiResponse(responseCode = "404", description = "Employee not found")}, parameters = {
                     @Parameter(in = PATH, name = "id")})),
 
-            @RouterOperation(path = HANDLER_EMPLOYEES_STREAM_PATH, produces = {APPLICATION_JSON_VALUE}, beanClass =
+            @RouterOperation(path = HANDLER_EMPLOYEES_STREAM_PATH, produces = {TEXT_EVENT_STREAM_VALUE}, beanClass =
                     EmployeeHandler.class, method = GET, beanMethod = "stream", operation =
             @Operation(operationId = "stream", responses = {
                     @ApiResponse(responseCode = "200", description = "Successful operation", content =
-                    @Content(schema = @Schema(implementation = EmployeeDTO.class))),
+                    @Content(schema = @Schema(implementation = ChangeEventDTO.class))),
                     @ApiResponse(responseCode = "400", description = "Invalid Employee details supplied")})),
 
 
@@ -97,6 +140,41 @@ public class EmployeeRouterConfig {
                     @Parameter(in = PATH, name = "id")}, requestBody =
             @RequestBody(content = @Content(schema = @Schema(implementation = EmployeeDTO.class))))),
 
+            @RouterOperation(path = HANDLER_EMPLOYEES_BATCH_PATH, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, method = POST, beanClass =
+                    EmployeeHandler.class, beanMethod = "saveAll", operation =
+            @Operation(operationId = "saveAll", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(schema = @Schema(implementation = BatchItemResultDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid Employee details supplied")}, requestBody =
+            @RequestBody(content = @Content(array = @ArraySchema(schema = @Schema(implementation = EmployeeDTO.class)))))),
+
+            @RouterOperation(path = HANDLER_EMPLOYEES_BY_IDS_PATH, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, method = POST, beanClass =
+                    EmployeeHandler.class, beanMethod = "findAllById", operation =
+            @Operation(operationId = "findAllById", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(array = @ArraySchema(schema = @Schema(implementation = EmployeeDTO.class)))),
+                    @ApiResponse(responseCode = "400", description = "Missing, blank or too many IDs")}, requestBody =
+            @RequestBody(content = @Content(array = @ArraySchema(schema = @Schema(implementation = String.class)))))),
+
+            @RouterOperation(path = HANDLER_EMPLOYEES_PATH_BY_ID, produces = {APPLICATION_JSON_VALUE}, method = PATCH, beanClass =
+                    EmployeeHandler.class, beanMethod = "patchById", operation =
+            @Operation(operationId = "patchById", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(schema = @Schema(implementation = EmployeeDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid Employee details supplied"),
+                    @ApiResponse(responseCode = "404", description = "Employee not found"),
+                    @ApiResponse(responseCode = "409", description = "Employee version is stale")}, parameters = {
+                    @Parameter(in = PATH, name = "id")}, requestBody =
+            @RequestBody(content = @Content(schema = @Schema(implementation = EmployeeDTO.class))))),
+
+            @RouterOperation(path = HANDLER_EMPLOYEES_PATH, produces = {APPLICATION_JSON_VALUE}, method = DELETE, beanClass =
+                    EmployeeHandler.class, beanMethod = "deleteAllBy", operation =
+            @Operation(operationId = "deleteAllBy", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(schema = @Schema(implementation = DeleteResultDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Missing or unknown Employee filter")}, parameters = {
+                    @Parameter(in = QUERY, name = "departmentId"), @Parameter(in = QUERY, name = "managerId"), @Parameter(in = QUERY, name = "jobId")})),
+
             @RouterOperation(path = HANDLER_EMPLOYEES_PATH, produces = {APPLICATION_JSON_VALUE}, method = POST, beanClass =
                     EmployeeHandler.class, beanMethod = "create", operation =
             @Operation(operationId = "create", responses = {
@@ -123,14 +201,13 @@ public class EmployeeRouterConfig {
      */
     @NotNull
     public RouterFunction<ServerResponse> employeesRoutes(EmployeeHandler handler) {
-        return route(RequestPredicates.GET(HANDLER_EMPLOYEES_PATH).and(accept(APPLICATION_JSON)), handler::findAll)
-                .andRoute(RequestPredicates.GET(HANDLER_EMPLOYEES_PATH_BY_ID).and(accept(APPLICATION_JSON)), handler::findById)
-                .andRoute(RequestPredicates.GET(HANDLER_EMPLOYEES_BY_DEPARTMENT_ID_PATH).and(accept(APPLICATION_JSON)), handler::findByDepartmentId)
-                .andRoute(RequestPredicates.GET(HANDLER_EMPLOYEES_BY_JOB_ID_PATH).and(accept(APPLICATION_JSON)), handler::findByJobId)
-                .andRoute(RequestPredicates.GET(HANDLER_EMPLOYEES_SEARCH_PATH).and(accept(APPLICATION_JSON)), handler::search)
-                .andRoute(RequestPredicates.GET(HANDLER_EMPLOYEES_STREAM_PATH).and(accept(APPLICATION_JSON)), handler::stream)
-                .andRoute(RequestPredicates.POST(HANDLER_EMPLOYEES_PATH).and(accept(APPLICATION_JSON)), handler::create)
-                .andRoute(RequestPredicates.PUT(HANDLER_EMPLOYEES_PATH_BY_ID).and(accept(APPLICATION_JSON)), handler::updateById)
-                .andRoute(RequestPredicates.DELETE(HANDLER_EMPLOYEES_PATH_BY_ID).and(accept(APPLICATION_JSON)), handler::deleteById);
+        return route(RequestPredicates.GET(HANDLER_EMPLOYEES_PAYROLL_PATH).and(accept(APPLICATION_JSON)), handler::findPayrollStats)
+                .andRoute(RequestPredicates.GET(HANDLER_EMPLOYEES_BY_DEPARTMENT_ID_PATH).and(accept(APPLICATION_JSON, APPLICATION_NDJSON)), handler::findByDepartmentId)
+                .andRoute(RequestPredicates.GET(HANDLER_EMPLOYEES_BY_JOB_ID_PATH).and(accept(APPLICATION_JSON, APPLICATION_NDJSON)), handler::findByJobId)
+                .andRoute(RequestPredicates.GET(HANDLER_EMPLOYEES_SUBORDINATES_PATH).and(accept(APPLICATION_JSON, APPLICATION_NDJSON)), handler::findSubordinates)
+                .andRoute(RequestPredicates.GET(HANDLER_EMPLOYEES_CHAIN_PATH).and(accept(APPLICATION_JSON, APPLICATION_NDJSON)), handler::findChain)
+                .andRoute(RequestPredicates.GET(HANDLER_EMPLOYEES_SEARCH_PATH).and(accept(APPLICATION_JSON, APPLICATION_NDJSON)), handler::search)
+                .andRoute(RequestPredicates.DELETE(HANDLER_EMPLOYEES_PATH).and(accept(APPLICATION_JSON)), handler::deleteAllBy)
+                .and(crudRoutes(HANDLER_EMPLOYEES_PATH, handler));
     }
 }
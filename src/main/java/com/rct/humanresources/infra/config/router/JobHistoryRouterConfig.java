@@ -1,9 +1,15 @@
 package com.rct.humanresources.infra.config.router;
 
+import com.rct.humanresources.core.model.dto.BatchItemResultDTO;
+import com.rct.humanresources.core.model.dto.ChangeEventDTO;
+import com.rct.humanresources.core.model.dto.CursorPageDTO;
+import com.rct.humanresources.core.model.dto.DeleteResultDTO;
+import com.rct.humanresources.core.model.dto.HeadcountPeriodDTO;
 import com.rct.humanresources.core.model.dto.JobHistoryDTO;
 import com.rct.humanresources.infra.handler.JobHistoryHandler;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
@@ -17,15 +23,28 @@ import org.springframework.web.reactive.function.server.RequestPredicates;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
+import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_JOB_HISTORIES_AS_OF_PATH;
+import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_JOB_HISTORIES_BATCH_PATH;
+import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_JOB_HISTORIES_BY_IDS_PATH;
+import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_JOB_HISTORIES_HEADCOUNT_PATH;
+import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_JOB_HISTORIES_OVERLAPPING_PATH;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_JOB_HISTORIES_PATH;
+import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_JOB_HISTORIES_PATH_BY_DEPARTMENT_ID;
+import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_JOB_HISTORIES_PATH_BY_EMPLOYEE_ID;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_JOB_HISTORIES_PATH_BY_ID;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_JOB_HISTORIES_PATH_BY_JOB_ID;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_JOB_HISTORIES_STREAM_PATH;
+import static com.rct.humanresources.infra.config.router.CrudRoutes.crudRoutes;
 import static io.swagger.v3.oas.annotations.enums.ParameterIn.PATH;
+import static io.swagger.v3.oas.annotations.enums.ParameterIn.QUERY;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
 import static org.springframework.web.bind.annotation.RequestMethod.DELETE;
 import static org.springframework.web.bind.annotation.RequestMethod.GET;
+import static org.springframework.web.bind.annotation.RequestMethod.PATCH;
 import static org.springframework.web.bind.annotation.RequestMethod.POST;
 import static org.springframework.web.bind.annotation.RequestMethod.PUT;
 import static org.springframework.web.reactive.function.server.RequestPredicates.accept;
@@ -38,8 +57,9 @@ public class JobHistoryRouterConfig {
             JobHistoryHandler.class, method = GET, beanMethod = "findAll", operation =
     @Operation(operationId = "findAll", responses = {
             @ApiResponse(responseCode = "200", description = "Successful operation", content =
-            @Content(schema = @Schema(implementation = JobHistoryDTO.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid JobHistory details supplied")})),
+            @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid JobHistory details supplied")}, parameters = {
+                    @Parameter(in = QUERY, name = "after"), @Parameter(in = QUERY, name = "limit")})),
 
     @RouterOperation(path = HANDLER_JOB_HISTORIES_PATH_BY_ID, produces = {APPLICATION_JSON_VALUE}, beanClass =
             JobHistoryHandler.class, method = GET, beanMethod = "findById", operation =
@@ -49,22 +69,105 @@ public class JobHistoryRouterConfig {
             @ApiResponse(responseCode = "400", description = "Invalid JobHistory details supplied"),
             @ApiResponse(responseCode = "404", description = "JobHistory not found")}, parameters = {@Parameter(in = PATH, name = "id")})),
 
-    @RouterOperation(path = HANDLER_JOB_HISTORIES_PATH_BY_JOB_ID, produces = {APPLICATION_JSON_VALUE}, beanClass =
+    @RouterOperation(path = HANDLER_JOB_HISTORIES_PATH_BY_JOB_ID, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, beanClass =
             JobHistoryHandler.class, method = GET, beanMethod = "findByJobId", operation =
     @Operation(operationId = "findByJobId", responses = {
             @ApiResponse(responseCode = "200", description = "Successful operation", content =
             @Content(schema = @Schema(implementation = JobHistoryDTO.class))),
             @ApiResponse(responseCode = "400", description = "Invalid JobHistory details supplied"),
             @ApiResponse(responseCode = "404", description = "JobHistory not found")}, parameters = {
-            @Parameter(in = PATH, name = "jobId")})),
+            @Parameter(in = PATH, name = "jobId"), @Parameter(in = QUERY, name = "fields")})),
+
+    @RouterOperation(path = HANDLER_JOB_HISTORIES_PATH_BY_DEPARTMENT_ID, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, beanClass =
+            JobHistoryHandler.class, method = GET, beanMethod = "findByDepartmentId", operation =
+    @Operation(operationId = "findByDepartmentId", responses = {
+            @ApiResponse(responseCode = "200", description = "Successful operation", content =
+            @Content(schema = @Schema(implementation = JobHistoryDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid JobHistory details supplied"),
+            @ApiResponse(responseCode = "404", description = "JobHistory not found")}, parameters = {
+            @Parameter(in = PATH, name = "departmentId"), @Parameter(in = QUERY, name = "fields")})),
+
+    @RouterOperation(path = HANDLER_JOB_HISTORIES_PATH_BY_EMPLOYEE_ID, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, beanClass =
+            JobHistoryHandler.class, method = GET, beanMethod = "findByEmployeeId", operation =
+    @Operation(operationId = "findByEmployeeId", responses = {
+            @ApiResponse(responseCode = "200", description = "Successful operation", content =
+            @Content(schema = @Schema(implementation = JobHistoryDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid JobHistory details supplied"),
+            @ApiResponse(responseCode = "404", description = "JobHistory not found")}, parameters = {
+            @Parameter(in = PATH, name = "employeeId"), @Parameter(in = QUERY, name = "fields")})),
+
+    @RouterOperation(path = HANDLER_JOB_HISTORIES_AS_OF_PATH, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, beanClass =
+            JobHistoryHandler.class, method = GET, beanMethod = "findAsOf", operation =
+    @Operation(operationId = "findAsOf", responses = {
+            @ApiResponse(responseCode = "200", description = "Successful operation", content =
+            @Content(array = @ArraySchema(schema = @Schema(implementation = JobHistoryDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Missing key or invalid date")}, parameters = {
+            @Parameter(in = QUERY, name = "jobId"), @Parameter(in = QUERY, name = "departmentId"),
+            @Parameter(in = QUERY, name = "employeeId"), @Parameter(in = QUERY, name = "at", required = true)})),
+
+    @RouterOperation(path = HANDLER_JOB_HISTORIES_OVERLAPPING_PATH, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, beanClass =
+            JobHistoryHandler.class, method = GET, beanMethod = "findOverlapping", operation =
+    @Operation(operationId = "findOverlapping", responses = {
+            @ApiResponse(responseCode = "200", description = "Successful operation", content =
+            @Content(array = @ArraySchema(schema = @Schema(implementation = JobHistoryDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Missing key or invalid range")}, parameters = {
+            @Parameter(in = QUERY, name = "jobId"), @Parameter(in = QUERY, name = "departmentId"),
+            @Parameter(in = QUERY, name = "employeeId"), @Parameter(in = QUERY, name = "from", required = true),
+            @Parameter(in = QUERY, name = "to", required = true)})),
 
-    @RouterOperation(path = HANDLER_JOB_HISTORIES_STREAM_PATH, produces = {APPLICATION_JSON_VALUE}, beanClass =
+    @RouterOperation(path = HANDLER_JOB_HISTORIES_HEADCOUNT_PATH, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, beanClass =
+            JobHistoryHandler.class, method = GET, beanMethod = "findHeadcount", operation =
+    @Operation(operationId = "findHeadcount", responses = {
+            @ApiResponse(responseCode = "200", description = "Successful operation", content =
+            @Content(array = @ArraySchema(schema = @Schema(implementation = HeadcountPeriodDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Missing key, invalid range or unknown period")}, parameters = {
+            @Parameter(in = QUERY, name = "jobId"), @Parameter(in = QUERY, name = "departmentId"),
+            @Parameter(in = QUERY, name = "employeeId"), @Parameter(in = QUERY, name = "from", required = true),
+            @Parameter(in = QUERY, name = "to", required = true), @Parameter(in = QUERY, name = "period")})),
+
+    @RouterOperation(path = HANDLER_JOB_HISTORIES_STREAM_PATH, produces = {TEXT_EVENT_STREAM_VALUE}, beanClass =
             JobHistoryHandler.class, method = GET, beanMethod = "stream", operation =
     @Operation(operationId = "stream", responses = {
             @ApiResponse(responseCode = "200", description = "Successful operation", content =
-            @Content(schema = @Schema(implementation = JobHistoryDTO.class))),
+            @Content(schema = @Schema(implementation = ChangeEventDTO.class))),
             @ApiResponse(responseCode = "400", description = "Invalid JobHistory details supplied")})),
 
+    @RouterOperation(path = HANDLER_JOB_HISTORIES_BATCH_PATH, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, method = POST, beanClass =
+            JobHistoryHandler.class, beanMethod = "saveAll", operation =
+    @Operation(operationId = "saveAll", responses = {
+            @ApiResponse(responseCode = "200", description = "Successful operation", content =
+            @Content(schema = @Schema(implementation = BatchItemResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid JobHistory details supplied")}, requestBody =
+    @RequestBody(content = @Content(array = @ArraySchema(schema = @Schema(implementation = JobHistoryDTO.class)))))),
+
+            @RouterOperation(path = HANDLER_JOB_HISTORIES_BY_IDS_PATH, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, method = POST, beanClass =
+                    JobHistoryHandler.class, beanMethod = "findAllById", operation =
+            @Operation(operationId = "findAllById", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(array = @ArraySchema(schema = @Schema(implementation = JobHistoryDTO.class)))),
+                    @ApiResponse(responseCode = "400", description = "Missing, blank or too many IDs")}, requestBody =
+            @RequestBody(content = @Content(array = @ArraySchema(schema = @Schema(implementation = String.class)))))),
+
+    @RouterOperation(path = HANDLER_JOB_HISTORIES_PATH_BY_ID, produces = {APPLICATION_JSON_VALUE}, method = PATCH, beanClass =
+            JobHistoryHandler.class, beanMethod = "patchById", operation =
+    @Operation(operationId = "patchById", responses = {
+            @ApiResponse(responseCode = "200", description = "Successful operation", content =
+            @Content(schema = @Schema(implementation = JobHistoryDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid JobHistory details supplied"),
+            @ApiResponse(responseCode = "404", description = "JobHistory not found"),
+            @ApiResponse(responseCode = "409", description = "JobHistory version is stale")}, parameters = {
+            @Parameter(in = PATH, name = "id")}, requestBody =
+    @RequestBody(content = @Content(schema = @Schema(implementation = JobHistoryDTO.class))))),
+
+    @RouterOperation(path = HANDLER_JOB_HISTORIES_PATH, produces = {APPLICATION_JSON_VALUE}, method = DELETE, beanClass =
+            JobHistoryHandler.class, beanMethod = "deleteAllBy", operation =
+    @Operation(operationId = "deleteAllBy", responses = {
+            @ApiResponse(responseCode = "200", description = "Successful operation", content =
+            @Content(schema = @Schema(implementation = DeleteResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Missing or unknown JobHistory filter")}, parameters = {
+            @Parameter(in = QUERY, name = "jobId"), @Parameter(in = QUERY, name = "departmentId"),
+            @Parameter(in = QUERY, name = "employeeId")})),
+
     @RouterOperation(path = HANDLER_JOB_HISTORIES_PATH, produces = {APPLICATION_JSON_VALUE}, method = POST, beanClass =
             JobHistoryHandler.class, beanMethod = "create", operation = @Operation(operationId = "create", responses = {
                     @ApiResponse(responseCode = "200", description = "Successful operation", content =
@@ -96,12 +199,13 @@ public class JobHistoryRouterConfig {
      */
     @NotNull
     public RouterFunction<ServerResponse> jobHistoriesRoutes(JobHistoryHandler handler) {
-        return route(RequestPredicates.GET(HANDLER_JOB_HISTORIES_PATH).and(accept(APPLICATION_JSON)), handler::findAll)
-                .andRoute(RequestPredicates.GET(HANDLER_JOB_HISTORIES_PATH_BY_ID).and(accept(APPLICATION_JSON)), handler::findById)
-                .andRoute(RequestPredicates.GET(HANDLER_JOB_HISTORIES_PATH_BY_ID).and(accept(APPLICATION_JSON)), handler::findByJobId)
-                .andRoute(RequestPredicates.GET(HANDLER_JOB_HISTORIES_STREAM_PATH).and(accept(APPLICATION_JSON)), handler::stream)
-                .andRoute(RequestPredicates.POST(HANDLER_JOB_HISTORIES_PATH).and(accept(APPLICATION_JSON)), handler::create)
-                .andRoute(RequestPredicates.PUT(HANDLER_JOB_HISTORIES_PATH_BY_ID).and(accept(APPLICATION_JSON)), handler::updateById)
-                .andRoute(RequestPredicates.DELETE(HANDLER_JOB_HISTORIES_PATH_BY_ID).and(accept(APPLICATION_JSON)), handler::deleteById);
+        return route(RequestPredicates.GET(HANDLER_JOB_HISTORIES_PATH_BY_JOB_ID).and(accept(APPLICATION_JSON, APPLICATION_NDJSON)), handler::findByJobId)
+                .andRoute(RequestPredicates.GET(HANDLER_JOB_HISTORIES_PATH_BY_DEPARTMENT_ID).and(accept(APPLICATION_JSON, APPLICATION_NDJSON)), handler::findByDepartmentId)
+                .andRoute(RequestPredicates.GET(HANDLER_JOB_HISTORIES_PATH_BY_EMPLOYEE_ID).and(accept(APPLICATION_JSON, APPLICATION_NDJSON)), handler::findByEmployeeId)
+                .andRoute(RequestPredicates.GET(HANDLER_JOB_HISTORIES_AS_OF_PATH).and(accept(APPLICATION_JSON, APPLICATION_NDJSON)), handler::findAsOf)
+                .andRoute(RequestPredicates.GET(HANDLER_JOB_HISTORIES_OVERLAPPING_PATH).and(accept(APPLICATION_JSON, APPLICATION_NDJSON)), handler::findOverlapping)
+                .andRoute(RequestPredicates.GET(HANDLER_JOB_HISTORIES_HEADCOUNT_PATH).and(accept(APPLICATION_JSON, APPLICATION_NDJSON)), handler::findHeadcount)
+                .andRoute(RequestPredicates.DELETE(HANDLER_JOB_HISTORIES_PATH).and(accept(APPLICATION_JSON)), handler::deleteAllBy)
+                .and(crudRoutes(HANDLER_JOB_HISTORIES_PATH, handler));
     }
 }
@@ -1,9 +1,14 @@
 package com.rct.humanresources.infra.config.router;
 
+import com.rct.humanresources.core.model.dto.BatchItemResultDTO;
+import com.rct.humanresources.core.model.dto.ChangeEventDTO;
+import com.rct.humanresources.core.model.dto.CursorPageDTO;
+import com.rct.humanresources.core.model.dto.DeleteResultDTO;
 import com.rct.humanresources.core.model.dto.LocationDTO;
 import com.rct.humanresources.infra.handler.LocationHandler;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
@@ -17,15 +22,24 @@ import org.springframework.web.reactive.function.server.RequestPredicates;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
+import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_LOCATIONS_BATCH_PATH;
+import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_LOCATIONS_BY_IDS_PATH;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_LOCATIONS_PATH;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_LOCATIONS_PATH_BY_CITY_ID;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_LOCATIONS_PATH_BY_ID;
+import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_LOCATIONS_SEARCH_PATH;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_LOCATIONS_STREAM_PATH;
+import static com.rct.humanresources.infra.config.router.CrudRoutes.crudRoutes;
 import static io.swagger.v3.oas.annotations.enums.ParameterIn.PATH;
+import static io.swagger.v3.oas.annotations.enums.ParameterIn.QUERY;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
 import static org.springframework.web.bind.annotation.RequestMethod.DELETE;
 import static org.springframework.web.bind.annotation.RequestMethod.GET;
+import static org.springframework.web.bind.annotation.RequestMethod.PATCH;
 import static org.springframework.web.bind.annotation.RequestMethod.POST;
 import static org.springframework.web.bind.annotation.RequestMethod.PUT;
 import static org.springframework.web.reactive.function.server.RequestPredicates.accept;
@@ -39,8 +53,9 @@ public class LocationRouterConfig {
                     LocationHandler.class, method = GET, beanMethod = "findAll", operation =
             @Operation(operationId = "findAll", responses = {
                     @ApiResponse(responseCode = "200", description = "Successful operation", content =
-                    @Content(schema = @Schema(implementation = LocationDTO.class))),
-                    @ApiResponse(responseCode = "400", description = "Invalid Location details supplied")})),
+                    @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid Location details supplied")}, parameters = {
+                    @Parameter(in = QUERY, name = "after"), @Parameter(in = QUERY, name = "limit")})),
 
             @RouterOperation(path = HANDLER_LOCATIONS_PATH_BY_ID, produces = {APPLICATION_JSON_VALUE}, beanClass =
                     LocationHandler.class, method = GET, beanMethod = "findById", operation =
@@ -50,22 +65,65 @@ public class LocationRouterConfig {
                     @ApiResponse(responseCode = "400", description = "Invalid Location details supplied"),
                     @ApiResponse(responseCode = "404", description = "Location not found")}, parameters = {@Parameter(in = PATH, name = "id")})),
 
-            @RouterOperation(path = HANDLER_LOCATIONS_PATH_BY_CITY_ID, produces = {APPLICATION_JSON_VALUE}, beanClass =
+            @RouterOperation(path = HANDLER_LOCATIONS_PATH_BY_CITY_ID, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, beanClass =
                     LocationHandler.class, method = GET, beanMethod = "findByCityId", operation =
             @Operation(operationId = "findByCityId", responses = {
                     @ApiResponse(responseCode = "200", description = "Successful operation", content =
                     @Content(schema = @Schema(implementation = LocationDTO.class))),
                     @ApiResponse(responseCode = "400", description = "Invalid Location details supplied"),
-                    @ApiResponse(responseCode = "404", description = "Location not found")}, parameters = {@Parameter(in = PATH, name = "cityId")})),
+                    @ApiResponse(responseCode = "404", description = "Location not found")}, parameters = {@Parameter(in = PATH, name = "cityId"), @Parameter(in = QUERY, name = "fields")})),
+
+            @RouterOperation(path = HANDLER_LOCATIONS_SEARCH_PATH, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, beanClass =
+                    LocationHandler.class, method = GET, beanMethod = "search", operation =
+            @Operation(operationId = "search", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(schema = @Schema(implementation = LocationDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid Location details supplied"),
+                    @ApiResponse(responseCode = "404", description = "Location not found")}, parameters = {@Parameter(in = QUERY, name = "name"), @Parameter(in = QUERY, name = "limit")})),
 
 
-            @RouterOperation(path = HANDLER_LOCATIONS_STREAM_PATH, produces = {APPLICATION_JSON_VALUE}, beanClass =
+            @RouterOperation(path = HANDLER_LOCATIONS_STREAM_PATH, produces = {TEXT_EVENT_STREAM_VALUE}, beanClass =
                     LocationHandler.class, method = GET, beanMethod = "stream", operation =
             @Operation(operationId = "stream", responses = {
                     @ApiResponse(responseCode = "200", description = "Successful operation", content =
-                    @Content(schema = @Schema(implementation = LocationDTO.class))),
+                    @Content(schema = @Schema(implementation = ChangeEventDTO.class))),
                     @ApiResponse(responseCode = "400", description = "Invalid Location details supplied")})),
 
+            @RouterOperation(path = HANDLER_LOCATIONS_BATCH_PATH, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, method = POST, beanClass =
+                    LocationHandler.class, beanMethod = "saveAll", operation =
+            @Operation(operationId = "saveAll", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(schema = @Schema(implementation = BatchItemResultDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid Location details supplied")}, requestBody =
+            @RequestBody(content = @Content(array = @ArraySchema(schema = @Schema(implementation = LocationDTO.class)))))),
+
+            @RouterOperation(path = HANDLER_LOCATIONS_BY_IDS_PATH, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, method = POST, beanClass =
+                    LocationHandler.class, beanMethod = "findAllById", operation =
+            @Operation(operationId = "findAllById", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(array = @ArraySchema(schema = @Schema(implementation = LocationDTO.class)))),
+                    @ApiResponse(responseCode = "400", description = "Missing, blank or too many IDs")}, requestBody =
+            @RequestBody(content = @Content(array = @ArraySchema(schema = @Schema(implementation = String.class)))))),
+
+            @RouterOperation(path = HANDLER_LOCATIONS_PATH_BY_ID, produces = {APPLICATION_JSON_VALUE}, method = PATCH, beanClass =
+                    LocationHandler.class, beanMethod = "patchById", operation =
+            @Operation(operationId = "patchById", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(schema = @Schema(implementation = LocationDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid Location details supplied"),
+                    @ApiResponse(responseCode = "404", description = "Location not found"),
+                    @ApiResponse(responseCode = "409", description = "Location version is stale")}, parameters = {
+                    @Parameter(in = PATH, name = "id")}, requestBody =
+            @RequestBody(content = @Content(schema = @Schema(implementation = LocationDTO.class))))),
+
+            @RouterOperation(path = HANDLER_LOCATIONS_PATH, produces = {APPLICATION_JSON_VALUE}, method = DELETE, beanClass =
+                    LocationHandler.class, beanMethod = "deleteAllBy", operation =
+            @Operation(operationId = "deleteAllBy", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(schema = @Schema(implementation = DeleteResultDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Missing or unknown Location filter")}, parameters = {
+                    @Parameter(in = QUERY, name = "cityId")})),
+
             @RouterOperation(path = HANDLER_LOCATIONS_PATH, produces = {APPLICATION_JSON_VALUE}, method = POST, beanClass =
                     LocationHandler.class, beanMethod = "create", operation =
             @Operation(operationId = "create", responses = {
@@ -101,12 +159,9 @@ public class LocationRouterConfig {
      */
     @NotNull
     public RouterFunction<ServerResponse> locationsRoutes(LocationHandler handler) {
-        return route(RequestPredicates.GET(HANDLER_LOCATIONS_PATH).and(accept(APPLICATION_JSON)), handler::findAll)
-                .andRoute(RequestPredicates.GET(HANDLER_LOCATIONS_PATH_BY_ID).and(accept(APPLICATION_JSON)), handler::findById)
-                .andRoute(RequestPredicates.GET(HANDLER_LOCATIONS_PATH_BY_ID).and(accept(APPLICATION_JSON)), handler::findByCityId)
-                .andRoute(RequestPredicates.GET(HANDLER_LOCATIONS_STREAM_PATH).and(accept(APPLICATION_JSON)), handler::stream)
-                .andRoute(RequestPredicates.POST(HANDLER_LOCATIONS_PATH).and(accept(APPLICATION_JSON)), handler::create)
-                .andRoute(RequestPredicates.PUT(HANDLER_LOCATIONS_PATH_BY_ID).and(accept(APPLICATION_JSON)), handler::updateById)
-                .andRoute(RequestPredicates.DELETE(HANDLER_LOCATIONS_PATH_BY_ID).and(accept(APPLICATION_JSON)), handler::deleteById);
+        return route(RequestPredicates.GET(HANDLER_LOCATIONS_PATH_BY_CITY_ID).and(accept(APPLICATION_JSON, APPLICATION_NDJSON)), handler::findByCityId)
+                .andRoute(RequestPredicates.GET(HANDLER_LOCATIONS_SEARCH_PATH).and(accept(APPLICATION_JSON, APPLICATION_NDJSON)), handler::search)
+                .andRoute(RequestPredicates.DELETE(HANDLER_LOCATIONS_PATH).and(accept(APPLICATION_JSON)), handler::deleteAllBy)
+                .and(crudRoutes(HANDLER_LOCATIONS_PATH, handler));
     }
 }
@@ -1,9 +1,14 @@
 package com.rct.humanresources.infra.config.router;
 
+import com.rct.humanresources.core.model.dto.BatchItemResultDTO;
+import com.rct.humanresources.core.model.dto.ChangeEventDTO;
+import com.rct.humanresources.core.model.dto.CursorPageDTO;
+import com.rct.humanresources.core.model.dto.DeleteResultDTO;
 import com.rct.humanresources.core.model.dto.StateDTO;
 import com.rct.humanresources.infra.handler.StateHandler;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
@@ -17,15 +22,24 @@ import org.springframework.web.reactive.function.server.RequestPredicates;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
+import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_STATES_BATCH_PATH;
+import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_STATES_BY_IDS_PATH;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_STATES_PATH;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_STATES_PATH_BY_COUNTRY_ID;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_STATES_PATH_BY_ID;
+import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_STATES_SEARCH_PATH;
 import static com.rct.humanresources.infra.config.VariableConstants.HANDLER_STATES_STREAM_PATH;
+import static com.rct.humanresources.infra.config.router.CrudRoutes.crudRoutes;
 import static io.swagger.v3.oas.annotations.enums.ParameterIn.PATH;
+import static io.swagger.v3.oas.annotations.enums.ParameterIn.QUERY;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
 import static org.springframework.web.bind.annotation.RequestMethod.DELETE;
 import static org.springframework.web.bind.annotation.RequestMethod.GET;
+import static org.springframework.web.bind.annotation.RequestMethod.PATCH;
 import static org.springframework.web.bind.annotation.RequestMethod.POST;
 import static org.springframework.web.bind.annotation.RequestMethod.PUT;
 import static org.springframework.web.reactive.function.server.RequestPredicates.accept;
@@ -39,8 +53,9 @@ public class StateRouterConfig {
                     StateHandler.class, method = GET, beanMethod = "findAll", operation =
             @Operation(operationId = "findAll", responses = {
                     @ApiResponse(responseCode = "200", description = "Successful operation", content =
-                    @Content(schema = @Schema(implementation = StateDTO.class))),
-                    @ApiResponse(responseCode = "400", description = "Invalid State details supplied")})),
+                    @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid State details supplied")}, parameters = {
+                    @Parameter(in = QUERY, name = "after"), @Parameter(in = QUERY, name = "limit")})),
 
             @RouterOperation(path = HANDLER_STATES_PATH_BY_ID, produces = {APPLICATION_JSON_VALUE}, beanClass =
                     StateHandler.class, method = GET, beanMethod = "findById", operation =
@@ -51,23 +66,67 @@ public class StateRouterConfig {
                     @ApiResponse(responseCode = "404", description = "State not found")}, parameters = {
                     @Parameter(in = PATH, name = "id")})),
 
-            @RouterOperation(path = HANDLER_STATES_PATH_BY_COUNTRY_ID, produces = {APPLICATION_JSON_VALUE}, beanClass =
+            @RouterOperation(path = HANDLER_STATES_PATH_BY_COUNTRY_ID, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, beanClass =
                     StateHandler.class, method = GET, beanMethod = "findByCountryId", operation =
             @Operation(operationId = "findByCountryId", responses = {
                     @ApiResponse(responseCode = "200", description = "Successful operation", content =
                     @Content(schema = @Schema(implementation = StateDTO.class))),
                     @ApiResponse(responseCode = "400", description = "Invalid State details supplied"),
                     @ApiResponse(responseCode = "404", description = "State not found")}, parameters = {
-                    @Parameter(in = PATH, name = "countryId")})),
+                    @Parameter(in = PATH, name = "countryId"), @Parameter(in = QUERY, name = "fields")})),
+
+            @RouterOperation(path = HANDLER_STATES_SEARCH_PATH, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, beanClass =
+                    StateHandler.class, method = GET, beanMethod = "search", operation =
+            @Operation(operationId = "search", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(schema = @Schema(implementation = StateDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid State details supplied"),
+                    @ApiResponse(responseCode = "404", description = "State not found")}, parameters = {
+                    @Parameter(in = QUERY, name = "name"), @Parameter(in = QUERY, name = "limit")})),
 
 
-            @RouterOperation(path = HANDLER_STATES_STREAM_PATH, produces = {APPLICATION_JSON_VALUE}, beanClass =
+            @RouterOperation(path = HANDLER_STATES_STREAM_PATH, produces = {TEXT_EVENT_STREAM_VALUE}, beanClass =
                     StateHandler.class, method = GET, beanMethod = "stream", operation =
             @Operation(operationId = "stream", responses = {
                     @ApiResponse(responseCode = "200", description = "Successful operation", content =
-                    @Content(schema = @Schema(implementation = StateDTO.class))),
+                    @Content(schema = @Schema(implementation = ChangeEventDTO.class))),
                     @ApiResponse(responseCode = "400", description = "Invalid State details supplied")})),
 
+            @RouterOperation(path = HANDLER_STATES_BATCH_PATH, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, method = POST, beanClass =
+                    StateHandler.class, beanMethod = "saveAll", operation =
+            @Operation(operationId = "saveAll", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(schema = @Schema(implementation = BatchItemResultDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid State details supplied")}, requestBody =
+            @RequestBody(content = @Content(array = @ArraySchema(schema = @Schema(implementation = StateDTO.class)))))),
+
+            @RouterOperation(path = HANDLER_STATES_BY_IDS_PATH, produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}, method = POST, beanClass =
+                    StateHandler.class, beanMethod = "findAllById", operation =
+            @Operation(operationId = "findAllById", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(array = @ArraySchema(schema = @Schema(implementation = StateDTO.class)))),
+                    @ApiResponse(responseCode = "400", description = "Missing, blank or too many IDs")}, requestBody =
+            @RequestBody(content = @Content(array = @ArraySchema(schema = @Schema(implementation = String.class)))))),
+
+            @RouterOperation(path = HANDLER_STATES_PATH_BY_ID, produces = {APPLICATION_JSON_VALUE}, method = PATCH, beanClass =
+                    StateHandler.class, beanMethod = "patchById", operation =
+            @Operation(operationId = "patchById", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(schema = @Schema(implementation = StateDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid State details supplied"),
+                    @ApiResponse(responseCode = "404", description = "State not found"),
+                    @ApiResponse(responseCode = "409", description = "State version is stale")}, parameters = {
+                    @Parameter(in = PATH, name = "id")}, requestBody =
+            @RequestBody(content = @Content(schema = @Schema(implementation = StateDTO.class))))),
+
+            @RouterOperation(path = HANDLER_STATES_PATH, produces = {APPLICATION_JSON_VALUE}, method = DELETE, beanClass =
+                    StateHandler.class, beanMethod = "deleteAllBy", operation =
+            @Operation(operationId = "deleteAllBy", responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation", content =
+                    @Content(schema = @Schema(implementation = DeleteResultDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Missing or unknown State filter")}, parameters = {
+                    @Parameter(in = QUERY, name = "countryId")})),
+
             @RouterOperation(path = HANDLER_STATES_PATH, produces = {APPLICATION_JSON_VALUE}, method = POST, beanClass =
                     StateHandler.class, beanMethod = "create", operation =
             @Operation(operationId = "create", responses = {
@@ -104,12 +163,9 @@ public class StateRouterConfig {
      */
     @NotNull
     public RouterFunction<ServerResponse> statesRoutes(StateHandler handler) {
-        return route(RequestPredicates.GET(HANDLER_STATES_PATH).and(accept(APPLICATION_JSON)), handler::findAll)
-                .andRoute(RequestPredicates.GET(HANDLER_STATES_PATH_BY_ID).and(accept(APPLICATION_JSON)), handler::findById)
-                .andRoute(RequestPredicates.GET(HANDLER_STATES_PATH_BY_COUNTRY_ID).and(accept(APPLICATION_JSON)), handler::findByCountryId)
-                .andRoute(RequestPredicates.GET(HANDLER_STATES_STREAM_PATH).and(accept(APPLICATION_JSON)), handler::stream)
-                .andRoute(RequestPredicates.POST(HANDLER_STATES_PATH).and(accept(APPLICATION_JSON)), handler::create)
-                .andRoute(RequestPredicates.PUT(HANDLER_STATES_PATH_BY_ID).and(accept(APPLICATION_JSON)), handler::updateById)
-                .andRoute(RequestPredicates.DELETE(HANDLER_STATES_PATH_BY_ID).and(accept(APPLICATION_JSON)), handler::deleteById);
+        return route(RequestPredicates.GET(HANDLER_STATES_PATH_BY_COUNTRY_ID).and(accept(APPLICATION_JSON, APPLICATION_NDJSON)), handler::findByCountryId)
+                .andRoute(RequestPredicates.GET(HANDLER_STATES_SEARCH_PATH).and(accept(APPLICATION_JSON, APPLICATION_NDJSON)), handler::search)
+                .andRoute(RequestPredicates.DELETE(HANDLER_STATES_PATH).and(accept(APPLICATION_JSON)), handler::deleteAllBy)
+                .and(crudRoutes(HANDLER_STATES_PATH, handler));
     }
 }
@@ -0,0 +1,205 @@
+package com.rct.humanresources.infra.delivery;
+
+import com.rct.humanresources.core.model.dto.BatchItemResultDTO;
+import com.rct.humanresources.core.model.dto.ChangeEventDTO;
+import com.rct.humanresources.core.model.dto.CursorPageDTO;
+import com.rct.humanresources.core.service.CrudService;
+import com.rct.humanresources.infra.config.exception.ResourceBadRequestException;
+import com.rct.humanresources.infra.config.exception.ResourceConflictException;
+import com.rct.humanresources.infra.config.exception.ResourceNotFoundException;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static com.rct.humanresources.core.util.MultiGet.MAX_IDS;
+import static com.rct.humanresources.infra.handler.StreamingResponses.LAST_EVENT_ID;
+import static com.rct.humanresources.infra.handler.StreamingResponses.serverSentEvents;
+import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
+import static org.springframework.http.ResponseEntity.ok;
+import static org.springframework.http.ResponseEntity.status;
+import static reactor.core.publisher.Mono.error;
+
+/**
+ * Crud Rest Controller - API Rest of the operations every entity shares, over its Service.
+ * Entity controllers extend it under their own @RequestMapping, adding their finders and search.
+ * @param <D> DTO Type
+ * @param <S> Service Type
+ */
+public abstract class CrudResource<D, S extends CrudService<D>> {
+    protected final S service;
+
+    /**
+     * Crud Rest Controller Constructor
+     * @param service Entity Service
+     */
+    protected CrudResource(S service) {
+        this.service = service;
+    }
+
+    /**
+     * Create
+     * POST - Http Method
+     *
+     * @param dto DTO
+     *
+     * @return Mono<ResponseEntity < DTO>>
+     */
+    @PostMapping
+    @ResponseStatus(CREATED)
+    @Operation(description = "Save in DB, by DTO Request", summary = "Create")
+    public Mono<ResponseEntity<D>> create(@RequestBody D dto) {
+        return service.create(dto)
+                .map(item -> status(CREATED).body(item))
+                .onErrorResume(e -> error(new ResourceBadRequestException(e.getMessage())));
+    }
+
+    /**
+     * Save in Batch
+     * POST - Http Method
+     *
+     * @param dtos Flux DTO, as a JSON Array or NDJSON
+     *
+     * @return Flux BatchItemResultDTO DTO
+     */
+    @PostMapping(value = "/batch", consumes = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE},
+            produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    @Operation(description = "Insert or replace in unordered bulk writes, one result per item", summary = "Save in Batch")
+    public Flux<BatchItemResultDTO<D>> saveAll(@RequestBody Flux<D> dtos) {
+        return service.saveAll(dtos.onErrorMap(e -> new ResourceBadRequestException(e.getMessage())));
+    }
+
+    /**
+     * Find by IDs
+     * POST - Http Method
+     *
+     * @param ids JSON Array of IDs
+     *
+     * @return Flux DTO
+     */
+    @PostMapping(value = "/by-ids", produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    @Operation(description = "Find up to " + MAX_IDS + " by ID in a single query, in the order of the IDs", summary = "Find by IDs")
+    public Flux<D> findAllById(@RequestBody List<String> ids) {
+        return service.findAllById(ids)
+                .onErrorMap(IllegalArgumentException.class, e -> new ResourceBadRequestException(e.getMessage()));
+    }
+
+    /**
+     * Find a Page
+     * GET - Http Method
+     *
+     * @param after Cursor returned by the previous page
+     * @param limit Page size
+     *
+     * @return Mono<ResponseEntity < CursorPageDTO < DTO>>>
+     */
+    @GetMapping
+    @Operation(description = "Find All registered, one keyset page at a time", summary = "Find All")
+    public Mono<ResponseEntity<CursorPageDTO<D>>> findAll(@RequestParam(value = "after", required = false) String after,
+                                                          @RequestParam(value = "limit", required = false) Integer limit) {
+        return service.findAll(after, limit)
+                .map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> error(new ResourceBadRequestException(e.getMessage())));
+    }
+
+    /**
+     * Find by ID
+     * GET - Http Method
+     *
+     * @param id String
+     *
+     * @return Mono<ResponseEntity < DTO>>
+     */
+    @GetMapping("/{id}")
+    @Operation(description = "Find by ID", summary = "Find")
+    public Mono<ResponseEntity<D>> findById(@PathVariable String id) {
+        return service.findById(id)
+                .map(ResponseEntity::ok)
+                .switchIfEmpty(error(new ResourceNotFoundException(id)));
+    }
+
+    /**
+     * Update by ID
+     * PUT - Http Method
+     *
+     * @param id  String
+     * @param dto DTO
+     *
+     * @return Mono<ResponseEntity < DTO>>
+     */
+    @PutMapping("/{id}")
+    @Operation(description = "Update by ID", summary = "Update")
+    public Mono<ResponseEntity<D>> updateById(@PathVariable String id, @RequestBody D dto) {
+        return service.updateById(id, dto)
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> error(new ResourceBadRequestException(e.getMessage())))
+                .switchIfEmpty(error(new ResourceNotFoundException(id)));
+    }
+
+    /**
+     * Patch by ID
+     * PATCH - Http Method
+     *
+     * @param id  String
+     * @param dto DTO, only the fields to change
+     *
+     * @return Mono<ResponseEntity < DTO>>
+     */
+    @PatchMapping("/{id}")
+    @Operation(description = "Update the given fields by ID, guarded by the version when sent", summary = "Patch")
+    public Mono<ResponseEntity<D>> patchById(@PathVariable String id, @RequestBody D dto) {
+        return service.patchById(id, dto)
+                .map(ResponseEntity::ok)
+                .switchIfEmpty(error(new ResourceNotFoundException(id)))
+                .onErrorMap(OptimisticLockingFailureException.class, e -> new ResourceConflictException(id));
+    }
+
+    /**
+     * Delete by ID
+     * DELETE - Http Method
+     *
+     * @param id String
+     *
+     * @return Mono<ResponseEntity < Void>>
+     */
+    @DeleteMapping("/{id}")
+    @Operation(description = "Delete by ID", summary = "Delete")
+    public Mono<ResponseEntity<Void>> deleteById(@PathVariable String id) {
+        return service.deleteById(id)
+                .map(r -> ok().<Void>build())
+                .switchIfEmpty(error(new ResourceNotFoundException(id)));
+    }
+
+    /**
+     * Stream Inserts, Updates and Deletes
+     * GET - Http Method
+     *
+     * @param lastEventId Resume Token of the last event received
+     *
+     * @return Flux ServerSentEvent ChangeEventDTO DTO
+     */
+    @GetMapping(value = "/stream", produces = TEXT_EVENT_STREAM_VALUE)
+    @Operation(description = "Stream inserts, updates and deletes as Server-Sent Events", summary = "Stream")
+    public Flux<ServerSentEvent<ChangeEventDTO<D>>> stream(
+            @RequestHeader(value = LAST_EVENT_ID, required = false) String lastEventId) {
+        return serverSentEvents(service.watch(lastEventId));
+    }
+}
@@ -1,97 +1,98 @@
 package com.rct.humanresources.infra.delivery;
 
+import com.rct.humanresources.core.model.dto.DeleteResultDTO;
 import com.rct.humanresources.core.model.dto.DepartmentDTO;
+import com.rct.humanresources.core.model.dto.DepartmentSummaryDTO;
+import com.rct.humanresources.core.model.dto.ExpandedDepartmentDTO;
 import com.rct.humanresources.core.service.DepartmentService;
 import com.rct.humanresources.infra.config.exception.ResourceBadRequestException;
 import com.rct.humanresources.infra.config.exception.ResourceNotFoundException;
 import io.swagger.v3.oas.annotations.Operation;
-import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.PutMapping;
-import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.util.function.Tuple2;
 
-import java.util.List;
+import java.util.Map;
 
-import static java.time.Duration.ofSeconds;
-import static java.util.stream.Stream.generate;
-import static org.springframework.http.HttpStatus.CREATED;
-import static org.springframework.http.HttpStatus.OK;
-import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
+import static com.rct.humanresources.infra.persistence.expand.DepartmentExpander.EXPAND;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 import static org.springframework.http.ResponseEntity.ok;
-import static org.springframework.http.ResponseEntity.status;
-import static reactor.core.publisher.Flux.fromStream;
-import static reactor.core.publisher.Flux.interval;
-import static reactor.core.publisher.Flux.zip;
 import static reactor.core.publisher.Mono.error;
 
-
 /**
  * Department Rest Controller - API Rest
  */
-@RequiredArgsConstructor
 @RestController
 @RequestMapping("/api/departments")
-public class DepartmentResource {
-    private final DepartmentService service;
+public class DepartmentResource extends CrudResource<DepartmentDTO, DepartmentService> {
+    /**
+     * Department Rest Controller Constructor
+     * @param service DepartmentService
+     */
+    public DepartmentResource(DepartmentService service) {
+        super(service);
+    }
 
     /**
-     * Create Department
-     * POST - Http Method
+     * Find All Departments by Manager ID
+     * GET - Http Method
      *
-     * @param dto DepartmentDTO
+     * @param managerId String
      *
-     * @return Mono<ResponseEntity < DepartmentDTO>>
+     * @return Flux DepartmentDTO
      */
-    @PostMapping
-    @ResponseStatus(CREATED)
-    @Operation(description = "Save Department in DB, by DepartmentDTO Request", summary = "Create Department")
-    public Mono<ResponseEntity<DepartmentDTO>> create(@RequestBody DepartmentDTO dto) {
-        return service
-                .create(dto)
-                .map(item -> status(CREATED).body(item))
-                .onErrorResume(e -> error(new ResourceBadRequestException(e.getMessage())));
+    @GetMapping(value = "/managers/{managerId}", produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    @Operation(description = "Find All Departments by Manager ID", summary = "Find Department by Manager")
+    public Flux<DepartmentDTO> findByManagerId(@PathVariable String managerId) {
+        return service.findByManagerId(managerId);
     }
 
     /**
-     * Find All Departments
+     * Find the Summaries of every Department
      * GET - Http Method
      *
-     * @return Mono<ResponseEntity < List < DepartmentDTO>>>
+     * @return Flux DepartmentSummaryDTO
      */
-    @GetMapping
-    @Operation(description = "Find All Departments registered", summary = "Find All Departments")
-    public Mono<ResponseEntity<List<DepartmentDTO>>> findAll() {
-        return service.findAll()
-                .collectList()
-                .map(list -> new ResponseEntity<>(list, OK));
+    @GetMapping(value = "/summaries", produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    @Operation(description = "Find headcount, total payroll and manager name of every Department, from the materialized summaries", summary = "Find Department Summaries")
+    public Flux<DepartmentSummaryDTO> findSummaries() {
+        return service.findSummaries();
     }
 
-
     /**
-     * Find All Departments by Manager ID
+     * Find the Summary of a Department
      * GET - Http Method
      *
-     * @param managerId String
+     * @param id String
      *
-     * @return Mono<ResponseEntity < List < DepartmentDTO>>>
+     * @return Mono<ResponseEntity < DepartmentSummaryDTO>>
      */
-    @GetMapping("/managers/{managerId}")
-    @Operation(description = "Find All Departments by Manager ID", summary = "Find Department by Manager")
-    public Mono<ResponseEntity<List<DepartmentDTO>>> findByManagerId(@PathVariable String managerId) {
-        return service.findByManagerId(managerId)
-                .collectList()
-                .map(list -> new ResponseEntity<>(list, OK))
-                .switchIfEmpty(error(new ResourceNotFoundException(managerId)));
+    @GetMapping("/{id}/summary")
+    @Operation(description = "Find headcount, total payroll and manager name of a Department, from the materialized summaries", summary = "Find Department Summary")
+    public Mono<ResponseEntity<DepartmentSummaryDTO>> findSummaryById(@PathVariable String id) {
+        return service.findSummaryById(id)
+                .map(ResponseEntity::ok)
+                .switchIfEmpty(error(new ResourceNotFoundException(id)));
+    }
+
+    /**
+     * Rebuild every Department Summary
+     * POST - Http Method
+     *
+     * @return Flux DepartmentSummaryDTO
+     */
+    @PostMapping(value = "/summaries/rebuild", produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    @Operation(description = "Recompute every Department Summary from the departments and employees collections", summary = "Rebuild Department Summaries")
+    public Flux<DepartmentSummaryDTO> rebuildSummaries() {
+        return service.rebuildSummaries();
     }
 
     /**
@@ -99,65 +100,47 @@ public class DepartmentResource {
      *
      * @param locationId String
      *
-     * @return Mono<ResponseEntity < List < DepartmentDTO>>>
+     * @return Flux DepartmentDTO
      */
-    @GetMapping("/locations/{locationId}")
+    @GetMapping(value = "/locations/{locationId}", produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
     @Operation(description = "Find All Departments by Location ID", summary = "Find Department by Location")
-    public Mono<ResponseEntity<List<DepartmentDTO>>> findByLocationId(@PathVariable String locationId) {
-        return service.findByLocationId(locationId)
-                .collectList()
-                .map(list -> new ResponseEntity<>(list, OK))
-                .switchIfEmpty(error(new ResourceNotFoundException(locationId)));
+    public Flux<DepartmentDTO> findByLocationId(@PathVariable String locationId) {
+        return service.findByLocationId(locationId);
     }
 
-
     /**
-     * Find All Departments by ID
+     * Find Department by ID, with its references resolved
      * GET - Http Method
      *
      * @param id String
+     * @param expand location, location.city, location.city.state or location.city.state.country
      *
-     * @return Mono<ResponseEntity < DepartmentDTO>>
+     * @return Mono<ResponseEntity < ExpandedDepartmentDTO>>
      */
-    @GetMapping("/{id}")
-    @Operation(description = "Find Department by ID", summary = "Find Department")
-    public Mono<ResponseEntity<DepartmentDTO>> findById(@PathVariable String id) {
-        return service.findById(id)
+    @GetMapping(value = "/{id}", params = EXPAND)
+    @Operation(description = "Find Department by ID, resolving location.city.state.country in one aggregation", summary = "Find Expanded Department")
+    public Mono<ResponseEntity<ExpandedDepartmentDTO>> findExpandedById(@PathVariable String id,
+                                                                        @RequestParam(EXPAND) String expand) {
+        return service.findById(id, expand)
+                .onErrorMap(IllegalArgumentException.class, e -> new ResourceBadRequestException(e.getMessage()))
                 .map(ResponseEntity::ok)
                 .switchIfEmpty(error(new ResourceNotFoundException(id)));
     }
 
     /**
-     * Update Department by ID
-     * PUT - Http Method
-     *
-     * @param id  String
-     * @param dto DepartmentDTO
-     *
-     * @return Mono<ResponseEntity < DepartmentDTO>>
-     */
-    @PutMapping("/{id}")
-    @Operation(description = "Update Department by ID", summary = "Update Department")
-    public Mono<ResponseEntity<DepartmentDTO>> updateById(@PathVariable String id, @RequestBody DepartmentDTO dto) {
-        return service.updateById(id, dto)
-                .map(ResponseEntity::ok)
-                .onErrorResume(e -> error(new ResourceBadRequestException(e.getMessage())));
-    }
-
-    /**
-     * Delete Department by ID
+     * Delete Departments by Filter
      * DELETE - Http Method
      *
-     * @param id String
+     * @param filter Field Values, of managerId, locationId
      *
-     * @return Mono<ResponseEntity < DepartmentDTO>>
+     * @return Mono<ResponseEntity < DeleteResultDTO>>
      */
-    @DeleteMapping("/{id}")
-    @Operation(description = "Delete Department by ID", summary = "Delete Department")
-    public Mono<ResponseEntity<Void>> deleteById(@PathVariable String id) {
-        return service.deleteById(id)
-                .map(r -> ok().<Void>build())
-                .switchIfEmpty(error(new ResourceNotFoundException(id)));
+    @DeleteMapping
+    @Operation(description = "Delete every Department matching the given managerId and locationId, in a single deleteMany", summary = "Delete Departments")
+    public Mono<ResponseEntity<DeleteResultDTO>> deleteAllBy(@RequestParam Map<String, String> filter) {
+        return Mono.defer(() -> service.deleteAllBy(filter))
+                .map(ResponseEntity::ok)
+                .onErrorMap(IllegalArgumentException.class, e -> new ResourceBadRequestException(e.getMessage()));
     }
 
     /**
@@ -165,35 +148,15 @@ public class DepartmentResource {
      * GET - Http Method
      *
      * @param name String
+     * @param limit Integer
      *
-     * @return Mono<ResponseEntity < List < DepartmentDTO>>>
+     * @return Flux DepartmentDTO
      */
-    @GetMapping("/search")
+    @GetMapping(value = "/search", produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
     @Operation(description = "Search Departments by Name", summary = "Search Departments")
-    public Mono<ResponseEntity<List<DepartmentDTO>>> search(@RequestParam("name") String name) {
-        return service.fetchByName(name)
-                .collectList()
-                .map(list -> new ResponseEntity<>(list, OK))
-                .switchIfEmpty(error(new ResourceNotFoundException(name)));
-    }
-
-    /**
-     * Stream All Departments
-     * GET - Http Method
-     *
-     * @return Mono<ResponseEntity < List < DepartmentDTO>>>
-     */
-    @GetMapping(value = "/stream", produces = TEXT_EVENT_STREAM_VALUE)
-    @Operation(description = "Stream All Departments", summary = "Stream Departments")
-    public Mono<ResponseEntity<List<DepartmentDTO>>> stream() {
-        return service
-                .findAll()
-                .flatMap(department -> zip(interval(ofSeconds(2)),
-                                fromStream(generate(() -> department))
-                        )
-                                .map(Tuple2::getT2)
-                )
-                .collectList()
-                .map(list -> new ResponseEntity<>(list, OK));
+    public Flux<DepartmentDTO> search(@RequestParam("name") String name,
+                                      @RequestParam(value = "limit", required = false) Integer limit) {
+        return Flux.defer(() -> service.fetchByName(name, limit))
+                .onErrorMap(IllegalArgumentException.class, e -> new ResourceBadRequestException(e.getMessage()));
     }
-}
\ No newline at end of file
+}
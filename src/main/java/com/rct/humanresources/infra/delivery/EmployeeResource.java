@@ -1,176 +1,175 @@
 package com.rct.humanresources.infra.delivery;
 
+import com.rct.humanresources.core.model.dto.DeleteResultDTO;
 import com.rct.humanresources.core.model.dto.EmployeeDTO;
+import com.rct.humanresources.core.model.dto.EmployeeNodeDTO;
+import com.rct.humanresources.core.model.dto.PayrollStatsDTO;
 import com.rct.humanresources.core.service.EmployeeService;
 import com.rct.humanresources.infra.config.exception.ResourceBadRequestException;
 import com.rct.humanresources.infra.config.exception.ResourceNotFoundException;
 import io.swagger.v3.oas.annotations.Operation;
-import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.PutMapping;
-import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.util.function.Tuple2;
 
-import java.util.List;
+import java.time.DateTimeException;
+import java.util.Map;
 
-import static java.time.Duration.ofSeconds;
-import static java.util.stream.Stream.generate;
-import static org.springframework.http.HttpStatus.CREATED;
-import static org.springframework.http.HttpStatus.OK;
-import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
+import static com.rct.humanresources.core.model.mapper.DateTimeMapping.parse;
+import static com.rct.humanresources.infra.persistence.analytics.PayrollAnalytics.DEPARTMENT_ID;
+import static com.rct.humanresources.infra.persistence.hierarchy.OrgChart.parseDepth;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 import static org.springframework.http.ResponseEntity.ok;
-import static org.springframework.http.ResponseEntity.status;
-import static reactor.core.publisher.Flux.fromStream;
-import static reactor.core.publisher.Flux.interval;
-import static reactor.core.publisher.Flux.zip;
 import static reactor.core.publisher.Mono.error;
 
 /**
  * Employee Rest Controller - API Rest
  */
-@RequiredArgsConstructor
 @RestController
 @RequestMapping("/api/employees")
-public class EmployeeResource {
-    private final EmployeeService service;
+public class EmployeeResource extends CrudResource<EmployeeDTO, EmployeeService> {
+    /**
+     * Employee Rest Controller Constructor
+     * @param service EmployeeService
+     */
+    public EmployeeResource(EmployeeService service) {
+        super(service);
+    }
 
     /**
-     * Create Employee
-     * POST - Http Method
+     * Find All Employees by Department ID
+     * GET - Http Method
      *
-     * @param dto EmployeeDTO
+     * @param departmentId String
      *
-     * @return Mono<ResponseEntity < EmployeeDTO>>
+     * @return Flux EmployeeDTO, empty when no Employee matches, an unknown Department included
      */
-    @PostMapping
-    @ResponseStatus(CREATED)
-    @Operation(description = "Save Employee in DB, by EmployeeDTO Request", summary = "Create Employee")
-    public Mono<ResponseEntity<EmployeeDTO>> create(@RequestBody EmployeeDTO dto) {
-        return service.create(dto)
-                .map(item -> status(CREATED).body(item))
-                .onErrorResume(e -> error(new ResourceBadRequestException(e.getMessage())));
+    @GetMapping(value = "/departments/{departmentId}", produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    @Operation(description = "Find All Employees by Department ID, an empty list when none match", summary = "Find Employees by Department")
+    public Flux<EmployeeDTO> findByDepartmentId(@PathVariable String departmentId) {
+        return service.findByDepartmentId(departmentId);
     }
 
     /**
-     * Find All Employees
+     * Find All Employees by Manager ID
      * GET - Http Method
      *
-     * @return Mono<ResponseEntity < List < EmployeeDTO>>>
+     * @param managerId String
+     *
+     * @return Flux EmployeeDTO, empty when no Employee matches, an unknown Manager included
      */
-    @GetMapping
-    @Operation(description = "Find All Employees registered", summary = "Find All Employees")
-    public Mono<ResponseEntity<List<EmployeeDTO>>> findAll() {
-        return service.findAll()
-                .collectList()
-                .map(list -> new ResponseEntity<>(list, OK));
+    @GetMapping(value = "/managers/{managerId}", produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    @Operation(description = "Find All Employees by Manager ID, an empty list when none match", summary = "Find Employees by Manager")
+    public Flux<EmployeeDTO> findByManagerId(@PathVariable String managerId) {
+        return service.findByManagerId(managerId);
     }
 
     /**
-     * Find All Employees by Department ID
+     * Find the Employees reporting to an Employee
      * GET - Http Method
      *
-     * @param departmentId String
+     * @param id String
+     * @param depth Levels below the Employee, 1 for direct reports only
      *
-     * @return Mono<ResponseEntity < List < EmployeeDTO>>>
+     * @return Flux EmployeeNodeDTO
      */
-    @GetMapping("/departments/{departmentId}")
-    @Operation(description = "Find All Employees by Department ID", summary = "Find Employees by Department")
-    public Mono<ResponseEntity<List<EmployeeDTO>>> findByDepartmentId(@PathVariable String departmentId) {
-        return service.findByDepartmentId(departmentId)
-                .collectList()
-                .map(list -> new ResponseEntity<>(list, OK))
-                .switchIfEmpty(error(new ResourceNotFoundException(departmentId)));
+    @GetMapping(value = "/{id}/subordinates", produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    @Operation(description = "Find the Employees reporting to an Employee, nearest level first, in one $graphLookup", summary = "Find Subordinates")
+    public Flux<EmployeeNodeDTO> findSubordinates(@PathVariable String id,
+                                                  @RequestParam(value = "depth", required = false) String depth) {
+        return Mono.fromCallable(() -> parseDepth(depth))
+                .onErrorMap(IllegalArgumentException.class, e -> new ResourceBadRequestException(e.getMessage()))
+                .flatMapMany(levels -> service.findSubordinates(id, levels));
     }
 
     /**
-     * Find All Employees by Manager ID
+     * Find the Employees reporting to an Employee, nested under their managers
      * GET - Http Method
      *
-     * @param managerId String
+     * @param id String
+     * @param depth Levels below the Employee, 1 for direct reports only
      *
-     * @return Mono<ResponseEntity < List < EmployeeDTO>>>
+     * @return Mono<ResponseEntity < EmployeeNodeDTO>>
      */
-    @GetMapping("/managers/{managerId}")
-    @Operation(description = "Find All Employees by Manager ID", summary = "Find Employees by Manager")
-    public Mono<ResponseEntity<List<EmployeeDTO>>> findByManagerId(@PathVariable String managerId) {
-        return service.findByManagerId(managerId)
-                .collectList()
-                .map(list -> new ResponseEntity<>(list, OK))
-                .switchIfEmpty(error(new ResourceNotFoundException(managerId)));
+    @GetMapping(value = "/{id}/subordinates", params = "tree=true")
+    @Operation(description = "Find the Employees reporting to an Employee as a tree, in one $graphLookup", summary = "Find Subordinate Tree")
+    public Mono<ResponseEntity<EmployeeNodeDTO>> findSubordinateTree(@PathVariable String id,
+                                                                     @RequestParam(value = "depth", required = false) String depth) {
+        return Mono.fromCallable(() -> parseDepth(depth))
+                .onErrorMap(IllegalArgumentException.class, e -> new ResourceBadRequestException(e.getMessage()))
+                .flatMap(levels -> service.findSubordinateTree(id, levels))
+                .map(ResponseEntity::ok)
+                .switchIfEmpty(error(new ResourceNotFoundException(id)));
     }
 
     /**
-     * Find All Employees by Job ID
+     * Find the management chain of an Employee
+     * GET - Http Method
      *
-     * @param jobId String
+     * @param id String
      *
-     * @return Mono<ResponseEntity < List < EmployeeDTO>>>
+     * @return Flux EmployeeNodeDTO
      */
-    @GetMapping("/jobs/{jobId}")
-    @Operation(description = "Find All Employees by Job ID", summary = "Find Employees by Job")
-    public Mono<ResponseEntity<List<EmployeeDTO>>> findByJobId(@PathVariable String jobId) {
-        return service.findByJobId(jobId)
-                .collectList()
-                .map(list -> new ResponseEntity<>(list, OK))
-                .switchIfEmpty(error(new ResourceNotFoundException(jobId)));
+    @GetMapping(value = "/{id}/chain", produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    @Operation(description = "Find the management chain of an Employee, direct manager first, in one $graphLookup", summary = "Find Management Chain")
+    public Flux<EmployeeNodeDTO> findChain(@PathVariable String id) {
+        return service.findChain(id);
     }
 
     /**
-     * Find Employee by ID
+     * Find Headcount and Salary Statistics per Department or Job
      * GET - Http Method
      *
-     * @param id String
+     * @param groupBy departmentId or jobId
+     * @param hiredFrom ISO Hire Date lower bound, inclusive
+     * @param hiredTo ISO Hire Date upper bound, exclusive
      *
-     * @return Mono<ResponseEntity < EmployeeDTO>>
+     * @return Flux PayrollStatsDTO
      */
-    @GetMapping("/{id}")
-    @Operation(description = "Find Employee by ID", summary = "Find Employee")
-    public Mono<ResponseEntity<EmployeeDTO>> findById(@PathVariable String id) {
-        return service.findById(id)
-                .map(ResponseEntity::ok)
-                .switchIfEmpty(error(new ResourceNotFoundException(id)));
+    @GetMapping("/payroll")
+    @Operation(description = "Find count, sum, average, min, max and percentiles of salary per Department or Job, in one aggregation", summary = "Find Payroll Statistics")
+    public Flux<PayrollStatsDTO> findPayrollStats(@RequestParam(value = "groupBy", defaultValue = DEPARTMENT_ID) String groupBy,
+                                                  @RequestParam(value = "hiredFrom", required = false) String hiredFrom,
+                                                  @RequestParam(value = "hiredTo", required = false) String hiredTo) {
+        return Flux.defer(() -> service.findPayrollStats(groupBy, parse(hiredFrom), parse(hiredTo)))
+                .onErrorMap(e -> e instanceof IllegalArgumentException || e instanceof DateTimeException,
+                        e -> new ResourceBadRequestException(e.getMessage()));
     }
 
     /**
-     * Update Employee by ID
-     * PUT - Http Method
+     * Find All Employees by Job ID
      *
-     * @param id          String
-     * @param employeeDTO EmployeeDTO
+     * @param jobId String
      *
-     * @return Mono<ResponseEntity < EmployeeDTO>>
+     * @return Flux EmployeeDTO, empty when no Employee matches, an unknown Job included
      */
-    @PutMapping("/{id}")
-    @Operation(description = "Update Employee by ID", summary = "Update Employee")
-    public Mono<ResponseEntity<EmployeeDTO>> updateById(@PathVariable String id, @RequestBody EmployeeDTO employeeDTO) {
-        return service.updateById(id, employeeDTO)
-                .map(ResponseEntity::ok)
-                .onErrorResume(e -> error(new ResourceBadRequestException(e.getMessage())));
+    @GetMapping(value = "/jobs/{jobId}", produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    @Operation(description = "Find All Employees by Job ID, an empty list when none match", summary = "Find Employees by Job")
+    public Flux<EmployeeDTO> findByJobId(@PathVariable String jobId) {
+        return service.findByJobId(jobId);
     }
 
     /**
-     * Delete Employee by ID
+     * Delete Employees by Filter
      * DELETE - Http Method
      *
-     * @param id String
+     * @param filter Field Values, of departmentId, managerId, jobId
      *
-     * @return Mono<ResponseEntity < EmployeeDTO>>
+     * @return Mono<ResponseEntity < DeleteResultDTO>>
      */
-    @DeleteMapping("/{id}")
-    @Operation(description = "Delete Employee by ID", summary = "Delete Employee")
-    public Mono<ResponseEntity<Void>> deleteById(@PathVariable String id) {
-        return service.deleteById(id)
-                .map(r -> ok().<Void>build())
-                .switchIfEmpty(error(new ResourceNotFoundException(id)));
+    @DeleteMapping
+    @Operation(description = "Delete every Employee matching the given departmentId and managerId and jobId, in a single deleteMany", summary = "Delete Employees")
+    public Mono<ResponseEntity<DeleteResultDTO>> deleteAllBy(@RequestParam Map<String, String> filter) {
+        return Mono.defer(() -> service.deleteAllBy(filter))
+                .map(ResponseEntity::ok)
+                .onErrorMap(IllegalArgumentException.class, e -> new ResourceBadRequestException(e.getMessage()));
     }
 
     /**
@@ -178,35 +177,15 @@ public class EmployeeResource {
      * GET - Http Method
      *
      * @param name String
+     * @param limit Integer
      *
-     * @return Mono<ResponseEntity < List < EmployeeDTO>>>DTO
+     * @return Flux EmployeeDTO
      */
-    @GetMapping("/search")
+    @GetMapping(value = "/search", produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
     @Operation(description = "Search Employees by Name", summary = "Search Employees")
-    public Mono<ResponseEntity<List<EmployeeDTO>>> fetchByName(@RequestParam("name") String name) {
-        return service.fetchByName(name)
-                .collectList()
-                .map(list -> new ResponseEntity<>(list, OK))
-                .switchIfEmpty(error(new ResourceNotFoundException(name)));
-    }
-
-    /**
-     * Stream All Employees
-     * GET - Http Method
-     *
-     * @return FLux EmployeeDTO
-     */
-    @GetMapping(value = "/stream", produces = TEXT_EVENT_STREAM_VALUE)
-    @Operation(description = "Stream All Employees", summary = "Stream Employees")
-    public Mono<ResponseEntity<List<EmployeeDTO>>> stream() {
-        return service
-                .findAll()
-                .flatMap(employee -> zip(interval(ofSeconds(2)),
-                                fromStream(generate(() -> employee))
-                        )
-                                .map(Tuple2::getT2)
-                )
-                .collectList()
-                .map(list -> new ResponseEntity<>(list, OK));
+    public Flux<EmployeeDTO> fetchByName(@RequestParam("name") String name,
+                                         @RequestParam(value = "limit", required = false) Integer limit) {
+        return Flux.defer(() -> service.fetchByName(name, limit))
+                .onErrorMap(IllegalArgumentException.class, e -> new ResourceBadRequestException(e.getMessage()));
     }
-}
\ No newline at end of file
+}
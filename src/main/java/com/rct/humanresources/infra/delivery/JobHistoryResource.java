@@ -1,76 +1,42 @@
 package com.rct.humanresources.infra.delivery;
 
+import com.rct.humanresources.core.model.dto.DeleteResultDTO;
+import com.rct.humanresources.core.model.dto.HeadcountPeriodDTO;
 import com.rct.humanresources.core.model.dto.JobHistoryDTO;
 import com.rct.humanresources.core.service.JobHistoryService;
 import com.rct.humanresources.infra.config.exception.ResourceBadRequestException;
-import com.rct.humanresources.infra.config.exception.ResourceNotFoundException;
 import io.swagger.v3.oas.annotations.Operation;
-import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.PutMapping;
-import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.util.function.Tuple2;
 
-import java.util.List;
+import java.time.DateTimeException;
+import java.util.Map;
 
-import static java.time.Duration.ofSeconds;
-import static java.util.stream.Stream.generate;
-import static org.springframework.http.HttpStatus.CREATED;
-import static org.springframework.http.HttpStatus.OK;
-import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
+import static com.rct.humanresources.core.model.mapper.DateTimeMapping.parse;
+import static com.rct.humanresources.infra.persistence.timeline.JobHistoryTimeline.MONTH;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 import static org.springframework.http.ResponseEntity.ok;
-import static org.springframework.http.ResponseEntity.status;
-import static reactor.core.publisher.Flux.fromStream;
-import static reactor.core.publisher.Flux.interval;
-import static reactor.core.publisher.Flux.zip;
-import static reactor.core.publisher.Mono.error;
 
 /**
  * Job History Rest Controller - API Rest
  */
-@RequiredArgsConstructor
 @RestController
 @RequestMapping("/api/jobs/histories")
-public class JobHistoryResource {
-    private final JobHistoryService service;
-
-    /**
-     * Create JobHistory
-     * POST - Http Method
-     *
-     * @param dto JobHistoryDTO
-     *
-     * @return Mono<ResponseEntity < JobHistoryDTO>>
-     */
-    @PostMapping
-    @ResponseStatus(CREATED)
-    @Operation(description = "Save JobHistory in DB, by JobHistoryDTO Request", summary = "Create JobHistory")
-    public Mono<ResponseEntity<JobHistoryDTO>> create(@RequestBody JobHistoryDTO dto) {
-        return service.create(dto)
-                .map(item -> status(CREATED).body(item))
-                .onErrorResume(e -> error(new ResourceBadRequestException(e.getMessage())));
-    }
-
+public class JobHistoryResource extends CrudResource<JobHistoryDTO, JobHistoryService> {
     /**
-     * Find All Job Histories
-     * GET - Http Method
-     *
-     * @return Mono<ResponseEntity < List < JobHistoryDTO>>>
+     * JobHistory Rest Controller Constructor
+     * @param service JobHistoryService
      */
-    @GetMapping
-    @Operation(description = "Find All Job Histories registered", summary = "Find All Job Histories")
-    public Mono<ResponseEntity<List<JobHistoryDTO>>> findAll() {
-        return service.findAll()
-                .collectList()
-                .map(list -> new ResponseEntity<>(list, OK));
+    public JobHistoryResource(JobHistoryService service) {
+        super(service);
     }
 
     /**
@@ -79,15 +45,12 @@ public class JobHistoryResource {
      *
      * @param departmentId String
      *
-     * @return Mono<ResponseEntity < List < JobHistoryDTO>>>
+     * @return Flux JobHistoryDTO
      */
-    @GetMapping("/departments/{departmentId}")
+    @GetMapping(value = "/departments/{departmentId}", produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
     @Operation(description = "Find All Job Histories by Department ID", summary = "Find Job Histories by Department")
-    public Mono<ResponseEntity<List<JobHistoryDTO>>> findByDepartmentId(@PathVariable String departmentId) {
-        return service.findByDepartmentId(departmentId)
-                .collectList()
-                .map(list -> new ResponseEntity<>(list, OK))
-                .switchIfEmpty(error(new ResourceNotFoundException(departmentId)));
+    public Flux<JobHistoryDTO> findByDepartmentId(@PathVariable String departmentId) {
+        return service.findByDepartmentId(departmentId);
     }
 
     /**
@@ -96,84 +59,101 @@ public class JobHistoryResource {
      *
      * @param jobId String
      *
-     * @return Mono<ResponseEntity < List < JobHistoryDTO>>>
+     * @return Flux JobHistoryDTO
      */
-    @GetMapping("/jobs/{jobId}")
+    @GetMapping(value = "/jobs/{jobId}", produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
     @Operation(description = "Find All Job Histories by Job ID", summary = "Find Job Histories by Job")
-    public Mono<ResponseEntity<List<JobHistoryDTO>>> findByJobId(@PathVariable String jobId) {
-        return service.findByJobId(jobId)
-                .collectList()
-                .map(list -> new ResponseEntity<>(list, OK))
-                .switchIfEmpty(error(new ResourceNotFoundException(jobId)));
+    public Flux<JobHistoryDTO> findByJobId(@PathVariable String jobId) {
+        return service.findByJobId(jobId);
     }
 
     /**
-     * Find JobHistory by ID
+     * Find All Job Histories by Employee ID
      * GET - Http Method
      *
-     * @param id String
+     * @param employeeId String
      *
-     * @return Mono ResponseEntity
+     * @return Flux JobHistoryDTO
      */
-    @GetMapping("/{id}")
-    @Operation(description = "Find All Job Histories by ID", summary = "Find Job Histories by ID")
-    public Mono<ResponseEntity<JobHistoryDTO>> findById(@PathVariable String id) {
-        return service.findById(id)
-                .map(ResponseEntity::ok)
-                .switchIfEmpty(error(new ResourceNotFoundException(id)));
+    @GetMapping(value = "/employees/{employeeId}", produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    @Operation(description = "Find All Job Histories by Employee ID", summary = "Find Job Histories by Employee")
+    public Flux<JobHistoryDTO> findByEmployeeId(@PathVariable String employeeId) {
+        return service.findByEmployeeId(employeeId);
     }
 
     /**
-     * Update JobHistory by ID
-     * PUT - Http Method
+     * Find the Job Histories holding at a Date
+     * GET - Http Method
      *
-     * @param id  String
-     * @param dto JobHistoryDTO
+     * @param filter Exactly one of jobId, departmentId or employeeId
+     * @param at ISO Date
      *
-     * @return Mono ResponseEntity
+     * @return Flux JobHistoryDTO
      */
-    @PutMapping("/{id}")
-    @Operation(description = "Update JobHistory by ID", summary = "Update JobHistory")
-    public Mono<ResponseEntity<JobHistoryDTO>> updateById(@PathVariable String id, @RequestBody JobHistoryDTO dto) {
-        return service.updateById(id, dto)
-                .map(ResponseEntity::ok)
-                .onErrorResume(e -> error(new ResourceBadRequestException(e.getMessage())));
+    @GetMapping(value = "/as-of", produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    @Operation(description = "Find the Job Histories of a Job, Department or Employee holding at a date, by start date", summary = "Find Job Histories as of a Date")
+    public Flux<JobHistoryDTO> findAsOf(@RequestParam Map<String, String> filter,
+                                        @RequestParam(value = "at", required = false) String at) {
+        return Flux.defer(() -> service.findAsOf(filter, parse(at)))
+                .onErrorMap(e -> e instanceof IllegalArgumentException || e instanceof DateTimeException,
+                        e -> new ResourceBadRequestException(e.getMessage()));
     }
 
     /**
-     * Delete JobHistory by ID
-     * DELETE - Http Method
+     * Find the Job Histories holding at any time of a Range
+     * GET - Http Method
      *
-     * @param id String
+     * @param filter Exactly one of jobId, departmentId or employeeId
+     * @param from ISO Date lower bound, inclusive
+     * @param to ISO Date upper bound, exclusive
      *
-     * @return Mono ResponseEntity
+     * @return Flux JobHistoryDTO
      */
-    @DeleteMapping("/{id}")
-    @Operation(description = "Delete JobHistory by ID", summary = "Delete JobHistory")
-    public Mono<ResponseEntity<Void>> deleteById(@PathVariable String id) {
-        return service.deleteById(id)
-                .map(r -> ok().<Void>build())
-                .switchIfEmpty(error(new ResourceNotFoundException(id)));
+    @GetMapping(value = "/overlapping", produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    @Operation(description = "Find the Job Histories of a Job, Department or Employee overlapping a date range, by start date", summary = "Find Job Histories in a Range")
+    public Flux<JobHistoryDTO> findOverlapping(@RequestParam Map<String, String> filter,
+                                               @RequestParam(value = "from", required = false) String from,
+                                               @RequestParam(value = "to", required = false) String to) {
+        return Flux.defer(() -> service.findOverlapping(filter, parse(from), parse(to)))
+                .onErrorMap(e -> e instanceof IllegalArgumentException || e instanceof DateTimeException,
+                        e -> new ResourceBadRequestException(e.getMessage()));
     }
 
-
     /**
-     * Stream All JobHistories
+     * Find the Headcount of each Period of a Range
      * GET - Http Method
      *
-     * @return FLux JobHistoryDTO
+     * @param filter Exactly one of jobId, departmentId or employeeId
+     * @param from ISO Date lower bound, inclusive
+     * @param to ISO Date upper bound, exclusive
+     * @param period day, week, month or year
+     *
+     * @return Flux HeadcountPeriodDTO
+     */
+    @GetMapping(value = "/headcount", produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    @Operation(description = "Count the distinct Employees of a Job, Department or Employee in each period of a date range, in one aggregation", summary = "Find Headcount over Time")
+    public Flux<HeadcountPeriodDTO> findHeadcount(@RequestParam Map<String, String> filter,
+                                                  @RequestParam(value = "from", required = false) String from,
+                                                  @RequestParam(value = "to", required = false) String to,
+                                                  @RequestParam(value = "period", defaultValue = MONTH) String period) {
+        return Flux.defer(() -> service.findHeadcount(filter, parse(from), parse(to), period))
+                .onErrorMap(e -> e instanceof IllegalArgumentException || e instanceof DateTimeException,
+                        e -> new ResourceBadRequestException(e.getMessage()));
+    }
+
+    /**
+     * Delete Job Histories by Filter
+     * DELETE - Http Method
+     *
+     * @param filter Field Values, of jobId, departmentId, employeeId
+     *
+     * @return Mono<ResponseEntity < DeleteResultDTO>>
      */
-    @GetMapping(value = "/stream", produces = TEXT_EVENT_STREAM_VALUE)
-    @Operation(description = "Stream All JobHistories", summary = "Stream JobHistories")
-    public Mono<ResponseEntity<List<JobHistoryDTO>>> stream() {
-        return service
-                .findAll()
-                .flatMap(jobHistory -> zip(interval(ofSeconds(2)),
-                                fromStream(generate(() -> jobHistory))
-                        )
-                                .map(Tuple2::getT2)
-                )
-                .collectList()
-                .map(list -> new ResponseEntity<>(list, OK));
+    @DeleteMapping
+    @Operation(description = "Delete every JobHistory matching the given jobId, departmentId and employeeId, in a single deleteMany", summary = "Delete Job Histories")
+    public Mono<ResponseEntity<DeleteResultDTO>> deleteAllBy(@RequestParam Map<String, String> filter) {
+        return Mono.defer(() -> service.deleteAllBy(filter))
+                .map(ResponseEntity::ok)
+                .onErrorMap(IllegalArgumentException.class, e -> new ResourceBadRequestException(e.getMessage()));
     }
-}
\ No newline at end of file
+}
@@ -4,92 +4,43 @@ import com.rct.humanresources.core.model.dto.CityDTO;
 import com.rct.humanresources.core.service.CityService;
 import com.rct.humanresources.infra.config.exception.ResourceBadRequestException;
 import com.rct.humanresources.infra.config.exception.ResourceNotFoundException;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Mono;
-import reactor.util.function.Tuple2;
 
-import static java.time.Duration.ofSeconds;
-import static java.util.stream.Stream.generate;
-import static org.springframework.http.HttpStatus.CREATED;
+import static com.rct.humanresources.core.util.CursorPagination.parseLimit;
+import static com.rct.humanresources.infra.handler.StreamingResponses.streamOk;
+import static com.rct.humanresources.infra.handler.StreamingResponses.streamProjected;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.web.reactive.function.server.ServerResponse.ok;
-import static reactor.core.publisher.Flux.fromStream;
-import static reactor.core.publisher.Flux.interval;
-import static reactor.core.publisher.Flux.zip;
 import static reactor.core.publisher.Mono.error;
 
 /**
  * CityHandler - WebFlux Handler
  */
 @Component
-@RequiredArgsConstructor
-public class CityHandler {
-    private final CityService service;
-
+public class CityHandler extends CrudHandler<CityDTO, CityService> {
     /**
-     * Create City
-     *
-     * @param request ServerRequest
-     *
-     * @return Mono ServerResponse
+     * CityHandler Constructor
+     * @param service CityService
      */
-    public Mono<ServerResponse> create(ServerRequest request) {
-        return request
-                .bodyToMono(CityDTO.class)
-                .flatMap(city -> ServerResponse
-                        .status(CREATED)
-                        .contentType(APPLICATION_JSON)
-                        .body(service.create(city), CityDTO.class))
-                .onErrorResume(e -> error(new ResourceBadRequestException(e.getMessage())));
+    public CityHandler(CityService service) {
+        super(service, CityDTO.class);
     }
 
     /**
-     * Delete City by ID
-     *
-     * @param request ServerRequest
-     *
-     * @return Mono ServerResponse
-     */
-    public Mono<ServerResponse> deleteById(ServerRequest request) {
-        var id = request.pathVariable("id");
-        return service.deleteById(id)
-                .flatMap(cityDTO -> ok().body(cityDTO, CityDTO.class))
-                .onErrorResume(e -> error(new ResourceNotFoundException(id)));
-    }
-
-    /**
-     * Find All Cities
-     *
-     * @param request ServerRequest
-     *
-     * @return Mono ServerResponse
-     */
-    public Mono<ServerResponse> findAll(ServerRequest request) {
-        return ServerResponse
-                .ok()
-                .contentType(APPLICATION_JSON)
-                .body(service.findAll(), CityDTO.class);
-    }
-
-    /**
-     * Find City by ID
-     *
+     * Delete Cities matching the Query Parameters
      * @param request ServerRequest
-     *
      * @return Mono ServerResponse
      */
-    public Mono<ServerResponse> findById(ServerRequest request) {
-        var id = request.pathVariable("id");
-        return service
-                .findById(id)
-                .switchIfEmpty(error(new ResourceNotFoundException(id)))
-                .flatMap(cityDTO -> ok()
+    public Mono<ServerResponse> deleteAllBy(ServerRequest request) {
+        return Mono.defer(() -> service.deleteAllBy(request.queryParams().toSingleValueMap()))
+                .flatMap(result -> ok()
                         .contentType(APPLICATION_JSON)
-                        .body(cityDTO, CityDTO.class)
-                );
+                        .bodyValue(result))
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> error(new ResourceBadRequestException(e.getMessage())));
     }
 
     /**
@@ -101,15 +52,13 @@ public class CityHandler {
      */
     public Mono<ServerResponse> findByStateId(ServerRequest request) {
         var stateId = request.pathVariable("stateId");
-        return service.findByStateId(stateId)
-                .switchIfEmpty(error(new ResourceNotFoundException(stateId)))
-                .collectList()
-                .flatMap(cityDTO -> ok()
-                        .contentType(APPLICATION_JSON)
-                        .body(cityDTO, CityDTO.class)
-                )
-                .onErrorResume(e -> error(new ResourceNotFoundException(stateId)));
-
+        return streamProjected(request, CityDTO.class,
+                        fields -> service.findByStateId(stateId, fields)
+                                .switchIfEmpty(error(new ResourceNotFoundException(stateId))),
+                        () -> service.findByStateId(stateId)
+                                .switchIfEmpty(error(new ResourceNotFoundException(stateId))))
+                .onErrorResume(e -> !(e instanceof ResourceBadRequestException),
+                        e -> error(new ResourceNotFoundException(stateId)));
     }
 
     /**
@@ -121,48 +70,9 @@ public class CityHandler {
      */
     public Mono<ServerResponse> search(ServerRequest request) {
         return request.queryParam("name")
-                .map(name -> ServerResponse
-                        .ok()
-                        .contentType(APPLICATION_JSON)
-                        .body(service
-                                .fetchByName(name)
-                                .flatMap(city ->
-                                        zip(interval(ofSeconds(2)), fromStream(generate(() -> city)))
-                                                .map(Tuple2::getT2)), CityDTO.class))
-                .orElseGet(() -> error(new ResourceNotFoundException()));
-
+                .map(name -> Mono.defer(() -> streamOk(request,
+                        service.fetchByName(name, parseLimit(request.queryParam("limit").orElse(null))), CityDTO.class)))
+                .orElseGet(() -> error(new ResourceNotFoundException()))
+                .onErrorResume(IllegalArgumentException.class, e -> error(new ResourceBadRequestException(e.getMessage())));
     }
-
-    /**
-     * Stream all Cities
-     *
-     * @param request ServerRequest
-     *
-     * @return Mono ServerResponse
-     */
-    public Mono<ServerResponse> stream(ServerRequest request) {
-        return ServerResponse
-                .ok()
-                .contentType(APPLICATION_JSON)
-                .body(service.findAll()
-                        .flatMap(city -> zip(interval(ofSeconds(2)), fromStream(generate(() -> city)))
-                                .map(Tuple2::getT2)), CityDTO.class);
-    }
-
-    /**
-     * Update City by ID
-     *
-     * @param request ServerRequest
-     *
-     * @return Mono ServerResponse
-     */
-    public Mono<ServerResponse> updateById(ServerRequest request) {
-        return request.bodyToMono(CityDTO.class)
-                .flatMap(city -> ok()
-                        .contentType(APPLICATION_JSON)
-                        .body(service.updateById(request.pathVariable("id"), city), CityDTO.class)
-                )
-                .onErrorResume(e -> error(new ResourceBadRequestException(e.getMessage())));
-    }
-
 }
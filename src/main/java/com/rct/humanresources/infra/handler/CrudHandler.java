@@ -0,0 +1,172 @@
+package com.rct.humanresources.infra.handler;
+
+import com.rct.humanresources.core.model.dto.BatchItemResultDTO;
+import com.rct.humanresources.core.service.CrudService;
+import com.rct.humanresources.core.util.MultiGet;
+import com.rct.humanresources.infra.config.exception.ResourceBadRequestException;
+import com.rct.humanresources.infra.config.exception.ResourceConflictException;
+import com.rct.humanresources.infra.config.exception.ResourceNotFoundException;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.ResolvableType;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static com.rct.humanresources.core.util.CursorPagination.parseLimit;
+import static com.rct.humanresources.infra.handler.StreamingResponses.streamChanges;
+import static com.rct.humanresources.infra.handler.StreamingResponses.streamOk;
+import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.web.reactive.function.server.ServerResponse.ok;
+import static reactor.core.publisher.Mono.error;
+
+/**
+ * CrudHandler - WebFlux Handler of the operations every entity shares, over its DTO Class and Service.
+ * Entity handlers extend it with their finders and search, and are routed by
+ * {@link com.rct.humanresources.infra.config.router.CrudRoutes}.
+ * @param <D> DTO Type
+ * @param <S> Service Type
+ */
+public abstract class CrudHandler<D, S extends CrudService<D>> {
+    protected final S service;
+    private final Class<D> type;
+    private final ParameterizedTypeReference<BatchItemResultDTO<D>> batchResultType;
+
+    /**
+     * CrudHandler Constructor
+     * @param service Entity Service
+     * @param type DTO Class
+     */
+    protected CrudHandler(S service, Class<D> type) {
+        this.service = service;
+        this.type = type;
+        this.batchResultType = ParameterizedTypeReference.forType(
+                ResolvableType.forClassWithGenerics(BatchItemResultDTO.class, type).getType());
+    }
+
+    /**
+     * Create
+     * @param request ServerRequest
+     * @return Mono ServerResponse
+     */
+    public Mono<ServerResponse> create(ServerRequest request) {
+        return request
+                .bodyToMono(type)
+                .flatMap(dto -> ServerResponse
+                        .status(CREATED)
+                        .contentType(APPLICATION_JSON)
+                        .body(service.create(dto), type))
+                .onErrorResume(e -> error(new ResourceBadRequestException(e.getMessage())));
+    }
+
+    /**
+     * Save in Batch, from a JSON Array or NDJSON body
+     * @param request ServerRequest
+     * @return Mono ServerResponse
+     */
+    public Mono<ServerResponse> saveAll(ServerRequest request) {
+        return streamOk(request, service.saveAll(request
+                        .bodyToFlux(type)
+                        .onErrorMap(e -> new ResourceBadRequestException(e.getMessage()))),
+                batchResultType);
+    }
+
+    /**
+     * Find by the IDs of a JSON Array body, in a single query
+     * @param request ServerRequest
+     * @return Mono ServerResponse
+     */
+    public Mono<ServerResponse> findAllById(ServerRequest request) {
+        return request.bodyToMono(new ParameterizedTypeReference<List<String>>() {})
+                .defaultIfEmpty(List.of())
+                .map(MultiGet::distinctIds)
+                .onErrorMap(e -> new ResourceBadRequestException(e.getMessage()))
+                .flatMap(ids -> streamOk(request, service.findAllById(List.copyOf(ids)), type));
+    }
+
+    /**
+     * Delete by ID
+     * @param request ServerRequest
+     * @return Mono ServerResponse
+     */
+    public Mono<ServerResponse> deleteById(ServerRequest request) {
+        var id = request.pathVariable("id");
+        return service.deleteById(id)
+                .flatMap(deleted -> ok()
+                        .contentType(APPLICATION_JSON)
+                        .bodyValue(deleted))
+                .switchIfEmpty(error(new ResourceNotFoundException(id)));
+    }
+
+    /**
+     * Find a Page
+     * @param request ServerRequest
+     * @return Mono ServerResponse
+     */
+    public Mono<ServerResponse> findAll(ServerRequest request) {
+        return Mono.defer(() -> service.findAll(request.queryParam("after").orElse(null),
+                        parseLimit(request.queryParam("limit").orElse(null))))
+                .flatMap(page -> ok()
+                        .contentType(APPLICATION_JSON)
+                        .bodyValue(page))
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> error(new ResourceBadRequestException(e.getMessage())));
+    }
+
+    /**
+     * Find by ID
+     * @param request ServerRequest
+     * @return Mono ServerResponse
+     */
+    public Mono<ServerResponse> findById(ServerRequest request) {
+        var id = request.pathVariable("id");
+        return service
+                .findById(id)
+                .flatMap(found -> ok()
+                        .contentType(APPLICATION_JSON)
+                        .bodyValue(found))
+                .switchIfEmpty(error(new ResourceNotFoundException(id)));
+    }
+
+    /**
+     * Stream Inserts, Updates and Deletes
+     * @param request ServerRequest
+     * @return Mono ServerResponse
+     */
+    public Mono<ServerResponse> stream(ServerRequest request) {
+        return streamChanges(request, service::watch);
+    }
+
+    /**
+     * Update by ID
+     * @param request ServerRequest
+     * @return Mono ServerResponse
+     */
+    public Mono<ServerResponse> updateById(ServerRequest request) {
+        return request.bodyToMono(type)
+                .flatMap(dto -> ok()
+                        .contentType(APPLICATION_JSON)
+                        .body(service.updateById(request.pathVariable("id"), dto), type))
+                .onErrorResume(e -> error(new ResourceBadRequestException(e.getMessage())));
+    }
+
+    /**
+     * Patch by ID
+     * @param request ServerRequest
+     * @return Mono ServerResponse
+     */
+    public Mono<ServerResponse> patchById(ServerRequest request) {
+        var id = request.pathVariable("id");
+        return request.bodyToMono(type)
+                .onErrorMap(e -> new ResourceBadRequestException(e.getMessage()))
+                .flatMap(changes -> service.patchById(id, changes))
+                .onErrorMap(OptimisticLockingFailureException.class, e -> new ResourceConflictException(id))
+                .flatMap(patched -> ok()
+                        .contentType(APPLICATION_JSON)
+                        .bodyValue(patched))
+                .switchIfEmpty(error(new ResourceNotFoundException(id)));
+    }
+}
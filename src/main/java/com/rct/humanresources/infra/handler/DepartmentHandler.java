@@ -1,95 +1,72 @@
 package com.rct.humanresources.infra.handler;
 
 import com.rct.humanresources.core.model.dto.DepartmentDTO;
+import com.rct.humanresources.core.model.dto.DepartmentSummaryDTO;
 import com.rct.humanresources.core.service.DepartmentService;
 import com.rct.humanresources.infra.config.exception.ResourceBadRequestException;
 import com.rct.humanresources.infra.config.exception.ResourceNotFoundException;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Mono;
-import reactor.util.function.Tuple2;
 
-import static java.time.Duration.ofSeconds;
-import static java.util.stream.Stream.generate;
-import static org.springframework.http.HttpStatus.CREATED;
+import static com.rct.humanresources.core.util.CursorPagination.parseLimit;
+import static com.rct.humanresources.infra.handler.StreamingResponses.streamOk;
+import static com.rct.humanresources.infra.handler.StreamingResponses.streamProjected;
+import static com.rct.humanresources.infra.persistence.expand.DepartmentExpander.EXPAND;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.web.reactive.function.server.ServerResponse.ok;
-import static reactor.core.publisher.Flux.fromStream;
-import static reactor.core.publisher.Flux.interval;
-import static reactor.core.publisher.Flux.zip;
 import static reactor.core.publisher.Mono.error;
 
 /**
  * DepartmentHandler - WebFlux Handler
  */
 @Component
-@RequiredArgsConstructor
-public class DepartmentHandler {
-    private final DepartmentService service;
-
-    /**
-     * Create Department
-     *
-     * @param request ServerRequest
-     *
-     * @return Mono ServerResponse
-     */
-    public Mono<ServerResponse> create(ServerRequest request) {
-        return request
-                .bodyToMono(DepartmentDTO.class)
-                .flatMap(department -> ServerResponse
-                        .status(CREATED)
-                        .contentType(APPLICATION_JSON)
-                        .body(service.create(department), DepartmentDTO.class))
-                .onErrorResume(e -> error(new ResourceBadRequestException(e.getMessage())));
-    }
-
+public class DepartmentHandler extends CrudHandler<DepartmentDTO, DepartmentService> {
     /**
-     * Delete Department by ID
-     *
-     * @param request ServerRequest
-     *
-     * @return Mono ServerResponse
+     * DepartmentHandler Constructor
+     * @param service DepartmentService
      */
-    public Mono<ServerResponse> deleteById(ServerRequest request) {
-        var id = request.pathVariable("id");
-        return service.deleteById(id)
-                .flatMap(departmentDTO -> ok().body(departmentDTO, DepartmentDTO.class))
-                .onErrorResume(e -> error(new ResourceNotFoundException(id)));
+    public DepartmentHandler(DepartmentService service) {
+        super(service, DepartmentDTO.class);
     }
 
     /**
-     * Find All Departments
-     *
+     * Delete Departments matching the Query Parameters
      * @param request ServerRequest
-     *
      * @return Mono ServerResponse
      */
-    public Mono<ServerResponse> findAll(ServerRequest request) {
-        return ServerResponse
-                .ok()
-                .contentType(APPLICATION_JSON)
-                .body(service.findAll(), DepartmentDTO.class);
+    public Mono<ServerResponse> deleteAllBy(ServerRequest request) {
+        return Mono.defer(() -> service.deleteAllBy(request.queryParams().toSingleValueMap()))
+                .flatMap(result -> ok()
+                        .contentType(APPLICATION_JSON)
+                        .bodyValue(result))
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> error(new ResourceBadRequestException(e.getMessage())));
     }
 
     /**
-     * Find Department by ID
+     * Find Department by ID or, with expand=location.city.state.country or a prefix of it,
+     * with its references resolved
      *
      * @param request ServerRequest
      *
      * @return Mono ServerResponse
      */
+    @Override
     public Mono<ServerResponse> findById(ServerRequest request) {
         var id = request.pathVariable("id");
-        return service
-                .findById(id)
-                .flatMap(departmentDTO -> ok()
-                        .contentType(APPLICATION_JSON)
-                        .body(departmentDTO, DepartmentDTO.class)
-                )
-                .onErrorResume(e -> error(new ResourceNotFoundException(id)));
+        var expand = request.queryParam(EXPAND);
+        if (expand.isPresent()) {
+            return service
+                    .findById(id, expand.get())
+                    .onErrorMap(IllegalArgumentException.class, e -> new ResourceBadRequestException(e.getMessage()))
+                    .flatMap(expanded -> ok()
+                            .contentType(APPLICATION_JSON)
+                            .bodyValue(expanded))
+                    .switchIfEmpty(error(new ResourceNotFoundException(id)));
+        }
+        return super.findById(request);
     }
 
     /**
@@ -101,12 +78,11 @@ public class DepartmentHandler {
      */
     public Mono<ServerResponse> findByLocationId(ServerRequest request) {
         var locationId = request.pathVariable("locationId");
-        return ServerResponse
-                .ok()
-                .contentType(APPLICATION_JSON)
-                .body(service.findByLocationId(locationId),
-                        DepartmentDTO.class)
-                .onErrorResume(e -> error(new ResourceNotFoundException(locationId)));
+        return streamProjected(request, DepartmentDTO.class,
+                        fields -> service.findByLocationId(locationId, fields),
+                        () -> service.findByLocationId(locationId))
+                .onErrorResume(e -> !(e instanceof ResourceBadRequestException),
+                        e -> error(new ResourceNotFoundException(locationId)));
     }
 
     /**
@@ -118,64 +94,60 @@ public class DepartmentHandler {
      */
     public Mono<ServerResponse> findByManagerId(ServerRequest request) {
         var managerId = request.pathVariable("managerId");
-        return ServerResponse
-                .ok()
-                .contentType(APPLICATION_JSON)
-                .body(service.findByManagerId(managerId), DepartmentDTO.class)
-                .onErrorResume(e -> error(new ResourceNotFoundException(managerId)));
+        return streamProjected(request, DepartmentDTO.class,
+                        fields -> service.findByManagerId(managerId, fields),
+                        () -> service.findByManagerId(managerId))
+                .onErrorResume(e -> !(e instanceof ResourceBadRequestException),
+                        e -> error(new ResourceNotFoundException(managerId)));
     }
+
     /**
-     * Search Departments by Name
+     * Find the Summary of a Department
      *
      * @param request ServerRequest
      *
      * @return Mono ServerResponse
      */
-    public Mono<ServerResponse> search(ServerRequest request) {
-        return request.queryParam("name")
-                .map(name -> ServerResponse
-                        .ok()
+    public Mono<ServerResponse> findSummaryById(ServerRequest request) {
+        var id = request.pathVariable("id");
+        return service
+                .findSummaryById(id)
+                .flatMap(summary -> ok()
                         .contentType(APPLICATION_JSON)
-                        .body(service
-                                .fetchByName(name)
-                                .flatMap(department -> zip(interval(ofSeconds(2)),
-                                        fromStream(generate(() -> department)))
-                                        .map(Tuple2::getT2)
-                                ), DepartmentDTO.class))
-                .orElseGet(() -> error(new ResourceNotFoundException()));
+                        .bodyValue(summary))
+                .switchIfEmpty(error(new ResourceNotFoundException(id)));
     }
 
     /**
-     * Stream all Departments
-     *
+     * Find the Summaries of every Department
      * @param request ServerRequest
-     *
      * @return Mono ServerResponse
      */
-    public Mono<ServerResponse> stream(ServerRequest request) {
-        return ServerResponse
-                .ok()
-                .contentType(APPLICATION_JSON)
-                .body(service.findAll()
-                        .flatMap(department -> zip(interval(ofSeconds(2)), fromStream(generate(() -> department)))
-                                .map(Tuple2::getT2)), DepartmentDTO.class);
+    public Mono<ServerResponse> findSummaries(ServerRequest request) {
+        return streamOk(request, service.findSummaries(), DepartmentSummaryDTO.class);
     }
 
     /**
-     * Update Department by ID
+     * Rebuild every Department Summary
+     * @param request ServerRequest
+     * @return Mono ServerResponse
+     */
+    public Mono<ServerResponse> rebuildSummaries(ServerRequest request) {
+        return streamOk(request, service.rebuildSummaries(), DepartmentSummaryDTO.class);
+    }
+
+    /**
+     * Search Departments by Name
      *
      * @param request ServerRequest
      *
      * @return Mono ServerResponse
      */
-    public Mono<ServerResponse> updateById(ServerRequest request) {
-        return request.bodyToMono(DepartmentDTO.class)
-                .flatMap(department -> ok()
-                        .contentType(APPLICATION_JSON)
-                        .body(service.updateById(request.pathVariable("id"), department),
-                                DepartmentDTO.class)
-                )
-                .onErrorResume(e -> error(new ResourceBadRequestException(e.getMessage())));
+    public Mono<ServerResponse> search(ServerRequest request) {
+        return request.queryParam("name")
+                .map(name -> Mono.defer(() -> streamOk(request,
+                        service.fetchByName(name, parseLimit(request.queryParam("limit").orElse(null))), DepartmentDTO.class)))
+                .orElseGet(() -> error(new ResourceNotFoundException()))
+                .onErrorResume(IllegalArgumentException.class, e -> error(new ResourceBadRequestException(e.getMessage())));
     }
-
 }
@@ -1,70 +1,53 @@
 package com.rct.humanresources.infra.handler;
 
 import com.rct.humanresources.core.model.dto.EmployeeDTO;
+import com.rct.humanresources.core.model.dto.EmployeeNodeDTO;
+import com.rct.humanresources.core.model.dto.PayrollStatsDTO;
 import com.rct.humanresources.core.service.EmployeeService;
 import com.rct.humanresources.infra.config.exception.ResourceBadRequestException;
 import com.rct.humanresources.infra.config.exception.ResourceNotFoundException;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Mono;
-import reactor.util.function.Tuple2;
 
-import static java.time.Duration.ofSeconds;
-import static java.util.stream.Stream.generate;
-import static org.springframework.http.HttpStatus.CREATED;
+import java.time.DateTimeException;
+
+import static com.rct.humanresources.core.model.mapper.DateTimeMapping.parse;
+import static com.rct.humanresources.core.util.CursorPagination.parseLimit;
+import static com.rct.humanresources.infra.handler.StreamingResponses.streamOk;
+import static com.rct.humanresources.infra.handler.StreamingResponses.streamProjected;
+import static com.rct.humanresources.infra.persistence.analytics.PayrollAnalytics.DEPARTMENT_ID;
+import static com.rct.humanresources.infra.persistence.hierarchy.OrgChart.parseDepth;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.web.reactive.function.server.ServerResponse.ok;
-import static reactor.core.publisher.Flux.fromStream;
-import static reactor.core.publisher.Flux.interval;
-import static reactor.core.publisher.Flux.zip;
 import static reactor.core.publisher.Mono.error;
 
 /**
  * EmployeeHandler - WebFlux Handler
  */
 @Component
-@RequiredArgsConstructor
-public class EmployeeHandler {
-    private final EmployeeService service;
-
+public class EmployeeHandler extends CrudHandler<EmployeeDTO, EmployeeService> {
     /**
-     * Create Employee
-     * @param request ServerRequest
-     * @return Mono ServerResponse
+     * EmployeeHandler Constructor
+     * @param service EmployeeService
      */
-    public Mono<ServerResponse> create(ServerRequest request) {
-        return request.bodyToMono(EmployeeDTO.class)
-                .flatMap(employee -> ServerResponse
-                        .status(CREATED)
-                        .contentType(APPLICATION_JSON)
-                        .body(service.create(employee), EmployeeDTO.class))
-                .onErrorResume(e -> error(new ResourceBadRequestException(e.getMessage())));
+    public EmployeeHandler(EmployeeService service) {
+        super(service, EmployeeDTO.class);
     }
 
     /**
-     * Delete Employee by ID
+     * Delete Employees matching the Query Parameters
      * @param request ServerRequest
      * @return Mono ServerResponse
      */
-    public Mono<ServerResponse> deleteById(ServerRequest request){
-        var id = request.pathVariable("id");
-        return service.deleteById(id)
-                .flatMap(employeeDTO -> ok().body(employeeDTO, EmployeeDTO.class))
-                .onErrorResume(e -> error(new ResourceNotFoundException(id)));
-    }
-
-    /**
-     * Find All Employees
-     * @param request ServerRequest
-     * @return Mono ServerResponse
-     */
-    public Mono<ServerResponse> findAll(ServerRequest request) {
-        return ServerResponse
-                .ok()
-                .contentType(APPLICATION_JSON)
-                .body(service.findAll(), EmployeeDTO.class);
+    public Mono<ServerResponse> deleteAllBy(ServerRequest request) {
+        return Mono.defer(() -> service.deleteAllBy(request.queryParams().toSingleValueMap()))
+                .flatMap(result -> ok()
+                        .contentType(APPLICATION_JSON)
+                        .bodyValue(result))
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> error(new ResourceBadRequestException(e.getMessage())));
     }
 
     /**
@@ -74,26 +57,11 @@ public class EmployeeHandler {
      */
     public Mono<ServerResponse> findByDepartmentId(ServerRequest request) {
         var departmentId = request.pathVariable("departmentId");
-        return ServerResponse
-                .ok()
-                .contentType(APPLICATION_JSON)
-                .body(service.findByDepartmentId(departmentId),
-                        EmployeeDTO.class)
-                .onErrorResume(e -> error(new ResourceNotFoundException(departmentId)));
-    }
-
-    /**
-     * Find Employee by ID
-     * @param request ServerRequest
-     * @return Mono ServerResponse
-     */
-    public Mono<ServerResponse> findById(ServerRequest request) {
-        var id = request.pathVariable("id");
-        return ServerResponse
-                .ok()
-                .contentType(APPLICATION_JSON)
-                .body(service.findById(id), EmployeeDTO.class)
-                .onErrorResume(e -> error(new ResourceNotFoundException(id)));
+        return streamProjected(request, EmployeeDTO.class,
+                        fields -> service.findByDepartmentId(departmentId, fields),
+                        () -> service.findByDepartmentId(departmentId))
+                .onErrorResume(e -> !(e instanceof ResourceBadRequestException),
+                        e -> error(new ResourceNotFoundException(departmentId)));
     }
 
     /**
@@ -103,12 +71,11 @@ public class EmployeeHandler {
      */
     public Mono<ServerResponse> findByJobId(ServerRequest request) {
         var jobId = request.pathVariable("jobId");
-        return ServerResponse
-                .ok()
-                .contentType(APPLICATION_JSON)
-                .body(service.findByJobId(jobId),
-                        EmployeeDTO.class)
-                .onErrorResume(e -> error(new ResourceNotFoundException(jobId)));
+        return streamProjected(request, EmployeeDTO.class,
+                        fields -> service.findByJobId(jobId, fields),
+                        () -> service.findByJobId(jobId))
+                .onErrorResume(e -> !(e instanceof ResourceBadRequestException),
+                        e -> error(new ResourceNotFoundException(jobId)));
     }
 
     /**
@@ -118,57 +85,69 @@ public class EmployeeHandler {
      */
     public Mono<ServerResponse> findByManagerId(ServerRequest request) {
         var managerId = request.pathVariable("managerId");
-        return ServerResponse
-                .ok()
-                .contentType(APPLICATION_JSON)
-                .body(service.findByManagerId(managerId),
-                        EmployeeDTO.class)
-                .onErrorResume(e -> error(new ResourceNotFoundException(managerId)));
+        return streamProjected(request, EmployeeDTO.class,
+                        fields -> service.findByManagerId(managerId, fields),
+                        () -> service.findByManagerId(managerId))
+                .onErrorResume(e -> !(e instanceof ResourceBadRequestException),
+                        e -> error(new ResourceNotFoundException(managerId)));
     }
 
     /**
-     * Search Employee by Name
+     * Find the Employees reporting to an Employee, by depth or, with tree=true, nested under their managers
      * @param request ServerRequest
      * @return Mono ServerResponse
      */
-    public Mono<ServerResponse> search(ServerRequest request) {
-        return request.queryParam("name")
-                .map(name -> ServerResponse
-                        .ok()
-                        .contentType(APPLICATION_JSON)
-                        .body(service.fetchByName(name),
-                                EmployeeDTO.class))
-                .orElseGet(() -> error(new ResourceNotFoundException()));
+    public Mono<ServerResponse> findSubordinates(ServerRequest request) {
+        var id = request.pathVariable("id");
+        var tree = request.queryParam("tree").map(Boolean::parseBoolean).orElse(false);
+        return Mono.fromCallable(() -> parseDepth(request.queryParam("depth").orElse(null)))
+                .onErrorMap(IllegalArgumentException.class, e -> new ResourceBadRequestException(e.getMessage()))
+                .flatMap(depth -> Boolean.TRUE.equals(tree)
+                        ? service.findSubordinateTree(id, depth)
+                                .switchIfEmpty(error(new ResourceNotFoundException(id)))
+                                .flatMap(root -> ok()
+                                        .contentType(APPLICATION_JSON)
+                                        .bodyValue(root))
+                        : streamOk(request, service.findSubordinates(id, depth), EmployeeNodeDTO.class));
     }
 
     /**
-     * Stream all Employees
+     * Find the management chain of an Employee, direct manager first
      * @param request ServerRequest
      * @return Mono ServerResponse
      */
-    public Mono<ServerResponse> stream(ServerRequest request) {
-        return ServerResponse
-                .ok()
-                .contentType(APPLICATION_JSON)
-                .body(service.findAll()
-                        .flatMap(employee -> zip(interval(ofSeconds(2)),
-                                fromStream(generate(() -> employee)))
-                                .map(Tuple2::getT2)
-                        ), EmployeeDTO.class);
+    public Mono<ServerResponse> findChain(ServerRequest request) {
+        return streamOk(request, service.findChain(request.pathVariable("id")), EmployeeNodeDTO.class);
     }
 
     /**
-     * Update Employee by ID
+     * Find Payroll Statistics grouped by the groupBy query parameter, departmentId by default,
+     * of the Employees hired between hiredFrom and hiredTo when given
      * @param request ServerRequest
      * @return Mono ServerResponse
      */
-    public Mono<ServerResponse> updateById(ServerRequest request) {
-        return request.bodyToMono(EmployeeDTO.class)
-                .flatMap(employee -> ok()
+    public Mono<ServerResponse> findPayrollStats(ServerRequest request) {
+        return Mono.fromCallable(() -> service.findPayrollStats(
+                        request.queryParam("groupBy").orElse(DEPARTMENT_ID),
+                        parse(request.queryParam("hiredFrom").orElse(null)),
+                        parse(request.queryParam("hiredTo").orElse(null))))
+                .flatMap(stats -> ok()
                         .contentType(APPLICATION_JSON)
-                        .body(service.updateById(request.pathVariable("id"), employee),
-                                EmployeeDTO.class))
-                .onErrorResume(e -> error(new ResourceBadRequestException(e.getMessage())));
+                        .body(stats, PayrollStatsDTO.class))
+                .onErrorMap(e -> e instanceof IllegalArgumentException || e instanceof DateTimeException,
+                        e -> new ResourceBadRequestException(e.getMessage()));
     }
 
+    /**
+     * Search Employee by Name
+     * @param request ServerRequest
+     * @return Mono ServerResponse
+     */
+    public Mono<ServerResponse> search(ServerRequest request) {
+        return request.queryParam("name")
+                .map(name -> Mono.defer(() -> streamOk(request,
+                        service.fetchByName(name, parseLimit(request.queryParam("limit").orElse(null))), EmployeeDTO.class)))
+                .orElseGet(() -> error(new ResourceNotFoundException()))
+                .onErrorResume(IllegalArgumentException.class, e -> error(new ResourceBadRequestException(e.getMessage())));
+    }
 }
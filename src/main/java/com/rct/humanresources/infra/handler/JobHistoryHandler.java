@@ -1,144 +1,136 @@
 package com.rct.humanresources.infra.handler;
 
+import com.rct.humanresources.core.model.dto.HeadcountPeriodDTO;
 import com.rct.humanresources.core.model.dto.JobHistoryDTO;
 import com.rct.humanresources.core.service.JobHistoryService;
 import com.rct.humanresources.infra.config.exception.ResourceBadRequestException;
 import com.rct.humanresources.infra.config.exception.ResourceNotFoundException;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Mono;
-import reactor.util.function.Tuple2;
 
-import static java.time.Duration.ofSeconds;
-import static java.util.stream.Stream.generate;
-import static org.springframework.http.HttpStatus.CREATED;
+import java.time.DateTimeException;
+
+import static com.rct.humanresources.core.model.mapper.DateTimeMapping.parse;
+import static com.rct.humanresources.infra.handler.StreamingResponses.streamOk;
+import static com.rct.humanresources.infra.handler.StreamingResponses.streamProjected;
+import static com.rct.humanresources.infra.persistence.timeline.JobHistoryTimeline.MONTH;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.web.reactive.function.server.ServerResponse.ok;
-import static reactor.core.publisher.Flux.fromStream;
-import static reactor.core.publisher.Flux.interval;
-import static reactor.core.publisher.Flux.zip;
 import static reactor.core.publisher.Mono.error;
 
 /**
  * JobHistoryHandler - WebFlux Handler
  */
 @Component
-@RequiredArgsConstructor
-public class JobHistoryHandler {
-    private final JobHistoryService service;
-
+public class JobHistoryHandler extends CrudHandler<JobHistoryDTO, JobHistoryService> {
     /**
-     * Create Job History
-     * @param request ServerRequest
-     * @return Mono ServerResponse
+     * JobHistoryHandler Constructor
+     * @param service JobHistoryService
      */
-    public Mono<ServerResponse> create(ServerRequest request) {
-        return request.bodyToMono(JobHistoryDTO.class)
-                .flatMap(jobHistory -> ServerResponse
-                        .status(CREATED)
-                        .contentType(APPLICATION_JSON)
-                        .body(service.create(jobHistory), JobHistoryDTO.class))
-                .onErrorResume(e -> error(new ResourceBadRequestException(e.getMessage())));
+    public JobHistoryHandler(JobHistoryService service) {
+        super(service, JobHistoryDTO.class);
     }
 
     /**
-     * Delete Job History by ID
+     * Delete Job Histories matching the Query Parameters
      * @param request ServerRequest
      * @return Mono ServerResponse
      */
-    public Mono<ServerResponse> deleteById(ServerRequest request){
-        var id = request.pathVariable("id");
-        return service.deleteById(id)
-                .flatMap(jobHistoryDTO -> ok().body(jobHistoryDTO, JobHistoryDTO.class))
-                .onErrorResume(e -> error(new ResourceNotFoundException(id)));
+    public Mono<ServerResponse> deleteAllBy(ServerRequest request) {
+        return Mono.defer(() -> service.deleteAllBy(request.queryParams().toSingleValueMap()))
+                .flatMap(result -> ok()
+                        .contentType(APPLICATION_JSON)
+                        .bodyValue(result))
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> error(new ResourceBadRequestException(e.getMessage())));
     }
 
     /**
-     * Find All Job Histories
+     * Find All Job Histories by Department ID
      * @param request ServerRequest
      * @return Mono ServerResponse
      */
-    public Mono<ServerResponse> findAll(ServerRequest request) {
-        return ServerResponse
-                .ok()
-                .contentType(APPLICATION_JSON)
-                .body(service.findAll(), JobHistoryDTO.class);
+    public Mono<ServerResponse> findByDepartmentId(ServerRequest request) {
+        var departmentId = request.pathVariable("departmentId");
+        return streamProjected(request, JobHistoryDTO.class,
+                        fields -> service.findByDepartmentId(departmentId, fields),
+                        () -> service.findByDepartmentId(departmentId))
+                .onErrorResume(e -> !(e instanceof ResourceBadRequestException),
+                        e -> error(new ResourceNotFoundException(departmentId)));
     }
 
     /**
-     * Find All Job Histories by Department ID
+     * Find All Job Histories by Job ID
      * @param request ServerRequest
      * @return Mono ServerResponse
      */
-    public Mono<ServerResponse> findByDepartmentId(ServerRequest request) {
-        var departmentId = request.pathVariable("departmentId");
-        return ServerResponse
-                .ok()
-                .contentType(APPLICATION_JSON)
-                .body(service.findByDepartmentId(departmentId), JobHistoryDTO.class)
-                .onErrorResume(e -> error(new ResourceNotFoundException(departmentId)));
+    public Mono<ServerResponse> findByJobId(ServerRequest request) {
+        var jobId = request.pathVariable("jobId");
+        return streamProjected(request, JobHistoryDTO.class,
+                        fields -> service.findByJobId(jobId, fields),
+                        () -> service.findByJobId(jobId))
+                .onErrorResume(e -> !(e instanceof ResourceBadRequestException),
+                        e -> error(new ResourceNotFoundException(jobId)));
     }
 
     /**
-     * Find Job History by ID
+     * Find All Job Histories by Employee ID
      * @param request ServerRequest
      * @return Mono ServerResponse
      */
-    public Mono<ServerResponse> findById(ServerRequest request) {
-        var id = request.pathVariable("id");
-        return service
-                .findById(id)
-                .flatMap(jobHistoryDTO -> ok()
-                        .contentType(APPLICATION_JSON)
-                        .body(jobHistoryDTO, JobHistoryDTO.class)
-                )
-                .onErrorResume(e -> error(new ResourceNotFoundException(id)));
+    public Mono<ServerResponse> findByEmployeeId(ServerRequest request) {
+        var employeeId = request.pathVariable("employeeId");
+        return streamProjected(request, JobHistoryDTO.class,
+                        fields -> service.findByEmployeeId(employeeId, fields),
+                        () -> service.findByEmployeeId(employeeId))
+                .onErrorResume(e -> !(e instanceof ResourceBadRequestException),
+                        e -> error(new ResourceNotFoundException(employeeId)));
     }
 
     /**
-     * Find All Job Histories by Job ID
+     * Find the Job Histories of the jobId, departmentId or employeeId query parameter
+     * holding at the date of the at query parameter
      * @param request ServerRequest
      * @return Mono ServerResponse
      */
-    public Mono<ServerResponse> findByJobId(ServerRequest request) {
-        var jobId = request.pathVariable("jobId");
-        return ServerResponse
-                .ok()
-                .contentType(APPLICATION_JSON)
-                .body(service.findByJobId(jobId), JobHistoryDTO.class)
-                .onErrorResume(e -> error(new ResourceNotFoundException(jobId)));
+    public Mono<ServerResponse> findAsOf(ServerRequest request) {
+        return Mono.fromCallable(() -> service.findAsOf(request.queryParams().toSingleValueMap(),
+                        parse(request.queryParam("at").orElse(null))))
+                .flatMap(histories -> streamOk(request, histories, JobHistoryDTO.class))
+                .onErrorMap(e -> e instanceof IllegalArgumentException || e instanceof DateTimeException,
+                        e -> new ResourceBadRequestException(e.getMessage()));
     }
 
     /**
-     * Stream all Job Histories
+     * Find the Job Histories of the jobId, departmentId or employeeId query parameter
+     * holding at any time between the from and to query parameters
      * @param request ServerRequest
      * @return Mono ServerResponse
      */
-    public Mono<ServerResponse> stream(ServerRequest request) {
-        return ServerResponse
-                .ok()
-                .contentType(APPLICATION_JSON)
-                .body(service.findAll()
-                        .flatMap(jobHistory -> zip(interval(ofSeconds(2)),
-                                fromStream(generate(() -> jobHistory)))
-                                .map(Tuple2::getT2)
-                        ), JobHistoryDTO.class);
+    public Mono<ServerResponse> findOverlapping(ServerRequest request) {
+        return Mono.fromCallable(() -> service.findOverlapping(request.queryParams().toSingleValueMap(),
+                        parse(request.queryParam("from").orElse(null)),
+                        parse(request.queryParam("to").orElse(null))))
+                .flatMap(histories -> streamOk(request, histories, JobHistoryDTO.class))
+                .onErrorMap(e -> e instanceof IllegalArgumentException || e instanceof DateTimeException,
+                        e -> new ResourceBadRequestException(e.getMessage()));
     }
 
     /**
-     * Update Job History by ID
+     * Find the Headcount of the jobId, departmentId or employeeId query parameter in each period,
+     * month by default, between the from and to query parameters
      * @param request ServerRequest
      * @return Mono ServerResponse
      */
-    public Mono<ServerResponse> updateById(ServerRequest request) {
-       return request.bodyToMono(JobHistoryDTO.class)
-                .flatMap(jobHistory -> ok()
-                        .contentType(APPLICATION_JSON)
-                        .body(service.updateById(request.pathVariable("id"), jobHistory),
-                                JobHistoryDTO.class))
-               .onErrorResume(e -> error(new ResourceBadRequestException(e.getMessage())));
+    public Mono<ServerResponse> findHeadcount(ServerRequest request) {
+        return Mono.fromCallable(() -> service.findHeadcount(request.queryParams().toSingleValueMap(),
+                        parse(request.queryParam("from").orElse(null)),
+                        parse(request.queryParam("to").orElse(null)),
+                        request.queryParam("period").orElse(MONTH)))
+                .flatMap(series -> streamOk(request, series, HeadcountPeriodDTO.class))
+                .onErrorMap(e -> e instanceof IllegalArgumentException || e instanceof DateTimeException,
+                        e -> new ResourceBadRequestException(e.getMessage()));
     }
-
 }
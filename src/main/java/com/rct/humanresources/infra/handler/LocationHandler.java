@@ -4,67 +4,43 @@ import com.rct.humanresources.core.model.dto.LocationDTO;
 import com.rct.humanresources.core.service.LocationService;
 import com.rct.humanresources.infra.config.exception.ResourceBadRequestException;
 import com.rct.humanresources.infra.config.exception.ResourceNotFoundException;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Mono;
-import reactor.util.function.Tuple2;
 
-import static java.time.Duration.ofSeconds;
-import static java.util.stream.Stream.generate;
-import static org.springframework.http.HttpStatus.CREATED;
+import static com.rct.humanresources.core.util.CursorPagination.parseLimit;
+import static com.rct.humanresources.infra.handler.StreamingResponses.streamOk;
+import static com.rct.humanresources.infra.handler.StreamingResponses.streamProjected;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.web.reactive.function.server.ServerResponse.ok;
-import static reactor.core.publisher.Flux.fromStream;
-import static reactor.core.publisher.Flux.interval;
-import static reactor.core.publisher.Flux.zip;
 import static reactor.core.publisher.Mono.error;
 
 /**
  * LocationHandler - WebFlux Handler
  */
 @Component
-@RequiredArgsConstructor
-public class LocationHandler {
-    private final LocationService service;
-
+public class LocationHandler extends CrudHandler<LocationDTO, LocationService> {
     /**
-     * Create Location
-     * @param request ServerRequest
-     * @return Mono ServerResponse
+     * LocationHandler Constructor
+     * @param service LocationService
      */
-    public Mono<ServerResponse> create(ServerRequest request) {
-        return request.bodyToMono(LocationDTO.class)
-                .flatMap(location -> ServerResponse
-                        .status(CREATED)
-                        .contentType(APPLICATION_JSON)
-                        .body(service.create(location), LocationDTO.class))
-                .onErrorResume(e -> error(new ResourceBadRequestException(e.getMessage())));
+    public LocationHandler(LocationService service) {
+        super(service, LocationDTO.class);
     }
 
     /**
-     * Delete Location by ID
+     * Delete Locations matching the Query Parameters
      * @param request ServerRequest
      * @return Mono ServerResponse
      */
-    public Mono<ServerResponse> deleteById(ServerRequest request){
-        var id = request.pathVariable("id");
-        return service.deleteById(id)
-                .flatMap(locationDTO -> ok().body(locationDTO, LocationDTO.class))
-                .onErrorResume(e -> error(new ResourceNotFoundException(id)));
-    }
-
-    /**
-     * Find All Locations
-     * @param request ServerRequest
-     * @return Mono ServerResponse
-     */
-    public Mono<ServerResponse> findAll(ServerRequest request) {
-        return ServerResponse
-                .ok()
-                .contentType(APPLICATION_JSON)
-                .body(service.findAll(), LocationDTO.class);
+    public Mono<ServerResponse> deleteAllBy(ServerRequest request) {
+        return Mono.defer(() -> service.deleteAllBy(request.queryParams().toSingleValueMap()))
+                .flatMap(result -> ok()
+                        .contentType(APPLICATION_JSON)
+                        .bodyValue(result))
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> error(new ResourceBadRequestException(e.getMessage())));
     }
 
     /**
@@ -74,27 +50,11 @@ public class LocationHandler {
      */
     public Mono<ServerResponse> findByCityId(ServerRequest request) {
         var cityId = request.pathVariable("cityId");
-        return ServerResponse
-                .ok()
-                .contentType(APPLICATION_JSON)
-                .body(service.findByCityId(cityId), LocationDTO.class)
-                .onErrorResume(e -> error(new ResourceNotFoundException(cityId)));
-    }
-
-    /**
-     * Find Location by ID
-     * @param request ServerRequest
-     * @return Mono ServerResponse
-     */
-    public Mono<ServerResponse> findById(ServerRequest request) {
-        var id = request.pathVariable("id");
-        return service
-                .findById(id)
-                .flatMap(locationDTO -> ok()
-                        .contentType(APPLICATION_JSON)
-                        .body(locationDTO, LocationDTO.class)
-                )
-                .onErrorResume(e -> error(new ResourceNotFoundException(id)));
+        return streamProjected(request, LocationDTO.class,
+                        fields -> service.findByCityId(cityId, fields),
+                        () -> service.findByCityId(cityId))
+                .onErrorResume(e -> !(e instanceof ResourceBadRequestException),
+                        e -> error(new ResourceNotFoundException(cityId)));
     }
 
     /**
@@ -104,40 +64,9 @@ public class LocationHandler {
      */
     public Mono<ServerResponse> search(ServerRequest request) {
         return request.queryParam("name")
-                .map(name -> ServerResponse
-                        .ok()
-                        .contentType(APPLICATION_JSON)
-                        .body(service.fetchByName(name), LocationDTO.class))
-                .orElseGet(() -> error(new ResourceNotFoundException()));
-
-    }
-    /**
-     * Stream all Locations
-     * @param request ServerRequest
-     * @return Mono ServerResponse
-     */
-    public Mono<ServerResponse> stream(ServerRequest request) {
-        return ServerResponse
-                .ok()
-                .contentType(APPLICATION_JSON)
-                .body(service.findAll()
-                        .flatMap(location -> zip(interval(ofSeconds(2)),
-                                fromStream(generate(() -> location)))
-                                .map(Tuple2::getT2)), LocationDTO.class);
+                .map(name -> Mono.defer(() -> streamOk(request,
+                        service.fetchByName(name, parseLimit(request.queryParam("limit").orElse(null))), LocationDTO.class)))
+                .orElseGet(() -> error(new ResourceNotFoundException()))
+                .onErrorResume(IllegalArgumentException.class, e -> error(new ResourceBadRequestException(e.getMessage())));
     }
-
-    /**
-     * Update Location by ID
-     * @param request ServerRequest
-     * @return Mono ServerResponse
-     */
-    public Mono<ServerResponse> updateById(ServerRequest request) {
-        return request.bodyToMono(LocationDTO.class)
-                .flatMap(location -> ok()
-                        .contentType(APPLICATION_JSON)
-                        .body(service.updateById(request.pathVariable("id"), location),
-                                LocationDTO.class))
-                .onErrorResume(e -> error(new ResourceBadRequestException(e.getMessage())));
-    }
-
 }
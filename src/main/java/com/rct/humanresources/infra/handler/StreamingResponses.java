@@ -0,0 +1,145 @@
+package com.rct.humanresources.infra.handler;
+
+import com.rct.humanresources.core.model.dto.ChangeEventDTO;
+import com.rct.humanresources.infra.config.exception.ResourceBadRequestException;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.rct.humanresources.core.util.FieldProjection.parseFields;
+import static com.rct.humanresources.core.util.FieldProjection.slim;
+import static java.time.Duration.ofSeconds;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM;
+import static org.springframework.web.reactive.function.BodyInserters.fromServerSentEvents;
+import static reactor.core.publisher.Flux.interval;
+
+/**
+ * Streaming Responses - Content negotiation for list bodies.
+ * The Flux is handed to the Jackson encoder as is: NDJSON writes one document per line and
+ * JSON writes a streamed array, both as Mongo emits each document and with backpressure.
+ * Change streams are written as Server-Sent Events carrying the resume token as event id,
+ * interleaved with heartbeat comments so idle connections survive proxies.
+ */
+public final class StreamingResponses {
+    public static final String LAST_EVENT_ID = "Last-Event-ID";
+    public static final Duration HEARTBEAT = ofSeconds(15);
+    public static final String FIELDS = "fields";
+
+    /**
+     * Stream a Flux body with the negotiated media type
+     * @param request ServerRequest
+     * @param body Flux body
+     * @param type Element Class
+     * @return Mono ServerResponse
+     * @param <T> Element Type
+     */
+    public static <T> Mono<ServerResponse> streamOk(ServerRequest request, Flux<T> body, Class<T> type) {
+        return ServerResponse
+                .ok()
+                .contentType(negotiate(request))
+                .body(body, type);
+    }
+
+    /**
+     * Stream a Flux body of a generic Element Type with the negotiated media type
+     * @param request ServerRequest
+     * @param body Flux body
+     * @param type Element Type Reference
+     * @return Mono ServerResponse
+     * @param <T> Element Type
+     */
+    public static <T> Mono<ServerResponse> streamOk(ServerRequest request, Flux<T> body, ParameterizedTypeReference<T> type) {
+        return ServerResponse
+                .ok()
+                .contentType(negotiate(request))
+                .body(body, type);
+    }
+
+    /**
+     * Stream the full DTOs, or slim documents holding only the fields query parameter when present
+     * @param request ServerRequest
+     * @param type DTO Class
+     * @param projected Flux DTO loading only the given Fields
+     * @param full Flux DTO loading every Field
+     * @return Mono ServerResponse, failing with ResourceBadRequestException on an unknown field
+     * @param <T> DTO Type
+     */
+    public static <T> Mono<ServerResponse> streamProjected(ServerRequest request, Class<T> type,
+                                                           Function<Set<String>, Flux<T>> projected,
+                                                           Supplier<Flux<T>> full) {
+        var fields = request.queryParam(FIELDS).filter(StringUtils::hasText);
+        if (fields.isEmpty()) {
+            return streamOk(request, full.get(), type);
+        }
+        return Mono.fromCallable(() -> parseFields(fields.get(), type))
+                .onErrorMap(IllegalArgumentException.class, e -> new ResourceBadRequestException(e.getMessage()))
+                .flatMap(names -> streamOk(request, projected.apply(names).map(dto -> slim(dto, names)),
+                        new ParameterizedTypeReference<Map<String, Object>>() {}));
+    }
+
+    /**
+     * Negotiate the list media type: NDJSON only when explicitly accepted, JSON array otherwise
+     * @param request ServerRequest
+     * @return MediaType
+     */
+    public static MediaType negotiate(ServerRequest request) {
+        return request.headers()
+                .accept()
+                .stream()
+                .anyMatch(APPLICATION_NDJSON::equalsTypeAndSubtype) ? APPLICATION_NDJSON : APPLICATION_JSON;
+    }
+
+    /**
+     * Stream Change Events as Server-Sent Events, resuming after the Last-Event-ID header when present
+     * @param request ServerRequest
+     * @param watch Change Stream by Resume Token
+     * @return Mono ServerResponse
+     * @param <T> Document Type
+     */
+    public static <T> Mono<ServerResponse> streamChanges(ServerRequest request,
+                                                         Function<String, Flux<ChangeEventDTO<T>>> watch) {
+        return ServerResponse
+                .ok()
+                .contentType(TEXT_EVENT_STREAM)
+                .body(fromServerSentEvents(serverSentEvents(watch.apply(
+                        request.headers().firstHeader(LAST_EVENT_ID)))));
+    }
+
+    /**
+     * Convert Change Events to Server-Sent Events, with a heartbeat comment while the stream is open
+     * @param changes Flux ChangeEventDTO
+     * @return Flux ServerSentEvent
+     * @param <T> Document Type
+     */
+    public static <T> Flux<ServerSentEvent<ChangeEventDTO<T>>> serverSentEvents(Flux<ChangeEventDTO<T>> changes) {
+        return changes.publish(shared -> Flux.merge(
+                shared.map(change -> ServerSentEvent
+                        .builder(change)
+                        .id(change.getResumeToken())
+                        .event(change.getOperation())
+                        .build()),
+                interval(HEARTBEAT, HEARTBEAT)
+                        .map(tick -> ServerSentEvent.<ChangeEventDTO<T>>builder().comment("heartbeat").build())
+                        .takeUntilOther(shared.then())));
+    }
+
+    /**
+     * Streaming Responses Constructor
+     */
+    private StreamingResponses() {
+        throw new IllegalStateException("Utility class");
+    }
+}
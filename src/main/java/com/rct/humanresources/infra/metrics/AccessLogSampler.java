@@ -0,0 +1,49 @@
+package com.rct.humanresources.infra.metrics;
+
+import reactor.netty.http.server.logging.AccessLogArgProvider;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * Access Log Sampler - Keeps every failed or slow request in the Reactor Netty access log and a random
+ * share of the others, so the log stays affordable under load without losing the requests worth reading
+ */
+public class AccessLogSampler implements Predicate<AccessLogArgProvider> {
+    private final double rate;
+    private final long slowMillis;
+
+    /**
+     * Access Log Sampler Constructor
+     * @param rate Share of the successful and fast requests logged, from 0 to 1
+     * @param slow Duration from which a request is always logged
+     */
+    public AccessLogSampler(double rate, Duration slow) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("Access log sample rate must be between 0 and 1, was " + rate);
+        }
+        this.rate = rate;
+        this.slowMillis = slow.toMillis();
+    }
+
+    @Override
+    public boolean test(AccessLogArgProvider args) {
+        return sampled(args.status(), args.duration(), ThreadLocalRandom.current().nextDouble());
+    }
+
+    /**
+     * Whether a Request is logged
+     * @param status Response Status, may be null when the connection closed first
+     * @param durationMillis Response Duration
+     * @param draw Random draw, from 0 inclusive to 1 exclusive
+     * @return boolean
+     */
+    boolean sampled(CharSequence status, long durationMillis, double draw) {
+        return isError(status) || durationMillis >= slowMillis || draw < rate;
+    }
+
+    private static boolean isError(CharSequence status) {
+        return status == null || status.isEmpty() || status.charAt(0) >= '4';
+    }
+}
@@ -0,0 +1,90 @@
+package com.rct.humanresources.infra.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Method Metrics Interceptor - Times every call of a bean, tagged with the bean and the method.
+ * Mono and Flux results are timed from subscription to termination, not from assembly,
+ * and a Flux also records how many elements it emitted
+ */
+public class MethodMetricsInterceptor implements MethodInterceptor {
+    public static final String SUCCESS = "success";
+    public static final String ERROR = "error";
+    public static final String CANCELLED = "cancelled";
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final String metricName;
+    private final String componentTag;
+    private final String component;
+
+    /**
+     * Method Metrics Interceptor Constructor
+     * @param meterRegistry MeterRegistry, resolved on the first call
+     * @param metricName Timer Name, the element count is published as metricName.elements
+     * @param componentTag Tag Key of the bean, e.g. service or repository
+     * @param component Tag Value of the bean
+     */
+    public MethodMetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistry, String metricName,
+                                    String componentTag, String component) {
+        this.meterRegistry = meterRegistry;
+        this.metricName = metricName;
+        this.componentTag = componentTag;
+        this.component = component;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        var tags = Tags.of(componentTag, component, "method", invocation.getMethod().getName());
+        var result = invocation.proceed();
+        if (result instanceof Mono<?> mono) {
+            return Mono.defer(() -> {
+                var sample = Timer.start(registry());
+                return mono.doFinally(signal -> stop(sample, tags, signal));
+            });
+        }
+        if (result instanceof Flux<?> flux) {
+            return Flux.defer(() -> {
+                var sample = Timer.start(registry());
+                var elements = new AtomicLong();
+                return flux
+                        .doOnNext(element -> elements.incrementAndGet())
+                        .doFinally(signal -> {
+                            stop(sample, tags, signal);
+                            DistributionSummary.builder(metricName + ".elements")
+                                    .tags(tags)
+                                    .register(registry())
+                                    .record(elements.get());
+                        });
+            });
+        }
+        return result;
+    }
+
+    private void stop(Timer.Sample sample, Tags tags, SignalType signal) {
+        sample.stop(Timer.builder(metricName)
+                .tags(tags.and("outcome", outcome(signal)))
+                .register(registry()));
+    }
+
+    private MeterRegistry registry() {
+        return meterRegistry.getObject();
+    }
+
+    private static String outcome(SignalType signal) {
+        return switch (signal) {
+            case ON_ERROR -> ERROR;
+            case CANCEL -> CANCELLED;
+            default -> SUCCESS;
+        };
+    }
+}
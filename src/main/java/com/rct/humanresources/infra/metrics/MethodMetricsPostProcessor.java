@@ -0,0 +1,57 @@
+package com.rct.humanresources.infra.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+
+import java.util.function.Predicate;
+
+/**
+ * Method Metrics Post Processor - Adds a MethodMetricsInterceptor in front of every bean matching
+ * the predicate, joining the existing proxy (transactions, Spring Data repositories) when there is one
+ */
+public class MethodMetricsPostProcessor implements BeanPostProcessor, Ordered {
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final String metricName;
+    private final String componentTag;
+    private final Predicate<Object> eligible;
+
+    /**
+     * Method Metrics Post Processor Constructor
+     * @param meterRegistry MeterRegistry, resolved on the first call
+     * @param metricName Timer Name
+     * @param componentTag Tag Key of the bean
+     * @param eligible Beans to instrument
+     */
+    public MethodMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry, String metricName,
+                                      String componentTag, Predicate<Object> eligible) {
+        this.meterRegistry = meterRegistry;
+        this.metricName = metricName;
+        this.componentTag = componentTag;
+        this.eligible = eligible;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!eligible.test(bean)) {
+            return bean;
+        }
+        var interceptor = new MethodMetricsInterceptor(meterRegistry, metricName, componentTag, beanName);
+        if (bean instanceof Advised advised && !advised.isFrozen() && AopUtils.isAopProxy(bean)) {
+            advised.addAdvice(0, interceptor);
+            return bean;
+        }
+        var proxyFactory = new ProxyFactory(bean);
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
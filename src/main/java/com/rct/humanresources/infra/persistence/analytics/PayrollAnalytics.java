@@ -0,0 +1,117 @@
+package com.rct.humanresources.infra.persistence.analytics;
+
+import com.rct.humanresources.core.model.dto.PayrollStatsDTO;
+import com.rct.humanresources.infra.persistence.model.Employee;
+import com.rct.humanresources.infra.persistence.read.ReadPreferences;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.springframework.data.domain.Sort.Direction.ASC;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.sort;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Payroll Analytics - Headcount and salary statistics computed by one aggregation pipeline,
+ * so only one document per group leaves Mongo. Percentiles use the approximate $percentile
+ * accumulator, available from MongoDB 7.0. It reads with the analytics read preference
+ */
+@Component
+@RequiredArgsConstructor
+public class PayrollAnalytics {
+    public static final String DEPARTMENT_ID = "departmentId";
+    public static final String JOB_ID = "jobId";
+    public static final Set<String> GROUP_BY = Set.of(DEPARTMENT_ID, JOB_ID);
+    private static final String HIRE_DATE = "hireDate";
+    private static final String SALARY = "$salary";
+    private static final String PERCENTILES = "percentiles";
+    private static final List<Double> PERCENTAGES = List.of(0.5, 0.9, 0.99);
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final ReadPreferences readPreferences;
+
+    /**
+     * Compute Payroll Statistics per Group
+     * @param groupBy departmentId or jobId
+     * @param hiredFrom Hire Date lower bound, inclusive, may be null
+     * @param hiredTo Hire Date upper bound, exclusive, may be null
+     * @return Flux PayrollStatsDTO, by Group ID
+     * @throws IllegalArgumentException on an unknown groupBy, before anything is subscribed
+     */
+    public Flux<PayrollStatsDTO> salaryStats(String groupBy, LocalDateTime hiredFrom, LocalDateTime hiredTo) {
+        if (!GROUP_BY.contains(groupBy)) {
+            throw new IllegalArgumentException("Unknown groupBy " + groupBy + ", expected one of " + new TreeSet<>(GROUP_BY));
+        }
+        var aggregation = newAggregation(Employee.class,
+                match(hired(hiredFrom, hiredTo)),
+                group(groupBy),
+                sort(ASC, "_id"))
+                .withOptions(AggregationOptions.builder().readPreference(readPreferences.getAnalytics()).build());
+        return reactiveMongoTemplate
+                .aggregate(aggregation, Document.class)
+                .map(document -> stats(groupBy, document));
+    }
+
+    private static Criteria hired(LocalDateTime hiredFrom, LocalDateTime hiredTo) {
+        var criteria = new Criteria();
+        if (hiredFrom == null && hiredTo == null) {
+            return criteria;
+        }
+        var hireDate = where(HIRE_DATE);
+        if (hiredFrom != null) {
+            hireDate.gte(hiredFrom);
+        }
+        if (hiredTo != null) {
+            hireDate.lt(hiredTo);
+        }
+        return hireDate;
+    }
+
+    private static AggregationOperation group(String groupBy) {
+        return context -> new Document("$group", new Document("_id", "$" + groupBy)
+                .append("headcount", new Document("$sum", 1))
+                .append("totalSalary", new Document("$sum", SALARY))
+                .append("averageSalary", new Document("$avg", SALARY))
+                .append("minSalary", new Document("$min", SALARY))
+                .append("maxSalary", new Document("$max", SALARY))
+                .append(PERCENTILES, new Document("$percentile", new Document("input", SALARY)
+                        .append("p", PERCENTAGES)
+                        .append("method", "approximate")))
+                .append("totalCommission", new Document("$sum", "$commission")));
+    }
+
+    private static PayrollStatsDTO stats(String groupBy, Document document) {
+        var percentiles = document.getList(PERCENTILES, Number.class, List.of());
+        return new PayrollStatsDTO(groupBy,
+                document.get("_id") == null ? null : document.get("_id").toString(),
+                document.get("headcount", Number.class).longValue(),
+                number(document, "totalSalary"),
+                number(document, "averageSalary"),
+                number(document, "minSalary"),
+                number(document, "maxSalary"),
+                percentile(percentiles, 0),
+                percentile(percentiles, 1),
+                percentile(percentiles, 2),
+                number(document, "totalCommission"));
+    }
+
+    private static Double number(Document document, String field) {
+        var value = document.get(field, Number.class);
+        return value == null ? null : value.doubleValue();
+    }
+
+    private static Double percentile(List<Number> percentiles, int index) {
+        return index < percentiles.size() && percentiles.get(index) != null ? percentiles.get(index).doubleValue() : null;
+    }
+}
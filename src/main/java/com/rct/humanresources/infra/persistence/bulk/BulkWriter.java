@@ -0,0 +1,171 @@
+package com.rct.humanresources.infra.persistence.bulk;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteInsert;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.rct.humanresources.core.model.dto.BatchItemResultDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static com.rct.humanresources.infra.persistence.update.PartialUpdater.update;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
+import static org.springframework.data.mongodb.core.BulkOperations.BulkMode.UNORDERED;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Bulk Writer - Saves a stream of documents through unordered bulk writes.
+ * The stream is cut into chunks and each chunk is a single bulkWrite round trip: documents
+ * without an id are inserted, documents with an id are upserted, every property set or unset
+ * as a replace by id would, the stored creation date kept and only set when the document is
+ * missing. Unordered writes carry on past a failing document, so every item gets its own
+ * result, emitted in request order.
+ */
+@Slf4j
+@Component
+public class BulkWriter {
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String FAILED = "FAILED";
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final int chunkSize;
+    private final int concurrency;
+
+    public BulkWriter(ReactiveMongoTemplate reactiveMongoTemplate,
+                      @Value("${humanresources.bulk.chunk-size:1000}") int chunkSize,
+                      @Value("${humanresources.bulk.concurrency:4}") int concurrency) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.chunkSize = chunkSize;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Write Documents in unordered Bulk Operations
+     * @param type Document Class
+     * @param documents Flux of Documents
+     * @param mapper Document to DTO
+     * @return Flux BatchItemResultDTO, one per Document
+     * @param <T> Document Type
+     * @param <R> DTO Type
+     */
+    public <T, R> Flux<BatchItemResultDTO<R>> write(Class<T> type, Flux<T> documents, Function<T, R> mapper) {
+        var entity = reactiveMongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(type);
+        return documents
+                .index()
+                .buffer(chunkSize)
+                .flatMapSequential(chunk -> write(type, entity, chunk, mapper), concurrency);
+    }
+
+    private <T, R> Flux<BatchItemResultDTO<R>> write(Class<T> type, MongoPersistentEntity<?> entity,
+                                                     List<Tuple2<Long, T>> chunk, Function<T, R> mapper) {
+        var operations = reactiveMongoTemplate.bulkOps(UNORDERED, type);
+        chunk.forEach(item -> {
+            var id = entity.getIdentifierAccessor(item.getT2()).getIdentifier();
+            if (id == null) {
+                operations.insert(item.getT2());
+            } else {
+                operations.upsert(query(where("id").is(id)), replacement(entity, item.getT2()));
+            }
+        });
+        return operations
+                .execute()
+                .map(result -> results(entity, chunk, result, Map.<Integer, BulkWriteError>of(), mapper))
+                .onErrorResume(e -> bulkWriteException(e) != null, e -> {
+                    var failure = bulkWriteException(e);
+                    log.warn("Bulk write of {} {} documents had {} failures", chunk.size(), entity.getCollection(),
+                            failure.getWriteErrors().size());
+                    return Mono.just(results(entity, chunk, failure.getWriteResult(), failure.getWriteErrors()
+                            .stream()
+                            .collect(toMap(BulkWriteError::getIndex, Function.identity())), mapper));
+                })
+                .flatMapIterable(Function.identity());
+    }
+
+    /**
+     * Build the Upsert replacing a Document by id, keeping the stored creation date
+     * @param entity MongoPersistentEntity
+     * @param model Document
+     * @return Update
+     */
+    private Update replacement(MongoPersistentEntity<?> entity, Object model) {
+        var document = new Document();
+        reactiveMongoTemplate.getConverter().write(model, document);
+        var replacement = update(entity, document, null);
+        var createdDate = entity.getPersistentProperty(CreatedDate.class);
+        if (createdDate != null) {
+            var createdAt = document.get(createdDate.getFieldName());
+            replacement.setOnInsert(createdDate.getFieldName(), createdAt != null ? createdAt : new Date());
+        }
+        return replacement;
+    }
+
+    private <T, R> List<BatchItemResultDTO<R>> results(MongoPersistentEntity<?> entity, List<Tuple2<Long, T>> chunk,
+                                                       BulkWriteResult result, Map<Integer, BulkWriteError> errors,
+                                                       Function<T, R> mapper) {
+        var inserted = result.getInserts().stream().collect(toMap(BulkWriteInsert::getIndex, BulkWriteInsert::getId));
+        var upserted = result.getUpserts().stream().map(BulkWriteUpsert::getIndex).collect(toSet());
+        var results = new ArrayList<BatchItemResultDTO<R>>(chunk.size());
+        for (var position = 0; position < chunk.size(); position++) {
+            var index = chunk.get(position).getT1();
+            var document = chunk.get(position).getT2();
+            var error = errors.get(position);
+            if (error != null) {
+                results.add(new BatchItemResultDTO<>(index, FAILED, idOf(entity, document), null, error.getMessage()));
+                continue;
+            }
+            var generated = inserted.get(position);
+            if (generated != null) {
+                assignId(entity, document, generated);
+            }
+            var status = generated != null || upserted.contains(position) ? CREATED : UPDATED;
+            results.add(new BatchItemResultDTO<>(index, status, idOf(entity, document), mapper.apply(document), null));
+        }
+        return results;
+    }
+
+    private void assignId(MongoPersistentEntity<?> entity, Object document, BsonValue id) {
+        var property = entity.getRequiredIdProperty();
+        var value = id.isObjectId() ? id.asObjectId().getValue() : id.isString() ? id.asString().getValue() : id;
+        entity.getPropertyAccessor(document).setProperty(property, reactiveMongoTemplate.getConverter()
+                .getConversionService()
+                .convert(value, property.getType()));
+    }
+
+    private static String idOf(MongoPersistentEntity<?> entity, Object document) {
+        var id = entity.getIdentifierAccessor(document).getIdentifier();
+        return id == null ? null : id.toString();
+    }
+
+    /**
+     * Find the Bulk Write Exception behind a translated Error
+     * @param error Throwable
+     * @return MongoBulkWriteException or null
+     */
+    static MongoBulkWriteException bulkWriteException(Throwable error) {
+        for (var cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoBulkWriteException bulkWriteException) {
+                return bulkWriteException;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,137 @@
+package com.rct.humanresources.infra.persistence.expand;
+
+import com.rct.humanresources.core.model.dto.ExpandedDepartmentDTO;
+import com.rct.humanresources.core.model.mapper.CityMapper;
+import com.rct.humanresources.core.model.mapper.CountryMapper;
+import com.rct.humanresources.core.model.mapper.DepartmentMapper;
+import com.rct.humanresources.core.model.mapper.LocationMapper;
+import com.rct.humanresources.core.model.mapper.StateMapper;
+import com.rct.humanresources.infra.persistence.model.City;
+import com.rct.humanresources.infra.persistence.model.Country;
+import com.rct.humanresources.infra.persistence.model.Department;
+import com.rct.humanresources.infra.persistence.model.Location;
+import com.rct.humanresources.infra.persistence.model.State;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Department Expander - Resolves the location.city.state.country chain of a Department in one
+ * aggregation, each level a nested $lookup on _id, instead of one findById round trip per level.
+ * References stored as ObjectId hex Strings are converted before the match, other ids are compared as they are
+ */
+@Component
+@RequiredArgsConstructor
+public class DepartmentExpander {
+    public static final String EXPAND = "expand";
+    private static final String ID = "_id";
+    private static final String REFERENCE = "$$reference";
+    private static final List<Level> LEVELS = List.of(
+            new Level("location", "locationId", Location.class),
+            new Level("city", "cityId", City.class),
+            new Level("state", "stateId", State.class),
+            new Level("country", "countryId", Country.class));
+    private static final String PATHS = String.join(".", LEVELS.stream().map(Level::name).toList());
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final DepartmentMapper departmentMapper;
+    private final LocationMapper locationMapper;
+    private final CityMapper cityMapper;
+    private final StateMapper stateMapper;
+    private final CountryMapper countryMapper;
+
+    /**
+     * Find a Department with its references resolved
+     * @param id Department ID
+     * @param depth Levels to resolve, 1 for the location only, up to 4 for the country
+     * @return Mono ExpandedDepartmentDTO, empty when the Department is not found
+     */
+    public Mono<ExpandedDepartmentDTO> findById(String id, int depth) {
+        var stages = new ArrayList<AggregationOperation>();
+        stages.add(match(where("id").is(id)));
+        if (depth > 0) {
+            stages.add(context -> lookup(0, depth));
+        }
+        return reactiveMongoTemplate
+                .aggregate(newAggregation(Department.class, stages), Document.class)
+                .next()
+                .map(this::expanded);
+    }
+
+    /**
+     * Parse the expand query parameter
+     * @param expand Raw parameter, a prefix of location.city.state.country, may be null
+     * @return Levels to resolve, 0 when absent
+     */
+    public static int parseDepth(String expand) {
+        if (expand == null || expand.isBlank()) {
+            return 0;
+        }
+        var path = expand.trim();
+        if (!(PATHS + ".").startsWith(path + ".")) {
+            throw new IllegalArgumentException("Unknown expand " + expand + ", expected a prefix of " + PATHS);
+        }
+        return path.split("\\.").length;
+    }
+
+    private Document lookup(int level, int depth) {
+        var current = LEVELS.get(level);
+        var reference = new Document("$convert", new Document("input", REFERENCE)
+                .append("to", "objectId")
+                .append("onError", REFERENCE)
+                .append("onNull", null));
+        var pipeline = new ArrayList<Document>();
+        pipeline.add(new Document("$match", new Document("$expr", new Document("$eq", List.of("$" + ID, reference)))));
+        pipeline.add(new Document("$limit", 1));
+        if (level + 1 < depth) {
+            pipeline.add(lookup(level + 1, depth));
+        }
+        return new Document("$lookup", new Document("from", reactiveMongoTemplate.getCollectionName(current.type()))
+                .append("let", new Document("reference", "$" + current.reference()))
+                .append("pipeline", pipeline)
+                .append("as", current.name()));
+    }
+
+    private ExpandedDepartmentDTO expanded(Document document) {
+        var converter = reactiveMongoTemplate.getConverter();
+        var expanded = new ExpandedDepartmentDTO();
+        expanded.setDepartment(departmentMapper.fromModel(converter.read(Department.class, document)));
+        var location = first(document, LEVELS.get(0));
+        var city = first(location, LEVELS.get(1));
+        var state = first(city, LEVELS.get(2));
+        var country = first(state, LEVELS.get(3));
+        if (location != null) {
+            expanded.setLocation(locationMapper.fromModel(converter.read(Location.class, location)));
+        }
+        if (city != null) {
+            expanded.setCity(cityMapper.fromModel(converter.read(City.class, city)));
+        }
+        if (state != null) {
+            expanded.setState(stateMapper.fromModel(converter.read(State.class, state)));
+        }
+        if (country != null) {
+            expanded.setCountry(countryMapper.fromModel(converter.read(Country.class, country)));
+        }
+        return expanded;
+    }
+
+    private static Document first(Document parent, Level level) {
+        if (parent == null) {
+            return null;
+        }
+        var matches = parent.getList(level.name(), Document.class, List.of());
+        return matches.isEmpty() ? null : matches.getFirst();
+    }
+
+    private record Level(String name, String reference, Class<?> type) {
+    }
+}
@@ -0,0 +1,153 @@
+package com.rct.humanresources.infra.persistence.hierarchy;
+
+import com.mongodb.client.result.UpdateResult;
+import com.rct.humanresources.core.model.dto.EmployeeDTO;
+import com.rct.humanresources.core.model.dto.EmployeeNodeDTO;
+import com.rct.humanresources.infra.persistence.model.Employee;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.aggregation.GraphLookupOperation;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.springframework.data.domain.Sort.Direction.ASC;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.replaceRoot;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.sort;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.unwind;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Org Chart - Reporting lines walked by a single $graphLookup over the managerId index,
+ * instead of one findByManagerId round trip per level. Results are streamed nearest level first
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrgChart {
+    public static final int MAX_DEPTH = 10;
+    public static final String DEPTH = "depth";
+    private static final String ID = "_id";
+    private static final String MANAGER_ID = "managerId";
+    private static final String NODES = "nodes";
+    private static final String OBJECT_ID_TYPE = "objectId";
+    private static final int STRING_TYPE = 2;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    /**
+     * Find the Employees reporting, directly or not, to an Employee
+     * @param id Employee ID
+     * @param depth Levels below the Employee, 1 for direct reports only
+     * @param mapper Employee to DTO
+     * @return Flux EmployeeNodeDTO, by depth
+     */
+    public Flux<EmployeeNodeDTO> subordinates(String id, int depth, Function<Employee, EmployeeDTO> mapper) {
+        return walk(id, Aggregation.graphLookup(collection())
+                .startWith(ID)
+                .connectFrom(ID)
+                .connectTo(MANAGER_ID)
+                .maxDepth(depth - 1L)
+                .depthField(DEPTH)
+                .as(NODES), mapper);
+    }
+
+    /**
+     * Find the management chain of an Employee, from the direct manager up to the top
+     * @param id Employee ID
+     * @param mapper Employee to DTO
+     * @return Flux EmployeeNodeDTO, by depth
+     */
+    public Flux<EmployeeNodeDTO> chain(String id, Function<Employee, EmployeeDTO> mapper) {
+        return walk(id, Aggregation.graphLookup(collection())
+                .startWith(MANAGER_ID)
+                .connectFrom(MANAGER_ID)
+                .connectTo(ID)
+                .depthField(DEPTH)
+                .as(NODES), mapper);
+    }
+
+    /**
+     * Convert managerId values stored as Strings to ObjectIds, so $graphLookup compares them with _id.
+     * Values that are not ObjectIds are left as they are
+     * @return Mono Long Documents updated
+     */
+    public Mono<Long> migrateManagerIds() {
+        var update = AggregationUpdate.update()
+                .set(MANAGER_ID).toValue(ConvertOperators.Convert.convertValueOf(MANAGER_ID)
+                        .to(OBJECT_ID_TYPE)
+                        .onErrorReturnValueOf(MANAGER_ID));
+        return reactiveMongoTemplate
+                .updateMulti(query(where(MANAGER_ID).type(STRING_TYPE)), update, collection())
+                .map(UpdateResult::getModifiedCount)
+                .doOnNext(count -> {
+                    if (count > 0) {
+                        log.info("Migrated managerId of {} employees to ObjectId", count);
+                    }
+                });
+    }
+
+    /**
+     * Nest Subordinates under their managers, starting at the given Employee
+     * @param root Requested Employee
+     * @param subordinates Flat Subordinates
+     * @return EmployeeNodeDTO
+     */
+    public static EmployeeNodeDTO tree(EmployeeDTO root, List<EmployeeNodeDTO> subordinates) {
+        var reportsByManager = new HashMap<String, List<EmployeeNodeDTO>>();
+        subordinates.forEach(node -> reportsByManager
+                .computeIfAbsent(node.getEmployee().getManagerId(), key -> new ArrayList<>())
+                .add(node));
+        subordinates.forEach(node -> node.setReports(reportsByManager.getOrDefault(node.getEmployee().getId(), List.of())));
+        return new EmployeeNodeDTO(root, 0, reportsByManager.getOrDefault(root.getId(), List.of()));
+    }
+
+    /**
+     * Parse the depth query parameter
+     * @param depth Raw parameter, may be null
+     * @return Depth, MAX_DEPTH when absent
+     */
+    public static int parseDepth(String depth) {
+        try {
+            var parsed = depth == null ? MAX_DEPTH : Integer.parseInt(depth);
+            if (parsed < 1 || parsed > MAX_DEPTH) {
+                throw new IllegalArgumentException("depth must be between 1 and " + MAX_DEPTH + ": " + depth);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("depth must be a number: " + depth);
+        }
+    }
+
+    private Flux<EmployeeNodeDTO> walk(String id, GraphLookupOperation graphLookup, Function<Employee, EmployeeDTO> mapper) {
+        var aggregation = newAggregation(
+                match(where(ID).is(ObjectId.isValid(id) ? new ObjectId(id) : id)),
+                graphLookup,
+                unwind(NODES),
+                replaceRoot(NODES),
+                sort(ASC, DEPTH, ID));
+        return reactiveMongoTemplate
+                .aggregate(aggregation, collection(), Document.class)
+                .map(document -> new EmployeeNodeDTO(
+                        mapper.apply(reactiveMongoTemplate.getConverter().read(Employee.class, document)),
+                        document.get(DEPTH, Number.class).longValue() + 1,
+                        null));
+    }
+
+    private String collection() {
+        return reactiveMongoTemplate.getCollectionName(Employee.class);
+    }
+}
@@ -0,0 +1,62 @@
+package com.rct.humanresources.infra.persistence.index;
+
+import com.rct.humanresources.infra.persistence.model.City;
+import com.rct.humanresources.infra.persistence.model.Department;
+import com.rct.humanresources.infra.persistence.model.Employee;
+import com.rct.humanresources.infra.persistence.model.JobHistory;
+import com.rct.humanresources.infra.persistence.model.Location;
+import com.rct.humanresources.infra.persistence.model.State;
+import com.rct.humanresources.infra.persistence.search.SearchCatalog;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.springframework.data.domain.Sort.Direction.ASC;
+
+/**
+ * Index Catalog - Secondary and compound indexes declared per persistence model.
+ * Every index is named, so the reconciler can tell a missing index from a changed one.
+ * Compound indexes lead with the equality field of the repository query they serve.
+ */
+public final class IndexCatalog {
+
+    /**
+     * Declared Indexes by Model, including the search indexes of the SearchCatalog
+     * @param textIndexes Declare the $text search indexes
+     * @return Map Model Class, List IndexDefinition
+     */
+    public static Map<Class<?>, List<IndexDefinition>> indexes(boolean textIndexes) {
+        var indexes = new LinkedHashMap<Class<?>, List<IndexDefinition>>();
+        indexes.put(Employee.class, List.of(
+                new Index().on("departmentId", ASC).on("lastName", ASC).named("employees_departmentId_lastName"),
+                new Index().on("managerId", ASC).named("employees_managerId"),
+                new Index().on("jobId", ASC).named("employees_jobId")));
+        indexes.put(Department.class, List.of(
+                new Index().on("managerId", ASC).named("departments_managerId"),
+                new Index().on("locationId", ASC).named("departments_locationId")));
+        indexes.put(JobHistory.class, List.of(
+                new Index().on("jobId", ASC).on("startDate", ASC).on("endDate", ASC).named("job_histories_jobId_startDate_endDate"),
+                new Index().on("departmentId", ASC).on("startDate", ASC).on("endDate", ASC).named("job_histories_departmentId_startDate_endDate"),
+                new Index().on("employeeId", ASC).on("startDate", ASC).on("endDate", ASC).named("job_histories_employeeId_startDate_endDate")));
+        indexes.put(Location.class, List.of(
+                new Index().on("cityId", ASC).named("locations_cityId")));
+        indexes.put(City.class, List.of(
+                new Index().on("stateId", ASC).on("name", ASC).named("cities_stateId_name")));
+        indexes.put(State.class, List.of(
+                new Index().on("countryId", ASC).on("name", ASC).named("states_countryId_name")));
+        SearchCatalog.indexes(textIndexes).forEach((type, search) -> indexes.merge(type, search,
+                (declared, added) -> Stream.concat(declared.stream(), added.stream()).toList()));
+        return indexes;
+    }
+
+    /**
+     * Index Catalog Constructor
+     */
+    private IndexCatalog() {
+        throw new IllegalStateException("Utility class");
+    }
+}
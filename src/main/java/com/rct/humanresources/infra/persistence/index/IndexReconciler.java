@@ -0,0 +1,122 @@
+package com.rct.humanresources.infra.persistence.index;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.springframework.data.domain.Sort.Direction.DESC;
+
+/**
+ * Index Reconciler - Brings each collection in line with the IndexCatalog through indexOps.
+ * Missing indexes are created, indexes whose keys changed are rebuilt, and indexes the catalog
+ * does not know are reported, or dropped when humanresources.mongodb.indexes.drop-unknown is set.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndexReconciler {
+    private static final String ID_INDEX = "_id_";
+    private static final String TEXT = ":text";
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    @Value("${humanresources.mongodb.indexes.drop-unknown:false}")
+    private boolean dropUnknown;
+    @Value("${humanresources.search.text-enabled:false}")
+    private boolean textIndexes;
+
+    /**
+     * Reconcile every Collection of the Catalog
+     * @return Flux Name of each Index created, rebuilt or dropped
+     */
+    public Flux<String> reconcile() {
+        return reconcile(IndexCatalog.indexes(textIndexes));
+    }
+
+    /**
+     * Reconcile the given Collections
+     * @param catalog Map Model Class, List Index
+     * @return Flux Name of each Index created, rebuilt or dropped
+     */
+    public Flux<String> reconcile(Map<Class<?>, List<IndexDefinition>> catalog) {
+        return Flux.fromIterable(catalog.entrySet())
+                .concatMap(entry -> reconcile(entry.getKey(), entry.getValue()));
+    }
+
+    private Flux<String> reconcile(Class<?> type, List<IndexDefinition> declared) {
+        var operations = reactiveMongoTemplate.indexOps(type);
+        var declaredNames = declared.stream().map(IndexReconciler::nameOf).toList();
+        return operations.getIndexInfo()
+                .collectMap(IndexInfo::getName)
+                .flatMapMany(existing -> Flux.concat(
+                        Flux.fromIterable(declared).concatMap(index -> ensure(operations, existing, index)),
+                        Flux.fromIterable(existing.keySet())
+                                .filter(name -> !ID_INDEX.equals(name) && !declaredNames.contains(name))
+                                .concatMap(name -> unknown(operations, type, name))));
+    }
+
+    private Mono<String> ensure(ReactiveIndexOperations operations, Map<String, IndexInfo> existing, IndexDefinition index) {
+        var current = existing.get(nameOf(index));
+        if (current == null) {
+            return operations.ensureIndex(index)
+                    .doOnNext(name -> log.info("Created index {} {}", name, index.getIndexKeys().toJson()));
+        }
+        if (keysOf(current).equals(keysOf(index.getIndexKeys()))) {
+            return Mono.empty();
+        }
+        return operations.dropIndex(current.getName())
+                .then(operations.ensureIndex(index))
+                .doOnNext(name -> log.info("Rebuilt index {} {}", name, index.getIndexKeys().toJson()));
+    }
+
+    private Mono<String> unknown(ReactiveIndexOperations operations, Class<?> type, String name) {
+        if (!dropUnknown) {
+            log.warn("Index {} on {} is not declared in the IndexCatalog", name, type.getSimpleName());
+            return Mono.empty();
+        }
+        return operations.dropIndex(name)
+                .thenReturn(name)
+                .doOnNext(dropped -> log.info("Dropped index {} on {}", dropped, type.getSimpleName()));
+    }
+
+    private static String nameOf(IndexDefinition index) {
+        return index.getIndexOptions().getString("name");
+    }
+
+    private static List<String> keysOf(IndexInfo info) {
+        return ordered(info.getIndexFields().stream().map(IndexReconciler::keyOf).toList());
+    }
+
+    private static String keyOf(IndexField field) {
+        if (field.isText()) {
+            return field.getKey() + TEXT;
+        }
+        return field.getKey() + ":" + (field.getDirection() == DESC ? -1 : 1);
+    }
+
+    private static List<String> keysOf(Document keys) {
+        return ordered(keys.entrySet().stream().map(key -> key.getKey() + ":" + key.getValue()).toList());
+    }
+
+    /**
+     * Keep the order of regular keys, but not of text keys: MongoDB reports the fields
+     * of a $text index by their weights, in no particular order
+     */
+    private static List<String> ordered(List<String> keys) {
+        return Stream.concat(
+                keys.stream().filter(key -> !key.endsWith(TEXT)),
+                keys.stream().filter(key -> key.endsWith(TEXT)).sorted()).toList();
+    }
+}
@@ -0,0 +1,108 @@
+package com.rct.humanresources.infra.persistence.index;
+
+import com.rct.humanresources.infra.persistence.repository.CityRepository;
+import com.rct.humanresources.infra.persistence.repository.CountryRepository;
+import com.rct.humanresources.infra.persistence.repository.DepartmentRepository;
+import com.rct.humanresources.infra.persistence.repository.EmployeeRepository;
+import com.rct.humanresources.infra.persistence.repository.JobHistoryRepository;
+import com.rct.humanresources.infra.persistence.repository.JobRepository;
+import com.rct.humanresources.infra.persistence.repository.LocationRepository;
+import com.rct.humanresources.infra.persistence.repository.StateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple3;
+import reactor.util.function.Tuples;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.springframework.util.StringUtils.uncapitalize;
+
+/**
+ * Query Plan Auditor - Explains every derived finder of the repositories and reports the
+ * ones whose winning plan still scans the whole collection.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueryPlanAuditor {
+    private static final String FIND_BY = "findBy";
+    private static final String COLLECTION_SCAN = "COLLSCAN";
+    private static final List<Class<?>> REPOSITORIES = List.of(
+            CityRepository.class, CountryRepository.class, DepartmentRepository.class, EmployeeRepository.class,
+            JobHistoryRepository.class, JobRepository.class, LocationRepository.class, StateRepository.class);
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    /**
+     * Audit the Query Plans of every Repository Finder
+     * @return Flux Repository Method still answered by a collection scan
+     */
+    public Flux<String> audit() {
+        return Flux.fromIterable(REPOSITORIES)
+                .flatMapIterable(this::finders)
+                .concatMap(finder -> explain(finder.getT2(), finder.getT3())
+                        .filter(QueryPlanAuditor::isCollectionScan)
+                        .map(plan -> finder.getT1()))
+                .doOnNext(finder -> log.warn("Unindexed repository query {}: winning plan is a {}", finder, COLLECTION_SCAN));
+    }
+
+    private List<Tuple3<String, String, Document>> finders(Class<?> repository) {
+        var type = ResolvableType.forClass(repository).as(ReactiveMongoRepository.class).getGeneric(0).resolve();
+        var collection = reactiveMongoTemplate.getCollectionName(type);
+        return Arrays.stream(repository.getDeclaredMethods())
+                .filter(method -> method.getName().startsWith(FIND_BY))
+                .map(method -> Tuples.of(repository.getSimpleName() + "." + method.getName(), collection, filterOf(method)))
+                .toList();
+    }
+
+    private Mono<Document> explain(String collection, Document filter) {
+        return reactiveMongoTemplate.getCollection(collection)
+                .flatMap(mongoCollection -> Mono.from(mongoCollection.find(filter).explain()));
+    }
+
+    /**
+     * Equality Filter of a derived Finder, one probe value per property
+     * @param method Repository Method
+     * @return Document Filter
+     */
+    static Document filterOf(Method method) {
+        var filter = new Document();
+        Arrays.stream(method.getName().substring(FIND_BY.length()).split("And"))
+                .forEach(property -> filter.append(uncapitalize(property), ""));
+        return filter;
+    }
+
+    /**
+     * Whether the Winning Plan of an Explain Output contains a Collection Scan stage
+     * @param explain Explain Output
+     * @return boolean
+     */
+    static boolean isCollectionScan(Document explain) {
+        var planner = explain.get("queryPlanner", Document.class);
+        return planner != null && stagesOf(planner.get("winningPlan", Document.class)).contains(COLLECTION_SCAN);
+    }
+
+    private static List<String> stagesOf(Document plan) {
+        var stages = new ArrayList<String>();
+        if (plan == null) {
+            return stages;
+        }
+        if (plan.containsKey("stage")) {
+            stages.add(plan.getString("stage"));
+        }
+        stages.addAll(stagesOf(plan.get("queryPlan", Document.class)));
+        stages.addAll(stagesOf(plan.get("inputStage", Document.class)));
+        plan.getList("inputStages", Document.class, List.of()).forEach(input -> stages.addAll(stagesOf(input)));
+        return stages;
+    }
+}
@@ -0,0 +1,137 @@
+package com.rct.humanresources.infra.persistence.loader;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Batch Loader - Coalesces concurrent loads by ID into one fetch of every pending ID, DataLoader style.
+ * Without a window, a load is fetched at once while fewer than the maximum fetches are in flight; the loads
+ * arriving beyond that wait and are fetched together as soon as one completes, so a lone load never waits.
+ * With a window, a batch is fetched when its window closes. Either way, a batch holding the maximum number
+ * of IDs is fetched at once and concurrent loads of the same pending ID share one result. Nothing is kept
+ * once a batch is answered, so a load never sees a document fetched before it was issued.
+ * @param <T> Document Type
+ */
+public class BatchLoader<T> {
+    private final Function<Set<String>, Flux<T>> fetch;
+    private final Function<T, String> idOf;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final int maxInFlight;
+    private final Scheduler scheduler;
+    private Map<String, Sinks.One<T>> pending = new HashMap<>();
+    private int inFlight;
+
+    /**
+     * Batch Loader Constructor
+     * @param fetch Fetch of a Set of IDs, in a single query
+     * @param idOf Document ID
+     * @param window Time a batch stays open after its first load, 0 to batch only the loads waiting on a fetch
+     * @param maxBatchSize IDs that close a batch before its window
+     * @param maxInFlight Fetches in flight beyond which loads wait, without a window
+     * @param scheduler Scheduler of the window timers
+     */
+    public BatchLoader(Function<Set<String>, Flux<T>> fetch, Function<T, String> idOf,
+                       Duration window, int maxBatchSize, int maxInFlight, Scheduler scheduler) {
+        this.fetch = fetch;
+        this.idOf = idOf;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.maxInFlight = maxInFlight;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Load a Document by ID, alone or in the current batch
+     * @param id String
+     * @return Mono T, empty when not found
+     */
+    public Mono<T> load(String id) {
+        return Mono.defer(() -> {
+            Sinks.One<T> sink;
+            Map<String, Sinks.One<T>> full = null;
+            var opened = false;
+            synchronized (this) {
+                sink = pending.get(id);
+                if (sink == null && window.isZero() && pending.isEmpty() && inFlight < maxInFlight) {
+                    inFlight++;
+                } else if (sink == null) {
+                    sink = Sinks.one();
+                    opened = pending.isEmpty();
+                    pending.put(id, sink);
+                    if (pending.size() >= maxBatchSize) {
+                        full = pending;
+                        pending = new HashMap<>();
+                        inFlight++;
+                    }
+                }
+            }
+            if (sink == null) {
+                return fetch.apply(Set.of(id)).next().doFinally(signal -> completed());
+            }
+            if (full != null) {
+                dispatch(full);
+            } else if (opened && !window.isZero()) {
+                scheduler.schedule(this::flush, window.toNanos(), NANOSECONDS);
+            }
+            return sink.asMono();
+        });
+    }
+
+    /**
+     * Fetch the pending IDs now
+     */
+    void flush() {
+        Map<String, Sinks.One<T>> batch;
+        synchronized (this) {
+            batch = pending;
+            pending = new HashMap<>();
+            if (!batch.isEmpty()) {
+                inFlight++;
+            }
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    private void completed() {
+        Map<String, Sinks.One<T>> batch = null;
+        synchronized (this) {
+            inFlight--;
+            if (window.isZero() && !pending.isEmpty()) {
+                batch = pending;
+                pending = new HashMap<>();
+                inFlight++;
+            }
+        }
+        if (batch != null) {
+            dispatch(batch);
+        }
+    }
+
+    private void dispatch(Map<String, Sinks.One<T>> batch) {
+        fetch.apply(Set.copyOf(batch.keySet()))
+                .collectMap(idOf)
+                .doFinally(signal -> completed())
+                .subscribe(found -> batch.forEach((id, sink) -> {
+                            var document = found.get(id);
+                            if (document == null) {
+                                sink.tryEmitEmpty();
+                            } else {
+                                sink.tryEmitValue(document);
+                            }
+                        }),
+                        e -> batch.values().forEach(sink -> sink.tryEmitError(e)));
+    }
+}
@@ -0,0 +1,57 @@
+package com.rct.humanresources.infra.persistence.loader;
+
+import com.rct.humanresources.infra.persistence.model.Department;
+import com.rct.humanresources.infra.persistence.model.Employee;
+import com.rct.humanresources.infra.persistence.model.Job;
+import com.rct.humanresources.infra.persistence.read.ReadPreferences;
+import com.rct.humanresources.infra.persistence.repository.DepartmentRepository;
+import com.rct.humanresources.infra.persistence.repository.EmployeeRepository;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Batch Loaders - One BatchLoader per entity referenced by ID from Employee lists, departmentId, jobId and managerId,
+ * so the findById calls of clients resolving those references one by one become a few $in queries under load.
+ * Jobs are reference data, read with the reference Read Preference
+ */
+@Getter
+@Component
+public class BatchLoaders {
+    private final BatchLoader<Department> departments;
+    private final BatchLoader<Job> jobs;
+    private final BatchLoader<Employee> employees;
+
+    /**
+     * Batch Loaders Constructor
+     * @param reactiveMongoTemplate ReactiveMongoTemplate
+     * @param readPreferences ReadPreferences
+     * @param departmentRepository DepartmentRepository
+     * @param employeeRepository EmployeeRepository
+     * @param window Time a batch stays open after its first load, 0 to batch only the loads waiting on a fetch
+     * @param maxBatchSize IDs that close a batch before its window
+     * @param maxInFlight Fetches in flight per entity beyond which loads wait, without a window
+     */
+    public BatchLoaders(ReactiveMongoTemplate reactiveMongoTemplate,
+                        ReadPreferences readPreferences,
+                        DepartmentRepository departmentRepository,
+                        EmployeeRepository employeeRepository,
+                        @Value("${humanresources.loader.window:0ms}") Duration window,
+                        @Value("${humanresources.loader.max-batch-size:500}") int maxBatchSize,
+                        @Value("${humanresources.loader.max-in-flight:8}") int maxInFlight) {
+        var reference = readPreferences.getReference();
+        this.departments = new BatchLoader<>(departmentRepository::findAllById, Department::getId,
+                window, maxBatchSize, maxInFlight, Schedulers.parallel());
+        this.jobs = new BatchLoader<>(ids -> reactiveMongoTemplate.find(query(where("id").in(ids)).withReadPreference(reference), Job.class),
+                Job::getId, window, maxBatchSize, maxInFlight, Schedulers.parallel());
+        this.employees = new BatchLoader<>(employeeRepository::findAllById, Employee::getId,
+                window, maxBatchSize, maxInFlight, Schedulers.parallel());
+    }
+}
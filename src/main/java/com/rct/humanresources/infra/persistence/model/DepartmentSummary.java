@@ -0,0 +1,30 @@
+package com.rct.humanresources.infra.persistence.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Department Summary - Materialized View, keyed by the Department ID,
+ * written only by the DepartmentSummaries aggregations
+ */
+@Getter
+@Setter
+@Document(collection = "department_summaries")
+@AllArgsConstructor
+@NoArgsConstructor
+public class DepartmentSummary {
+    @Id
+    private String id;
+    private String name;
+    private String managerId;
+    private String managerName;
+    private long headcount;
+    private double totalPayroll;
+    private LocalDateTime updatedAt;
+}
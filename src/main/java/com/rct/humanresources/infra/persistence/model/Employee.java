@@ -7,11 +7,15 @@ import lombok.Setter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
 
 
 import java.time.LocalDateTime;
 
+import static org.springframework.data.mongodb.core.mapping.FieldType.OBJECT_ID;
+
 /**
  * Employee - Spring Data Entity
  */
@@ -24,6 +28,7 @@ public class Employee {
     @Id
     private String id;
     private String departmentId;
+    @Field(targetType = OBJECT_ID)
     private String managerId;
     private String jobId;
     private String firstName;
@@ -38,4 +43,6 @@ public class Employee {
     private LocalDateTime createdAt;
     @LastModifiedDate
     private LocalDateTime updatedAt;
+    @Version
+    private Long version;
 }
\ No newline at end of file
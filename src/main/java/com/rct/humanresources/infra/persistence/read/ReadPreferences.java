@@ -0,0 +1,51 @@
+package com.rct.humanresources.infra.persistence.read;
+
+import com.mongodb.ReadPreference;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Read Preferences - Where each kind of read is sent, per query, whatever the client default.
+ * Reference reads are the uncached reads of Countries, States, Cities and Jobs, and the batched Job finds
+ * by ID, analytics reads the aggregations of payroll statistics and headcount series; both tolerate the
+ * staleness of a secondary. The other reads that fill a cache stay on the primary, so an invalidated entry
+ * is never reloaded stale; a cached Job may lag a write by the max staleness when reference reads go to secondaries
+ */
+@Getter
+@Component
+public class ReadPreferences {
+    private final ReadPreference reference;
+    private final ReadPreference analytics;
+
+    /**
+     * Read Preferences Constructor
+     * @param reference Read Preference Name of the reference reads
+     * @param analytics Read Preference Name of the analytics reads
+     * @param maxStaleness Replication lag beyond which a secondary is not read, 90 seconds at least
+     */
+    public ReadPreferences(@Value("${humanresources.mongodb.read-preference.reference:primary}") String reference,
+                           @Value("${humanresources.mongodb.read-preference.analytics:primary}") String analytics,
+                           @Value("${humanresources.mongodb.read-preference.max-staleness:90s}") Duration maxStaleness) {
+        this.reference = readPreference(reference, maxStaleness);
+        this.analytics = readPreference(analytics, maxStaleness);
+    }
+
+    /**
+     * Read Preference of a Name, bounded by the max staleness unless it is primary
+     * @param name primary, primaryPreferred, secondary, secondaryPreferred or nearest
+     * @param maxStaleness Duration
+     * @return ReadPreference
+     */
+    static ReadPreference readPreference(String name, Duration maxStaleness) {
+        var readPreference = ReadPreference.valueOf(name);
+        return readPreference.equals(ReadPreference.primary())
+                ? readPreference
+                : ReadPreference.valueOf(name, List.of(), maxStaleness.toMillis(), MILLISECONDS);
+    }
+}
@@ -0,0 +1,12 @@
+package com.rct.humanresources.infra.persistence.repository;
+
+import com.rct.humanresources.infra.persistence.model.DepartmentSummary;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Department Summary Repository - ReactiveMongoDBRepository Implementation, read only by convention
+ */
+@Repository
+public interface DepartmentSummaryRepository extends ReactiveMongoRepository<DepartmentSummary, String> {
+}
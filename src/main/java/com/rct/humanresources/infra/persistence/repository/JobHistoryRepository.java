@@ -18,9 +18,16 @@ public interface JobHistoryRepository extends ReactiveMongoRepository<JobHistory
     Flux<JobHistory> findByJobId(String jobId);
 
     /**
-     * Find JobHistory by Employee ID
+     * Find JobHistory by Department ID
      * @param departmentId String
      * @return Flux JobHistory
      */
     Flux<JobHistory> findByDepartmentId(String departmentId);
+
+    /**
+     * Find JobHistory by Employee ID
+     * @param employeeId String
+     * @return Flux JobHistory
+     */
+    Flux<JobHistory> findByEmployeeId(String employeeId);
 }
@@ -0,0 +1,97 @@
+package com.rct.humanresources.infra.persistence.search;
+
+import com.rct.humanresources.infra.persistence.model.City;
+import com.rct.humanresources.infra.persistence.model.Country;
+import com.rct.humanresources.infra.persistence.model.Department;
+import com.rct.humanresources.infra.persistence.model.Employee;
+import com.rct.humanresources.infra.persistence.model.Job;
+import com.rct.humanresources.infra.persistence.model.Location;
+import com.rct.humanresources.infra.persistence.model.State;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition.TextIndexDefinitionBuilder;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.springframework.core.annotation.AnnotatedElementUtils.findMergedAnnotation;
+import static org.springframework.data.domain.Sort.Direction.ASC;
+
+/**
+ * Search Catalog - Searchable fields per persistence model.
+ * The fields are folded into a normalized searchKey (the whole phrase) and searchTerms
+ * (the phrase from each word on), so an anchored prefix regex can use the searchTerms index.
+ * searchParts keeps each field normalized on its own, so an update changing only some of the
+ * fields can rebuild the key on the server.
+ */
+public final class SearchCatalog {
+    public static final String SEARCH_KEY = "searchKey";
+    public static final String SEARCH_TERMS = "searchTerms";
+    public static final String SEARCH_PARTS = "searchParts";
+    private static final Map<Class<?>, List<String>> FIELDS = fields();
+
+    /**
+     * Searchable Fields of a Model
+     * @param type Model Class
+     * @return List Field Names, empty when the model is not searchable
+     */
+    public static List<String> fieldsOf(Class<?> type) {
+        return FIELDS.getOrDefault(type, List.of());
+    }
+
+    /**
+     * Searchable Models
+     * @return Set Model Class
+     */
+    public static Set<Class<?>> searchableTypes() {
+        return FIELDS.keySet();
+    }
+
+    /**
+     * Search Indexes by Model: the searchTerms prefix index, plus a $text index when enabled
+     * @param textIndexes boolean
+     * @return Map Model Class, List IndexDefinition
+     */
+    public static Map<Class<?>, List<IndexDefinition>> indexes(boolean textIndexes) {
+        var indexes = new LinkedHashMap<Class<?>, List<IndexDefinition>>();
+        FIELDS.forEach((type, fields) -> {
+            var name = collectionOf(type);
+            var definitions = new ArrayList<IndexDefinition>();
+            definitions.add(new Index().on(SEARCH_TERMS, ASC).named(name + "_searchTerms"));
+            if (textIndexes) {
+                var text = new TextIndexDefinitionBuilder().named(name + "_text");
+                fields.forEach(text::onField);
+                definitions.add(text.build());
+            }
+            indexes.put(type, definitions);
+        });
+        return indexes;
+    }
+
+    private static String collectionOf(Class<?> type) {
+        return findMergedAnnotation(type, Document.class).collection();
+    }
+
+    private static Map<Class<?>, List<String>> fields() {
+        var fields = new LinkedHashMap<Class<?>, List<String>>();
+        fields.put(Employee.class, List.of("firstName", "lastName"));
+        fields.put(Department.class, List.of("name"));
+        fields.put(Job.class, List.of("title"));
+        fields.put(Location.class, List.of("street"));
+        fields.put(City.class, List.of("name"));
+        fields.put(State.class, List.of("name"));
+        fields.put(Country.class, List.of("name"));
+        return fields;
+    }
+
+    /**
+     * Search Catalog Constructor
+     */
+    private SearchCatalog() {
+        throw new IllegalStateException("Utility class");
+    }
+}
@@ -0,0 +1,103 @@
+package com.rct.humanresources.infra.persistence.search;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static com.rct.humanresources.infra.persistence.search.SearchCatalog.SEARCH_KEY;
+import static com.rct.humanresources.infra.persistence.search.SearchCatalog.SEARCH_TERMS;
+import static com.rct.humanresources.infra.persistence.search.SearchNormalizer.normalize;
+import static org.springframework.data.domain.Sort.Direction.ASC;
+import static org.springframework.data.domain.Sort.Direction.DESC;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.addFields;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.limit;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.sort;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Search Engine - Anchored prefix search on the normalized searchTerms, ranked by relevance:
+ * an exact match first, then matches on the first word, then matches on any other word.
+ * With humanresources.search.text-enabled the $text index is queried instead, sorted by text score.
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchEngine {
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+    private static final String RELEVANCE = "relevance";
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    @Value("${humanresources.search.text-enabled:false}")
+    private boolean textEnabled;
+
+    /**
+     * Search a Model by its Searchable Fields
+     * @param type Model Class
+     * @param term Search Term
+     * @param limit Maximum Results, DEFAULT_LIMIT when null and at most MAX_LIMIT
+     * @return Flux Model, most relevant first
+     * @param <T> Model Type
+     * @throws IllegalArgumentException when the limit is lower than 1
+     */
+    public <T> Flux<T> search(Class<T> type, String term, Integer limit) {
+        var resultLimit = normalizeLimit(limit);
+        var normalized = normalize(term);
+        if (normalized.isEmpty()) {
+            return Flux.empty();
+        }
+        return textEnabled ? text(type, term, resultLimit) : prefix(type, normalized, resultLimit);
+    }
+
+    private <T> Flux<T> prefix(Class<T> type, String normalized, int limit) {
+        var aggregation = newAggregation(
+                match(where(SEARCH_TERMS).regex("^" + Pattern.quote(normalized))),
+                addFields().addFieldWithValue(RELEVANCE, relevance(normalized)).build(),
+                sort(Sort.by(DESC, RELEVANCE).and(Sort.by(ASC, SEARCH_KEY))),
+                limit(limit));
+        return reactiveMongoTemplate.aggregate(aggregation, reactiveMongoTemplate.getCollectionName(type), type);
+    }
+
+    private <T> Flux<T> text(Class<T> type, String term, int limit) {
+        var query = TextQuery
+                .queryText(TextCriteria.forDefaultLanguage().matching(term))
+                .sortByScore()
+                .limit(limit);
+        return reactiveMongoTemplate.find(query, type);
+    }
+
+    private static AggregationExpression relevance(String normalized) {
+        return context -> new Document("$switch", new Document("branches", List.of(
+                new Document("case", new Document("$eq", List.of("$" + SEARCH_KEY, normalized))).append("then", 3),
+                new Document("case", new Document("$eq", List.of(
+                        new Document("$indexOfCP", List.of("$" + SEARCH_KEY, normalized)), 0))).append("then", 2)))
+                .append("default", 1));
+    }
+
+    /**
+     * Validate and Bound the Result Limit
+     * @param limit Integer Requested Limit
+     * @return int Limit
+     * @throws IllegalArgumentException when the limit is lower than 1
+     */
+    public static int normalizeLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be greater than zero");
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+}
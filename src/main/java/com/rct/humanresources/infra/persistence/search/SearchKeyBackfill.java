@@ -0,0 +1,93 @@
+package com.rct.humanresources.infra.persistence.search;
+
+import com.mongodb.bulk.BulkWriteResult;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static com.rct.humanresources.infra.persistence.search.SearchCatalog.SEARCH_KEY;
+import static com.rct.humanresources.infra.persistence.search.SearchCatalog.SEARCH_PARTS;
+import static com.rct.humanresources.infra.persistence.search.SearchCatalog.SEARCH_TERMS;
+import static com.rct.humanresources.infra.persistence.search.SearchCatalog.fieldsOf;
+import static com.rct.humanresources.infra.persistence.search.SearchCatalog.searchableTypes;
+import static com.rct.humanresources.infra.persistence.search.SearchNormalizer.keyOf;
+import static com.rct.humanresources.infra.persistence.search.SearchNormalizer.partsOf;
+import static com.rct.humanresources.infra.persistence.search.SearchNormalizer.termsOf;
+import static org.springframework.data.mongodb.core.BulkOperations.BulkMode.UNORDERED;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Search Key Backfill - Writes searchKey, searchTerms and searchParts into documents stored before they existed.
+ * Reads only the searchable fields and updates the raw documents with $set, one unordered bulkWrite
+ * per chunk, so auditing dates are left untouched. The key is folded here rather than in an update
+ * pipeline, since the server has no accent folding. Documents keyed meanwhile by a write are skipped.
+ */
+@Slf4j
+@Component
+public class SearchKeyBackfill {
+    private static final String ID = "_id";
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final int chunkSize;
+
+    /**
+     * Search Key Backfill Constructor
+     * @param reactiveMongoTemplate ReactiveMongoTemplate
+     * @param chunkSize Documents per bulkWrite
+     */
+    public SearchKeyBackfill(ReactiveMongoTemplate reactiveMongoTemplate,
+                             @Value("${humanresources.bulk.chunk-size:1000}") int chunkSize) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Backfill every Searchable Collection
+     * @return Mono Long Documents updated
+     */
+    public Mono<Long> backfill() {
+        return Flux.fromIterable(searchableTypes())
+                .concatMap(this::backfill)
+                .reduce(0L, Long::sum);
+    }
+
+    private Mono<Long> backfill(Class<?> type) {
+        var collection = reactiveMongoTemplate.getCollectionName(type);
+        var fields = fieldsOf(type);
+        var missing = query(where(SEARCH_PARTS).exists(false));
+        fields.forEach(missing.fields()::include);
+        return reactiveMongoTemplate.find(missing, Document.class, collection)
+                .buffer(chunkSize)
+                .concatMap(chunk -> write(collection, fields, chunk))
+                .reduce(0L, Long::sum)
+                .doOnNext(count -> {
+                    if (count > 0) {
+                        log.info("Backfilled search keys of {} documents in {}", count, collection);
+                    }
+                });
+    }
+
+    private Mono<Long> write(String collection, List<String> fields, List<Document> chunk) {
+        var operations = reactiveMongoTemplate.bulkOps(UNORDERED, collection);
+        chunk.forEach(document -> {
+            var key = keyOf(document, fields);
+            operations.updateOne(unkeyed(document.get(ID)), Update.update(SEARCH_KEY, key)
+                    .set(SEARCH_TERMS, termsOf(key))
+                    .set(SEARCH_PARTS, partsOf(document, fields)));
+        });
+        return operations.execute().map(BulkWriteResult::getModifiedCount).map(Integer::longValue);
+    }
+
+    private static Query unkeyed(Object id) {
+        return query(where(ID).is(id).and(SEARCH_PARTS).exists(false));
+    }
+}
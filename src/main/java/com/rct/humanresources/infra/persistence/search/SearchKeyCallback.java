@@ -0,0 +1,35 @@
+package com.rct.humanresources.infra.persistence.search;
+
+import org.bson.Document;
+import org.reactivestreams.Publisher;
+import org.springframework.data.mongodb.core.mapping.event.ReactiveBeforeSaveCallback;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import static com.rct.humanresources.infra.persistence.search.SearchCatalog.SEARCH_KEY;
+import static com.rct.humanresources.infra.persistence.search.SearchCatalog.SEARCH_PARTS;
+import static com.rct.humanresources.infra.persistence.search.SearchCatalog.SEARCH_TERMS;
+import static com.rct.humanresources.infra.persistence.search.SearchCatalog.fieldsOf;
+import static com.rct.humanresources.infra.persistence.search.SearchNormalizer.keyOf;
+import static com.rct.humanresources.infra.persistence.search.SearchNormalizer.partsOf;
+import static com.rct.humanresources.infra.persistence.search.SearchNormalizer.termsOf;
+
+/**
+ * Search Key Callback - Writes searchKey, searchTerms and searchParts into every saved searchable document,
+ * so the models and DTOs never carry them
+ */
+@Component
+public class SearchKeyCallback implements ReactiveBeforeSaveCallback<Object> {
+
+    @Override
+    public Publisher<Object> onBeforeSave(Object entity, Document document, String collection) {
+        var fields = fieldsOf(entity.getClass());
+        if (!fields.isEmpty()) {
+            var key = keyOf(document, fields);
+            document.put(SEARCH_KEY, key);
+            document.put(SEARCH_TERMS, termsOf(key));
+            document.put(SEARCH_PARTS, partsOf(document, fields));
+        }
+        return Mono.just(entity);
+    }
+}
@@ -0,0 +1,120 @@
+package com.rct.humanresources.infra.persistence.search;
+
+import org.bson.Document;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static com.rct.humanresources.infra.persistence.search.SearchCatalog.SEARCH_KEY;
+import static com.rct.humanresources.infra.persistence.search.SearchCatalog.SEARCH_PARTS;
+import static java.text.Normalizer.Form.NFD;
+
+/**
+ * Search Normalizer - Folds text to the form stored in searchKey: lowercase, without accents,
+ * with single spaces between words
+ */
+public final class SearchNormalizer {
+
+    /**
+     * Normalize a Text
+     * @param text String
+     * @return String Normalized Text, empty when the text is null or blank
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text, NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", " ")
+                .trim();
+    }
+
+    /**
+     * Normalized Key of a Document: its searchable fields joined by a space
+     * @param document Document
+     * @param fields Searchable Field Names
+     * @return String Normalized Key
+     */
+    public static String keyOf(Document document, List<String> fields) {
+        return normalize(fields.stream()
+                .map(document::getString)
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(" ")));
+    }
+
+    /**
+     * Normalized Parts of a Document: each searchable field normalized on its own, empty when absent
+     * @param document Document
+     * @param fields Searchable Field Names
+     * @return Document Field Name, Normalized Value
+     */
+    public static Document partsOf(Document document, List<String> fields) {
+        var parts = new Document();
+        fields.forEach(field -> parts.put(field, normalize(document.getString(field))));
+        return parts;
+    }
+
+    /**
+     * Searchable Terms of a Normalized Key: the key from the start of each word
+     * @param key Normalized Key
+     * @return List String
+     */
+    public static List<String> termsOf(String key) {
+        var terms = new ArrayList<String>();
+        if (key.isEmpty()) {
+            return terms;
+        }
+        terms.add(key);
+        for (var i = key.indexOf(' '); i >= 0; i = key.indexOf(' ', i + 1)) {
+            terms.add(key.substring(i + 1));
+        }
+        return terms;
+    }
+
+    /**
+     * Server-side Key of a Document: its searchParts joined by a space, as keyOf joins the fields
+     * @param fields Searchable Field Names
+     * @return Document Aggregation Expression
+     */
+    public static Document keyExpression(List<String> fields) {
+        var parts = fields.stream()
+                .map(field -> new Document("$ifNull", List.of("$" + SEARCH_PARTS + "." + field, "")))
+                .toList();
+        return new Document("$trim", new Document("input", new Document("$reduce", new Document("input", parts)
+                .append("initialValue", "")
+                .append("in", new Document("$cond", List.of(new Document("$eq", List.of("$$this", "")),
+                        "$$value",
+                        new Document("$concat", List.of("$$value", " ", "$$this"))))))));
+    }
+
+    /**
+     * Server-side Terms of a Document: its searchKey from the start of each word, as termsOf
+     * @return Document Aggregation Expression
+     */
+    public static Document termsExpression() {
+        var words = new Document("$cond", List.of(new Document("$eq", List.of("$" + SEARCH_KEY, "")),
+                List.of(),
+                new Document("$split", List.of("$" + SEARCH_KEY, " "))));
+        var count = new Document("$size", "$$words");
+        var tail = new Document("$reduce", new Document("input", new Document("$slice", List.of("$$words", "$$start", count)))
+                .append("initialValue", "")
+                .append("in", new Document("$concat", List.of("$$value", " ", "$$this"))));
+        return new Document("$let", new Document("vars", new Document("words", words))
+                .append("in", new Document("$map", new Document("input", new Document("$range", List.of(0, count)))
+                        .append("as", "start")
+                        .append("in", new Document("$trim", new Document("input", tail))))));
+    }
+
+    /**
+     * Search Normalizer Constructor
+     */
+    private SearchNormalizer() {
+        throw new IllegalStateException("Utility class");
+    }
+}
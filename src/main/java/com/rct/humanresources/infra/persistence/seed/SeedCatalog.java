@@ -0,0 +1,31 @@
+package com.rct.humanresources.infra.persistence.seed;
+
+import com.rct.humanresources.infra.persistence.model.City;
+import com.rct.humanresources.infra.persistence.model.Country;
+import com.rct.humanresources.infra.persistence.model.State;
+
+import java.util.List;
+
+/**
+ * Seed Catalog - Reference datasets loaded at startup, in load order
+ */
+public final class SeedCatalog {
+
+    /**
+     * Seed Datasets
+     * @return List SeedDataset
+     */
+    public static List<SeedDataset<?>> datasets() {
+        return List.of(
+                new SeedDataset<>("countries", "classpath:static/countries-data.json", Country.class),
+                new SeedDataset<>("states", "classpath:static/states-data.json", State.class),
+                new SeedDataset<>("cities", "classpath:static/cities-data.json", City.class));
+    }
+
+    /**
+     * Seed Catalog Constructor
+     */
+    private SeedCatalog() {
+        throw new IllegalStateException("Utility class");
+    }
+}
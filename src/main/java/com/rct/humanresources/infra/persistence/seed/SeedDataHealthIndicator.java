@@ -0,0 +1,36 @@
+package com.rct.humanresources.infra.persistence.seed;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.ReactiveHealthIndicator;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Seed Data Health Indicator - Holds the readiness group down until the seed datasets are loaded
+ */
+@Component
+public class SeedDataHealthIndicator implements ReactiveHealthIndicator {
+    private static final String SEED = "seed";
+    private volatile Health health = Health.down().withDetail(SEED, "loading").build();
+
+    /**
+     * Mark the Seed Datasets as loaded
+     * @param documents Documents inserted
+     */
+    public void loaded(long documents) {
+        health = Health.up().withDetail(SEED, "loaded").withDetail("documents", documents).build();
+    }
+
+    /**
+     * Mark the Seed Datasets as failed
+     * @param error Throwable
+     */
+    public void failed(Throwable error) {
+        health = Health.down().withDetail(SEED, "failed").withException(error).build();
+    }
+
+    @Override
+    public Mono<Health> health() {
+        return Mono.just(health);
+    }
+}
@@ -0,0 +1,16 @@
+package com.rct.humanresources.infra.persistence.seed;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Seed Dataset - A JSON array resource loaded into the collection of its Document Class
+ * @param <T> Document Type
+ */
+@Getter
+@AllArgsConstructor
+public class SeedDataset<T> {
+    private final String name;
+    private final String location;
+    private final Class<T> type;
+}
@@ -0,0 +1,147 @@
+package com.rct.humanresources.infra.persistence.seed;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+
+/**
+ * Seed Loader - Idempotent, checksum gated loading of the SeedCatalog.
+ * The SHA-256 of every resource is kept in the seed_checksums collection: an unchanged
+ * dataset whose collection still holds its documents is skipped without being parsed.
+ * A changed one replaces the collection, streaming the JSON array element by element
+ * into insertMany batches, and records its checksum only once every batch is written,
+ * so an interrupted load is simply repeated on the next start.
+ */
+@Slf4j
+@Component
+public class SeedLoader {
+    public static final String CHECKSUMS = "seed_checksums";
+    static final String CHECKSUM = "checksum";
+    static final String DOCUMENTS = "documents";
+    static final String LOADED_AT = "loadedAt";
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public SeedLoader(ReactiveMongoTemplate reactiveMongoTemplate, ResourceLoader resourceLoader, ObjectMapper objectMapper,
+                      @Value("${humanresources.seed.batch-size:500}") int batchSize) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.resourceLoader = resourceLoader;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Load every Seed Dataset, one after the other
+     * @return Mono Long, Documents inserted
+     */
+    public Mono<Long> loadAll() {
+        return Flux.fromIterable(SeedCatalog.datasets())
+                .concatMap(this::load)
+                .reduce(0L, Long::sum);
+    }
+
+    /**
+     * Load a Seed Dataset unless its checksum is unchanged
+     * @param dataset SeedDataset
+     * @return Mono Long, Documents inserted
+     * @param <T> Document Type
+     */
+    public <T> Mono<Long> load(SeedDataset<T> dataset) {
+        var resource = resourceLoader.getResource(dataset.getLocation());
+        return Mono.fromCallable(() -> checksum(resource.getInputStream()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(checksum -> isLoaded(dataset, checksum)
+                        .flatMap(loaded -> loaded ? skip(dataset) : reload(dataset, resource, checksum)));
+    }
+
+    private Mono<Boolean> isLoaded(SeedDataset<?> dataset, String checksum) {
+        return reactiveMongoTemplate
+                .findById(dataset.getName(), Document.class, CHECKSUMS)
+                .filter(stored -> checksum.equals(stored.getString(CHECKSUM)))
+                .flatMap(stored -> reactiveMongoTemplate
+                        .estimatedCount(dataset.getType())
+                        .map(count -> count >= stored.get(DOCUMENTS, Number.class).longValue()))
+                .defaultIfEmpty(false);
+    }
+
+    private Mono<Long> skip(SeedDataset<?> dataset) {
+        log.info("Seed dataset {} is unchanged, skipping", dataset.getName());
+        return Mono.just(0L);
+    }
+
+    private <T> Mono<Long> reload(SeedDataset<T> dataset, Resource resource, String checksum) {
+        return reactiveMongoTemplate
+                .remove(new Query(), dataset.getType())
+                .thenMany(parse(resource, dataset.getType()))
+                .buffer(batchSize)
+                .concatMap(batch -> reactiveMongoTemplate.insert(batch, dataset.getType()).count())
+                .reduce(0L, Long::sum)
+                .flatMap(count -> reactiveMongoTemplate
+                        .save(new Document("_id", dataset.getName())
+                                .append(CHECKSUM, checksum)
+                                .append(DOCUMENTS, count)
+                                .append(LOADED_AT, new Date()), CHECKSUMS)
+                        .thenReturn(count))
+                .doOnNext(count -> log.info("Seed dataset {} loaded, {} documents", dataset.getName(), count));
+    }
+
+    /**
+     * Stream the Elements of a JSON Array Resource
+     * @param resource Resource
+     * @param type Element Class
+     * @return Flux T
+     * @param <T> Element Type
+     */
+    <T> Flux<T> parse(Resource resource, Class<T> type) {
+        return Flux.<T, MappingIterator<T>>using(
+                        () -> objectMapper.readerFor(type).readValues(resource.getInputStream()),
+                        values -> Flux.fromIterable(() -> values),
+                        SeedLoader::close)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * SHA-256 of a Stream, read through without buffering it whole
+     * @param stream InputStream
+     * @return String, hex encoded
+     * @throws IOException when the Stream cannot be read
+     */
+    static String checksum(InputStream stream) throws IOException {
+        try (var input = new DigestInputStream(stream, MessageDigest.getInstance("SHA-256"))) {
+            input.transferTo(OutputStream.nullOutputStream());
+            return HexFormat.of().formatHex(input.getMessageDigest().digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void close(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            log.warn("Could not close seed resource", e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.rct.humanresources.infra.persistence.stream;
+
+import com.rct.humanresources.core.model.dto.ChangeEventDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Change Stream Hub - One MongoDB change stream cursor per collection, shared by every subscriber.
+ * The cursor is opened by the first subscriber and closed when the last one cancels.
+ * Subscribers resuming from a token get their own cursor, since they need the changes they missed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChangeStreamHub {
+    private static final String DATA = "_data";
+    private static final String ID = "_id";
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final Map<Class<?>, Flux<?>> shared = new ConcurrentHashMap<>();
+
+    /**
+     * Watch Inserts, Updates and Deletes of a Collection
+     * @param type Model Class
+     * @param resumeToken Resume Token of the last event received, or null for live changes only
+     * @param mapper Model to DTO Mapper
+     * @return Flux ChangeEventDTO
+     * @param <T> Model Type
+     * @param <R> DTO Type
+     */
+    public <T, R> Flux<ChangeEventDTO<R>> watch(Class<T> type, String resumeToken, Function<T, R> mapper) {
+        return resumeToken == null || resumeToken.isBlank()
+                ? sharedStream(type).map(event -> withDocument(event, mapper))
+                : open(type, resumeToken).map(event -> withDocument(event, mapper));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Flux<ChangeEventDTO<T>> sharedStream(Class<T> type) {
+        return (Flux<ChangeEventDTO<T>>) shared.computeIfAbsent(type, key -> open(type, null).share());
+    }
+
+    private <T> Flux<ChangeEventDTO<T>> open(Class<T> type, String resumeToken) {
+        var options = ChangeStreamOptions.builder()
+                .filter(newAggregation(match(where("operationType").in("insert", "update", "replace", "delete"))))
+                .returnFullDocumentOnUpdate();
+        if (resumeToken != null) {
+            options.resumeAfter(new BsonDocument(DATA, new BsonString(resumeToken)));
+        }
+        var collection = reactiveMongoTemplate.getCollectionName(type);
+        return reactiveMongoTemplate
+                .changeStream(collection, options.build(), type)
+                .map(this::toEvent)
+                .doOnSubscribe(subscription -> log.info("Change stream opened on {}", collection))
+                .doFinally(signal -> log.info("Change stream on {} closed: {}", collection, signal));
+    }
+
+    private <T> ChangeEventDTO<T> toEvent(ChangeStreamEvent<T> event) {
+        var raw = event.getRaw();
+        var key = raw == null || raw.getDocumentKey() == null ? null : raw.getDocumentKey().get(ID);
+        var token = event.getResumeToken();
+        return new ChangeEventDTO<>(
+                event.getOperationType() == null ? null : event.getOperationType().getValue(),
+                key == null ? null : idOf(key),
+                event.getBody(),
+                token == null ? null : token.asDocument().getString(DATA).getValue());
+    }
+
+    private static String idOf(BsonValue key) {
+        if (key.isObjectId()) {
+            return key.asObjectId().getValue().toHexString();
+        }
+        return key.isString() ? key.asString().getValue() : key.toString();
+    }
+
+    private static <T, R> ChangeEventDTO<R> withDocument(ChangeEventDTO<T> event, Function<T, R> mapper) {
+        return new ChangeEventDTO<>(
+                event.getOperation(),
+                event.getId(),
+                event.getDocument() == null ? null : mapper.apply(event.getDocument()),
+                event.getResumeToken());
+    }
+}
@@ -0,0 +1,201 @@
+package com.rct.humanresources.infra.persistence.summary;
+
+import com.rct.humanresources.infra.persistence.model.Department;
+import com.rct.humanresources.infra.persistence.model.DepartmentSummary;
+import com.rct.humanresources.infra.persistence.model.Employee;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toSet;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Department Summaries - Headcount, total payroll and manager name of every Department, materialized
+ * in department_summaries so a summary read is a single lookup by _id. A summary is recomputed by one
+ * aggregation over the Department, its Employees and its manager, merged into the collection, for the
+ * Departments a write may have changed: the Employee's Department and the Departments it manages.
+ * A rebuild recomputes every summary and swaps the collection with $out, dropping the stale ones.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DepartmentSummaries {
+    private static final String ID = "_id";
+    private static final String DEPARTMENT_ID = "departmentId";
+    private static final String MANAGER_ID = "managerId";
+    private static final String PAYROLL = "payroll";
+    private static final String MANAGER = "manager";
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    /**
+     * Run an Employee write, then refresh the summaries of the Departments it left, joined or manages
+     * @param employeeId ID of the Employee about to change, null when the write carries the previous Department
+     * @param write Insert, Update or Delete, returning the written or removed Employee
+     * @return Mono Employee, once its summaries are refreshed
+     */
+    public Mono<Employee> tracking(String employeeId, Mono<Employee> write) {
+        return previousDepartmentOf(employeeId)
+                .flatMap(previous -> write.flatMap(employee -> refreshMatching(
+                                departmentsOf(employee, previous), Set.of(employee.getId()))
+                        .thenReturn(employee)));
+    }
+
+    /**
+     * Run a filtered Employee delete, then refresh the summaries of the Departments the removed Employees
+     * belonged to, read before the delete. The Departments they managed are refreshed by the follower,
+     * as their delete events carry their IDs.
+     * @param employees Query of the Employees about to be removed
+     * @param remove Delete, returning the removed count
+     * @return Mono Long, once the summaries are refreshed
+     */
+    public Mono<Long> trackingRemoval(Query employees, Mono<Long> remove) {
+        return reactiveMongoTemplate
+                .findDistinct(employees, DEPARTMENT_ID, Employee.class, String.class)
+                .collect(toSet())
+                .flatMap(departmentIds -> remove.flatMap(count -> refreshMatching(departmentIds, Set.of())
+                        .thenReturn(count)));
+    }
+
+    /**
+     * Refresh the summaries of the given Departments and of the Departments managed by the given Employees
+     * @param departmentIds Department IDs
+     * @param managerIds Employee IDs
+     * @return Mono Void
+     */
+    public Mono<Void> refresh(Collection<String> departmentIds, Collection<String> managerIds) {
+        return refreshMatching(Set.copyOf(departmentIds), Set.copyOf(managerIds));
+    }
+
+    /**
+     * Recompute every summary
+     * @return Mono Long Summaries written
+     */
+    public Mono<Long> rebuild() {
+        return reactiveMongoTemplate
+                .aggregate(summarize(new Criteria(), out()), Document.class)
+                .then(reactiveMongoTemplate.count(new Query(), DepartmentSummary.class))
+                .doOnNext(count -> log.info("Rebuilt {} department summaries", count));
+    }
+
+    /**
+     * Remove the summary of a deleted Department
+     * @param departmentId Department ID
+     * @return Mono Void
+     */
+    public Mono<Void> remove(String departmentId) {
+        return reactiveMongoTemplate
+                .remove(query(where("id").is(departmentId)), DepartmentSummary.class)
+                .then();
+    }
+
+    private Mono<List<String>> previousDepartmentOf(String employeeId) {
+        if (employeeId == null) {
+            return Mono.just(List.of());
+        }
+        var query = query(where("id").is(employeeId));
+        query.fields().include(DEPARTMENT_ID);
+        return reactiveMongoTemplate
+                .findOne(query, Employee.class)
+                .map(employee -> employee.getDepartmentId() == null ? List.<String>of() : List.of(employee.getDepartmentId()))
+                .defaultIfEmpty(List.of());
+    }
+
+    private Mono<Void> refreshMatching(Set<String> departmentIds, Set<String> managerIds) {
+        var criteria = new ArrayList<Criteria>();
+        if (!departmentIds.isEmpty()) {
+            criteria.add(where("id").in(departmentIds));
+        }
+        if (!managerIds.isEmpty()) {
+            criteria.add(where(MANAGER_ID).in(managerIds));
+        }
+        if (criteria.isEmpty()) {
+            return Mono.empty();
+        }
+        return reactiveMongoTemplate
+                .aggregate(summarize(new Criteria().orOperator(criteria), merge()), Document.class)
+                .then();
+    }
+
+    private static Set<String> departmentsOf(Employee employee, List<String> previous) {
+        var ids = new HashSet<>(previous);
+        if (employee.getDepartmentId() != null) {
+            ids.add(employee.getDepartmentId());
+        }
+        return ids;
+    }
+
+    private TypedAggregation<Department> summarize(Criteria departments, AggregationOperation write) {
+        return newAggregation(Department.class, match(departments), payroll(), manager(), summary(), write);
+    }
+
+    private AggregationOperation payroll() {
+        var employees = List.of(
+                new Document("$match", new Document("$expr", new Document("$eq", List.of("$" + DEPARTMENT_ID, "$$departmentId")))),
+                new Document("$group", new Document(ID, null)
+                        .append("headcount", new Document("$sum", 1))
+                        .append("totalPayroll", new Document("$sum", "$salary"))));
+        return context -> new Document("$lookup", new Document("from", reactiveMongoTemplate.getCollectionName(Employee.class))
+                .append("let", new Document("departmentId", new Document("$toString", "$" + ID)))
+                .append("pipeline", employees)
+                .append("as", PAYROLL));
+    }
+
+    private AggregationOperation manager() {
+        var managerId = new Document("$convert", new Document("input", "$$managerId")
+                .append("to", "objectId")
+                .append("onError", null)
+                .append("onNull", null));
+        var employees = List.of(
+                new Document("$match", new Document("$expr", new Document("$eq", List.of("$" + ID, managerId)))),
+                new Document("$project", new Document("firstName", 1).append("lastName", 1)));
+        return context -> new Document("$lookup", new Document("from", reactiveMongoTemplate.getCollectionName(Employee.class))
+                .append("let", new Document("managerId", "$" + MANAGER_ID))
+                .append("pipeline", employees)
+                .append("as", MANAGER));
+    }
+
+    private static AggregationOperation summary() {
+        var managerName = new Document("$cond", new Document("if", new Document("$eq", List.of(new Document("$size", "$" + MANAGER), 0)))
+                .append("then", null)
+                .append("else", new Document("$trim", new Document("input", new Document("$concat", List.of(
+                        firstOf(MANAGER + ".firstName", ""), " ", firstOf(MANAGER + ".lastName", "")))))));
+        return context -> new Document("$project", new Document("name", 1)
+                .append(MANAGER_ID, 1)
+                .append("managerName", managerName)
+                .append("headcount", firstOf(PAYROLL + ".headcount", 0))
+                .append("totalPayroll", firstOf(PAYROLL + ".totalPayroll", 0))
+                .append("updatedAt", "$$NOW"));
+    }
+
+    private static Document firstOf(String path, Object fallback) {
+        return new Document("$ifNull", List.of(new Document("$first", "$" + path), fallback));
+    }
+
+    private AggregationOperation merge() {
+        return context -> new Document("$merge", new Document("into", reactiveMongoTemplate.getCollectionName(DepartmentSummary.class))
+                .append("on", ID)
+                .append("whenMatched", "replace")
+                .append("whenNotMatched", "insert"));
+    }
+
+    private AggregationOperation out() {
+        return context -> new Document("$out", reactiveMongoTemplate.getCollectionName(DepartmentSummary.class));
+    }
+}
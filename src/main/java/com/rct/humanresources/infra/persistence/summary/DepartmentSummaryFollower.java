@@ -0,0 +1,113 @@
+package com.rct.humanresources.infra.persistence.summary;
+
+import com.rct.humanresources.core.model.dto.ChangeEventDTO;
+import com.rct.humanresources.infra.persistence.model.Department;
+import com.rct.humanresources.infra.persistence.model.Employee;
+import com.rct.humanresources.infra.persistence.stream.ChangeStreamHub;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Function;
+
+import static java.time.Duration.ofMinutes;
+import static java.time.Duration.ofSeconds;
+
+/**
+ * Department Summary Follower - Keeps department_summaries in step with the employees and departments
+ * change streams, so batch writes, seeds and writes made by other instances reach the summaries too.
+ * Employee events are grouped into one refresh per batch window. A deleted Employee only refreshes the
+ * Departments it managed, as its Department is no longer known; its own Department is refreshed by the
+ * service delete, by id or by filter, or by the next rebuild. Everything is rebuilt whenever the employees change stream
+ * (re)connects, since events may have been missed.
+ */
+@Slf4j
+@Component
+public class DepartmentSummaryFollower {
+    private static final String DELETE = "delete";
+    private final ChangeStreamHub changeStreamHub;
+    private final DepartmentSummaries summaries;
+    private final int batchSize;
+    private final Duration batchWindow;
+    private final Disposable.Composite subscriptions = Disposables.composite();
+
+    public DepartmentSummaryFollower(ChangeStreamHub changeStreamHub,
+                                     DepartmentSummaries summaries,
+                                     @Value("${humanresources.summaries.batch-size:256}") int batchSize,
+                                     @Value("${humanresources.summaries.batch-window:200ms}") Duration batchWindow) {
+        this.changeStreamHub = changeStreamHub;
+        this.summaries = summaries;
+        this.batchSize = batchSize;
+        this.batchWindow = batchWindow;
+    }
+
+    /**
+     * Follow the Employees and Departments Change Streams once the Application is Ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void follow() {
+        subscriptions.add(follow(Employee.class, changes -> changes
+                .bufferTimeout(batchSize, batchWindow)
+                .concatMap(this::refreshEmployees)
+                .mergeWith(summaries.rebuild().then())));
+        subscriptions.add(follow(Department.class, changes -> changes
+                .concatMap(this::refreshDepartment)));
+    }
+
+    /**
+     * Refresh the summaries touched by a batch of Employee changes
+     * @param changes Employee Change Events
+     * @return Mono Void
+     */
+    Mono<Void> refreshEmployees(List<ChangeEventDTO<Employee>> changes) {
+        var departmentIds = new HashSet<String>();
+        var managerIds = new HashSet<String>();
+        changes.forEach(change -> {
+            if (change.getId() != null) {
+                managerIds.add(change.getId());
+            }
+            if (change.getDocument() != null && change.getDocument().getDepartmentId() != null) {
+                departmentIds.add(change.getDocument().getDepartmentId());
+            }
+        });
+        return summaries.refresh(departmentIds, managerIds);
+    }
+
+    /**
+     * Refresh, or remove, the summary of a changed Department
+     * @param change Department Change Event
+     * @return Mono Void
+     */
+    Mono<Void> refreshDepartment(ChangeEventDTO<Department> change) {
+        return DELETE.equals(change.getOperation())
+                ? summaries.remove(change.getId())
+                : summaries.refresh(List.of(change.getId()), List.of());
+    }
+
+    private <T> Disposable follow(Class<T> type, Function<Flux<ChangeEventDTO<T>>, Flux<Void>> refresh) {
+        return Flux.defer(() -> refresh.apply(changeStreamHub.watch(type, null, Function.<T>identity())))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, ofSeconds(1)).maxBackoff(ofMinutes(1))
+                        .doBeforeRetry(signal -> log.warn("{} change stream failed, department summaries retrying: {}",
+                                type.getSimpleName(), signal.failure().getMessage())))
+                .subscribe();
+    }
+
+    /**
+     * Stop Following
+     */
+    @PreDestroy
+    public void stop() {
+        subscriptions.dispose();
+    }
+}
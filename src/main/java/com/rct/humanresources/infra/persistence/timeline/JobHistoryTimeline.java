@@ -0,0 +1,203 @@
+package com.rct.humanresources.infra.persistence.timeline;
+
+import com.rct.humanresources.core.model.dto.HeadcountPeriodDTO;
+import com.rct.humanresources.infra.persistence.model.JobHistory;
+import com.rct.humanresources.infra.persistence.read.ReadPreferences;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+import static java.time.temporal.ChronoUnit.MONTHS;
+import static java.time.temporal.ChronoUnit.WEEKS;
+import static java.time.temporal.ChronoUnit.YEARS;
+import static org.springframework.data.domain.Sort.Direction.ASC;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.sort;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Job History Timeline - Temporal queries answered by the (key, startDate, endDate) compound indexes.
+ * A Job History holds over [startDate, endDate), a missing endDate meaning it still holds, so every query
+ * is an equality on one key plus range predicates on the dates, streamed in startDate order.
+ * Headcount series are computed by one aggregation, with the analytics read preference, so only one
+ * document per period leaves Mongo
+ */
+@Component
+@RequiredArgsConstructor
+public class JobHistoryTimeline {
+    public static final String JOB_ID = "jobId";
+    public static final String DEPARTMENT_ID = "departmentId";
+    public static final String EMPLOYEE_ID = "employeeId";
+    public static final Set<String> KEYS = Set.of(JOB_ID, DEPARTMENT_ID, EMPLOYEE_ID);
+    public static final String MONTH = "month";
+    public static final Map<String, ChronoUnit> PERIODS = Map.of("day", DAYS, "week", WEEKS, MONTH, MONTHS, "year", YEARS);
+    public static final int MAX_PERIODS = 1000;
+    private static final String START_DATE = "startDate";
+    private static final String END_DATE = "endDate";
+    private static final String PERIOD = "period";
+    private static final String HOLDER = "holder";
+    private static final String HEADCOUNT = "headcount";
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final ReadPreferences readPreferences;
+
+    /**
+     * Find the Job Histories holding at a Date
+     * @param filter Query Parameters, exactly one of jobId, departmentId or employeeId
+     * @param at Date
+     * @return Flux JobHistory, by startDate
+     * @throws IllegalArgumentException on a missing key or date, before anything is subscribed
+     */
+    public Flux<JobHistory> asOf(Map<String, String> filter, LocalDateTime at) {
+        var key = keyOf(filter);
+        if (at == null) {
+            throw new IllegalArgumentException("The at date is required");
+        }
+        var criteria = where(key.getKey()).is(key.getValue())
+                .and(START_DATE).lte(at)
+                .orOperator(where(END_DATE).gt(at), where(END_DATE).is(null));
+        return reactiveMongoTemplate.find(query(criteria).with(Sort.by(ASC, START_DATE)), JobHistory.class);
+    }
+
+    /**
+     * Find the Job Histories holding at any time of a Range
+     * @param filter Query Parameters, exactly one of jobId, departmentId or employeeId
+     * @param from Range lower bound, inclusive
+     * @param to Range upper bound, exclusive
+     * @return Flux JobHistory, by startDate
+     * @throws IllegalArgumentException on a missing key or an empty range, before anything is subscribed
+     */
+    public Flux<JobHistory> overlapping(Map<String, String> filter, LocalDateTime from, LocalDateTime to) {
+        var key = keyOf(filter);
+        checkRange(from, to);
+        return reactiveMongoTemplate.find(query(overlapping(key, from, to)).with(Sort.by(ASC, START_DATE)), JobHistory.class);
+    }
+
+    /**
+     * Count the distinct Employees holding a Job History during each Period of a Range.
+     * Job Histories without employeeId count once each
+     * @param filter Query Parameters, exactly one of jobId, departmentId or employeeId
+     * @param from Range lower bound, inclusive, start of the first Period
+     * @param to Range upper bound, exclusive, end of the last Period
+     * @param period day, week, month or year
+     * @return Flux HeadcountPeriodDTO, one per Period, by periodStart
+     * @throws IllegalArgumentException on a missing key, an empty range, an unknown period or more than
+     * MAX_PERIODS periods, before anything is subscribed
+     */
+    public Flux<HeadcountPeriodDTO> headcount(Map<String, String> filter, LocalDateTime from, LocalDateTime to, String period) {
+        var key = keyOf(filter);
+        checkRange(from, to);
+        var bounds = bounds(from, to, period);
+        var aggregation = newAggregation(JobHistory.class,
+                match(overlapping(key, from, to)),
+                periods(bounds),
+                context -> new Document("$unwind", "$" + PERIOD),
+                context -> new Document("$group", new Document("_id", new Document(PERIOD, "$" + PERIOD)
+                        .append(HOLDER, "$" + HOLDER))),
+                context -> new Document("$group", new Document("_id", "$_id." + PERIOD)
+                        .append(HEADCOUNT, new Document("$sum", 1))),
+                sort(ASC, "_id"))
+                .withOptions(AggregationOptions.builder().readPreference(readPreferences.getAnalytics()).build());
+        return reactiveMongoTemplate
+                .aggregate(aggregation, Document.class)
+                .collectMap(document -> document.get("_id", Number.class).intValue(),
+                        document -> document.get(HEADCOUNT, Number.class).longValue())
+                .flatMapMany(counts -> Flux.range(0, bounds.size() - 1)
+                        .map(index -> new HeadcountPeriodDTO(key.getKey(), key.getValue(),
+                                bounds.get(index), bounds.get(index + 1), counts.getOrDefault(index, 0L))));
+    }
+
+    /**
+     * The single Key of a temporal query, leading every compound index
+     * @param filter Query Parameters
+     * @return Entry Field Name, Value
+     */
+    static Map.Entry<String, String> keyOf(Map<String, String> filter) {
+        var keys = filter.entrySet().stream()
+                .filter(entry -> KEYS.contains(entry.getKey()))
+                .toList();
+        if (keys.size() != 1 || keys.get(0).getValue().isBlank()) {
+            throw new IllegalArgumentException("Exactly one of " + new TreeSet<>(KEYS) + " is required");
+        }
+        return keys.get(0);
+    }
+
+    /**
+     * Period Bounds of a Range, each Period starting at from plus a whole number of units, the last one cut at to
+     * @param from Range lower bound
+     * @param to Range upper bound
+     * @param period day, week, month or year
+     * @return List LocalDateTime, one more than the Periods
+     */
+    static List<LocalDateTime> bounds(LocalDateTime from, LocalDateTime to, String period) {
+        var unit = PERIODS.get(period);
+        if (unit == null) {
+            throw new IllegalArgumentException("Unknown period " + period + ", expected one of " + new TreeSet<>(PERIODS.keySet()));
+        }
+        var bounds = new ArrayList<LocalDateTime>();
+        for (var bound = from; bound.isBefore(to); bound = from.plus(bounds.size(), unit)) {
+            if (bounds.size() == MAX_PERIODS) {
+                throw new IllegalArgumentException("More than " + MAX_PERIODS + " periods of a " + period + " between " + from + " and " + to);
+            }
+            bounds.add(bound);
+        }
+        bounds.add(to);
+        return bounds;
+    }
+
+    private static void checkRange(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("A from date before the to date is required");
+        }
+    }
+
+    private static Criteria overlapping(Map.Entry<String, String> key, LocalDateTime from, LocalDateTime to) {
+        return where(key.getKey()).is(key.getValue())
+                .and(START_DATE).lt(to)
+                .orOperator(where(END_DATE).gt(from), where(END_DATE).is(null));
+    }
+
+    /**
+     * Project each Job History to its Holder and the indexes of the Periods it overlaps
+     * @param bounds Period Bounds
+     * @return AggregationOperation
+     */
+    private static AggregationOperation periods(List<LocalDateTime> bounds) {
+        var dates = bounds.stream().map(JobHistoryTimeline::toDate).toList();
+        var periodStart = new Document("$arrayElemAt", List.of(dates, "$$this"));
+        var periodEnd = new Document("$arrayElemAt", List.of(dates, new Document("$add", List.of("$$this", 1))));
+        var endDate = new Document("$ifNull", List.of("$" + END_DATE, dates.get(dates.size() - 1)));
+        return context -> new Document("$project", new Document(HOLDER, new Document("$ifNull", List.of("$" + EMPLOYEE_ID, "$_id")))
+                .append(PERIOD, new Document("$filter", new Document("input", new Document("$range", List.of(0, dates.size() - 1)))
+                        .append("cond", new Document("$and", List.of(
+                                new Document("$lt", List.of("$" + START_DATE, periodEnd)),
+                                new Document("$gt", List.of(endDate, periodStart))))))));
+    }
+
+    /**
+     * Date of a LocalDateTime, in the system zone as the Mongo converters store it
+     * @param value LocalDateTime
+     * @return Date
+     */
+    private static Date toDate(LocalDateTime value) {
+        return Date.from(value.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
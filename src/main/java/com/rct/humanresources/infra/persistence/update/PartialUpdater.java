@@ -0,0 +1,183 @@
+package com.rct.humanresources.infra.persistence.update;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static com.rct.humanresources.infra.persistence.search.SearchCatalog.SEARCH_KEY;
+import static com.rct.humanresources.infra.persistence.search.SearchCatalog.SEARCH_PARTS;
+import static com.rct.humanresources.infra.persistence.search.SearchCatalog.SEARCH_TERMS;
+import static com.rct.humanresources.infra.persistence.search.SearchCatalog.fieldsOf;
+import static com.rct.humanresources.infra.persistence.search.SearchNormalizer.keyExpression;
+import static com.rct.humanresources.infra.persistence.search.SearchNormalizer.keyOf;
+import static com.rct.humanresources.infra.persistence.search.SearchNormalizer.normalize;
+import static com.rct.humanresources.infra.persistence.search.SearchNormalizer.partsOf;
+import static com.rct.humanresources.infra.persistence.search.SearchNormalizer.termsExpression;
+import static com.rct.humanresources.infra.persistence.search.SearchNormalizer.termsOf;
+import static java.util.stream.Collectors.toSet;
+import static org.springframework.data.mongodb.core.FindAndModifyOptions.options;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Partial Updater - Writes a DTO as a single findAndModify instead of a read then a save.
+ * The DTO goes through its MapStruct mapper and the MongoConverter, so field names and values
+ * are the ones a save would write. A patch sets only the properties present on the DTO, a
+ * replace also unsets the absent ones. The id is taken from the path, the creation date is
+ * left alone, the modification date is set by the server and the version is incremented,
+ * guarded by the expected version when one is given. The search key is written by the same
+ * update, rebuilt on the server when only some of its fields change.
+ */
+@Component
+@RequiredArgsConstructor
+public class PartialUpdater {
+    public static final String VERSION = "version";
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    /**
+     * Set the Properties present on the Changes
+     * @param type Document Class
+     * @param id String
+     * @param changes DTO holding the Properties to set
+     * @param mapper DTO to Document
+     * @param version Expected Version, or null to skip the guard
+     * @return Mono T, the Document after the Update, empty when not found
+     * @param <D> DTO Type
+     * @param <T> Document Type
+     */
+    public <D, T> Mono<T> patch(Class<T> type, String id, D changes, Function<D, T> mapper, Long version) {
+        return Mono.defer(() -> modify(type, id, mapper.apply(changes), presentProperties(changes), version));
+    }
+
+    /**
+     * Replace every Property but the id and creation date
+     * @param type Document Class
+     * @param id String
+     * @param replacement DTO holding the new Properties
+     * @param mapper DTO to Document
+     * @param version Expected Version, or null to skip the guard
+     * @return Mono T, the Document after the Update, empty when not found
+     * @param <D> DTO Type
+     * @param <T> Document Type
+     */
+    public <D, T> Mono<T> replace(Class<T> type, String id, D replacement, Function<D, T> mapper, Long version) {
+        return Mono.defer(() -> modify(type, id, mapper.apply(replacement), null, version));
+    }
+
+    private <T> Mono<T> modify(Class<T> type, String id, T model, Set<String> present, Long version) {
+        var entity = reactiveMongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(type);
+        var document = new Document();
+        reactiveMongoTemplate.getConverter().write(model, document);
+        var update = update(entity, document, present);
+        var query = query(where("id").is(id));
+        if (version != null) {
+            query.addCriteria(where(VERSION).is(version));
+        }
+        return reactiveMongoTemplate
+                .findAndModify(query, rekeyed(type, update), options().returnNew(true), type)
+                .switchIfEmpty(Mono.defer(() -> version == null ? Mono.<T>empty() : reactiveMongoTemplate
+                        .exists(query(where("id").is(id)), type)
+                        .flatMap(exists -> exists
+                                ? Mono.<T>error(new OptimisticLockingFailureException(
+                                        "Version " + version + " of " + entity.getCollection() + " " + id + " is stale"))
+                                : Mono.<T>empty())));
+    }
+
+    /**
+     * Build the Update of a converted Document
+     * @param entity MongoPersistentEntity
+     * @param document Converted Document
+     * @param present Property Names to set, or null to set or unset every Property
+     * @return Update
+     */
+    public static Update update(MongoPersistentEntity<?> entity, Document document, Set<String> present) {
+        var update = new Update();
+        for (var property : entity) {
+            var field = property.getFieldName();
+            var value = document.get(field);
+            if (property.isIdProperty() || property.isAnnotationPresent(CreatedDate.class)) {
+                continue;
+            }
+            if (property.isAnnotationPresent(LastModifiedDate.class)) {
+                update.currentDate(field);
+            } else if (property.isVersionProperty()) {
+                update.inc(field, 1);
+            } else if (value != null && (present == null || present.contains(property.getName()))) {
+                update.set(field, value);
+            } else if (present == null) {
+                update.unset(field);
+            }
+        }
+        var fields = fieldsOf(entity.getType());
+        if (!fields.isEmpty() && fields.stream().allMatch(update::modifies)) {
+            var key = keyOf(document, fields);
+            update.set(SEARCH_KEY, key).set(SEARCH_TERMS, termsOf(key)).set(SEARCH_PARTS, partsOf(document, fields));
+        } else {
+            fields.stream()
+                    .filter(update::modifies)
+                    .forEach(field -> update.set(SEARCH_PARTS + "." + field, normalize(document.getString(field))));
+        }
+        return update;
+    }
+
+    /**
+     * Rebuild the search key on the server when an Update changes only some searchable fields:
+     * the Update becomes a pipeline setting the fields, then the key and terms from searchParts
+     * @param type Document Class
+     * @param update Update
+     * @return UpdateDefinition, the Update itself when it leaves the key consistent
+     */
+    static UpdateDefinition rekeyed(Class<?> type, Update update) {
+        var fields = fieldsOf(type);
+        if (update.modifies(SEARCH_KEY) || fields.stream().noneMatch(update::modifies)) {
+            return update;
+        }
+        var operators = update.getUpdateObject();
+        var set = new Document();
+        operators.get("$set", new Document()).forEach((field, value) -> set.put(field, new Document("$literal", value)));
+        operators.get("$inc", new Document()).forEach((field, by) ->
+                set.put(field, new Document("$add", List.of(new Document("$ifNull", List.of("$" + field, 0)), by))));
+        operators.get("$currentDate", new Document()).keySet().forEach(field -> set.put(field, "$$NOW"));
+        var stages = new ArrayList<Document>();
+        stages.add(new Document("$set", set));
+        var unset = operators.get("$unset", new Document()).keySet();
+        if (!unset.isEmpty()) {
+            stages.add(new Document("$unset", List.copyOf(unset)));
+        }
+        stages.add(new Document("$set", new Document(SEARCH_KEY, keyExpression(fields))));
+        stages.add(new Document("$set", new Document(SEARCH_TERMS, termsExpression())));
+        return AggregationUpdate.from(stages.stream().<AggregationOperation>map(stage -> context -> stage).toList());
+    }
+
+    /**
+     * Names of the non null Properties of a DTO
+     * @param changes DTO
+     * @return Set String
+     */
+    static Set<String> presentProperties(Object changes) {
+        var wrapper = new BeanWrapperImpl(changes);
+        return Arrays.stream(wrapper.getPropertyDescriptors())
+                .map(PropertyDescriptor::getName)
+                .filter(wrapper::isReadableProperty)
+                .filter(name -> wrapper.getPropertyValue(name) != null)
+                .collect(toSet());
+    }
+}
@@ -0,0 +1,27 @@
+package com.rct.humanresources.core.model.mapper;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static com.rct.humanresources.core.model.mapper.DateTimeMapping.format;
+import static com.rct.humanresources.core.model.mapper.DateTimeMapping.parse;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DateTimeMappingTest {
+
+    @Test
+    void shouldKeepIsoWireFormat() {
+        var value = LocalDateTime.of(2010, 1, 1, 9, 30, 15);
+        assertEquals("2010-01-01T09:30:15", format(value));
+        assertEquals(value, parse(format(value)));
+    }
+
+    @Test
+    void shouldMapMissingValuesToNull() {
+        assertNull(format(null));
+        assertNull(parse(null));
+        assertNull(parse(" "));
+    }
+}
@@ -2,14 +2,16 @@ package com.rct.humanresources.core.model.stub;
 
 import com.rct.humanresources.core.model.dto.CityDTO;
 
+import java.time.LocalDateTime;
+
 public class CityDTOStub {
     public static CityDTO any(){
         var city = new CityDTO();
         city.setId("1");
         city.setName("City Name");
         city.setStateId("2");
-        city.setCreatedAt("01/01/2010");
-        city.setUpdatedAt("01/01/2011");
+        city.setCreatedAt(LocalDateTime.of(2010, 1, 1, 0, 0));
+        city.setUpdatedAt(LocalDateTime.of(2011, 1, 1, 0, 0));
         return city;
     }
 }
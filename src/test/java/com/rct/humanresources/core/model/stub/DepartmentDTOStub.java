@@ -2,13 +2,15 @@ package com.rct.humanresources.core.model.stub;
 
 import com.rct.humanresources.core.model.dto.DepartmentDTO;
 
+import java.time.LocalDateTime;
+
 public class DepartmentDTOStub {
     public static DepartmentDTO any(){
         var department = new DepartmentDTO();
         department.setId("1");
         department.setName("Department Name");
-        department.setCreatedAt("01/01/2010");
-        department.setUpdatedAt("01/01/2011");
+        department.setCreatedAt(LocalDateTime.of(2010, 1, 1, 0, 0));
+        department.setUpdatedAt(LocalDateTime.of(2011, 1, 1, 0, 0));
         department.setDescription("Department Description");
         department.setLocationId("1");
         department.setManagerId("1");
@@ -8,10 +8,10 @@ public class EmployeeDTOStub {
     public static EmployeeDTO any(){
         var employee = new EmployeeDTO();
         employee.setId("1");
-        employee.setBirthDate("30/10/1984");
+        employee.setBirthDate(LocalDateTime.of(1984, 10, 30, 0, 0));
         employee.setCommission(5000.00);
         employee.setDepartmentId("1");
-        employee.setHireDate("01/01/2010");
+        employee.setHireDate(LocalDateTime.of(2010, 1, 1, 0, 0));
         employee.setEmail("email@email.com");
         employee.setFirstName("First");
         employee.setLastName("Last");
@@ -19,8 +19,8 @@ public class EmployeeDTOStub {
         employee.setManagerId("1");
         employee.setPhoneNumber("119999999999");
         employee.setSalary(20000.00);
-        employee.setCreatedAt("01/01/2010");
-        employee.setUpdatedAt("01/01/2011");
+        employee.setCreatedAt(LocalDateTime.of(2010, 1, 1, 0, 0));
+        employee.setUpdatedAt(LocalDateTime.of(2011, 1, 1, 0, 0));
         return employee;
     }
 }
@@ -2,6 +2,8 @@ package com.rct.humanresources.core.model.stub;
 
 import com.rct.humanresources.core.model.dto.JobDTO;
 
+import java.time.LocalDateTime;
+
 public class JobDTOStub {
     public static JobDTO any(){
         var job = new JobDTO();
@@ -9,8 +11,8 @@ public class JobDTOStub {
         job.setTitle("Job Title");
         job.setMaxSalary(30000.00);
         job.setMinSalary(15000.00);
-        job.setCreatedAt("01/01/2010");
-        job.setUpdatedAt("01/01/2011");
+        job.setCreatedAt(LocalDateTime.of(2010, 1, 1, 0, 0));
+        job.setUpdatedAt(LocalDateTime.of(2011, 1, 1, 0, 0));
         return job;
     }
 }
@@ -2,15 +2,18 @@ package com.rct.humanresources.core.model.stub;
 
 import com.rct.humanresources.core.model.dto.JobHistoryDTO;
 
+import java.time.LocalDateTime;
+
 public class JobHistoryDTOStub {
     public static JobHistoryDTO any(){
         var jobHistory = new JobHistoryDTO();
         jobHistory.setId("1");
+        jobHistory.setEmployeeId("1");
         jobHistory.setDepartmentId("1");
-        jobHistory.setStartDate("05/02/2020");
+        jobHistory.setStartDate(LocalDateTime.of(2020, 2, 5, 0, 0));
         jobHistory.setJobId("1");
-        jobHistory.setCreatedAt("01/01/2010");
-        jobHistory.setUpdatedAt("01/01/2011");
+        jobHistory.setCreatedAt(LocalDateTime.of(2010, 1, 1, 0, 0));
+        jobHistory.setUpdatedAt(LocalDateTime.of(2011, 1, 1, 0, 0));
         return jobHistory;
     }
 }
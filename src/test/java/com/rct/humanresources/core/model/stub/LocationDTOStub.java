@@ -2,6 +2,8 @@ package com.rct.humanresources.core.model.stub;
 
 import com.rct.humanresources.core.model.dto.LocationDTO;
 
+import java.time.LocalDateTime;
+
 public class LocationDTOStub {
     public static LocationDTO any(){
         var location = new LocationDTO();
@@ -9,8 +11,8 @@ public class LocationDTOStub {
         location.setCityId("1");
         location.setStreet("Street Name");
         location.setPostalCode("11111999");
-        location.setCreatedAt("01/01/2010");
-        location.setUpdatedAt("01/01/2011");
+        location.setCreatedAt(LocalDateTime.of(2010, 1, 1, 0, 0));
+        location.setUpdatedAt(LocalDateTime.of(2011, 1, 1, 0, 0));
         return location;
     }
 }
@@ -2,6 +2,8 @@ package com.rct.humanresources.core.model.stub;
 
 import com.rct.humanresources.core.model.dto.StateDTO;
 
+import java.time.LocalDateTime;
+
 public class StateDTOStub {
     public static StateDTO any(){
         var state = new StateDTO();
@@ -9,8 +11,8 @@ public class StateDTOStub {
         state.setName("State Name");
         state.setCountryId("1");
         state.setAcronym("ST");
-        state.setCreatedAt("01/01/2010");
-        state.setUpdatedAt("01/01/2011");
+        state.setCreatedAt(LocalDateTime.of(2010, 1, 1, 0, 0));
+        state.setUpdatedAt(LocalDateTime.of(2011, 1, 1, 0, 0));
         return state;
     }
 }
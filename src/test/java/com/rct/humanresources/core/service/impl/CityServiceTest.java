@@ -1,26 +1,51 @@
 package com.rct.humanresources.core.service.impl;
 
 
+import com.mongodb.ReadPreference;
+import com.mongodb.client.result.DeleteResult;
+import com.rct.humanresources.core.model.dto.BatchItemResultDTO;
+import com.rct.humanresources.core.model.dto.ChangeEventDTO;
 import com.rct.humanresources.core.model.dto.CityDTO;
+import com.rct.humanresources.core.model.dto.CursorPageDTO;
 import com.rct.humanresources.core.model.mapper.CityMapper;
 import com.rct.humanresources.core.model.stub.CityDTOStub;
+import com.rct.humanresources.infra.cache.ReferenceDataCaches;
+import com.rct.humanresources.infra.persistence.bulk.BulkWriter;
 import com.rct.humanresources.infra.persistence.entity.stub.CityStub;
 import com.rct.humanresources.infra.persistence.model.City;
+import com.rct.humanresources.infra.persistence.read.ReadPreferences;
 import com.rct.humanresources.infra.persistence.repository.CityRepository;
+import com.rct.humanresources.infra.persistence.search.SearchEngine;
+import com.rct.humanresources.infra.persistence.stream.ChangeStreamHub;
+import com.rct.humanresources.infra.persistence.update.PartialUpdater;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +58,18 @@ class CityServiceTest {
     private CityRepository repository;
     @Mock
     private ReactiveMongoTemplate reactiveMongoTemplate;
+    @Mock
+    private ChangeStreamHub changeStreamHub;
+    @Mock
+    private BulkWriter bulkWriter;
+    @Mock
+    private PartialUpdater partialUpdater;
+    @Mock
+    private SearchEngine searchEngine;
+    @Spy
+    private ReferenceDataCaches caches = new ReferenceDataCaches(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+    @Mock
+    private ReadPreferences readPreferences;
     City entity = CityStub.any();
     CityDTO dto = CityDTOStub.any();
 
@@ -45,6 +82,14 @@ class CityServiceTest {
         StepVerifier.create(monoEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
     }
 
+    @Test
+    void shouldSaveAllCities() {
+        var result = new BatchItemResultDTO<>(0, BulkWriter.CREATED, dto.getId(), dto, null);
+        when(bulkWriter.write(eq(City.class), any(), ArgumentMatchers.<Function<City, CityDTO>>any()))
+                .thenReturn(Flux.just(result));
+        StepVerifier.create(service.saveAll(Flux.just(dto))).expectNext(result).verifyComplete();
+    }
+
     @Test
     void shouldFindAllCities() {
         when(mapper.fromModel(entity)).thenReturn(dto);
@@ -53,6 +98,40 @@ class CityServiceTest {
         StepVerifier.create(fluxEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
     }
 
+    @Test
+    void shouldFindAllCitiesByReferenceReadPreference() {
+        when(readPreferences.getReference()).thenReturn(ReadPreference.secondaryPreferred());
+        when(reactiveMongoTemplate.find(any(Query.class), eq(City.class))).thenReturn(Flux.just(entity));
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        StepVerifier.create(service.findAll()).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
+        var query = ArgumentCaptor.forClass(Query.class);
+        verify(reactiveMongoTemplate).find(query.capture(), eq(City.class));
+        assertEquals(ReadPreference.secondaryPreferred(), query.getValue().getReadPreference());
+    }
+
+    @Test
+    void shouldFindCitiesPage() {
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        when(reactiveMongoTemplate.find(any(), eq(City.class))).thenReturn(Flux.just(entity));
+        Mono<CursorPageDTO<CityDTO>> monoPage = service.findAll(null, 10);
+        StepVerifier
+                .create(monoPage)
+                .consumeNextWith(page -> {
+                    assertEquals(List.of(dto), page.getContent());
+                    assertNull(page.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldWatchCities() {
+        var change = new ChangeEventDTO<>("insert", dto.getId(), dto, "token");
+        when(changeStreamHub.watch(eq(City.class), eq("previous"), ArgumentMatchers.<Function<City, CityDTO>>any()))
+                .thenReturn(Flux.just(change));
+        Flux<ChangeEventDTO<CityDTO>> fluxChanges = service.watch("previous");
+        StepVerifier.create(fluxChanges).consumeNextWith(item -> assertEquals(item, change)).verifyComplete();
+    }
+
     @Test
     void shouldFindCityById() {
         when(mapper.fromModel(entity)).thenReturn(dto);
@@ -61,6 +140,20 @@ class CityServiceTest {
         StepVerifier.create(monoEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
     }
 
+    @Test
+    void shouldFindCitiesByIds() {
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        when(repository.findAllById(Set.of("missing", dto.getId()))).thenReturn(Flux.just(entity));
+        StepVerifier.create(service.findAllById(List.of("missing", dto.getId(), dto.getId())))
+                .expectNext(dto)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldRejectEmptyCitiesIds() {
+        StepVerifier.create(service.findAllById(List.of())).verifyError(IllegalArgumentException.class);
+    }
+
     @Test
     void shouldFindCityByStateId() {
         when(mapper.fromModel(entity)).thenReturn(dto);
@@ -70,20 +163,61 @@ class CityServiceTest {
     }
 
     @Test
-    void shouldUpdateCity() {
-        when(repository.findById(anyString())).thenReturn(Mono.just(entity));
-        when(repository.save(entity)).thenReturn(Mono.just(entity));
+    void shouldServeCitiesByStateIdFromCache() {
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        when(repository.findByStateId(dto.getStateId())).thenReturn(Flux.just(entity));
+        StepVerifier.create(service.findByStateId(dto.getStateId())).expectNext(dto).verifyComplete();
+        StepVerifier.create(service.findByStateId(dto.getStateId())).expectNext(dto).verifyComplete();
+        verify(repository, times(1)).findByStateId(dto.getStateId());
+    }
+
+    @Test
+    void shouldUpdateCityById() {
+        when(partialUpdater.replace(eq(City.class), eq(dto.getId()), eq(dto), ArgumentMatchers.<Function<CityDTO, City>>any(), isNull()))
+                .thenReturn(Mono.just(entity));
         when(mapper.fromModel(entity)).thenReturn(dto);
-        when(mapper.fromDTO(dto)).thenReturn(entity);
         Mono<CityDTO> monoEntity = service.updateById(dto.getId(), dto);
         StepVerifier.create(monoEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
     }
 
+    @Test
+    void shouldPatchCityById() {
+        when(partialUpdater.patch(eq(City.class), eq(dto.getId()), eq(dto), ArgumentMatchers.<Function<CityDTO, City>>any(), eq(dto.getVersion())))
+                .thenReturn(Mono.just(entity));
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        Mono<CityDTO> monoEntity = service.patchById(dto.getId(), dto);
+        StepVerifier.create(monoEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
+    }
+
+    @Test
+    void shouldFindByStateIdWithFields() {
+        when(reactiveMongoTemplate.find(any(Query.class), eq(City.class))).thenReturn(Flux.just(entity));
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        StepVerifier.create(service.findByStateId("1", Set.of("id", "stateId")))
+                .consumeNextWith(item -> assertEquals(item, dto))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldDeleteCityById() {
+        when(reactiveMongoTemplate.findAndRemove(any(Query.class), eq(City.class))).thenReturn(Mono.just(entity));
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        StepVerifier.create(service.deleteById(dto.getId())).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
+    }
+
+    @Test
+    void shouldDeleteCitiesByFilter() {
+        when(reactiveMongoTemplate.remove(any(Query.class), eq(City.class))).thenReturn(Mono.just(DeleteResult.acknowledged(2)));
+        StepVerifier.create(service.deleteAllBy(Map.of("stateId", "1")))
+                .consumeNextWith(result -> assertEquals(2, result.getDeletedCount()))
+                .verifyComplete();
+    }
+
     @Test
     void shouldFetchCityByName() {
         when(mapper.fromModel(entity)).thenReturn(dto);
-        when(reactiveMongoTemplate.find(any(), eq(City.class))).thenReturn(Flux.just(entity));
-        Flux<CityDTO> fluxEntity = service.fetchByName("name");
+        when(searchEngine.search(City.class, "name", 10)).thenReturn(Flux.just(entity));
+        Flux<CityDTO> fluxEntity = service.fetchByName("name", 10);
         StepVerifier.create(fluxEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
     }
 
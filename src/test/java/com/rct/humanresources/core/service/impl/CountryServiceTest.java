@@ -1,25 +1,46 @@
 package com.rct.humanresources.core.service.impl;
 
+import com.rct.humanresources.core.model.dto.BatchItemResultDTO;
+import com.rct.humanresources.core.model.dto.ChangeEventDTO;
 import com.rct.humanresources.core.model.dto.CountryDTO;
+import com.rct.humanresources.core.model.dto.CursorPageDTO;
 import com.rct.humanresources.core.model.mapper.CountryMapper;
 import com.rct.humanresources.core.model.stub.CountryDTOStub;
+import com.rct.humanresources.infra.cache.ReferenceDataCaches;
+import com.rct.humanresources.infra.persistence.bulk.BulkWriter;
 import com.rct.humanresources.infra.persistence.entity.stub.CountryStub;
 import com.rct.humanresources.infra.persistence.model.Country;
+import com.rct.humanresources.infra.persistence.read.ReadPreferences;
 import com.rct.humanresources.infra.persistence.repository.CountryRepository;
+import com.rct.humanresources.infra.persistence.search.SearchEngine;
+import com.rct.humanresources.infra.persistence.stream.ChangeStreamHub;
+import com.rct.humanresources.infra.persistence.update.PartialUpdater;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +53,18 @@ class CountryServiceTest {
     private CountryRepository repository;
     @Mock
     private ReactiveMongoTemplate reactiveMongoTemplate;
+    @Mock
+    private ChangeStreamHub changeStreamHub;
+    @Mock
+    private BulkWriter bulkWriter;
+    @Mock
+    private PartialUpdater partialUpdater;
+    @Mock
+    private SearchEngine searchEngine;
+    @Spy
+    private ReferenceDataCaches caches = new ReferenceDataCaches(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+    @Mock
+    private ReadPreferences readPreferences;
     Country entity = CountryStub.any();
     CountryDTO dto = CountryDTOStub.any();
 
@@ -44,6 +77,14 @@ class CountryServiceTest {
         StepVerifier.create(monoEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
     }
 
+    @Test
+    void shouldSaveAllCountries() {
+        var result = new BatchItemResultDTO<>(0, BulkWriter.CREATED, dto.getId(), dto, null);
+        when(bulkWriter.write(eq(Country.class), any(), ArgumentMatchers.<Function<Country, CountryDTO>>any()))
+                .thenReturn(Flux.just(result));
+        StepVerifier.create(service.saveAll(Flux.just(dto))).expectNext(result).verifyComplete();
+    }
+
     @Test
     void shouldFindAllCountries() {
         when(mapper.fromModel(entity)).thenReturn(dto);
@@ -52,6 +93,29 @@ class CountryServiceTest {
         StepVerifier.create(fluxEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
     }
 
+    @Test
+    void shouldFindCountriesPage() {
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        when(reactiveMongoTemplate.find(any(), eq(Country.class))).thenReturn(Flux.just(entity));
+        Mono<CursorPageDTO<CountryDTO>> monoPage = service.findAll(null, 10);
+        StepVerifier
+                .create(monoPage)
+                .consumeNextWith(page -> {
+                    assertEquals(List.of(dto), page.getContent());
+                    assertNull(page.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldWatchCountries() {
+        var change = new ChangeEventDTO<>("insert", dto.getId(), dto, "token");
+        when(changeStreamHub.watch(eq(Country.class), eq("previous"), ArgumentMatchers.<Function<Country, CountryDTO>>any()))
+                .thenReturn(Flux.just(change));
+        Flux<ChangeEventDTO<CountryDTO>> fluxChanges = service.watch("previous");
+        StepVerifier.create(fluxChanges).consumeNextWith(item -> assertEquals(item, change)).verifyComplete();
+    }
+
     @Test
     void shouldFindCountryById() {
         when(mapper.fromModel(entity)).thenReturn(dto);
@@ -61,20 +125,59 @@ class CountryServiceTest {
     }
 
     @Test
-    void shouldUpdateCountry() {
-        when(repository.findById(anyString())).thenReturn(Mono.just(entity));
-        when(repository.save(entity)).thenReturn(Mono.just(entity));
+    void shouldFindCountriesByIds() {
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        when(repository.findAllById(Set.of("missing", dto.getId()))).thenReturn(Flux.just(entity));
+        StepVerifier.create(service.findAllById(List.of("missing", dto.getId(), dto.getId())))
+                .expectNext(dto)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldRejectEmptyCountriesIds() {
+        StepVerifier.create(service.findAllById(List.of())).verifyError(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldServeCountryByIdFromCache() {
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        when(repository.findById(dto.getId())).thenReturn(Mono.just(entity));
+        StepVerifier.create(service.findById(dto.getId())).expectNext(dto).verifyComplete();
+        StepVerifier.create(service.findById(dto.getId())).expectNext(dto).verifyComplete();
+        verify(repository, times(1)).findById(dto.getId());
+        verify(mapper, times(2)).fromModel(entity);
+    }
+
+    @Test
+    void shouldUpdateCountryById() {
+        when(partialUpdater.replace(eq(Country.class), eq(dto.getId()), eq(dto), ArgumentMatchers.<Function<CountryDTO, Country>>any(), isNull()))
+                .thenReturn(Mono.just(entity));
         when(mapper.fromModel(entity)).thenReturn(dto);
-        when(mapper.fromDTO(dto)).thenReturn(entity);
         Mono<CountryDTO> monoEntity = service.updateById(dto.getId(), dto);
         StepVerifier.create(monoEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
     }
 
+    @Test
+    void shouldPatchCountryById() {
+        when(partialUpdater.patch(eq(Country.class), eq(dto.getId()), eq(dto), ArgumentMatchers.<Function<CountryDTO, Country>>any(), eq(dto.getVersion())))
+                .thenReturn(Mono.just(entity));
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        Mono<CountryDTO> monoEntity = service.patchById(dto.getId(), dto);
+        StepVerifier.create(monoEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
+    }
+
+    @Test
+    void shouldDeleteCountryById() {
+        when(reactiveMongoTemplate.findAndRemove(any(Query.class), eq(Country.class))).thenReturn(Mono.just(entity));
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        StepVerifier.create(service.deleteById(dto.getId())).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
+    }
+
     @Test
     void shouldFetchCountryByName() {
         when(mapper.fromModel(entity)).thenReturn(dto);
-        when(reactiveMongoTemplate.find(any(), eq(Country.class))).thenReturn(Flux.just(entity));
-        Flux<CountryDTO> fluxEntity = service.fetchByName("name");
+        when(searchEngine.search(Country.class, "name", 10)).thenReturn(Flux.just(entity));
+        Flux<CountryDTO> fluxEntity = service.fetchByName("name", 10);
         StepVerifier.create(fluxEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
     }
 }
@@ -1,25 +1,51 @@
 package com.rct.humanresources.core.service.impl;
 
+import com.mongodb.client.result.DeleteResult;
+import com.rct.humanresources.core.model.dto.BatchItemResultDTO;
+import com.rct.humanresources.core.model.dto.ChangeEventDTO;
+import com.rct.humanresources.core.model.dto.CursorPageDTO;
 import com.rct.humanresources.core.model.dto.DepartmentDTO;
+import com.rct.humanresources.core.model.dto.DepartmentSummaryDTO;
+import com.rct.humanresources.core.model.dto.ExpandedDepartmentDTO;
 import com.rct.humanresources.core.model.mapper.DepartmentMapper;
+import com.rct.humanresources.core.model.mapper.DepartmentSummaryMapper;
 import com.rct.humanresources.core.model.stub.DepartmentDTOStub;
+import com.rct.humanresources.core.model.stub.LocationDTOStub;
+import com.rct.humanresources.infra.persistence.bulk.BulkWriter;
 import com.rct.humanresources.infra.persistence.entity.stub.DepartmentStub;
+import com.rct.humanresources.infra.persistence.expand.DepartmentExpander;
+import com.rct.humanresources.infra.persistence.loader.BatchLoader;
+import com.rct.humanresources.infra.persistence.loader.BatchLoaders;
 import com.rct.humanresources.infra.persistence.model.Department;
+import com.rct.humanresources.infra.persistence.model.DepartmentSummary;
 import com.rct.humanresources.infra.persistence.repository.DepartmentRepository;
+import com.rct.humanresources.infra.persistence.repository.DepartmentSummaryRepository;
+import com.rct.humanresources.infra.persistence.search.SearchEngine;
+import com.rct.humanresources.infra.persistence.stream.ChangeStreamHub;
+import com.rct.humanresources.infra.persistence.summary.DepartmentSummaries;
+import com.rct.humanresources.infra.persistence.update.PartialUpdater;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +58,26 @@ class DepartmentServiceTest {
     private DepartmentRepository repository;
     @Mock
     private ReactiveMongoTemplate reactiveMongoTemplate;
+    @Mock
+    private ChangeStreamHub changeStreamHub;
+    @Mock
+    private BulkWriter bulkWriter;
+    @Mock
+    private PartialUpdater partialUpdater;
+    @Mock
+    private BatchLoaders batchLoaders;
+    @Mock
+    private BatchLoader<Department> loader;
+    @Mock
+    private SearchEngine searchEngine;
+    @Mock
+    private DepartmentSummaryRepository summaryRepository;
+    @Mock
+    private DepartmentSummaryMapper summaryMapper;
+    @Mock
+    private DepartmentSummaries departmentSummaries;
+    @Mock
+    private DepartmentExpander departmentExpander;
     Department entity = DepartmentStub.any();
     DepartmentDTO dto = DepartmentDTOStub.any();
 
@@ -46,6 +92,14 @@ class DepartmentServiceTest {
         }).verifyComplete();
     }
 
+    @Test
+    void shouldSaveAllDepartments() {
+        var result = new BatchItemResultDTO<>(0, BulkWriter.CREATED, dto.getId(), dto, null);
+        when(bulkWriter.write(eq(Department.class), any(), ArgumentMatchers.<Function<Department, DepartmentDTO>>any()))
+                .thenReturn(Flux.just(result));
+        StepVerifier.create(service.saveAll(Flux.just(dto))).expectNext(result).verifyComplete();
+    }
+
     @Test
     void shouldFindAllDepartments() {
         when(mapper.fromModel(entity)).thenReturn(dto);
@@ -54,14 +108,52 @@ class DepartmentServiceTest {
         StepVerifier.create(fluxEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
     }
 
+    @Test
+    void shouldFindDepartmentsPage() {
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        when(reactiveMongoTemplate.find(any(), eq(Department.class))).thenReturn(Flux.just(entity));
+        Mono<CursorPageDTO<DepartmentDTO>> monoPage = service.findAll(null, 10);
+        StepVerifier
+                .create(monoPage)
+                .consumeNextWith(page -> {
+                    assertEquals(List.of(dto), page.getContent());
+                    assertNull(page.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldWatchDepartments() {
+        var change = new ChangeEventDTO<>("insert", dto.getId(), dto, "token");
+        when(changeStreamHub.watch(eq(Department.class), eq("previous"), ArgumentMatchers.<Function<Department, DepartmentDTO>>any()))
+                .thenReturn(Flux.just(change));
+        Flux<ChangeEventDTO<DepartmentDTO>> fluxChanges = service.watch("previous");
+        StepVerifier.create(fluxChanges).consumeNextWith(item -> assertEquals(item, change)).verifyComplete();
+    }
+
     @Test
     void shouldFindDepartmentById() {
         when(mapper.fromModel(entity)).thenReturn(dto);
-        when(repository.findById(dto.getId())).thenReturn(Mono.just(entity));
+        when(batchLoaders.getDepartments()).thenReturn(loader);
+        when(loader.load(dto.getId())).thenReturn(Mono.just(entity));
         Mono<DepartmentDTO> monoEntity = service.findById(dto.getId());
         StepVerifier.create(monoEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
     }
 
+    @Test
+    void shouldFindDepartmentsByIds() {
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        when(repository.findAllById(Set.of("missing", dto.getId()))).thenReturn(Flux.just(entity));
+        StepVerifier.create(service.findAllById(List.of("missing", dto.getId(), dto.getId())))
+                .expectNext(dto)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldRejectEmptyDepartmentsIds() {
+        StepVerifier.create(service.findAllById(List.of())).verifyError(IllegalArgumentException.class);
+    }
+
     @Test
     void shouldFindDepartmentByManagerId() {
         when(mapper.fromModel(entity)).thenReturn(dto);
@@ -79,20 +171,89 @@ class DepartmentServiceTest {
     }
 
     @Test
-    void shouldUpdateDepartment() {
-        when(repository.findById(anyString())).thenReturn(Mono.just(entity));
-        when(repository.save(entity)).thenReturn(Mono.just(entity));
+    void shouldUpdateDepartmentById() {
+        when(partialUpdater.replace(eq(Department.class), eq(dto.getId()), eq(dto), ArgumentMatchers.<Function<DepartmentDTO, Department>>any(), isNull()))
+                .thenReturn(Mono.just(entity));
         when(mapper.fromModel(entity)).thenReturn(dto);
-        when(mapper.fromDTO(dto)).thenReturn(entity);
         Mono<DepartmentDTO> monoEntity = service.updateById(dto.getId(), dto);
         StepVerifier.create(monoEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
     }
 
+    @Test
+    void shouldPatchDepartmentById() {
+        when(partialUpdater.patch(eq(Department.class), eq(dto.getId()), eq(dto), ArgumentMatchers.<Function<DepartmentDTO, Department>>any(), eq(dto.getVersion())))
+                .thenReturn(Mono.just(entity));
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        Mono<DepartmentDTO> monoEntity = service.patchById(dto.getId(), dto);
+        StepVerifier.create(monoEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
+    }
+
+    @Test
+    void shouldFindByManagerIdWithFields() {
+        when(reactiveMongoTemplate.find(any(Query.class), eq(Department.class))).thenReturn(Flux.just(entity));
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        StepVerifier.create(service.findByManagerId("1", Set.of("id", "managerId")))
+                .consumeNextWith(item -> assertEquals(item, dto))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldDeleteDepartmentById() {
+        when(reactiveMongoTemplate.findAndRemove(any(Query.class), eq(Department.class))).thenReturn(Mono.just(entity));
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        StepVerifier.create(service.deleteById(dto.getId())).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
+    }
+
+    @Test
+    void shouldDeleteDepartmentsByFilter() {
+        when(reactiveMongoTemplate.remove(any(Query.class), eq(Department.class))).thenReturn(Mono.just(DeleteResult.acknowledged(2)));
+        StepVerifier.create(service.deleteAllBy(Map.of("managerId", "1")))
+                .consumeNextWith(result -> assertEquals(2, result.getDeletedCount()))
+                .verifyComplete();
+    }
+
     @Test
     void shouldFetchDepartmentByName() {
         when(mapper.fromModel(entity)).thenReturn(dto);
-        when(reactiveMongoTemplate.find(any(), eq(Department.class))).thenReturn(Flux.just(entity));
-        Flux<DepartmentDTO> fluxEntity = service.fetchByName("name");
+        when(searchEngine.search(Department.class, "name", 10)).thenReturn(Flux.just(entity));
+        Flux<DepartmentDTO> fluxEntity = service.fetchByName("name", 10);
         StepVerifier.create(fluxEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
     }
+
+    @Test
+    void shouldFindDepartmentSummaryById() {
+        var summary = new DepartmentSummary(dto.getId(), dto.getName(), dto.getManagerId(), "Steven King", 2, 300.0, null);
+        var summaryDTO = new DepartmentSummaryDTO(dto.getId(), dto.getName(), dto.getManagerId(), "Steven King", 2, 300.0, null);
+        when(summaryRepository.findById(dto.getId())).thenReturn(Mono.just(summary));
+        when(summaryMapper.fromModel(summary)).thenReturn(summaryDTO);
+        StepVerifier.create(service.findSummaryById(dto.getId()))
+                .consumeNextWith(item -> assertEquals(summaryDTO, item))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldRebuildDepartmentSummaries() {
+        var summary = new DepartmentSummary(dto.getId(), dto.getName(), dto.getManagerId(), null, 0, 0.0, null);
+        var summaryDTO = new DepartmentSummaryDTO(dto.getId(), dto.getName(), dto.getManagerId(), null, 0, 0.0, null);
+        when(departmentSummaries.rebuild()).thenReturn(Mono.just(1L));
+        when(summaryRepository.findAll()).thenReturn(Flux.just(summary));
+        when(summaryMapper.fromModel(summary)).thenReturn(summaryDTO);
+        StepVerifier.create(service.rebuildSummaries())
+                .consumeNextWith(item -> assertEquals(summaryDTO, item))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldFindExpandedDepartmentById() {
+        var expanded = new ExpandedDepartmentDTO(dto, LocationDTOStub.any(), null, null, null);
+        when(departmentExpander.findById(dto.getId(), 1)).thenReturn(Mono.just(expanded));
+        StepVerifier.create(service.findById(dto.getId(), "location"))
+                .consumeNextWith(item -> assertEquals(expanded, item))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldRejectUnknownExpand() {
+        StepVerifier.create(service.findById(dto.getId(), "manager")).verifyError(IllegalArgumentException.class);
+    }
 }
@@ -1,25 +1,50 @@
 package com.rct.humanresources.core.service.impl;
 
+import com.mongodb.client.result.DeleteResult;
+import com.rct.humanresources.core.model.dto.BatchItemResultDTO;
+import com.rct.humanresources.core.model.dto.ChangeEventDTO;
+import com.rct.humanresources.core.model.dto.CursorPageDTO;
 import com.rct.humanresources.core.model.dto.EmployeeDTO;
+import com.rct.humanresources.core.model.dto.EmployeeNodeDTO;
+import com.rct.humanresources.core.model.dto.PayrollStatsDTO;
 import com.rct.humanresources.core.model.mapper.EmployeeMapper;
 import com.rct.humanresources.core.model.stub.EmployeeDTOStub;
+import com.rct.humanresources.infra.persistence.analytics.PayrollAnalytics;
+import com.rct.humanresources.infra.persistence.bulk.BulkWriter;
 import com.rct.humanresources.infra.persistence.entity.stub.EmployeeStub;
+import com.rct.humanresources.infra.persistence.hierarchy.OrgChart;
+import com.rct.humanresources.infra.persistence.loader.BatchLoader;
+import com.rct.humanresources.infra.persistence.loader.BatchLoaders;
 import com.rct.humanresources.infra.persistence.model.Employee;
 import com.rct.humanresources.infra.persistence.repository.EmployeeRepository;
+import com.rct.humanresources.infra.persistence.search.SearchEngine;
+import com.rct.humanresources.infra.persistence.stream.ChangeStreamHub;
+import com.rct.humanresources.infra.persistence.summary.DepartmentSummaries;
+import com.rct.humanresources.infra.persistence.update.PartialUpdater;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,11 +57,30 @@ class EmployeeServiceTest {
     private EmployeeRepository repository;
     @Mock
     private ReactiveMongoTemplate reactiveMongoTemplate;
+    @Mock
+    private ChangeStreamHub changeStreamHub;
+    @Mock
+    private BulkWriter bulkWriter;
+    @Mock
+    private PartialUpdater partialUpdater;
+    @Mock
+    private BatchLoaders batchLoaders;
+    @Mock
+    private BatchLoader<Employee> loader;
+    @Mock
+    private SearchEngine searchEngine;
+    @Mock
+    private OrgChart orgChart;
+    @Mock
+    private PayrollAnalytics payrollAnalytics;
+    @Mock
+    private DepartmentSummaries departmentSummaries;
     Employee entity = EmployeeStub.any();
     EmployeeDTO dto = EmployeeDTOStub.any();
 
     @Test
     void shouldCreateEmployee() {
+        when(departmentSummaries.tracking(any(), any())).thenAnswer(invocation -> invocation.getArgument(1));
         when(repository.save(entity)).thenReturn(Mono.just(entity));
         when(mapper.fromModel(entity)).thenReturn(dto);
         when(mapper.fromDTO(dto)).thenReturn(entity);
@@ -47,6 +91,14 @@ class EmployeeServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    void shouldSaveAllEmployees() {
+        var result = new BatchItemResultDTO<>(0, BulkWriter.CREATED, dto.getId(), dto, null);
+        when(bulkWriter.write(eq(Employee.class), any(), ArgumentMatchers.<Function<Employee, EmployeeDTO>>any()))
+                .thenReturn(Flux.just(result));
+        StepVerifier.create(service.saveAll(Flux.just(dto))).expectNext(result).verifyComplete();
+    }
+
     @Test
     void shouldFindAllEmployees() {
         when(mapper.fromModel(entity)).thenReturn(dto);
@@ -58,11 +110,35 @@ class EmployeeServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    void shouldFindEmployeesPage() {
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        when(reactiveMongoTemplate.find(any(), eq(Employee.class))).thenReturn(Flux.just(entity));
+        Mono<CursorPageDTO<EmployeeDTO>> monoPage = service.findAll(null, 10);
+        StepVerifier
+                .create(monoPage)
+                .consumeNextWith(page -> {
+                    assertEquals(List.of(dto), page.getContent());
+                    assertNull(page.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldWatchEmployees() {
+        var change = new ChangeEventDTO<>("insert", dto.getId(), dto, "token");
+        when(changeStreamHub.watch(eq(Employee.class), eq("previous"), ArgumentMatchers.<Function<Employee, EmployeeDTO>>any()))
+                .thenReturn(Flux.just(change));
+        Flux<ChangeEventDTO<EmployeeDTO>> fluxChanges = service.watch("previous");
+        StepVerifier.create(fluxChanges).consumeNextWith(item -> assertEquals(item, change)).verifyComplete();
+    }
+
     @Test
     void shouldFindEmployeeById() {
         when(mapper.fromModel(entity)).thenReturn(dto);
-        when(repository
-                .findById(dto.getId()))
+        when(batchLoaders.getEmployees()).thenReturn(loader);
+        when(loader
+                .load(dto.getId()))
                 .thenReturn(Mono.just(entity));
         Mono<EmployeeDTO> monoEntity = service.findById(dto.getId());
         StepVerifier
@@ -71,6 +147,20 @@ class EmployeeServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    void shouldFindEmployeesByIds() {
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        when(repository.findAllById(Set.of("missing", dto.getId()))).thenReturn(Flux.just(entity));
+        StepVerifier.create(service.findAllById(List.of("missing", dto.getId(), dto.getId())))
+                .expectNext(dto)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldRejectEmptyEmployeesIds() {
+        StepVerifier.create(service.findAllById(List.of())).verifyError(IllegalArgumentException.class);
+    }
+
     @Test
     void shouldFindEmployeeByDepartmentId() {
         when(mapper.fromModel(entity)).thenReturn(dto);
@@ -111,23 +201,85 @@ class EmployeeServiceTest {
     }
 
     @Test
-    void shouldUpdateEmployee() {
-        when(repository.findById(anyString())).thenReturn(Mono.just(entity));
-        when(repository.save(entity)).thenReturn(Mono.just(entity));
+    void shouldUpdateEmployeeById() {
+        when(departmentSummaries.tracking(any(), any())).thenAnswer(invocation -> invocation.getArgument(1));
+        when(partialUpdater.replace(eq(Employee.class), eq(dto.getId()), eq(dto), ArgumentMatchers.<Function<EmployeeDTO, Employee>>any(), isNull()))
+                .thenReturn(Mono.just(entity));
         when(mapper.fromModel(entity)).thenReturn(dto);
-        when(mapper.fromDTO(dto)).thenReturn(entity);
-        Mono<EmployeeDTO> monoEntity = service.updateById(dto.getId(),dto);
-        StepVerifier
-                .create(monoEntity)
+        Mono<EmployeeDTO> monoEntity = service.updateById(dto.getId(), dto);
+        StepVerifier.create(monoEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
+    }
+
+    @Test
+    void shouldPatchEmployeeById() {
+        when(departmentSummaries.tracking(any(), any())).thenAnswer(invocation -> invocation.getArgument(1));
+        when(partialUpdater.patch(eq(Employee.class), eq(dto.getId()), eq(dto), ArgumentMatchers.<Function<EmployeeDTO, Employee>>any(), eq(dto.getVersion())))
+                .thenReturn(Mono.just(entity));
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        Mono<EmployeeDTO> monoEntity = service.patchById(dto.getId(), dto);
+        StepVerifier.create(monoEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
+    }
+
+    @Test
+    void shouldFindByDepartmentIdWithFields() {
+        when(reactiveMongoTemplate.find(any(Query.class), eq(Employee.class))).thenReturn(Flux.just(entity));
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        StepVerifier.create(service.findByDepartmentId("1", Set.of("id", "departmentId")))
                 .consumeNextWith(item -> assertEquals(item, dto))
                 .verifyComplete();
     }
 
+    @Test
+    void shouldFindSubordinateTree() {
+        var report = new EmployeeNodeDTO(EmployeeDTOStub.any(), 1, null);
+        report.getEmployee().setId("2");
+        report.getEmployee().setManagerId(dto.getId());
+        when(batchLoaders.getEmployees()).thenReturn(loader);
+        when(loader.load(dto.getId())).thenReturn(Mono.just(entity));
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        when(orgChart.subordinates(eq(dto.getId()), eq(2), any())).thenReturn(Flux.just(report));
+        StepVerifier.create(service.findSubordinateTree(dto.getId(), 2))
+                .consumeNextWith(root -> {
+                    assertEquals(dto, root.getEmployee());
+                    assertEquals(List.of(report), root.getReports());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldFindPayrollStats() {
+        var stats = new PayrollStatsDTO("departmentId", "1", 2, 300.0, 150.0, 100.0, 200.0, 150.0, 200.0, 200.0, 0.0);
+        when(payrollAnalytics.salaryStats("departmentId", null, null)).thenReturn(Flux.just(stats));
+        StepVerifier.create(service.findPayrollStats("departmentId", null, null))
+                .consumeNextWith(item -> assertEquals(stats, item))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldDeleteEmployeeById() {
+        when(departmentSummaries.tracking(any(), any())).thenAnswer(invocation -> invocation.getArgument(1));
+        when(reactiveMongoTemplate.findAndRemove(any(Query.class), eq(Employee.class))).thenReturn(Mono.just(entity));
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        StepVerifier.create(service.deleteById(dto.getId())).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
+    }
+
+    @Test
+    void shouldDeleteEmployeesByFilter() {
+        when(reactiveMongoTemplate.remove(any(Query.class), eq(Employee.class))).thenReturn(Mono.just(DeleteResult.acknowledged(2)));
+        when(departmentSummaries.trackingRemoval(any(), any())).thenAnswer(invocation -> invocation.getArgument(1));
+        StepVerifier.create(service.deleteAllBy(Map.of("departmentId", "1")))
+                .consumeNextWith(result -> assertEquals(2, result.getDeletedCount()))
+                .verifyComplete();
+        var query = ArgumentCaptor.forClass(Query.class);
+        verify(departmentSummaries).trackingRemoval(query.capture(), any());
+        assertEquals("1", query.getValue().getQueryObject().get("departmentId"));
+    }
+
     @Test
     void shouldFetchEmployeeByName() {
         when(mapper.fromModel(entity)).thenReturn(dto);
-        when(reactiveMongoTemplate.find(any(),eq(Employee.class))).thenReturn(Flux.just(entity));
-        Flux<EmployeeDTO> fluxEntity = service.fetchByName("name");
+        when(searchEngine.search(Employee.class, "name", 10)).thenReturn(Flux.just(entity));
+        Flux<EmployeeDTO> fluxEntity = service.fetchByName("name", 10);
         StepVerifier
                 .create(fluxEntity)
                 .consumeNextWith(item -> assertEquals(item, dto))
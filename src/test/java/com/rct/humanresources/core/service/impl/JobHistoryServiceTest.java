@@ -1,25 +1,42 @@
 package com.rct.humanresources.core.service.impl;
 
+import com.mongodb.client.result.DeleteResult;
+import com.rct.humanresources.core.model.dto.BatchItemResultDTO;
+import com.rct.humanresources.core.model.dto.ChangeEventDTO;
+import com.rct.humanresources.core.model.dto.CursorPageDTO;
 import com.rct.humanresources.core.model.dto.JobHistoryDTO;
 import com.rct.humanresources.core.model.mapper.JobHistoryMapper;
 import com.rct.humanresources.core.model.stub.JobHistoryDTOStub;
+import com.rct.humanresources.infra.persistence.bulk.BulkWriter;
 import com.rct.humanresources.infra.persistence.entity.stub.JobHistoryStub;
 import com.rct.humanresources.infra.persistence.model.JobHistory;
 import com.rct.humanresources.infra.persistence.repository.JobHistoryRepository;
+import com.rct.humanresources.infra.persistence.stream.ChangeStreamHub;
+import com.rct.humanresources.infra.persistence.timeline.JobHistoryTimeline;
+import com.rct.humanresources.infra.persistence.update.PartialUpdater;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +49,14 @@ class JobHistoryServiceTest {
     private JobHistoryRepository repository;
     @Mock
     private ReactiveMongoTemplate reactiveMongoTemplate;
+    @Mock
+    private ChangeStreamHub changeStreamHub;
+    @Mock
+    private BulkWriter bulkWriter;
+    @Mock
+    private PartialUpdater partialUpdater;
+    @Mock
+    private JobHistoryTimeline jobHistoryTimeline;
     JobHistory entity = JobHistoryStub.any();
     JobHistoryDTO dto = JobHistoryDTOStub.any();
 
@@ -44,6 +69,14 @@ class JobHistoryServiceTest {
         StepVerifier.create(monoEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
     }
 
+    @Test
+    void shouldSaveAllJobHistories() {
+        var result = new BatchItemResultDTO<>(0, BulkWriter.CREATED, dto.getId(), dto, null);
+        when(bulkWriter.write(eq(JobHistory.class), any(), ArgumentMatchers.<Function<JobHistory, JobHistoryDTO>>any()))
+                .thenReturn(Flux.just(result));
+        StepVerifier.create(service.saveAll(Flux.just(dto))).expectNext(result).verifyComplete();
+    }
+
     @Test
     void shouldFindAllJobHistories() {
         when(mapper.fromModel(entity)).thenReturn(dto);
@@ -52,6 +85,29 @@ class JobHistoryServiceTest {
         StepVerifier.create(fluxEntity).consumeNextWith(newJobHistory -> assertEquals(newJobHistory.getId(), dto.getId())).verifyComplete();
     }
 
+    @Test
+    void shouldFindJobHistoriesPage() {
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        when(reactiveMongoTemplate.find(any(), eq(JobHistory.class))).thenReturn(Flux.just(entity));
+        Mono<CursorPageDTO<JobHistoryDTO>> monoPage = service.findAll(null, 10);
+        StepVerifier
+                .create(monoPage)
+                .consumeNextWith(page -> {
+                    assertEquals(List.of(dto), page.getContent());
+                    assertNull(page.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldWatchJobHistories() {
+        var change = new ChangeEventDTO<>("insert", dto.getId(), dto, "token");
+        when(changeStreamHub.watch(eq(JobHistory.class), eq("previous"), ArgumentMatchers.<Function<JobHistory, JobHistoryDTO>>any()))
+                .thenReturn(Flux.just(change));
+        Flux<ChangeEventDTO<JobHistoryDTO>> fluxChanges = service.watch("previous");
+        StepVerifier.create(fluxChanges).consumeNextWith(item -> assertEquals(item, change)).verifyComplete();
+    }
+
     @Test
     void shouldFindJobHistoryById() {
         when(mapper.fromModel(entity)).thenReturn(dto);
@@ -60,6 +116,20 @@ class JobHistoryServiceTest {
         StepVerifier.create(monoEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
     }
 
+    @Test
+    void shouldFindJobHistoriesByIds() {
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        when(repository.findAllById(Set.of("missing", dto.getId()))).thenReturn(Flux.just(entity));
+        StepVerifier.create(service.findAllById(List.of("missing", dto.getId(), dto.getId())))
+                .expectNext(dto)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldRejectEmptyJobHistoriesIds() {
+        StepVerifier.create(service.findAllById(List.of())).verifyError(IllegalArgumentException.class);
+    }
+
     @Test
     void shouldFindJobHistoryByJobId() {
         when(mapper.fromModel(entity)).thenReturn(dto);
@@ -76,14 +146,75 @@ class JobHistoryServiceTest {
         StepVerifier.create(fluxEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
     }
 
+    @Test
+    void shouldFindJobHistoryByEmployeeId() {
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        when(repository.findByEmployeeId(dto.getEmployeeId())).thenReturn(Flux.just(entity));
+        Flux<JobHistoryDTO> fluxEntity = service.findByEmployeeId(dto.getEmployeeId());
+        StepVerifier.create(fluxEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
+    }
+
+    @Test
+    void shouldFindJobHistoriesAsOf() {
+        var at = LocalDateTime.of(2021, 1, 1, 0, 0);
+        when(jobHistoryTimeline.asOf(Map.of("jobId", "1"), at)).thenReturn(Flux.just(entity));
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        StepVerifier.create(service.findAsOf(Map.of("jobId", "1"), at))
+                .consumeNextWith(item -> assertEquals(item, dto))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldFindOverlappingJobHistories() {
+        var from = LocalDateTime.of(2020, 1, 1, 0, 0);
+        var to = LocalDateTime.of(2021, 1, 1, 0, 0);
+        when(jobHistoryTimeline.overlapping(Map.of("departmentId", "1"), from, to)).thenReturn(Flux.just(entity));
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        StepVerifier.create(service.findOverlapping(Map.of("departmentId", "1"), from, to))
+                .consumeNextWith(item -> assertEquals(item, dto))
+                .verifyComplete();
+    }
+
     @Test
     void shouldUpdateJobHistoryById() {
-        when(repository.findById(anyString())).thenReturn(Mono.just(entity));
-        when(repository.save(entity)).thenReturn(Mono.just(entity));
+        when(partialUpdater.replace(eq(JobHistory.class), eq(dto.getId()), eq(dto), ArgumentMatchers.<Function<JobHistoryDTO, JobHistory>>any(), isNull()))
+                .thenReturn(Mono.just(entity));
         when(mapper.fromModel(entity)).thenReturn(dto);
-        when(mapper.fromDTO(dto)).thenReturn(entity);
         Mono<JobHistoryDTO> monoEntity = service.updateById(dto.getId(), dto);
         StepVerifier.create(monoEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
     }
 
+    @Test
+    void shouldPatchJobHistoryById() {
+        when(partialUpdater.patch(eq(JobHistory.class), eq(dto.getId()), eq(dto), ArgumentMatchers.<Function<JobHistoryDTO, JobHistory>>any(), eq(dto.getVersion())))
+                .thenReturn(Mono.just(entity));
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        Mono<JobHistoryDTO> monoEntity = service.patchById(dto.getId(), dto);
+        StepVerifier.create(monoEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
+    }
+
+    @Test
+    void shouldFindByDepartmentIdWithFields() {
+        when(reactiveMongoTemplate.find(any(Query.class), eq(JobHistory.class))).thenReturn(Flux.just(entity));
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        StepVerifier.create(service.findByDepartmentId("1", Set.of("id", "departmentId")))
+                .consumeNextWith(item -> assertEquals(item, dto))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldDeleteJobHistoryById() {
+        when(reactiveMongoTemplate.findAndRemove(any(Query.class), eq(JobHistory.class))).thenReturn(Mono.just(entity));
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        StepVerifier.create(service.deleteById(dto.getId())).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
+    }
+
+    @Test
+    void shouldDeleteJobHistoriesByFilter() {
+        when(reactiveMongoTemplate.remove(any(Query.class), eq(JobHistory.class))).thenReturn(Mono.just(DeleteResult.acknowledged(2)));
+        StepVerifier.create(service.deleteAllBy(Map.of("jobId", "1")))
+                .consumeNextWith(result -> assertEquals(2, result.getDeletedCount()))
+                .verifyComplete();
+    }
+
 }
@@ -1,25 +1,48 @@
 package com.rct.humanresources.core.service.impl;
 
+import com.rct.humanresources.core.model.dto.BatchItemResultDTO;
+import com.rct.humanresources.core.model.dto.ChangeEventDTO;
+import com.rct.humanresources.core.model.dto.CursorPageDTO;
 import com.rct.humanresources.core.model.dto.JobDTO;
 import com.rct.humanresources.core.model.mapper.JobMapper;
 import com.rct.humanresources.core.model.stub.JobDTOStub;
+import com.rct.humanresources.infra.cache.ReferenceDataCaches;
+import com.rct.humanresources.infra.persistence.bulk.BulkWriter;
 import com.rct.humanresources.infra.persistence.entity.stub.JobStub;
+import com.rct.humanresources.infra.persistence.loader.BatchLoader;
+import com.rct.humanresources.infra.persistence.loader.BatchLoaders;
 import com.rct.humanresources.infra.persistence.model.Job;
+import com.rct.humanresources.infra.persistence.read.ReadPreferences;
 import com.rct.humanresources.infra.persistence.repository.JobRepository;
+import com.rct.humanresources.infra.persistence.search.SearchEngine;
+import com.rct.humanresources.infra.persistence.stream.ChangeStreamHub;
+import com.rct.humanresources.infra.persistence.update.PartialUpdater;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +55,22 @@ class JobServiceTest {
     private JobRepository repository;
     @Mock
     private ReactiveMongoTemplate reactiveMongoTemplate;
+    @Mock
+    private ChangeStreamHub changeStreamHub;
+    @Mock
+    private BulkWriter bulkWriter;
+    @Mock
+    private PartialUpdater partialUpdater;
+    @Mock
+    private BatchLoaders batchLoaders;
+    @Mock
+    private BatchLoader<Job> loader;
+    @Mock
+    private SearchEngine searchEngine;
+    @Spy
+    private ReferenceDataCaches caches = new ReferenceDataCaches(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+    @Mock
+    private ReadPreferences readPreferences;
     Job entity = JobStub.any();
     JobDTO dto = JobDTOStub.any();
 
@@ -44,6 +83,14 @@ class JobServiceTest {
         StepVerifier.create(monoEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
     }
 
+    @Test
+    void shouldSaveAllJobs() {
+        var result = new BatchItemResultDTO<>(0, BulkWriter.CREATED, dto.getId(), dto, null);
+        when(bulkWriter.write(eq(Job.class), any(), ArgumentMatchers.<Function<Job, JobDTO>>any()))
+                .thenReturn(Flux.just(result));
+        StepVerifier.create(service.saveAll(Flux.just(dto))).expectNext(result).verifyComplete();
+    }
+
 
     @Test
     void shouldFindAllJobs() {
@@ -53,29 +100,92 @@ class JobServiceTest {
         StepVerifier.create(fluxEntity).consumeNextWith(item ->  assertEquals(item, dto)).verifyComplete();
     }
 
+    @Test
+    void shouldFindJobsPage() {
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        when(reactiveMongoTemplate.find(any(), eq(Job.class))).thenReturn(Flux.just(entity));
+        Mono<CursorPageDTO<JobDTO>> monoPage = service.findAll(null, 10);
+        StepVerifier
+                .create(monoPage)
+                .consumeNextWith(page -> {
+                    assertEquals(List.of(dto), page.getContent());
+                    assertNull(page.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldWatchJobs() {
+        var change = new ChangeEventDTO<>("insert", dto.getId(), dto, "token");
+        when(changeStreamHub.watch(eq(Job.class), eq("previous"), ArgumentMatchers.<Function<Job, JobDTO>>any()))
+                .thenReturn(Flux.just(change));
+        Flux<ChangeEventDTO<JobDTO>> fluxChanges = service.watch("previous");
+        StepVerifier.create(fluxChanges).consumeNextWith(item -> assertEquals(item, change)).verifyComplete();
+    }
+
     @Test
     void shouldFindJobById() {
         when(mapper.fromModel(entity)).thenReturn(dto);
-        when(repository.findById(dto.getId())).thenReturn(Mono.just(entity));
+        when(batchLoaders.getJobs()).thenReturn(loader);
+        when(loader.load(dto.getId())).thenReturn(Mono.just(entity));
         Mono<JobDTO> monoEntity = service.findById(dto.getId());
         StepVerifier.create(monoEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
     }
 
+    @Test
+    void shouldFindJobsByIds() {
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        when(repository.findAllById(Set.of("missing", dto.getId()))).thenReturn(Flux.just(entity));
+        StepVerifier.create(service.findAllById(List.of("missing", dto.getId(), dto.getId())))
+                .expectNext(dto)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldRejectEmptyJobsIds() {
+        StepVerifier.create(service.findAllById(List.of())).verifyError(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldServeJobByIdFromCache() {
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        when(batchLoaders.getJobs()).thenReturn(loader);
+        when(loader.load(dto.getId())).thenReturn(Mono.just(entity));
+        StepVerifier.create(service.findById(dto.getId())).expectNext(dto).verifyComplete();
+        StepVerifier.create(service.findById(dto.getId())).expectNext(dto).verifyComplete();
+        verify(loader, times(1)).load(dto.getId());
+    }
+
     @Test
     void shouldUpdateJobById() {
-        when(repository.findById(anyString())).thenReturn(Mono.just(entity));
-        when(repository.save(entity)).thenReturn(Mono.just(entity));
+        when(partialUpdater.replace(eq(Job.class), eq(dto.getId()), eq(dto), ArgumentMatchers.<Function<JobDTO, Job>>any(), isNull()))
+                .thenReturn(Mono.just(entity));
         when(mapper.fromModel(entity)).thenReturn(dto);
-        when(mapper.fromDTO(dto)).thenReturn(entity);
         Mono<JobDTO> monoEntity = service.updateById(dto.getId(), dto);
         StepVerifier.create(monoEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
     }
 
+    @Test
+    void shouldPatchJobById() {
+        when(partialUpdater.patch(eq(Job.class), eq(dto.getId()), eq(dto), ArgumentMatchers.<Function<JobDTO, Job>>any(), eq(dto.getVersion())))
+                .thenReturn(Mono.just(entity));
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        Mono<JobDTO> monoEntity = service.patchById(dto.getId(), dto);
+        StepVerifier.create(monoEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
+    }
+
+    @Test
+    void shouldDeleteJobById() {
+        when(reactiveMongoTemplate.findAndRemove(any(Query.class), eq(Job.class))).thenReturn(Mono.just(entity));
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        StepVerifier.create(service.deleteById(dto.getId())).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
+    }
+
     @Test
     void shouldFetchJobByName() {
         when(mapper.fromModel(entity)).thenReturn(dto);
-        when(reactiveMongoTemplate.find(any(), eq(Job.class))).thenReturn(Flux.just(entity));
-        Flux<JobDTO> fluxEntity = service.fetchByName("name");
+        when(searchEngine.search(Job.class, "name", 10)).thenReturn(Flux.just(entity));
+        Flux<JobDTO> fluxEntity = service.fetchByName("name", 10);
         StepVerifier.create(fluxEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
     }
 
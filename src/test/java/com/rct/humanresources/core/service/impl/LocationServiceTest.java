@@ -1,25 +1,41 @@
 package com.rct.humanresources.core.service.impl;
 
+import com.mongodb.client.result.DeleteResult;
+import com.rct.humanresources.core.model.dto.BatchItemResultDTO;
+import com.rct.humanresources.core.model.dto.ChangeEventDTO;
+import com.rct.humanresources.core.model.dto.CursorPageDTO;
 import com.rct.humanresources.core.model.dto.LocationDTO;
 import com.rct.humanresources.core.model.mapper.LocationMapper;
 import com.rct.humanresources.core.model.stub.LocationDTOStub;
+import com.rct.humanresources.infra.persistence.bulk.BulkWriter;
 import com.rct.humanresources.infra.persistence.entity.stub.LocationStub;
 import com.rct.humanresources.infra.persistence.model.Location;
 import com.rct.humanresources.infra.persistence.repository.LocationRepository;
+import com.rct.humanresources.infra.persistence.search.SearchEngine;
+import com.rct.humanresources.infra.persistence.stream.ChangeStreamHub;
+import com.rct.humanresources.infra.persistence.update.PartialUpdater;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +48,14 @@ class LocationServiceTest {
     private LocationRepository repository;
     @Mock
     private ReactiveMongoTemplate reactiveMongoTemplate;
+    @Mock
+    private ChangeStreamHub changeStreamHub;
+    @Mock
+    private BulkWriter bulkWriter;
+    @Mock
+    private PartialUpdater partialUpdater;
+    @Mock
+    private SearchEngine searchEngine;
     Location entity = LocationStub.any();
     LocationDTO dto = LocationDTOStub.any();
 
@@ -44,6 +68,14 @@ class LocationServiceTest {
         StepVerifier.create(monoEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
     }
 
+    @Test
+    void shouldSaveAllLocations() {
+        var result = new BatchItemResultDTO<>(0, BulkWriter.CREATED, dto.getId(), dto, null);
+        when(bulkWriter.write(eq(Location.class), any(), ArgumentMatchers.<Function<Location, LocationDTO>>any()))
+                .thenReturn(Flux.just(result));
+        StepVerifier.create(service.saveAll(Flux.just(dto))).expectNext(result).verifyComplete();
+    }
+
     @Test
     void shouldFindAllLocations() {
         when(mapper.fromModel(entity)).thenReturn(dto);
@@ -52,6 +84,29 @@ class LocationServiceTest {
         StepVerifier.create(fluxEntity).consumeNextWith(item ->  assertEquals(item, dto)).verifyComplete();
     }
 
+    @Test
+    void shouldFindLocationsPage() {
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        when(reactiveMongoTemplate.find(any(), eq(Location.class))).thenReturn(Flux.just(entity));
+        Mono<CursorPageDTO<LocationDTO>> monoPage = service.findAll(null, 10);
+        StepVerifier
+                .create(monoPage)
+                .consumeNextWith(page -> {
+                    assertEquals(List.of(dto), page.getContent());
+                    assertNull(page.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldWatchLocations() {
+        var change = new ChangeEventDTO<>("insert", dto.getId(), dto, "token");
+        when(changeStreamHub.watch(eq(Location.class), eq("previous"), ArgumentMatchers.<Function<Location, LocationDTO>>any()))
+                .thenReturn(Flux.just(change));
+        Flux<ChangeEventDTO<LocationDTO>> fluxChanges = service.watch("previous");
+        StepVerifier.create(fluxChanges).consumeNextWith(item -> assertEquals(item, change)).verifyComplete();
+    }
+
     @Test
     void shouldFindLocationById() {
         when(mapper.fromModel(entity)).thenReturn(dto);
@@ -60,6 +115,20 @@ class LocationServiceTest {
         StepVerifier.create(monoEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
     }
 
+    @Test
+    void shouldFindLocationsByIds() {
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        when(repository.findAllById(Set.of("missing", dto.getId()))).thenReturn(Flux.just(entity));
+        StepVerifier.create(service.findAllById(List.of("missing", dto.getId(), dto.getId())))
+                .expectNext(dto)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldRejectEmptyLocationsIds() {
+        StepVerifier.create(service.findAllById(List.of())).verifyError(IllegalArgumentException.class);
+    }
+
     @Test
     void shouldFindLocationByCityId() {
         when(mapper.fromModel(entity)).thenReturn(dto);
@@ -70,19 +139,51 @@ class LocationServiceTest {
 
     @Test
     void shouldUpdateLocationById() {
-        when(repository.findById(anyString())).thenReturn(Mono.just(entity));
-        when(repository.save(entity)).thenReturn(Mono.just(entity));
+        when(partialUpdater.replace(eq(Location.class), eq(dto.getId()), eq(dto), ArgumentMatchers.<Function<LocationDTO, Location>>any(), isNull()))
+                .thenReturn(Mono.just(entity));
         when(mapper.fromModel(entity)).thenReturn(dto);
-        when(mapper.fromDTO(dto)).thenReturn(entity);
         Mono<LocationDTO> monoEntity = service.updateById(dto.getId(), dto);
         StepVerifier.create(monoEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
     }
 
+    @Test
+    void shouldPatchLocationById() {
+        when(partialUpdater.patch(eq(Location.class), eq(dto.getId()), eq(dto), ArgumentMatchers.<Function<LocationDTO, Location>>any(), eq(dto.getVersion())))
+                .thenReturn(Mono.just(entity));
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        Mono<LocationDTO> monoEntity = service.patchById(dto.getId(), dto);
+        StepVerifier.create(monoEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
+    }
+
+    @Test
+    void shouldFindByCityIdWithFields() {
+        when(reactiveMongoTemplate.find(any(Query.class), eq(Location.class))).thenReturn(Flux.just(entity));
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        StepVerifier.create(service.findByCityId("1", Set.of("id", "cityId")))
+                .consumeNextWith(item -> assertEquals(item, dto))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldDeleteLocationById() {
+        when(reactiveMongoTemplate.findAndRemove(any(Query.class), eq(Location.class))).thenReturn(Mono.just(entity));
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        StepVerifier.create(service.deleteById(dto.getId())).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
+    }
+
+    @Test
+    void shouldDeleteLocationsByFilter() {
+        when(reactiveMongoTemplate.remove(any(Query.class), eq(Location.class))).thenReturn(Mono.just(DeleteResult.acknowledged(2)));
+        StepVerifier.create(service.deleteAllBy(Map.of("cityId", "1")))
+                .consumeNextWith(result -> assertEquals(2, result.getDeletedCount()))
+                .verifyComplete();
+    }
+
     @Test
     void shouldFetchLocationByName() {
         when(mapper.fromModel(entity)).thenReturn(dto);
-        when(reactiveMongoTemplate.find(any(), eq(Location.class))).thenReturn(Flux.just(entity));
-        Flux<LocationDTO> fluxEntity = service.fetchByName("name");
+        when(searchEngine.search(Location.class, "name", 10)).thenReturn(Flux.just(entity));
+        Flux<LocationDTO> fluxEntity = service.fetchByName("name", 10);
         StepVerifier.create(fluxEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
     }
 
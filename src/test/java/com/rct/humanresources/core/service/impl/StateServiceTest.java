@@ -1,25 +1,48 @@
 package com.rct.humanresources.core.service.impl;
 
+import com.mongodb.client.result.DeleteResult;
+import com.rct.humanresources.core.model.dto.BatchItemResultDTO;
+import com.rct.humanresources.core.model.dto.ChangeEventDTO;
+import com.rct.humanresources.core.model.dto.CursorPageDTO;
 import com.rct.humanresources.core.model.dto.StateDTO;
 import com.rct.humanresources.core.model.mapper.StateMapper;
 import com.rct.humanresources.core.model.stub.StateDTOStub;
+import com.rct.humanresources.infra.cache.ReferenceDataCaches;
+import com.rct.humanresources.infra.persistence.bulk.BulkWriter;
 import com.rct.humanresources.infra.persistence.entity.stub.StateStub;
 import com.rct.humanresources.infra.persistence.model.State;
+import com.rct.humanresources.infra.persistence.read.ReadPreferences;
 import com.rct.humanresources.infra.persistence.repository.StateRepository;
+import com.rct.humanresources.infra.persistence.search.SearchEngine;
+import com.rct.humanresources.infra.persistence.stream.ChangeStreamHub;
+import com.rct.humanresources.infra.persistence.update.PartialUpdater;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +55,18 @@ class StateServiceTest {
     private StateRepository repository;
     @Mock
     private ReactiveMongoTemplate reactiveMongoTemplate;
+    @Mock
+    private ChangeStreamHub changeStreamHub;
+    @Mock
+    private BulkWriter bulkWriter;
+    @Mock
+    private PartialUpdater partialUpdater;
+    @Mock
+    private SearchEngine searchEngine;
+    @Spy
+    private ReferenceDataCaches caches = new ReferenceDataCaches(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+    @Mock
+    private ReadPreferences readPreferences;
     State entity = StateStub.any();
     StateDTO dto = StateDTOStub.any();
 
@@ -46,6 +81,14 @@ class StateServiceTest {
         }).verifyComplete();
     }
 
+    @Test
+    void shouldSaveAllStates() {
+        var result = new BatchItemResultDTO<>(0, BulkWriter.CREATED, dto.getId(), dto, null);
+        when(bulkWriter.write(eq(State.class), any(), ArgumentMatchers.<Function<State, StateDTO>>any()))
+                .thenReturn(Flux.just(result));
+        StepVerifier.create(service.saveAll(Flux.just(dto))).expectNext(result).verifyComplete();
+    }
+
     @Test
     void shouldFindAllStates() {
         when(mapper.fromModel(entity)).thenReturn(dto);
@@ -56,6 +99,29 @@ class StateServiceTest {
         }).verifyComplete();
     }
 
+    @Test
+    void shouldFindStatesPage() {
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        when(reactiveMongoTemplate.find(any(), eq(State.class))).thenReturn(Flux.just(entity));
+        Mono<CursorPageDTO<StateDTO>> monoPage = service.findAll(null, 10);
+        StepVerifier
+                .create(monoPage)
+                .consumeNextWith(page -> {
+                    assertEquals(List.of(dto), page.getContent());
+                    assertNull(page.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldWatchStates() {
+        var change = new ChangeEventDTO<>("insert", dto.getId(), dto, "token");
+        when(changeStreamHub.watch(eq(State.class), eq("previous"), ArgumentMatchers.<Function<State, StateDTO>>any()))
+                .thenReturn(Flux.just(change));
+        Flux<ChangeEventDTO<StateDTO>> fluxChanges = service.watch("previous");
+        StepVerifier.create(fluxChanges).consumeNextWith(item -> assertEquals(item, change)).verifyComplete();
+    }
+
     @Test
     void shouldFindStateById() {
         when(mapper.fromModel(entity)).thenReturn(dto);
@@ -66,6 +132,20 @@ class StateServiceTest {
         }).verifyComplete();
     }
 
+    @Test
+    void shouldFindStatesByIds() {
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        when(repository.findAllById(Set.of("missing", dto.getId()))).thenReturn(Flux.just(entity));
+        StepVerifier.create(service.findAllById(List.of("missing", dto.getId(), dto.getId())))
+                .expectNext(dto)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldRejectEmptyStatesIds() {
+        StepVerifier.create(service.findAllById(List.of())).verifyError(IllegalArgumentException.class);
+    }
+
     @Test
     void shouldFindStateByCountryId() {
         when(mapper.fromModel(entity)).thenReturn(dto);
@@ -77,22 +157,61 @@ class StateServiceTest {
     }
 
     @Test
-    void shouldUpdateStateByID() {
-        when(repository.findById(anyString())).thenReturn(Mono.just(entity));
-        when(repository.save(entity)).thenReturn(Mono.just(entity));
+    void shouldServeStatesByCountryIdFromCache() {
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        when(repository.findByCountryId(dto.getCountryId())).thenReturn(Flux.just(entity));
+        StepVerifier.create(service.findByCountryId(dto.getCountryId())).expectNext(dto).verifyComplete();
+        StepVerifier.create(service.findByCountryId(dto.getCountryId())).expectNext(dto).verifyComplete();
+        verify(repository, times(1)).findByCountryId(dto.getCountryId());
+    }
+
+    @Test
+    void shouldUpdateStateById() {
+        when(partialUpdater.replace(eq(State.class), eq(dto.getId()), eq(dto), ArgumentMatchers.<Function<StateDTO, State>>any(), isNull()))
+                .thenReturn(Mono.just(entity));
         when(mapper.fromModel(entity)).thenReturn(dto);
-        when(mapper.fromDTO(dto)).thenReturn(entity);
         Mono<StateDTO> monoEntity = service.updateById(dto.getId(), dto);
-        StepVerifier.create(monoEntity).consumeNextWith(item -> {
-            assertEquals(item, dto);
-        }).verifyComplete();
+        StepVerifier.create(monoEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
+    }
+
+    @Test
+    void shouldPatchStateById() {
+        when(partialUpdater.patch(eq(State.class), eq(dto.getId()), eq(dto), ArgumentMatchers.<Function<StateDTO, State>>any(), eq(dto.getVersion())))
+                .thenReturn(Mono.just(entity));
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        Mono<StateDTO> monoEntity = service.patchById(dto.getId(), dto);
+        StepVerifier.create(monoEntity).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
+    }
+
+    @Test
+    void shouldFindByCountryIdWithFields() {
+        when(reactiveMongoTemplate.find(any(Query.class), eq(State.class))).thenReturn(Flux.just(entity));
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        StepVerifier.create(service.findByCountryId("1", Set.of("id", "countryId")))
+                .consumeNextWith(item -> assertEquals(item, dto))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldDeleteStateById() {
+        when(reactiveMongoTemplate.findAndRemove(any(Query.class), eq(State.class))).thenReturn(Mono.just(entity));
+        when(mapper.fromModel(entity)).thenReturn(dto);
+        StepVerifier.create(service.deleteById(dto.getId())).consumeNextWith(item -> assertEquals(item, dto)).verifyComplete();
+    }
+
+    @Test
+    void shouldDeleteStatesByFilter() {
+        when(reactiveMongoTemplate.remove(any(Query.class), eq(State.class))).thenReturn(Mono.just(DeleteResult.acknowledged(2)));
+        StepVerifier.create(service.deleteAllBy(Map.of("countryId", "1")))
+                .consumeNextWith(result -> assertEquals(2, result.getDeletedCount()))
+                .verifyComplete();
     }
 
     @Test
     void shouldFetchStateByName() {
         when(mapper.fromModel(entity)).thenReturn(dto);
-        when(reactiveMongoTemplate.find(any(), eq(State.class))).thenReturn(Flux.just(entity));
-        Flux<StateDTO> fluxEntity = service.fetchByName("name");
+        when(searchEngine.search(State.class, "name", 10)).thenReturn(Flux.just(entity));
+        Flux<StateDTO> fluxEntity = service.fetchByName("name", 10);
         StepVerifier.create(fluxEntity).consumeNextWith(item ->  assertEquals(item, dto)).verifyComplete();
     }
 
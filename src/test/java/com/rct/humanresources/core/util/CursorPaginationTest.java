@@ -0,0 +1,44 @@
+package com.rct.humanresources.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static com.rct.humanresources.core.util.CursorPagination.MAX_LIMIT;
+import static com.rct.humanresources.core.util.CursorPagination.decode;
+import static com.rct.humanresources.core.util.CursorPagination.encode;
+import static com.rct.humanresources.core.util.CursorPagination.normalizeLimit;
+import static com.rct.humanresources.core.util.CursorPagination.toPage;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CursorPaginationTest {
+
+    @Test
+    void shouldRoundTripCursor() {
+        var id = "65f1c2a9e4b0a1b2c3d4e5f6";
+        assertEquals(id, decode(encode(id)));
+    }
+
+    @Test
+    void shouldSetNextCursorWhenMoreItemsThanLimit() {
+        var page = toPage(List.of("1", "2", "3"), 2, Function.identity());
+        assertEquals(List.of("1", "2"), page.getContent());
+        assertEquals("2", decode(page.getNextCursor()));
+    }
+
+    @Test
+    void shouldNotSetNextCursorOnLastPage() {
+        var page = toPage(List.of("1", "2"), 2, Function.identity());
+        assertEquals(List.of("1", "2"), page.getContent());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void shouldCapLimit() {
+        assertEquals(MAX_LIMIT, normalizeLimit(MAX_LIMIT + 1));
+        assertThrows(IllegalArgumentException.class, () -> normalizeLimit(0));
+    }
+}
@@ -0,0 +1,34 @@
+package com.rct.humanresources.core.util;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static com.rct.humanresources.core.util.DeleteFilters.deleteQuery;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DeleteFiltersTest {
+
+    @Test
+    void shouldBuildEqualityQueryFromAllowedFields() {
+        var query = deleteQuery(Map.of("stateId", "1"), Set.of("stateId"));
+        assertEquals(new Document("stateId", "1"), query.getQueryObject());
+    }
+
+    @Test
+    void shouldRejectEmptyFilter() {
+        var allowed = Set.of("stateId");
+        Map<String, String> filter = Map.of();
+        assertThrows(IllegalArgumentException.class, () -> deleteQuery(filter, allowed));
+    }
+
+    @Test
+    void shouldRejectUnknownField() {
+        var allowed = Set.of("stateId");
+        var filter = Map.of("name", "Lisbon");
+        assertThrows(IllegalArgumentException.class, () -> deleteQuery(filter, allowed));
+    }
+}
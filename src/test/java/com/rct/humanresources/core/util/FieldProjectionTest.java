@@ -0,0 +1,47 @@
+package com.rct.humanresources.core.util;
+
+import com.rct.humanresources.core.model.dto.EmployeeDTO;
+import com.rct.humanresources.core.model.stub.EmployeeDTOStub;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.Set;
+
+import static com.rct.humanresources.core.util.FieldProjection.parseFields;
+import static com.rct.humanresources.core.util.FieldProjection.project;
+import static com.rct.humanresources.core.util.FieldProjection.slim;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FieldProjectionTest {
+
+    @Test
+    void shouldParseFieldsAndAlwaysKeepId() {
+        assertEquals(List.of("id", "firstName", "lastName"),
+                List.copyOf(parseFields("firstName, lastName,,id", EmployeeDTO.class)));
+    }
+
+    @Test
+    void shouldRejectUnknownField() {
+        assertThrows(IllegalArgumentException.class, () -> parseFields("firstName,password", EmployeeDTO.class));
+    }
+
+    @Test
+    void shouldIncludeOnlyRequestedFields() {
+        var query = project(new Query(), Set.of("firstName"));
+        assertEquals(new Document("firstName", 1), query.getFieldsObject());
+        assertTrue(project(new Query(), Set.of()).getFieldsObject().isEmpty());
+    }
+
+    @Test
+    void shouldReadOnlyRequestedFields() {
+        var dto = EmployeeDTOStub.any();
+        var fields = parseFields("firstName", EmployeeDTO.class);
+        var slim = slim(dto, fields);
+        assertEquals(List.of("id", "firstName"), List.copyOf(slim.keySet()));
+        assertEquals(dto.getFirstName(), slim.get("firstName"));
+    }
+}
@@ -0,0 +1,51 @@
+package com.rct.humanresources.core.util;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static com.rct.humanresources.core.util.MultiGet.MAX_IDS;
+import static com.rct.humanresources.core.util.MultiGet.distinctIds;
+import static com.rct.humanresources.core.util.MultiGet.inRequestOrder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MultiGetTest {
+
+    @Test
+    void shouldDeduplicateIdsKeepingTheirOrder() {
+        assertEquals(List.of("2", "1"), List.copyOf(distinctIds(List.of("2", "1", "2"))));
+    }
+
+    @Test
+    void shouldRejectMissingOrBlankIds() {
+        assertThrows(IllegalArgumentException.class, () -> distinctIds(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> distinctIds(null));
+        assertThrows(IllegalArgumentException.class, () -> distinctIds(List.of("1", " ")));
+        assertThrows(IllegalArgumentException.class, () -> distinctIds(Arrays.asList("1", null)));
+    }
+
+    @Test
+    void shouldBoundDistinctIds() {
+        var ids = IntStream.rangeClosed(0, MAX_IDS).mapToObj(String::valueOf).toList();
+        assertThrows(IllegalArgumentException.class, () -> distinctIds(ids));
+        assertEquals(1, distinctIds(Collections.nCopies(MAX_IDS + 1, "1")).size());
+    }
+
+    @Test
+    void shouldEmitFoundDocumentsInRequestOrder() {
+        var ids = distinctIds(List.of("3", "1", "2"));
+        StepVerifier.create(inRequestOrder(ids, Flux.just("1", "2", "3"), Function.identity()))
+                .expectNext("3", "1", "2")
+                .verifyComplete();
+        StepVerifier.create(inRequestOrder(ids, Flux.just("2"), Function.identity()))
+                .expectNext("2")
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,61 @@
+package com.rct.humanresources.infra.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReactiveCacheTest {
+    private final ReactiveCache<String, String> cache = new ReactiveCache<>(Caffeine.newBuilder().buildAsync());
+
+    @Test
+    void shouldShareOneLoadBetweenConcurrentMisses() {
+        var loads = new AtomicInteger();
+        var stored = Sinks.<String>one();
+        var first = cache.get("1", key -> Mono.defer(() -> {
+            loads.incrementAndGet();
+            return stored.asMono();
+        })).toFuture();
+        var second = cache.get("1", key -> Mono.just("other")).toFuture();
+        stored.tryEmitValue("stored");
+        assertEquals("stored", first.join());
+        assertEquals("stored", second.join());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldReloadWhenInvalidatedDuringALoad() {
+        var stale = Sinks.<String>one();
+        var versions = new ArrayList<>(List.of(stale.asMono(), Mono.just("fresh")));
+        var loaded = cache.get("1", key -> versions.removeFirst()).toFuture();
+        cache.invalidate("1");
+        stale.tryEmitValue("stale");
+        assertEquals("fresh", loaded.join());
+        StepVerifier.create(cache.get("1", key -> Mono.just("unused"))).expectNext("fresh").verifyComplete();
+    }
+
+    @Test
+    void shouldNotCacheEmptyLoads() {
+        StepVerifier.create(cache.get("1", key -> Mono.empty())).verifyComplete();
+        StepVerifier.create(cache.get("1", key -> Mono.just("stored"))).expectNext("stored").verifyComplete();
+    }
+
+    @Test
+    void shouldCacheListsUnmodifiable() {
+        var lists = new ReactiveCache<String, List<String>>(Caffeine.newBuilder().buildAsync());
+        StepVerifier.create(ReactiveCache.getMany(lists, "1", key -> Flux.just("a", "b")))
+                .expectNext("a", "b")
+                .verifyComplete();
+        var cached = lists.unwrap().synchronous().getIfPresent("1");
+        assertThrows(UnsupportedOperationException.class, () -> cached.add("c"));
+    }
+}
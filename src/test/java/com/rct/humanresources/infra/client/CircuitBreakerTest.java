@@ -0,0 +1,85 @@
+package com.rct.humanresources.infra.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.rct.humanresources.infra.client.CircuitBreaker.State.CLOSED;
+import static com.rct.humanresources.infra.client.CircuitBreaker.State.HALF_OPEN;
+import static com.rct.humanresources.infra.client.CircuitBreaker.State.OPEN;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+    private final AtomicLong clock = new AtomicLong();
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker("test", 4, 4, 0.5, OPEN_DURATION, clock::get);
+
+    @Test
+    void shouldOpenOnceTheFailureRateReachesTheThreshold() {
+        call(false);
+        call(true);
+        call(false);
+        assertEquals(CLOSED, circuitBreaker.getState());
+        call(true);
+        assertEquals(OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void shouldForgetOutcomesOutOfTheWindow() {
+        call(true);
+        call(false);
+        call(false);
+        call(false);
+        call(true);
+        assertEquals(CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void shouldLetOneTrialCallThroughAfterTheOpenDuration() {
+        open();
+        clock.addAndGet(OPEN_DURATION.toNanos());
+        assertTrue(circuitBreaker.tryAcquire());
+        assertEquals(HALF_OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+        circuitBreaker.onSuccess();
+        assertEquals(CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void shouldOpenAgainOnAFailedTrialCall() {
+        open();
+        clock.addAndGet(OPEN_DURATION.toNanos());
+        assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.onFailure();
+        assertEquals(OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void shouldRejectInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker("test", 4, 5, 0.5, OPEN_DURATION, clock::get));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker("test", 4, 4, 0, OPEN_DURATION, clock::get));
+    }
+
+    private void open() {
+        for (var index = 0; index < 4; index++) {
+            call(true);
+        }
+        assertEquals(OPEN, circuitBreaker.getState());
+    }
+
+    private void call(boolean failure) {
+        assertTrue(circuitBreaker.tryAcquire());
+        if (failure) {
+            circuitBreaker.onFailure();
+        } else {
+            circuitBreaker.onSuccess();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.rct.humanresources.infra.client;
+
+import com.rct.humanresources.infra.config.exception.ClientCallRejectedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.http.HttpHeaders.EMPTY;
+import static org.springframework.http.HttpMethod.GET;
+
+class ClientResilienceTest {
+    private static final Duration MIN_BACKOFF = Duration.ofMillis(100);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(1);
+
+    @Test
+    void shouldLetASlowPrimaryAnswerWhenTheHedgeIsRejected() {
+        var retryBudget = new RetryBudget(0, 1);
+        var circuitBreaker = new CircuitBreaker("test", 4, 4, 0.5, Duration.ofMinutes(1), System::nanoTime);
+        var clientResilience = new ClientResilience(circuitBreaker, retryBudget, 1, 0,
+                MIN_BACKOFF, MAX_BACKOFF, 0.5, Duration.ofMillis(20));
+        var calls = new AtomicInteger();
+        StepVerifier.create(clientResilience.call(() -> {
+                    calls.incrementAndGet();
+                    return Mono.delay(Duration.ofMillis(200)).thenReturn("slow");
+                }, true))
+                .expectNext("slow")
+                .verifyComplete();
+        assertEquals(1, calls.get());
+        assertTrue(retryBudget.tryWithdraw());
+    }
+
+    @Test
+    void shouldBackOffExponentiallyUpToTheMaximumWithJitter() {
+        assertEquals(MIN_BACKOFF, ClientResilience.backoff(0, MIN_BACKOFF, MAX_BACKOFF, 0.5, 0));
+        assertEquals(Duration.ofMillis(400), ClientResilience.backoff(2, MIN_BACKOFF, MAX_BACKOFF, 0.5, 0));
+        assertEquals(MAX_BACKOFF, ClientResilience.backoff(40, MIN_BACKOFF, MAX_BACKOFF, 0.5, 0));
+        assertEquals(Duration.ofMillis(300), ClientResilience.backoff(2, MIN_BACKOFF, MAX_BACKOFF, 0.5, 0.5));
+    }
+
+    @Test
+    void shouldRetryOnlyIdempotentCallsOrCallsNeverConnected() {
+        assertTrue(ClientResilience.retryable(status(503), true));
+        assertTrue(ClientResilience.retryable(status(429), true));
+        assertFalse(ClientResilience.retryable(status(503), false));
+        assertFalse(ClientResilience.retryable(status(500), true));
+        assertFalse(ClientResilience.retryable(status(404), true));
+        assertTrue(ClientResilience.retryable(request(new ConnectException()), false));
+        assertFalse(ClientResilience.retryable(request(new IOException()), false));
+        assertTrue(ClientResilience.retryable(request(new IOException()), true));
+        assertFalse(ClientResilience.retryable(new ClientCallRejectedException("test"), true));
+    }
+
+    @Test
+    void shouldCountOnlyDependencyFailuresAgainstTheCircuit() {
+        assertTrue(ClientResilience.failure(status(503)));
+        assertTrue(ClientResilience.failure(status(429)));
+        assertTrue(ClientResilience.failure(request(new IOException())));
+        assertFalse(ClientResilience.failure(status(404)));
+        assertFalse(ClientResilience.failure(new ClientCallRejectedException("test")));
+    }
+
+    private static WebClientResponseException status(int status) {
+        return WebClientResponseException.create(status, "test", EMPTY, new byte[0], null);
+    }
+
+    private static WebClientRequestException request(Throwable cause) {
+        return new WebClientRequestException(cause, GET, URI.create("http://localhost"), EMPTY);
+    }
+}
@@ -0,0 +1,150 @@
+package com.rct.humanresources.infra.client;
+
+import com.rct.humanresources.infra.config.exception.ClientCallRejectedException;
+import com.rct.humanresources.infra.persistence.model.Employee;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.rct.humanresources.infra.persistence.bulk.BulkWriter.CREATED;
+import static com.rct.humanresources.infra.persistence.bulk.BulkWriter.FAILED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WebClientUtilTest {
+    private static final int BATCH_CONCURRENCY = 4;
+    private final Queue<Integer> statuses = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile Duration firstCallDelay = Duration.ZERO;
+    private DisposableServer server;
+    private WebClientUtil webClientUtil;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes
+                        .get("/employees/{id}", (request, response) -> answer(response, "{\"id\":\"" + request.param("id") + "\"}"))
+                        .post("/employees", this::create))
+                .bindNow();
+        var circuitBreaker = new CircuitBreaker("test", 4, 4, 0.5, Duration.ofMinutes(1), System::nanoTime);
+        var clientResilience = new ClientResilience(circuitBreaker, new RetryBudget(0.1, 10), 16, 3,
+                Duration.ofMillis(10), Duration.ofMillis(50), 0.5, Duration.ofMillis(500));
+        webClientUtil = new WebClientUtil(WebClient.create(), clientResilience, "http://localhost:" + server.port(), BATCH_CONCURRENCY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.disposeNow();
+    }
+
+    @Test
+    void shouldRetryReadsOnRetryableStatuses() {
+        statuses.add(503);
+        statuses.add(429);
+        StepVerifier.create(webClientUtil.getEmployee("1"))
+                .consumeNextWith(employee -> assertEquals("1", employee.getId()))
+                .verifyComplete();
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void shouldNotRetryClientErrors() {
+        statuses.add(404);
+        StepVerifier.create(webClientUtil.getEmployee("1"))
+                .verifyError(WebClientResponseException.NotFound.class);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void shouldNotRetryCreatesOnServerErrors() {
+        statuses.add(503);
+        StepVerifier.create(webClientUtil.postEmployee(employee("Ada")))
+                .verifyError(WebClientResponseException.ServiceUnavailable.class);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void shouldHedgeSlowReads() {
+        firstCallDelay = Duration.ofSeconds(5);
+        StepVerifier.create(webClientUtil.getEmployee("1"))
+                .consumeNextWith(employee -> assertEquals("1", employee.getId()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(2));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void shouldFailFastOnceTheCircuitIsOpen() {
+        for (var index = 0; index < 4; index++) {
+            statuses.add(500);
+            StepVerifier.create(webClientUtil.getEmployee("1"))
+                    .verifyError(WebClientResponseException.InternalServerError.class);
+        }
+        StepVerifier.create(webClientUtil.getEmployee("1"))
+                .verifyError(ClientCallRejectedException.class);
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void shouldPostBatchesWithBoundedConcurrency() {
+        var employees = Flux.range(0, 20).map(index -> employee(index == 7 ? "fail" : "Employee" + index));
+        StepVerifier.create(webClientUtil.postEmployees(employees).collectList())
+                .consumeNextWith(results -> {
+                    assertEquals(20, results.size());
+                    for (var index = 0; index < results.size(); index++) {
+                        assertEquals(index, results.get(index).getIndex());
+                        assertEquals(index == 7 ? FAILED : CREATED, results.get(index).getStatus());
+                    }
+                })
+                .verifyComplete();
+        assertEquals(20, calls.get());
+        assertTrue(maxInFlight.get() <= BATCH_CONCURRENCY);
+    }
+
+    private Publisher<Void> create(HttpServerRequest request, HttpServerResponse response) {
+        return request.receive()
+                .aggregate()
+                .asString()
+                .flatMap(body -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    return Mono.delay(Duration.ofMillis(20))
+                            .then(body.contains("\"firstName\":\"fail\"")
+                                    ? Mono.fromRunnable(calls::incrementAndGet).then(response.status(400).send().then())
+                                    : answer(response, body.replace("\"id\":null", "\"id\":\"created\"")))
+                            .doFinally(signal -> inFlight.decrementAndGet());
+                });
+    }
+
+    private Mono<Void> answer(HttpServerResponse response, String body) {
+        var delay = calls.incrementAndGet() == 1 ? firstCallDelay : Duration.ZERO;
+        var status = statuses.poll();
+        return Mono.delay(delay)
+                .then(status != null
+                        ? response.status(status).send().then()
+                        : response.header("Content-Type", "application/json").sendString(Mono.just(body)).then());
+    }
+
+    private static Employee employee(String firstName) {
+        var employee = new Employee();
+        employee.setFirstName(firstName);
+        return employee;
+    }
+}
@@ -0,0 +1,32 @@
+package com.rct.humanresources.infra.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccessLogSamplerTest {
+    private final AccessLogSampler sampler = new AccessLogSampler(0.01, Duration.ofMillis(500));
+
+    @Test
+    void shouldSampleFastSuccessfulRequests() {
+        assertTrue(sampler.sampled("200", 10, 0.005));
+        assertFalse(sampler.sampled("200", 10, 0.5));
+    }
+
+    @Test
+    void shouldAlwaysLogFailedAndSlowRequests() {
+        assertTrue(sampler.sampled("404", 10, 0.5));
+        assertTrue(sampler.sampled("503", 10, 0.5));
+        assertTrue(sampler.sampled(null, 10, 0.5));
+        assertTrue(sampler.sampled("200", 500, 0.5));
+    }
+
+    @Test
+    void shouldRejectRateOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new AccessLogSampler(1.5, Duration.ZERO));
+    }
+}
@@ -0,0 +1,61 @@
+package com.rct.humanresources.infra.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static com.rct.humanresources.infra.metrics.MethodMetricsInterceptor.ERROR;
+import static com.rct.humanresources.infra.metrics.MethodMetricsInterceptor.SUCCESS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MethodMetricsInterceptorTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    interface Finder {
+        Mono<String> findById(String id);
+        Flux<String> findAll();
+    }
+
+    private Finder metered(Finder target) {
+        var beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        var proxyFactory = new ProxyFactory(target);
+        proxyFactory.addAdvice(new MethodMetricsInterceptor(beanFactory.getBeanProvider(MeterRegistry.class),
+                "test.repository", "repository", "finder"));
+        return (Finder) proxyFactory.getProxy();
+    }
+
+    @Test
+    void shouldTimeMonoFromSubscription() {
+        var finder = metered(new Finder() {
+            public Mono<String> findById(String id) { return Mono.just(id); }
+            public Flux<String> findAll() { return Flux.empty(); }
+        });
+        var mono = finder.findById("1");
+        assertNull(meterRegistry.find("test.repository").timer());
+        StepVerifier.create(mono).expectNext("1").verifyComplete();
+        var timer = meterRegistry.get("test.repository")
+                .tags("repository", "finder", "method", "findById", "outcome", SUCCESS)
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void shouldCountFluxElementsAndTagErrors() {
+        var finder = metered(new Finder() {
+            public Mono<String> findById(String id) { return Mono.error(new IllegalStateException(id)); }
+            public Flux<String> findAll() { return Flux.just("1", "2", "3"); }
+        });
+        StepVerifier.create(finder.findAll()).expectNextCount(3).verifyComplete();
+        StepVerifier.create(finder.findById("1")).verifyError(IllegalStateException.class);
+        var elements = meterRegistry.get("test.repository.elements").tags("method", "findAll").summary();
+        assertEquals(3, elements.totalAmount());
+        assertEquals(1, meterRegistry.get("test.repository").tags("method", "findById", "outcome", ERROR).timer().count());
+    }
+}
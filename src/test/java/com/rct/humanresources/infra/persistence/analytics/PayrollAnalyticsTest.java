@@ -0,0 +1,87 @@
+package com.rct.humanresources.infra.persistence.analytics;
+
+import com.mongodb.ReadPreference;
+import com.rct.humanresources.infra.persistence.read.ReadPreferences;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.rct.humanresources.infra.persistence.analytics.PayrollAnalytics.DEPARTMENT_ID;
+import static com.rct.humanresources.infra.persistence.analytics.PayrollAnalytics.JOB_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PayrollAnalyticsTest {
+    @InjectMocks
+    private PayrollAnalytics analytics;
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+    @Mock
+    private ReadPreferences readPreferences;
+
+    @Test
+    void shouldMapOneDocumentPerGroup() {
+        var group = new Document("_id", "1")
+                .append("headcount", 3)
+                .append("totalSalary", 600)
+                .append("averageSalary", 200.0)
+                .append("minSalary", 100)
+                .append("maxSalary", 300)
+                .append("percentiles", List.of(200.0, 280.0, 298.0))
+                .append("totalCommission", 0.5);
+        when(readPreferences.getAnalytics()).thenReturn(ReadPreference.secondaryPreferred());
+        when(reactiveMongoTemplate.aggregate(any(TypedAggregation.class), eq(Document.class))).thenReturn(Flux.just(group));
+        StepVerifier.create(analytics.salaryStats(DEPARTMENT_ID, LocalDateTime.of(2020, 1, 1, 0, 0), null))
+                .consumeNextWith(stats -> {
+                    assertEquals(DEPARTMENT_ID, stats.getGroupBy());
+                    assertEquals("1", stats.getGroupId());
+                    assertEquals(3, stats.getHeadcount());
+                    assertEquals(600.0, stats.getTotalSalary());
+                    assertEquals(200.0, stats.getAverageSalary());
+                    assertEquals(100.0, stats.getMinSalary());
+                    assertEquals(300.0, stats.getMaxSalary());
+                    assertEquals(200.0, stats.getMedianSalary());
+                    assertEquals(280.0, stats.getP90Salary());
+                    assertEquals(298.0, stats.getP99Salary());
+                    assertEquals(0.5, stats.getTotalCommission());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldKeepEmployeesWithoutGroupAndSalary() {
+        var group = new Document("_id", null).append("headcount", 1).append("percentiles", List.of());
+        when(readPreferences.getAnalytics()).thenReturn(ReadPreference.primary());
+        when(reactiveMongoTemplate.aggregate(any(TypedAggregation.class), eq(Document.class))).thenReturn(Flux.just(group));
+        StepVerifier.create(analytics.salaryStats(JOB_ID, null, null))
+                .consumeNextWith(stats -> {
+                    assertNull(stats.getGroupId());
+                    assertEquals(1, stats.getHeadcount());
+                    assertNull(stats.getAverageSalary());
+                    assertNull(stats.getMedianSalary());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldRejectUnknownGroupBy() {
+        assertThrows(IllegalArgumentException.class, () -> analytics.salaryStats("salary", null, null));
+        verifyNoInteractions(reactiveMongoTemplate);
+    }
+}
@@ -0,0 +1,139 @@
+package com.rct.humanresources.infra.persistence.bulk;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteInsert;
+import com.mongodb.bulk.BulkWriteResult;
+import com.rct.humanresources.infra.persistence.entity.stub.CountryStub;
+import com.rct.humanresources.infra.persistence.model.Country;
+import org.bson.BsonDocument;
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static com.rct.humanresources.infra.persistence.bulk.BulkWriter.CREATED;
+import static com.rct.humanresources.infra.persistence.bulk.BulkWriter.FAILED;
+import static com.rct.humanresources.infra.persistence.bulk.BulkWriter.UPDATED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.data.mongodb.core.BulkOperations.BulkMode.UNORDERED;
+
+@ExtendWith(MockitoExtension.class)
+class BulkWriterTest {
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+    @Mock
+    private ReactiveBulkOperations operations;
+    Country existing = CountryStub.any();
+    Country fresh = new Country();
+
+    @BeforeEach
+    void setUp() {
+        var conversions = new MongoCustomConversions(List.of());
+        var context = new MongoMappingContext();
+        context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        var converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        when(reactiveMongoTemplate.getConverter()).thenReturn(converter);
+        when(reactiveMongoTemplate.bulkOps(UNORDERED, Country.class)).thenReturn(operations);
+    }
+
+    @Test
+    void shouldInsertNewAndReplaceExistingDocuments() {
+        var generated = new ObjectId();
+        when(operations.execute()).thenReturn(Mono.just(BulkWriteResult.acknowledged(1, 1, 0, 1, List.of(),
+                List.of(new BulkWriteInsert(0, new BsonObjectId(generated))))));
+        StepVerifier.create(new BulkWriter(reactiveMongoTemplate, 10, 1).write(Country.class, Flux.just(fresh, existing), Country::getName))
+                .consumeNextWith(result -> {
+                    assertEquals(0, result.getIndex());
+                    assertEquals(CREATED, result.getStatus());
+                    assertEquals(generated.toHexString(), result.getId());
+                })
+                .consumeNextWith(result -> {
+                    assertEquals(1, result.getIndex());
+                    assertEquals(UPDATED, result.getStatus());
+                    assertEquals(existing.getName(), result.getDocument());
+                })
+                .verifyComplete();
+        assertEquals(generated.toHexString(), fresh.getId());
+        verify(operations).insert(fresh);
+        verify(operations).upsert(any(Query.class), any(Update.class));
+    }
+
+    @Test
+    void shouldKeepTheStoredCreationDateOnReplace() {
+        var createdAt = LocalDateTime.of(2020, 1, 1, 0, 0);
+        existing.setCreatedAt(createdAt);
+        when(operations.execute()).thenReturn(Mono.just(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of())));
+        StepVerifier.create(new BulkWriter(reactiveMongoTemplate, 10, 1).write(Country.class, Flux.just(existing), Country::getName))
+                .consumeNextWith(result -> assertEquals(UPDATED, result.getStatus()))
+                .verifyComplete();
+        var update = ArgumentCaptor.forClass(Update.class);
+        verify(operations).upsert(any(Query.class), update.capture());
+        var updateObject = update.getValue().getUpdateObject();
+        assertFalse(updateObject.get("$set", Document.class).containsKey("createdAt"));
+        assertEquals(Date.from(createdAt.atZone(ZoneId.systemDefault()).toInstant()),
+                updateObject.get("$setOnInsert", Document.class).get("createdAt"));
+        assertEquals("HR", updateObject.get("$set", Document.class).get("name"));
+        assertTrue(update.getValue().modifies("updatedAt"));
+    }
+
+    @Test
+    void shouldReportFailedItemsAndKeepTheRest() {
+        var failure = new MongoBulkWriteException(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()),
+                List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 0)), null, new ServerAddress(), Set.of());
+        when(operations.execute()).thenReturn(Mono.error(new DuplicateKeyException("duplicate key", failure)));
+        StepVerifier.create(new BulkWriter(reactiveMongoTemplate, 10, 1).write(Country.class, Flux.just(fresh, existing), Country::getName))
+                .consumeNextWith(result -> {
+                    assertEquals(FAILED, result.getStatus());
+                    assertEquals("duplicate key", result.getError());
+                    assertNull(result.getDocument());
+                })
+                .consumeNextWith(result -> assertEquals(UPDATED, result.getStatus()))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldWriteOneBulkOperationPerChunkInRequestOrder() {
+        when(operations.execute()).thenReturn(Mono.just(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of())));
+        var second = CountryStub.any();
+        second.setId("2");
+        StepVerifier.create(new BulkWriter(reactiveMongoTemplate, 1, 2).write(Country.class, Flux.just(existing, second), Country::getId))
+                .consumeNextWith(result -> assertEquals(0, result.getIndex()))
+                .consumeNextWith(result -> assertEquals(1, result.getIndex()))
+                .verifyComplete();
+        verify(reactiveMongoTemplate, times(2)).bulkOps(UNORDERED, Country.class);
+    }
+}
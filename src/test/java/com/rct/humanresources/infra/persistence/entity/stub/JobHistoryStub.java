@@ -9,6 +9,7 @@ public class JobHistoryStub {
         var jobHistory = new JobHistory();
         jobHistory.setId("1");
         jobHistory.setJobId("1");
+        jobHistory.setEmployeeId("1");
         jobHistory.setDepartmentId("1");
         jobHistory.setCreatedAt(LocalDateTime.of(2010,1,1,0,1));
         jobHistory.setUpdatedAt(LocalDateTime.of(2011,1,1,0,1));
@@ -0,0 +1,112 @@
+package com.rct.humanresources.infra.persistence.expand;
+
+import com.rct.humanresources.core.model.dto.CityDTO;
+import com.rct.humanresources.core.model.dto.DepartmentDTO;
+import com.rct.humanresources.core.model.dto.LocationDTO;
+import com.rct.humanresources.core.model.mapper.CityMapper;
+import com.rct.humanresources.core.model.mapper.CountryMapper;
+import com.rct.humanresources.core.model.mapper.DepartmentMapper;
+import com.rct.humanresources.core.model.mapper.LocationMapper;
+import com.rct.humanresources.core.model.mapper.StateMapper;
+import com.rct.humanresources.infra.persistence.model.City;
+import com.rct.humanresources.infra.persistence.model.Department;
+import com.rct.humanresources.infra.persistence.model.Location;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static com.rct.humanresources.infra.persistence.expand.DepartmentExpander.parseDepth;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.DEFAULT_CONTEXT;
+
+@ExtendWith(MockitoExtension.class)
+class DepartmentExpanderTest {
+    @InjectMocks
+    private DepartmentExpander expander;
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+    @Mock
+    private DepartmentMapper departmentMapper;
+    @Mock
+    private LocationMapper locationMapper;
+    @Mock
+    private CityMapper cityMapper;
+    @Mock
+    private StateMapper stateMapper;
+    @Mock
+    private CountryMapper countryMapper;
+
+    @Test
+    void shouldParseExpandPrefixes() {
+        assertEquals(0, parseDepth(null));
+        assertEquals(1, parseDepth("location"));
+        assertEquals(4, parseDepth("location.city.state.country"));
+        assertThrows(IllegalArgumentException.class, () -> parseDepth("city"));
+        assertThrows(IllegalArgumentException.class, () -> parseDepth("location.ci"));
+        assertThrows(IllegalArgumentException.class, () -> parseDepth("location.city.state.country.planet"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldResolveNestedReferencesInOneAggregation() {
+        var conversions = new MongoCustomConversions(List.of());
+        var context = new MongoMappingContext();
+        context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        var converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        var city = new Document("_id", "3").append("name", "Toronto");
+        var location = new Document("_id", "2").append("cityId", "3").append("city", List.of(city));
+        var department = new Document("_id", "1").append("locationId", "2").append("location", List.of(location));
+        var departmentDTO = new DepartmentDTO();
+        var locationDTO = new LocationDTO();
+        var cityDTO = new CityDTO();
+        when(reactiveMongoTemplate.getConverter()).thenReturn(converter);
+        when(reactiveMongoTemplate.getCollectionName(any())).thenAnswer(invocation ->
+                ((Class<?>) invocation.getArgument(0)).getSimpleName().toLowerCase());
+        when(reactiveMongoTemplate.aggregate(any(TypedAggregation.class), eq(Document.class))).thenReturn(Flux.just(department));
+        when(departmentMapper.fromModel(any(Department.class))).thenReturn(departmentDTO);
+        when(locationMapper.fromModel(any(Location.class))).thenReturn(locationDTO);
+        when(cityMapper.fromModel(any(City.class))).thenReturn(cityDTO);
+        StepVerifier.create(expander.findById("1", 2))
+                .consumeNextWith(expanded -> {
+                    assertSame(departmentDTO, expanded.getDepartment());
+                    assertSame(locationDTO, expanded.getLocation());
+                    assertSame(cityDTO, expanded.getCity());
+                    assertNull(expanded.getState());
+                    assertNull(expanded.getCountry());
+                })
+                .verifyComplete();
+        var captor = ArgumentCaptor.forClass(TypedAggregation.class);
+        verify(reactiveMongoTemplate).aggregate(captor.capture(), eq(Document.class));
+        List<Document> pipeline = captor.getValue().toPipeline(DEFAULT_CONTEXT);
+        assertEquals(2, pipeline.size());
+        var locations = pipeline.get(1).get("$lookup", Document.class);
+        assertEquals("location", locations.getString("from"));
+        var cities = locations.getList("pipeline", Document.class).getLast().get("$lookup", Document.class);
+        assertEquals("city", cities.getString("from"));
+        assertFalse(cities.getList("pipeline", Document.class).getLast().containsKey("$lookup"));
+    }
+}
@@ -0,0 +1,43 @@
+package com.rct.humanresources.infra.persistence.hierarchy;
+
+import com.rct.humanresources.core.model.dto.EmployeeDTO;
+import com.rct.humanresources.core.model.dto.EmployeeNodeDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.rct.humanresources.infra.persistence.hierarchy.OrgChart.MAX_DEPTH;
+import static com.rct.humanresources.infra.persistence.hierarchy.OrgChart.parseDepth;
+import static com.rct.humanresources.infra.persistence.hierarchy.OrgChart.tree;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OrgChartTest {
+
+    private static EmployeeDTO employee(String id, String managerId) {
+        var employee = new EmployeeDTO();
+        employee.setId(id);
+        employee.setManagerId(managerId);
+        return employee;
+    }
+
+    @Test
+    void shouldNestSubordinatesUnderTheirManagers() {
+        var direct = new EmployeeNodeDTO(employee("2", "1"), 1, null);
+        var indirect = new EmployeeNodeDTO(employee("3", "2"), 2, null);
+        var root = tree(employee("1", null), List.of(direct, indirect));
+        assertEquals(0, root.getDepth());
+        assertEquals(List.of(direct), root.getReports());
+        assertEquals(List.of(indirect), direct.getReports());
+        assertEquals(List.of(), indirect.getReports());
+    }
+
+    @Test
+    void shouldParseDepthWithinLimits() {
+        assertEquals(MAX_DEPTH, parseDepth(null));
+        assertEquals(3, parseDepth("3"));
+        assertThrows(IllegalArgumentException.class, () -> parseDepth("0"));
+        assertThrows(IllegalArgumentException.class, () -> parseDepth(String.valueOf(MAX_DEPTH + 1)));
+        assertThrows(IllegalArgumentException.class, () -> parseDepth("all"));
+    }
+}
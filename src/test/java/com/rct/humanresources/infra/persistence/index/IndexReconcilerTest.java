@@ -0,0 +1,78 @@
+package com.rct.humanresources.infra.persistence.index;
+
+import com.rct.humanresources.infra.persistence.model.City;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.data.domain.Sort.Direction.ASC;
+
+@ExtendWith(MockitoExtension.class)
+class IndexReconcilerTest {
+    @InjectMocks
+    private IndexReconciler reconciler;
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+    @Mock
+    private ReactiveIndexOperations indexOperations;
+    IndexDefinition byState = new Index().on("stateId", ASC).on("name", ASC).named("cities_stateId_name");
+    IndexDefinition byName = new Index().on("name", ASC).named("cities_name");
+
+    @BeforeEach
+    void setUp() {
+        when(reactiveMongoTemplate.indexOps(City.class)).thenReturn(indexOperations);
+    }
+
+    @Test
+    void shouldCreateMissingIndexesAndKeepMatchingOnes() {
+        when(indexOperations.getIndexInfo()).thenReturn(Flux.just(
+                info("_id_", "_id"),
+                info("cities_stateId_name", "stateId", "name"),
+                info("legacy", "createdAt")));
+        when(indexOperations.ensureIndex(byName)).thenReturn(Mono.just("cities_name"));
+        StepVerifier
+                .create(reconciler.reconcile(Map.of(City.class, List.of(byState, byName))))
+                .expectNext("cities_name")
+                .verifyComplete();
+        verify(indexOperations, never()).ensureIndex(byState);
+        verify(indexOperations, never()).dropIndex(anyString());
+    }
+
+    @Test
+    void shouldRebuildIndexWhoseKeysChanged() {
+        when(indexOperations.getIndexInfo()).thenReturn(Flux.just(info("cities_stateId_name", "stateId")));
+        when(indexOperations.dropIndex("cities_stateId_name")).thenReturn(Mono.empty());
+        when(indexOperations.ensureIndex(any())).thenReturn(Mono.just("cities_stateId_name"));
+        StepVerifier
+                .create(reconciler.reconcile(Map.of(City.class, List.of(byState))))
+                .expectNext("cities_stateId_name")
+                .verifyComplete();
+        verify(indexOperations).dropIndex("cities_stateId_name");
+    }
+
+    private static IndexInfo info(String name, String... keys) {
+        var fields = Arrays.stream(keys).map(key -> IndexField.create(key, ASC)).toList();
+        return new IndexInfo(fields, name, false, false, null);
+    }
+}
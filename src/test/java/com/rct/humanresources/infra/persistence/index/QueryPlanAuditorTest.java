@@ -0,0 +1,35 @@
+package com.rct.humanresources.infra.persistence.index;
+
+import com.rct.humanresources.infra.persistence.repository.EmployeeRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryPlanAuditorTest {
+
+    @Test
+    void shouldBuildEqualityFilterFromFinderName() throws NoSuchMethodException {
+        var method = EmployeeRepository.class.getMethod("findByDepartmentId", String.class);
+        assertEquals(new Document("departmentId", ""), QueryPlanAuditor.filterOf(method));
+    }
+
+    @Test
+    void shouldDetectCollectionScanInWinningPlan() {
+        var plan = new Document("queryPlanner", new Document("winningPlan",
+                new Document("stage", "SORT").append("inputStage", new Document("stage", "COLLSCAN"))));
+        assertTrue(QueryPlanAuditor.isCollectionScan(plan));
+    }
+
+    @Test
+    void shouldAcceptIndexScanInSlotBasedPlan() {
+        var plan = new Document("queryPlanner", new Document("winningPlan",
+                new Document("queryPlan", new Document("stage", "FETCH")
+                        .append("inputStages", List.of(new Document("stage", "IXSCAN"))))));
+        assertFalse(QueryPlanAuditor.isCollectionScan(plan));
+    }
+}
@@ -0,0 +1,103 @@
+package com.rct.humanresources.infra.persistence.loader;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchLoaderTest {
+    private static final Duration WINDOW = Duration.ofMillis(2);
+    private final List<Set<String>> fetches = new ArrayList<>();
+    private VirtualTimeScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = VirtualTimeScheduler.create();
+    }
+
+    @Test
+    void shouldCoalesceLoadsOfOneWindowIntoOneFetch() {
+        var loader = loader(10);
+        var loaded = Flux.merge(loader.load("1"), loader.load("2"), loader.load("1"))
+                .collectList()
+                .toFuture();
+        assertTrue(fetches.isEmpty());
+        scheduler.advanceTimeBy(WINDOW);
+        assertEquals(List.of(Set.of("1", "2")), fetches);
+        assertEquals(3, loaded.join().size());
+    }
+
+    @Test
+    void shouldCompleteEmptyWhenNotFound() {
+        var loader = loader(10);
+        var found = loader.load("1").toFuture();
+        var missing = loader.load("missing").hasElement().toFuture();
+        scheduler.advanceTimeBy(WINDOW);
+        assertEquals("1", found.join());
+        assertFalse(missing.join());
+    }
+
+    @Test
+    void shouldFetchFullBatchBeforeItsWindow() {
+        var loader = loader(2);
+        var loaded = Flux.merge(loader.load("1"), loader.load("2")).collectList().toFuture();
+        assertEquals(List.of(Set.of("1", "2")), fetches);
+        assertEquals(2, loaded.join().size());
+        scheduler.advanceTimeBy(WINDOW);
+        assertEquals(1, fetches.size());
+    }
+
+    @Test
+    void shouldFailEveryLoadOfAFailedFetch() {
+        var loader = new BatchLoader<String>(ids -> Flux.error(new IllegalStateException("down")),
+                Function.identity(), WINDOW, 10, 1, scheduler);
+        var first = loader.load("1").onErrorResume(e -> Mono.just(e.getMessage())).toFuture();
+        var second = loader.load("2").onErrorResume(e -> Mono.just(e.getMessage())).toFuture();
+        scheduler.advanceTimeBy(WINDOW);
+        assertEquals("down", first.join());
+        assertEquals("down", second.join());
+    }
+
+    @Test
+    void shouldFetchLoneLoadAtOnceWithoutWindow() {
+        var loader = new BatchLoader<>(this::fetch, Function.identity(), Duration.ZERO, 10, 1, scheduler);
+        assertEquals("1", loader.load("1").block());
+        assertEquals("2", loader.load("2").block());
+        assertEquals(List.of(Set.of("1"), Set.of("2")), fetches);
+    }
+
+    @Test
+    void shouldBatchLoadsWaitingOnAFetchWithoutWindow() {
+        var gate = Sinks.empty();
+        var loader = new BatchLoader<String>(ids -> gate.asMono().thenMany(fetch(ids)),
+                Function.identity(), Duration.ZERO, 10, 1, scheduler);
+        var first = loader.load("1").toFuture();
+        var waiting = Flux.merge(loader.load("2"), loader.load("3"), loader.load("2")).collectList().toFuture();
+        assertEquals(List.of(Set.of("1")), fetches);
+        gate.tryEmitEmpty();
+        assertEquals("1", first.join());
+        assertEquals(3, waiting.join().size());
+        assertEquals(List.of(Set.of("1"), Set.of("2", "3")), fetches);
+    }
+
+    private BatchLoader<String> loader(int maxBatchSize) {
+        return new BatchLoader<>(this::fetch, Function.identity(), WINDOW, maxBatchSize, 1, scheduler);
+    }
+
+    private Flux<String> fetch(Set<String> ids) {
+        fetches.add(ids);
+        return Flux.fromIterable(ids).filter(id -> !id.equals("missing"));
+    }
+}
@@ -0,0 +1,52 @@
+package com.rct.humanresources.infra.persistence.loader;
+
+import com.mongodb.ReadPreference;
+import com.rct.humanresources.infra.persistence.model.Job;
+import com.rct.humanresources.infra.persistence.read.ReadPreferences;
+import com.rct.humanresources.infra.persistence.repository.DepartmentRepository;
+import com.rct.humanresources.infra.persistence.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BatchLoadersTest {
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+    @Mock
+    private DepartmentRepository departmentRepository;
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Test
+    void shouldLoadJobsWithTheReferenceReadPreference() {
+        var job = new Job();
+        job.setId("1");
+        var query = ArgumentCaptor.forClass(Query.class);
+        var readPreferences = new ReadPreferences("secondaryPreferred", "primary", Duration.ofSeconds(90));
+        var batchLoaders = new BatchLoaders(reactiveMongoTemplate, readPreferences, departmentRepository,
+                employeeRepository, Duration.ZERO, 10, 1);
+        when(reactiveMongoTemplate.find(query.capture(), eq(Job.class))).thenReturn(Flux.just(job));
+
+        StepVerifier.create(batchLoaders.getJobs().load("1")).expectNext(job).verifyComplete();
+
+        verify(reactiveMongoTemplate).find(query.getValue(), Job.class);
+        assertEquals(readPreferences.getReference(), query.getValue().getReadPreference());
+        assertEquals(ReadPreference.secondaryPreferred().getName(), query.getValue().getReadPreference().getName());
+        assertTrue(query.getValue().getQueryObject().containsKey("id"));
+    }
+}
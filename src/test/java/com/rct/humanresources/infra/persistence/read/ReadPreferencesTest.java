@@ -0,0 +1,33 @@
+package com.rct.humanresources.infra.persistence.read;
+
+import com.mongodb.ReadPreference;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static com.rct.humanresources.infra.persistence.read.ReadPreferences.readPreference;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReadPreferencesTest {
+    private static final Duration MAX_STALENESS = Duration.ofSeconds(90);
+
+    @Test
+    void shouldKeepPrimaryUnbounded() {
+        var readPreferences = new ReadPreferences("primary", "primary", MAX_STALENESS);
+        assertEquals(ReadPreference.primary(), readPreferences.getReference());
+        assertEquals(ReadPreference.primary(), readPreferences.getAnalytics());
+    }
+
+    @Test
+    void shouldBoundSecondaryReadsByMaxStaleness() {
+        assertEquals(ReadPreference.secondaryPreferred(90, SECONDS), readPreference("secondaryPreferred", MAX_STALENESS));
+        assertEquals(ReadPreference.nearest(90, SECONDS), readPreference("nearest", MAX_STALENESS));
+    }
+
+    @Test
+    void shouldRejectUnknownReadPreference() {
+        assertThrows(IllegalArgumentException.class, () -> readPreference("anywhere", MAX_STALENESS));
+    }
+}
@@ -0,0 +1,55 @@
+package com.rct.humanresources.infra.persistence.search;
+
+import com.rct.humanresources.infra.persistence.entity.stub.CityStub;
+import com.rct.humanresources.infra.persistence.model.City;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SearchEngineTest {
+    @InjectMocks
+    private SearchEngine engine;
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+    City entity = CityStub.any();
+
+    @Test
+    void shouldRunAnchoredPrefixAggregationOnNormalizedTerm() {
+        var aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        when(reactiveMongoTemplate.getCollectionName(City.class)).thenReturn("cities");
+        when(reactiveMongoTemplate.aggregate(aggregation.capture(), eq("cities"), eq(City.class)))
+                .thenReturn(Flux.just(entity));
+        StepVerifier.create(engine.search(City.class, "São", 5)).expectNext(entity).verifyComplete();
+        var pipeline = aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+        assertTrue(String.valueOf(pipeline.getFirst().get("$match")).contains("^\\Qsao\\E"));
+        assertEquals(5L, ((Number) pipeline.getLast().get("$limit")).longValue());
+    }
+
+    @Test
+    void shouldSkipBlankTerms() {
+        StepVerifier.create(engine.search(City.class, "  ", null)).verifyComplete();
+        verifyNoInteractions(reactiveMongoTemplate);
+    }
+
+    @Test
+    void shouldBoundLimit() {
+        assertEquals(SearchEngine.DEFAULT_LIMIT, SearchEngine.normalizeLimit(null));
+        assertEquals(SearchEngine.MAX_LIMIT, SearchEngine.normalizeLimit(10_000));
+        assertThrows(IllegalArgumentException.class, () -> SearchEngine.normalizeLimit(0));
+    }
+}
@@ -0,0 +1,74 @@
+package com.rct.humanresources.infra.persistence.search;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.rct.humanresources.infra.persistence.model.Employee;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.data.mongodb.core.BulkOperations.BulkMode.UNORDERED;
+
+@ExtendWith(MockitoExtension.class)
+class SearchKeyBackfillTest {
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+    @Mock
+    private ReactiveBulkOperations operations;
+
+    @Test
+    void shouldBackfillUnkeyedDocumentsInUnorderedChunks() {
+        var backfill = new SearchKeyBackfill(reactiveMongoTemplate, 2);
+        var missing = ArgumentCaptor.forClass(Query.class);
+        var update = ArgumentCaptor.forClass(UpdateDefinition.class);
+        when(reactiveMongoTemplate.getCollectionName(any())).thenReturn("others");
+        when(reactiveMongoTemplate.getCollectionName(Employee.class)).thenReturn("employees");
+        when(reactiveMongoTemplate.find(any(Query.class), eq(Document.class), anyString())).thenReturn(Flux.empty());
+        when(reactiveMongoTemplate.find(any(Query.class), eq(Document.class), eq("employees"))).thenReturn(Flux.just(
+                new Document("_id", "1").append("firstName", "José").append("lastName", "Silva"),
+                new Document("_id", "2").append("firstName", "Ana"),
+                new Document("_id", "3").append("lastName", "Souza")));
+        when(reactiveMongoTemplate.bulkOps(UNORDERED, "employees")).thenReturn(operations);
+        when(operations.updateOne(any(Query.class), update.capture())).thenReturn(operations);
+        var first = written(2);
+        var second = written(1);
+        when(operations.execute()).thenReturn(first, second);
+
+        StepVerifier.create(backfill.backfill()).expectNext(3L).verifyComplete();
+
+        verify(reactiveMongoTemplate, times(2)).bulkOps(UNORDERED, "employees");
+        verify(reactiveMongoTemplate).find(missing.capture(), eq(Document.class), eq("employees"));
+        assertEquals("jose silva", update.getAllValues().getFirst().getUpdateObject().get("$set", Document.class).get("searchKey"));
+        assertEquals(List.of("jose silva", "silva"),
+                update.getAllValues().getFirst().getUpdateObject().get("$set", Document.class).get("searchTerms"));
+        assertEquals(new Document("firstName", "ana").append("lastName", ""),
+                update.getAllValues().get(1).getUpdateObject().get("$set", Document.class).get("searchParts"));
+        assertEquals(new Document("firstName", 1).append("lastName", 1), missing.getValue().getFieldsObject());
+        assertEquals(new Document("searchParts", new Document("$exists", false)), missing.getValue().getQueryObject());
+    }
+
+    private static Mono<BulkWriteResult> written(int modified) {
+        var result = mock(BulkWriteResult.class);
+        when(result.getModifiedCount()).thenReturn(modified);
+        return Mono.just(result);
+    }
+}
@@ -0,0 +1,35 @@
+package com.rct.humanresources.infra.persistence.search;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SearchNormalizerTest {
+
+    @Test
+    void shouldFoldCaseAccentsAndSpaces() {
+        assertEquals("sao jose dos campos", SearchNormalizer.normalize("  São  José dos CAMPOS "));
+    }
+
+    @Test
+    void shouldTermFromEachWordStart() {
+        assertEquals(List.of("ana maria silva", "maria silva", "silva"), SearchNormalizer.termsOf("ana maria silva"));
+        assertEquals(List.of(), SearchNormalizer.termsOf(""));
+    }
+
+    @Test
+    void shouldJoinSearchableFieldsIntoKey() {
+        var document = new Document("firstName", "Zoë").append("lastName", "Álvarez");
+        assertEquals("zoe alvarez", SearchNormalizer.keyOf(document, List.of("firstName", "lastName")));
+    }
+
+    @Test
+    void shouldNormalizeEachSearchableFieldIntoParts() {
+        var document = new Document("firstName", "Zoë");
+        assertEquals(new Document("firstName", "zoe").append("lastName", ""),
+                SearchNormalizer.partsOf(document, List.of("firstName", "lastName")));
+    }
+}
@@ -0,0 +1,64 @@
+package com.rct.humanresources.infra.persistence.seed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rct.humanresources.infra.persistence.model.Country;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SeedLoaderTest {
+    private static final byte[] COUNTRIES = "[{\"id\":\"1\",\"name\":\"Brazil\"},{\"id\":\"2\",\"name\":\"Chile\"}]".getBytes(UTF_8);
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+    @Mock
+    private ResourceLoader resourceLoader;
+    SeedDataset<Country> dataset = new SeedDataset<>("countries", "classpath:countries.json", Country.class);
+
+    @Test
+    void shouldStreamArrayElements() {
+        var loader = new SeedLoader(reactiveMongoTemplate, resourceLoader, new ObjectMapper(), 1);
+        StepVerifier.create(loader.parse(new ByteArrayResource(COUNTRIES), Country.class))
+                .consumeNextWith(country -> assertEquals("Brazil", country.getName()))
+                .consumeNextWith(country -> assertEquals("Chile", country.getName()))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldChecksumContent() throws IOException {
+        var checksum = SeedLoader.checksum(new ByteArrayInputStream(COUNTRIES));
+        assertEquals(64, checksum.length());
+        assertEquals(checksum, SeedLoader.checksum(new ByteArrayInputStream(COUNTRIES)));
+        assertNotEquals(checksum, SeedLoader.checksum(new ByteArrayInputStream("[]".getBytes(UTF_8))));
+    }
+
+    @Test
+    void shouldSkipUnchangedDataset() throws IOException {
+        var checksum = SeedLoader.checksum(new ByteArrayInputStream(COUNTRIES));
+        when(resourceLoader.getResource(dataset.getLocation())).thenReturn(new ByteArrayResource(COUNTRIES));
+        when(reactiveMongoTemplate.findById("countries", Document.class, SeedLoader.CHECKSUMS))
+                .thenReturn(Mono.just(new Document(SeedLoader.CHECKSUM, checksum).append(SeedLoader.DOCUMENTS, 2L)));
+        when(reactiveMongoTemplate.estimatedCount(Country.class)).thenReturn(Mono.just(2L));
+        var loader = new SeedLoader(reactiveMongoTemplate, resourceLoader, new ObjectMapper(), 1);
+        StepVerifier.create(loader.load(dataset)).expectNext(0L).verifyComplete();
+        verify(reactiveMongoTemplate, never()).remove(any(), any(Class.class));
+    }
+}
@@ -0,0 +1,83 @@
+package com.rct.humanresources.infra.persistence.stream;
+
+import com.mongodb.client.model.changestream.OperationType;
+import com.rct.humanresources.infra.persistence.entity.stub.CityStub;
+import com.rct.humanresources.infra.persistence.model.City;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeStreamHubTest {
+    @InjectMocks
+    private ChangeStreamHub hub;
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+    City entity = CityStub.any();
+
+    @Test
+    void shouldShareOneCursorAcrossSubscribers() {
+        Sinks.Many<ChangeStreamEvent<City>> changes = Sinks.many().multicast().onBackpressureBuffer();
+        var insert = event(OperationType.INSERT, "token");
+        when(reactiveMongoTemplate.getCollectionName(City.class)).thenReturn("cities");
+        when(reactiveMongoTemplate.changeStream(eq("cities"), any(ChangeStreamOptions.class), eq(City.class)))
+                .thenReturn(changes.asFlux());
+        var first = hub.watch(City.class, null, City::getName);
+        var second = hub.watch(City.class, null, City::getName);
+        StepVerifier
+                .create(Flux.merge(first, second).take(2))
+                .then(() -> changes.tryEmitNext(insert))
+                .expectNextMatches(change -> "insert".equals(change.getOperation())
+                        && entity.getName().equals(change.getDocument())
+                        && "token".equals(change.getResumeToken()))
+                .expectNextCount(1)
+                .verifyComplete();
+        verify(reactiveMongoTemplate, times(1)).changeStream(eq("cities"), any(ChangeStreamOptions.class), eq(City.class));
+    }
+
+    @Test
+    void shouldResumeAfterTokenOnOwnCursor() {
+        var options = ArgumentCaptor.forClass(ChangeStreamOptions.class);
+        var delete = event(OperationType.DELETE, "next");
+        when(reactiveMongoTemplate.getCollectionName(City.class)).thenReturn("cities");
+        when(reactiveMongoTemplate.changeStream(eq("cities"), options.capture(), eq(City.class)))
+                .thenReturn(Flux.just(delete));
+        StepVerifier
+                .create(hub.watch(City.class, "previous", City::getName))
+                .consumeNextWith(change -> {
+                    assertEquals("delete", change.getOperation());
+                    assertEquals("next", change.getResumeToken());
+                })
+                .verifyComplete();
+        assertEquals(new BsonDocument("_data", new BsonString("previous")),
+                options.getValue().getResumeToken().orElseThrow());
+    }
+
+    @SuppressWarnings("unchecked")
+    private ChangeStreamEvent<City> event(OperationType operation, String token) {
+        ChangeStreamEvent<City> event = mock(ChangeStreamEvent.class);
+        when(event.getOperationType()).thenReturn(operation);
+        when(event.getResumeToken()).thenReturn(new BsonDocument("_data", new BsonString(token)));
+        when(event.getBody()).thenReturn(operation == OperationType.DELETE ? null : entity);
+        return event;
+    }
+}
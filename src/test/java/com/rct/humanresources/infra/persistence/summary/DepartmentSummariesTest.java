@@ -0,0 +1,102 @@
+package com.rct.humanresources.infra.persistence.summary;
+
+import com.rct.humanresources.infra.persistence.model.DepartmentSummary;
+import com.rct.humanresources.infra.persistence.model.Employee;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.DEFAULT_CONTEXT;
+
+@ExtendWith(MockitoExtension.class)
+class DepartmentSummariesTest {
+    @InjectMocks
+    private DepartmentSummaries summaries;
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    private static Employee employee(String id, String departmentId) {
+        var employee = new Employee();
+        employee.setId(id);
+        employee.setDepartmentId(departmentId);
+        return employee;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Document> pipeline() {
+        var captor = ArgumentCaptor.forClass(TypedAggregation.class);
+        verify(reactiveMongoTemplate).aggregate(captor.capture(), eq(Document.class));
+        return captor.getValue().toPipeline(DEFAULT_CONTEXT);
+    }
+
+    @Test
+    void shouldRefreshPreviousAndCurrentDepartmentsAfterAWrite() {
+        var updated = employee("1", "new");
+        when(reactiveMongoTemplate.findOne(any(Query.class), eq(Employee.class))).thenReturn(Mono.just(employee("1", "old")));
+        when(reactiveMongoTemplate.aggregate(any(TypedAggregation.class), eq(Document.class))).thenReturn(Flux.empty());
+        StepVerifier.create(summaries.tracking("1", Mono.just(updated))).expectNext(updated).verifyComplete();
+        var pipeline = pipeline();
+        var departments = pipeline.getFirst().get("$match", Document.class).getList("$or", Document.class);
+        assertEquals(Set.of("old", "new"), new HashSet<>(departments.get(0).get("id", Document.class).get("$in", Collection.class)));
+        assertEquals(List.of("1"), List.copyOf(departments.get(1).get("managerId", Document.class).get("$in", Collection.class)));
+        assertTrue(pipeline.getLast().containsKey("$merge"));
+    }
+
+    @Test
+    void shouldRefreshTheDepartmentsOfAFilteredDeleteAfterIt() {
+        var removed = new AtomicBoolean();
+        var employees = new Query();
+        when(reactiveMongoTemplate.findDistinct(employees, "departmentId", Employee.class, String.class))
+                .thenReturn(Flux.just("1", "2"));
+        when(reactiveMongoTemplate.aggregate(any(TypedAggregation.class), eq(Document.class))).thenAnswer(invocation -> {
+            assertTrue(removed.get());
+            return Flux.empty();
+        });
+        StepVerifier.create(summaries.trackingRemoval(employees, Mono.fromCallable(() -> {
+                    removed.set(true);
+                    return 3L;
+                })))
+                .expectNext(3L)
+                .verifyComplete();
+        var departments = pipeline().getFirst().get("$match", Document.class).getList("$or", Document.class);
+        assertEquals(1, departments.size());
+        assertEquals(Set.of("1", "2"), new HashSet<>(departments.getFirst().get("id", Document.class).get("$in", Collection.class)));
+    }
+
+    @Test
+    void shouldSkipTheRefreshWithoutDepartments() {
+        StepVerifier.create(summaries.refresh(List.of(), List.of())).verifyComplete();
+        verifyNoInteractions(reactiveMongoTemplate);
+    }
+
+    @Test
+    void shouldRebuildEverySummaryIntoANewCollection() {
+        when(reactiveMongoTemplate.aggregate(any(TypedAggregation.class), eq(Document.class))).thenReturn(Flux.empty());
+        when(reactiveMongoTemplate.count(any(Query.class), eq(DepartmentSummary.class))).thenReturn(Mono.just(3L));
+        StepVerifier.create(summaries.rebuild()).expectNext(3L).verifyComplete();
+        assertTrue(pipeline().getLast().containsKey("$out"));
+    }
+}
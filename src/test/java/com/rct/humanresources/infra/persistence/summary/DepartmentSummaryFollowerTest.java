@@ -0,0 +1,56 @@
+package com.rct.humanresources.infra.persistence.summary;
+
+import com.rct.humanresources.core.model.dto.ChangeEventDTO;
+import com.rct.humanresources.infra.persistence.model.Department;
+import com.rct.humanresources.infra.persistence.model.Employee;
+import com.rct.humanresources.infra.persistence.stream.ChangeStreamHub;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DepartmentSummaryFollowerTest {
+    @Mock
+    private ChangeStreamHub changeStreamHub;
+    @Mock
+    private DepartmentSummaries summaries;
+    private DepartmentSummaryFollower follower;
+
+    @BeforeEach
+    void setUp() {
+        follower = new DepartmentSummaryFollower(changeStreamHub, summaries, 10, Duration.ofMillis(10));
+    }
+
+    @Test
+    void shouldRefreshOnceForABatchOfEmployeeChanges() {
+        var moved = new Employee();
+        moved.setId("1");
+        moved.setDepartmentId("10");
+        when(summaries.refresh(any(), any())).thenReturn(Mono.empty());
+        StepVerifier.create(follower.refreshEmployees(List.of(
+                        new ChangeEventDTO<>("update", "1", moved, "token-1"),
+                        new ChangeEventDTO<>("delete", "2", null, "token-2"))))
+                .verifyComplete();
+        verify(summaries).refresh(Set.of("10"), Set.of("1", "2"));
+    }
+
+    @Test
+    void shouldRemoveTheSummaryOfADeletedDepartment() {
+        when(summaries.remove("10")).thenReturn(Mono.empty());
+        StepVerifier.create(follower.refreshDepartment(new ChangeEventDTO<Department>("delete", "10", null, "token")))
+                .verifyComplete();
+        verify(summaries).remove("10");
+    }
+}
@@ -0,0 +1,105 @@
+package com.rct.humanresources.infra.persistence.timeline;
+
+import com.mongodb.ReadPreference;
+import com.rct.humanresources.infra.persistence.entity.stub.JobHistoryStub;
+import com.rct.humanresources.infra.persistence.model.JobHistory;
+import com.rct.humanresources.infra.persistence.read.ReadPreferences;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static com.rct.humanresources.infra.persistence.timeline.JobHistoryTimeline.DEPARTMENT_ID;
+import static com.rct.humanresources.infra.persistence.timeline.JobHistoryTimeline.JOB_ID;
+import static com.rct.humanresources.infra.persistence.timeline.JobHistoryTimeline.MAX_PERIODS;
+import static com.rct.humanresources.infra.persistence.timeline.JobHistoryTimeline.MONTH;
+import static com.rct.humanresources.infra.persistence.timeline.JobHistoryTimeline.bounds;
+import static com.rct.humanresources.infra.persistence.timeline.JobHistoryTimeline.keyOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JobHistoryTimelineTest {
+    private static final LocalDateTime FROM = LocalDateTime.of(2020, 1, 31, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2020, 4, 15, 0, 0);
+    @InjectMocks
+    private JobHistoryTimeline timeline;
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+    @Mock
+    private ReadPreferences readPreferences;
+
+    @Test
+    void shouldFindAsOfByKeyAndDateRange() {
+        var entity = JobHistoryStub.any();
+        when(reactiveMongoTemplate.find(any(Query.class), eq(JobHistory.class))).thenReturn(Flux.just(entity));
+        StepVerifier.create(timeline.asOf(Map.of(JOB_ID, "1", "at", "ignored"), FROM))
+                .expectNext(entity)
+                .verifyComplete();
+        var query = ArgumentCaptor.forClass(Query.class);
+        verify(reactiveMongoTemplate).find(query.capture(), eq(JobHistory.class));
+        var filter = query.getValue().getQueryObject();
+        assertEquals("1", filter.get(JOB_ID));
+        assertEquals(new Document("$lte", FROM), filter.get("startDate"));
+        assertTrue(filter.containsKey("$or"));
+        assertEquals(new Document("startDate", 1), query.getValue().getSortObject());
+    }
+
+    @Test
+    void shouldFillPeriodsWithoutHolders() {
+        var counted = new Document("_id", 1).append("headcount", 3);
+        when(readPreferences.getAnalytics()).thenReturn(ReadPreference.secondaryPreferred());
+        when(reactiveMongoTemplate.aggregate(any(TypedAggregation.class), eq(Document.class))).thenReturn(Flux.just(counted));
+        StepVerifier.create(timeline.headcount(Map.of(DEPARTMENT_ID, "1"), FROM, TO, MONTH))
+                .consumeNextWith(period -> {
+                    assertEquals(DEPARTMENT_ID, period.getGroupBy());
+                    assertEquals("1", period.getGroupId());
+                    assertEquals(FROM, period.getPeriodStart());
+                    assertEquals(0, period.getHeadcount());
+                })
+                .consumeNextWith(period -> assertEquals(3, period.getHeadcount()))
+                .consumeNextWith(period -> {
+                    assertEquals(TO, period.getPeriodEnd());
+                    assertEquals(0, period.getHeadcount());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldStepPeriodsFromTheLowerBound() {
+        var bounds = bounds(FROM, TO, MONTH);
+        assertEquals(4, bounds.size());
+        assertEquals(LocalDateTime.of(2020, 2, 29, 0, 0), bounds.get(1));
+        assertEquals(LocalDateTime.of(2020, 3, 31, 0, 0), bounds.get(2));
+        assertEquals(TO, bounds.get(3));
+    }
+
+    @Test
+    void shouldRejectInvalidTemporalQueries() {
+        assertThrows(IllegalArgumentException.class, () -> keyOf(Map.of("at", "2020-01-01T00:00:00")));
+        assertThrows(IllegalArgumentException.class, () -> keyOf(Map.of(JOB_ID, "1", DEPARTMENT_ID, "1")));
+        assertThrows(IllegalArgumentException.class, () -> keyOf(Map.of(JOB_ID, " ")));
+        assertThrows(IllegalArgumentException.class, () -> timeline.asOf(Map.of(JOB_ID, "1"), null));
+        assertThrows(IllegalArgumentException.class, () -> timeline.overlapping(Map.of(JOB_ID, "1"), TO, FROM));
+        assertThrows(IllegalArgumentException.class, () -> timeline.headcount(Map.of(JOB_ID, "1"), FROM, TO, "quarter"));
+        assertThrows(IllegalArgumentException.class, () -> bounds(FROM, FROM.plusDays(MAX_PERIODS + 1L), "day"));
+        verifyNoInteractions(reactiveMongoTemplate);
+    }
+}
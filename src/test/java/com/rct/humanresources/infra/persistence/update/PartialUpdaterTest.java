@@ -0,0 +1,105 @@
+package com.rct.humanresources.infra.persistence.update;
+
+import com.rct.humanresources.core.model.dto.EmployeeDTO;
+import com.rct.humanresources.infra.persistence.model.Country;
+import com.rct.humanresources.infra.persistence.model.Employee;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static com.rct.humanresources.infra.persistence.search.SearchCatalog.SEARCH_KEY;
+import static com.rct.humanresources.infra.persistence.search.SearchCatalog.SEARCH_PARTS;
+import static com.rct.humanresources.infra.persistence.search.SearchCatalog.SEARCH_TERMS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PartialUpdaterTest {
+    private final MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+    private final MongoMappingContext context = new MongoMappingContext();
+    private final MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+
+    @BeforeEach
+    void setUp() {
+        context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+    }
+
+    @Test
+    void shouldSetOnlyPresentFieldsAndKeepCreationDate() {
+        var country = new Country("1", "Brasil", LocalDateTime.now(), null, 3L);
+        var update = PartialUpdater.update(context.getRequiredPersistentEntity(Country.class), write(country), Set.of("name"));
+        var set = update.getUpdateObject().get("$set", Document.class);
+        assertEquals("Brasil", set.get("name"));
+        assertEquals("brasil", set.get(SEARCH_KEY));
+        assertEquals(new Document("name", "brasil"), set.get(SEARCH_PARTS));
+        assertFalse(set.containsKey("_id"));
+        assertFalse(update.modifies("createdAt"));
+        assertTrue(update.modifies("updatedAt"));
+        assertEquals(1, update.getUpdateObject().get("$inc", Document.class).get(PartialUpdater.VERSION));
+    }
+
+    @Test
+    void shouldRebuildSearchKeyOnServerWhenPatchTouchesPartOfIt() {
+        var employee = new Employee();
+        employee.setFirstName("Ána");
+        var update = PartialUpdater.update(context.getRequiredPersistentEntity(Employee.class), write(employee), Set.of("firstName"));
+        assertTrue(update.modifies("firstName"));
+        assertFalse(update.modifies("lastName"));
+        assertFalse(update.modifies(SEARCH_KEY));
+        assertEquals("ana", update.getUpdateObject().get("$set", Document.class).get(SEARCH_PARTS + ".firstName"));
+        var pipeline = assertInstanceOf(AggregationUpdate.class, PartialUpdater.rekeyed(Employee.class, update))
+                .toPipeline(Aggregation.DEFAULT_CONTEXT);
+        var set = pipeline.getFirst().get("$set", Document.class);
+        assertEquals(new Document("$literal", "Ána"), set.get("firstName"));
+        assertEquals("$$NOW", set.get("updatedAt"));
+        assertTrue(set.containsKey(PartialUpdater.VERSION));
+        assertTrue(pipeline.get(1).get("$set", Document.class).containsKey(SEARCH_KEY));
+        assertTrue(pipeline.getLast().get("$set", Document.class).containsKey(SEARCH_TERMS));
+    }
+
+    @Test
+    void shouldKeepUpdateWhenItWritesTheWholeSearchKey() {
+        var country = new Country("1", "Brasil", null, null, null);
+        var update = PartialUpdater.update(context.getRequiredPersistentEntity(Country.class), write(country), Set.of("name"));
+        assertSame(update, PartialUpdater.rekeyed(Country.class, update));
+    }
+
+    @Test
+    void shouldUnsetAbsentFieldsOnReplace() {
+        var employee = new Employee();
+        employee.setFirstName("Ana");
+        var update = PartialUpdater.update(context.getRequiredPersistentEntity(Employee.class), write(employee), null);
+        assertTrue(update.getUpdateObject().get("$unset", Document.class).containsKey("lastName"));
+        assertTrue(update.modifies(SEARCH_KEY));
+    }
+
+    @Test
+    void shouldFindPresentProperties() {
+        var dto = new EmployeeDTO();
+        dto.setFirstName("Ana");
+        var present = PartialUpdater.presentProperties(dto);
+        assertTrue(present.contains("firstName"));
+        assertFalse(present.contains("lastName"));
+        assertFalse(present.contains("salary"));
+    }
+
+    private Document write(Object model) {
+        var document = new Document();
+        converter.write(model, document);
+        return document;
+    }
+}